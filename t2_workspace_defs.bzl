@@ -77,6 +77,8 @@ def load_modules():
             "com.google.code.gson:gson:2.8.0",
             "io.gsonfire:gson-fire:1.8.3",
             "com.google.re2j:re2j:1.3",
+            "org.openjdk.jmh:jmh-core:1.23",
+            "org.openjdk.jmh:jmh-generator-annprocess:1.23",
         ],
         repositories = [
             "https://maven.google.com",
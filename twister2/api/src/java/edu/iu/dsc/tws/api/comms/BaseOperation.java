@@ -14,6 +14,7 @@ package edu.iu.dsc.tws.api.comms;
 import java.util.HashMap;
 import java.util.Map;
 
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 
@@ -48,6 +49,24 @@ public abstract class BaseOperation {
     return op.isComplete();
   }
 
+  /**
+   * Weather the operation is waiting for credits from a receiving worker
+   *
+   * @return true if the sources should stop producing messages
+   */
+  public boolean isBackPressured() {
+    return op.isBackPressured();
+  }
+
+  /**
+   * The back pressure counters of this operation
+   *
+   * @return the metrics or null if credit based flow control is not used
+   */
+  public BackPressureMetrics getBackPressureMetrics() {
+    return op.getBackPressureMetrics();
+  }
+
   /**
    * Indicate the end of the communication
    *
@@ -45,6 +45,23 @@ public class CommunicationContext extends Context {
   public static final String ALLTOALL_ALGO_SIMPLE = "simple";
   public static final String ALLTOALL_ALGO_RING = "ring";
 
+  /**
+   * The algorithm used by allreduce. The tree algorithm reduces to a single task and broadcasts
+   * the result, ring and halving_doubling split primitive arrays in to chunks and exchange them
+   * between the sources so that no task handles the full array more than a few times. These two
+   * assume the reduce function works element by element. With auto, the chunked algorithms are
+   * used for element wise reduce operations on primitive arrays with enough sources.
+   */
+  public static final String ALLREDUCE_ALGO_KEY = "twister2.network.allreduce.algorithm";
+  public static final String ALLREDUCE_ALGO_TREE = "tree";
+  public static final String ALLREDUCE_ALGO_RING = "ring";
+  public static final String ALLREDUCE_ALGO_HALVING_DOUBLING = "halving_doubling";
+  public static final String ALLREDUCE_ALGO_AUTO = "auto";
+  public static final String ALLREDUCE_AUTO_MIN_TASKS =
+      "twister2.network.allreduce.auto.min.tasks";
+  public static final String ALLREDUCE_AUTO_RING_BYTES =
+      "twister2.network.allreduce.auto.ring.bytes";
+
   public static final String BUFFER_SIZE = "twister2.network.buffer.size";
 
   public static final String SEND_BUFFERS_COUNT = "twister2.network.sendBuffer.count";
@@ -71,6 +88,78 @@ public class CommunicationContext extends Context {
   public static final String RING_GROUPING_WORKER_PER_GROUPS =
       "twister2.network.partition.ring.group.workers";
 
+  /**
+   * When enabled, primitive array messages that fit in a single receive buffer are delivered as
+   * {@link edu.iu.dsc.tws.api.comms.packing.DataBufferView} instances instead of copying them
+   * to arrays. This only applies to operations whose receivers accept views, see
+   * {@link edu.iu.dsc.tws.api.comms.messaging.MessageReceiver#acceptsBufferViews()}.
+   */
+  public static final String RECEIVE_ZERO_COPY = "twister2.network.receive.zero.copy";
+
+  /**
+   * Maximum number of bytes the worker wide buffer pool allocates, 0 for no limit
+   */
+  public static final String BUFFER_POOL_MAX_BYTES = "twister2.network.buffer.pool.max.bytes";
+
+  /**
+   * Number of free buffers of each size kept by a thread before returning them to the pool
+   */
+  public static final String BUFFER_POOL_THREAD_CACHE
+      = "twister2.network.buffer.pool.thread.cache";
+
+  /**
+   * Record where buffers are acquired and report the ones that are not returned
+   */
+  public static final String BUFFER_POOL_LEAK_DETECTION
+      = "twister2.network.buffer.pool.leak.detection";
+
+  /**
+   * Send messages between workers of the same host through memory mapped rings
+   */
+  public static final String SHARED_MEMORY_ENABLED = "twister2.network.shm.enabled";
+
+  /**
+   * Directory holding the memory mapped ring files, should be a memory backed file system
+   */
+  public static final String SHARED_MEMORY_DIR = "twister2.network.shm.dir";
+
+  /**
+   * Size of the ring between a pair of workers in bytes
+   */
+  public static final String SHARED_MEMORY_RING_BYTES = "twister2.network.shm.ring.bytes";
+
+  /**
+   * Maximum number of messages taken from a ring before their receive could accept them, the
+   * ring is not read further until these are delivered
+   */
+  public static final String SHARED_MEMORY_STAGING_MAX = "twister2.network.shm.staging.max";
+
+  /**
+   * Maximum number of keys a combiner keeps in memory before sending the partial aggregates
+   */
+  public static final String COMBINER_MAX_KEYS = "twister2.network.combiner.keys.max";
+
+  /**
+   * Size the batches of streaming partition operations by the observed arrival rate instead of
+   * sending whatever is queued at each progress call
+   */
+  public static final String ADAPTIVE_BATCHING = "twister2.network.batch.adaptive";
+
+  /**
+   * Maximum time in micro seconds a message waits in an adaptive batch before it is sent
+   */
+  public static final String BATCH_MAX_DELAY = "twister2.network.batch.delay.max.us";
+
+  /**
+   * Use credit based flow control between the workers of an operation
+   */
+  public static final String CREDIT_ENABLED = "twister2.network.credit.enabled";
+
+  /**
+   * Number of buffers a worker can send to another worker before it gets credits back
+   */
+  public static final String CREDIT_WINDOW = "twister2.network.credit.window";
+
   public static final int DEFAULT_DESTINATION = 0;
 
   public static final List<Object> EMPTY_OBJECT = new ArrayList<>();
@@ -95,6 +184,12 @@ public class CommunicationContext extends Context {
   public static final String JOIN_TYPE = "join-type";
   public static final String JOIN_ALGORITHM = "join-algorithm";
 
+  /**
+   * With the {@link JoinAlgorithm#BROADCAST} algorithm, weather the left relation is the one
+   * replicated to all the targets. Otherwise the right relation is replicated.
+   */
+  public static final String JOIN_BROADCAST_LEFT = "join-broadcast-left";
+
   public enum JoinType {
     INNER, FULL_OUTER, LEFT, RIGHT;
 
@@ -107,8 +202,12 @@ public class CommunicationContext extends Context {
     }
   }
 
+  /**
+   * SORT and HASH shuffle both relations by key. BROADCAST replicates one relation to all the
+   * targets and joins the other one where it is, with a hash join.
+   */
   public enum JoinAlgorithm {
-    SORT, HASH
+    SORT, HASH, BROADCAST
   }
 
   /**
@@ -119,6 +218,12 @@ public class CommunicationContext extends Context {
 
   public static final String GROUP_BY_KEY = "group-by-key";
 
+  /**
+   * An associative function applied to the values of the same key before they leave the worker,
+   * so the targets receive partial aggregates instead of every value
+   */
+  public static final String COMBINER = "combiner";
+
   public static int interNodeDegree(Config cfg, int defaultValue) {
     return getIntPropertyValue(cfg, INTER_NODE_DEGREE, defaultValue);
   }
@@ -138,6 +243,18 @@ public class CommunicationContext extends Context {
     return getStringPropertyValue(cfg, ALLTOALL_ALGO_KEY, ALLTOALL_ALGO_RING);
   }
 
+  public static String allReduceAlgorithm(Config cfg) {
+    return getStringPropertyValue(cfg, ALLREDUCE_ALGO_KEY, ALLREDUCE_ALGO_TREE);
+  }
+
+  public static int allReduceAutoMinTasks(Config cfg) {
+    return getIntPropertyValue(cfg, ALLREDUCE_AUTO_MIN_TASKS, 8);
+  }
+
+  public static long allReduceAutoRingBytes(Config cfg) {
+    return getLongPropertyValue(cfg, ALLREDUCE_AUTO_RING_BYTES, 1048576L);
+  }
+
   public static int bufferSize(Config cfg) {
     return getIntPropertyValue(cfg, BUFFER_SIZE, 2048000);
   }
@@ -189,4 +306,56 @@ public class CommunicationContext extends Context {
   public static int getRingWorkersPerGroup(Config cfg) {
     return getIntPropertyValue(cfg, RING_GROUPING_WORKER_PER_GROUPS, 128);
   }
+
+  public static boolean isReceiveZeroCopy(Config cfg) {
+    return getBooleanPropertyValue(cfg, RECEIVE_ZERO_COPY, false);
+  }
+
+  public static long bufferPoolMaxBytes(Config cfg) {
+    return cfg.getLongValue(BUFFER_POOL_MAX_BYTES, 0);
+  }
+
+  public static int bufferPoolThreadCache(Config cfg) {
+    return cfg.getIntegerValue(BUFFER_POOL_THREAD_CACHE, 8);
+  }
+
+  public static boolean bufferPoolLeakDetection(Config cfg) {
+    return cfg.getBooleanValue(BUFFER_POOL_LEAK_DETECTION, false);
+  }
+
+  public static boolean sharedMemoryEnabled(Config cfg) {
+    return cfg.getBooleanValue(SHARED_MEMORY_ENABLED, false);
+  }
+
+  public static String sharedMemoryDir(Config cfg) {
+    return cfg.getStringValue(SHARED_MEMORY_DIR, "/dev/shm");
+  }
+
+  public static int sharedMemoryRingBytes(Config cfg) {
+    return cfg.getIntegerValue(SHARED_MEMORY_RING_BYTES, 16 * 1024 * 1024);
+  }
+
+  public static int sharedMemoryStagingMax(Config cfg) {
+    return cfg.getIntegerValue(SHARED_MEMORY_STAGING_MAX, 16);
+  }
+
+  public static int combinerMaxKeys(Config cfg) {
+    return cfg.getIntegerValue(COMBINER_MAX_KEYS, 100000);
+  }
+
+  public static boolean adaptiveBatching(Config cfg) {
+    return getBooleanPropertyValue(cfg, ADAPTIVE_BATCHING, false);
+  }
+
+  public static long batchMaxDelayMicros(Config cfg) {
+    return getLongPropertyValue(cfg, BATCH_MAX_DELAY, 1000);
+  }
+
+  public static boolean creditEnabled(Config cfg) {
+    return getBooleanPropertyValue(cfg, CREDIT_ENABLED, false);
+  }
+
+  public static int creditWindow(Config cfg) {
+    return getIntPropertyValue(cfg, CREDIT_WINDOW, receiveBufferCount(cfg));
+  }
 }
@@ -14,6 +14,7 @@ package edu.iu.dsc.tws.api.comms;
 import java.util.Collections;
 import java.util.Set;
 
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 
 /**
@@ -87,6 +88,25 @@ public interface DataFlowOperation {
     return false;
   }
 
+  /**
+   * Weather a worker this operation sends to has run out of credits. This is only true when
+   * credit based flow control is enabled.
+   *
+   * @return true if the sources should stop producing messages
+   */
+  default boolean isBackPressured() {
+    return false;
+  }
+
+  /**
+   * The back pressure counters of this operation
+   *
+   * @return the metrics or null if credit based flow control is not used
+   */
+  default BackPressureMetrics getBackPressureMetrics() {
+    return null;
+  }
+
   /**
    * If this is a larger transfer of dataflow style, we need to finish
    */
@@ -0,0 +1,26 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.api.comms;
+
+import java.util.Comparator;
+
+/**
+ * A key comparator that orders keys in their natural order. That is numeric order for numbers,
+ * {@link String#compareTo(String)} for strings and unsigned lexicographic order for byte arrays.
+ * <p>
+ * Sorting shuffles and joins compare fixed width prefixes derived from the key bytes before
+ * calling such a comparator, and only call it when the prefixes are equal.
+ *
+ * @param <T> type of the key
+ */
+public interface NormalizedKeyComparator<T> extends Comparator<T> {
+}
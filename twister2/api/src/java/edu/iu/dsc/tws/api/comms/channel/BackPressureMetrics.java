@@ -0,0 +1,108 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.api.comms.channel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Credit based back pressure counters of an operation edge. Senders use credits for every buffer
+ * they send to a worker and the receiving worker returns the credits once the messages in those
+ * buffers are accepted by its receiver.
+ */
+public class BackPressureMetrics {
+  /**
+   * The edge of the operation
+   */
+  private final int edge;
+
+  /**
+   * Number of times a send was refused because the target worker had no credits
+   */
+  private final AtomicLong stalls = new AtomicLong();
+
+  /**
+   * Number of buffers sent using credits
+   */
+  private final AtomicLong creditsUsed = new AtomicLong();
+
+  /**
+   * Credits received from the workers we send to
+   */
+  private final AtomicLong creditsReceived = new AtomicLong();
+
+  /**
+   * Credits returned to the workers we receive from
+   */
+  private final AtomicLong creditsReturned = new AtomicLong();
+
+  /**
+   * Number of credit messages sent
+   */
+  private final AtomicLong creditMessages = new AtomicLong();
+
+  public BackPressureMetrics(int edge) {
+    this.edge = edge;
+  }
+
+  public void stalled() {
+    stalls.incrementAndGet();
+  }
+
+  public void used(int credits) {
+    creditsUsed.addAndGet(credits);
+  }
+
+  public void received(int credits) {
+    creditsReceived.addAndGet(credits);
+  }
+
+  public void returned(int credits) {
+    creditsReturned.addAndGet(credits);
+    creditMessages.incrementAndGet();
+  }
+
+  public int getEdge() {
+    return edge;
+  }
+
+  public long getStalls() {
+    return stalls.get();
+  }
+
+  public long getCreditsUsed() {
+    return creditsUsed.get();
+  }
+
+  public long getCreditsReceived() {
+    return creditsReceived.get();
+  }
+
+  public long getCreditsReturned() {
+    return creditsReturned.get();
+  }
+
+  public long getCreditMessages() {
+    return creditMessages.get();
+  }
+
+  @Override
+  public String toString() {
+    return "BackPressureMetrics{"
+        + "edge=" + edge
+        + ", stalls=" + stalls
+        + ", creditsUsed=" + creditsUsed
+        + ", creditsReceived=" + creditsReceived
+        + ", creditsReturned=" + creditsReturned
+        + ", creditMessages=" + creditMessages
+        + '}';
+  }
+}
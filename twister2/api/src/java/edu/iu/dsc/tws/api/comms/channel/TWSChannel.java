@@ -52,6 +52,7 @@ import java.util.Queue;
 
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
 
 /**
  * Represent a communication channel. A MPI channel or a TCP channel.
@@ -104,11 +105,35 @@ public interface TWSChannel {
    */
   ByteBuffer createBuffer(int capacity);
 
+  /**
+   * The worker wide pool of buffers created with this channel, operations using the channel
+   * take their buffers from this pool
+   * @return the buffer pool
+   */
+  DataBufferPool getBufferPool();
+
   /**
    * Close the channel
    */
   void close();
 
+  /**
+   * Register a listener to be notified when sends or receives complete in this channel.
+   * Channels that do not support notifications ignore the listener.
+   *
+   * @param listener the listener
+   */
+  default void addReadinessListener(ChannelReadinessListener listener) {
+  }
+
+  /**
+   * Remove a previously registered readiness listener
+   *
+   * @param listener the listener
+   */
+  default void removeReadinessListener(ChannelReadinessListener listener) {
+  }
+
   /**
    * Release the buffers for worker and edge
    * @param wId worker
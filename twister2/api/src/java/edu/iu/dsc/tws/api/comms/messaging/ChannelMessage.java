@@ -157,11 +157,11 @@ public class ChannelMessage {
     return buffers;
   }
 
-  public void incrementRefCount() {
+  public synchronized void incrementRefCount() {
     refCount++;
   }
 
-  public void incrementRefCount(int count) {
+  public synchronized void incrementRefCount(int count) {
     refCount += count;
   }
 
@@ -169,14 +169,16 @@ public class ChannelMessage {
     return messageDirection;
   }
 
-  public boolean doneProcessing() {
+  public synchronized boolean doneProcessing() {
     return refCount == 0;
   }
 
   /**
-   * Release the allocated resources to this buffer.
+   * Release the allocated resources to this buffer. A message can be released from a receiver
+   * thread when its buffers are pinned by a {@link edu.iu.dsc.tws.api.comms.packing.DataBufferView}
+   * so the reference count is guarded.
    */
-  public void release() {
+  public synchronized void release() {
     refCount--;
     if (refCount == 0) {
       releaseListener.release(this);
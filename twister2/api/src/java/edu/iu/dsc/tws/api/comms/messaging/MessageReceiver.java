@@ -84,4 +84,15 @@ public interface MessageReceiver {
    */
   default void clean() {
   }
+
+  /**
+   * Weather the receiver can handle {@link edu.iu.dsc.tws.api.comms.packing.DataBufferView}
+   * messages. Such a receiver must release every view it receives soon after receiving it,
+   * because a view holds a receive buffer of the channel.
+   *
+   * @return true if zero copy receives can be used with this receiver
+   */
+  default boolean acceptsBufferViews() {
+    return false;
+  }
 }
@@ -0,0 +1,290 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.api.comms.packing;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+/**
+ * A worker wide pool of {@link DataBuffer}s shared by all the operations using a channel.
+ * Buffers are allocated with the channel, so they are direct or registered buffers when the
+ * channel needs them.
+ * <p>
+ * Buffers are grouped in to size classes by their exact capacity, a receiver must have buffers
+ * as large as the buffers used by the sender, so we never hand out a larger buffer. Each thread
+ * keeps a small cache of free buffers of every size and the rest are kept in a shared list.
+ * The total number of bytes allocated can be capped with
+ * {@link CommunicationContext#BUFFER_POOL_MAX_BYTES}. When the cap is reached, free buffers of
+ * the same size cached by other threads are reused and free buffers of other sizes, both in the
+ * shared lists and in the thread caches, are dropped to make space.
+ * <p>
+ * With {@link CommunicationContext#BUFFER_POOL_LEAK_DETECTION} the pool records where each
+ * buffer is acquired, and {@link #releaseAll(Collection, Collection, String)} logs this for the
+ * buffers an owner did not get back before closing.
+ */
+public class DataBufferPool {
+  private static final Logger LOG = Logger.getLogger(DataBufferPool.class.getName());
+
+  /**
+   * Allocates the byte buffers
+   */
+  private final IntFunction<ByteBuffer> allocator;
+
+  /**
+   * Free buffers shared by all the threads, by size
+   */
+  private final Map<Integer, Queue<DataBuffer>> freeBuffers = new ConcurrentHashMap<>();
+
+  /**
+   * The caches of all the threads, so that the free buffers in them can be reclaimed when the
+   * pool runs out of memory. The caches of threads that are gone are kept here as well.
+   */
+  private final Queue<Map<Integer, Deque<DataBuffer>>> allThreadCaches =
+      new ConcurrentLinkedQueue<>();
+
+  /**
+   * Free buffers cached by each thread, by size. Other threads only take buffers from these
+   * when the pool is out of memory, so they are concurrent but mostly used by the owner.
+   */
+  private final ThreadLocal<Map<Integer, Deque<DataBuffer>>> threadCaches =
+      ThreadLocal.withInitial(() -> {
+        Map<Integer, Deque<DataBuffer>> cache = new ConcurrentHashMap<>();
+        allThreadCaches.add(cache);
+        return cache;
+      });
+
+  /**
+   * Number of bytes allocated by the pool, including the free buffers
+   */
+  private final AtomicLong allocatedBytes = new AtomicLong();
+
+  /**
+   * Maximum number of bytes allocated, 0 for no limit
+   */
+  private final long maxBytes;
+
+  /**
+   * Number of free buffers of a size a thread keeps
+   */
+  private final int threadCacheSize;
+
+  /**
+   * The stack traces of the acquired buffers when leak detection is enabled
+   */
+  private final Map<DataBuffer, Throwable> acquired;
+
+  public DataBufferPool(Config cfg, IntFunction<ByteBuffer> allocator) {
+    this(allocator, CommunicationContext.bufferPoolMaxBytes(cfg),
+        CommunicationContext.bufferPoolThreadCache(cfg),
+        CommunicationContext.bufferPoolLeakDetection(cfg));
+  }
+
+  public DataBufferPool(IntFunction<ByteBuffer> allocator, long maxBytes,
+                        int threadCacheSize, boolean leakDetection) {
+    this.allocator = allocator;
+    this.maxBytes = maxBytes;
+    this.threadCacheSize = threadCacheSize;
+    this.acquired = leakDetection ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Get a buffer with the given capacity, the buffer is cleared and ready to be written
+   *
+   * @param capacity capacity of the buffer
+   * @return a buffer
+   * @throws Twister2RuntimeException if the pool cannot allocate more memory
+   */
+  public DataBuffer acquire(int capacity) {
+    DataBuffer buffer = null;
+    Deque<DataBuffer> cache = threadCaches.get().get(capacity);
+    if (cache != null) {
+      buffer = cache.pollFirst();
+    }
+    if (buffer == null) {
+      Queue<DataBuffer> free = freeBuffers.get(capacity);
+      if (free != null) {
+        buffer = free.poll();
+      }
+    }
+    if (buffer == null) {
+      buffer = allocate(capacity);
+    }
+
+    if (acquired != null) {
+      acquired.put(buffer, new Throwable("Buffer of " + capacity + " bytes acquired here"));
+    }
+    return buffer;
+  }
+
+  /**
+   * Return a buffer to the pool, the buffer must not be used after this
+   *
+   * @param buffer the buffer
+   */
+  public void release(DataBuffer buffer) {
+    if (acquired != null && acquired.remove(buffer) == null) {
+      LOG.warning("Releasing a buffer that is not acquired from the pool");
+    }
+    buffer.getByteBuffer().clear();
+    buffer.setSize(0);
+
+    int capacity = buffer.getCapacity();
+    Deque<DataBuffer> cache = threadCaches.get().computeIfAbsent(capacity,
+        k -> new ConcurrentLinkedDeque<>());
+    if (cache.size() < threadCacheSize) {
+      cache.offerFirst(buffer);
+    } else {
+      freeBuffers.computeIfAbsent(capacity, k -> new ConcurrentLinkedQueue<>()).offer(buffer);
+    }
+  }
+
+  /**
+   * Number of bytes allocated by this pool, this includes the free buffers
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /**
+   * Return the buffers an owner acquired that are free again. Buffers that are not in the free
+   * collection are still held by someone and are reported when leak detection is enabled.
+   *
+   * @param owned the buffers acquired by the owner
+   * @param free the buffers of the owner that are not in use
+   * @param owner a description of the owner used in the report
+   */
+  public void releaseAll(Collection<DataBuffer> owned, Collection<DataBuffer> free,
+                         String owner) {
+    Set<DataBuffer> available = Collections.newSetFromMap(new IdentityHashMap<>());
+    available.addAll(free);
+    for (DataBuffer buffer : owned) {
+      if (available.contains(buffer)) {
+        release(buffer);
+      } else if (acquired != null) {
+        LOG.log(Level.WARNING, String.format("Buffer of %s is not returned to the pool", owner),
+            acquired.get(buffer));
+      }
+    }
+  }
+
+  /**
+   * Number of bytes held by the free buffers, both in the shared lists and the thread caches
+   */
+  public long getFreeBytes() {
+    long free = 0;
+    for (Map.Entry<Integer, Queue<DataBuffer>> e : freeBuffers.entrySet()) {
+      free += (long) e.getKey() * e.getValue().size();
+    }
+    for (Map<Integer, Deque<DataBuffer>> cache : allThreadCaches) {
+      for (Map.Entry<Integer, Deque<DataBuffer>> e : cache.entrySet()) {
+        free += (long) e.getKey() * e.getValue().size();
+      }
+    }
+    return free;
+  }
+
+  /**
+   * Number of buffers acquired and not released, only tracked with leak detection
+   */
+  public int getAcquiredCount() {
+    return acquired != null ? acquired.size() : 0;
+  }
+
+  private DataBuffer allocate(int capacity) {
+    if (maxBytes > 0 && !reserve(capacity)) {
+      // a free buffer of the same size cached by another thread can be used as it is
+      DataBuffer cached = pollThreadCaches(capacity);
+      if (cached != null) {
+        return cached;
+      }
+      // free buffers of other sizes can be dropped to make space
+      trimFreeBuffers(capacity);
+      if (!reserve(capacity)) {
+        throw new Twister2RuntimeException(String.format("Buffer pool cannot allocate %d bytes, "
+            + "%d of %d bytes are already allocated. Increase %s", capacity,
+            allocatedBytes.get(), maxBytes, CommunicationContext.BUFFER_POOL_MAX_BYTES));
+      }
+    } else if (maxBytes <= 0) {
+      allocatedBytes.addAndGet(capacity);
+    }
+    return new DataBuffer(allocator.apply(capacity));
+  }
+
+  /**
+   * Count the bytes against the limit
+   *
+   * @return false if the limit would be exceeded, nothing is counted in that case
+   */
+  private boolean reserve(int capacity) {
+    if (allocatedBytes.addAndGet(capacity) > maxBytes) {
+      allocatedBytes.addAndGet(-capacity);
+      return false;
+    }
+    return true;
+  }
+
+  private DataBuffer pollThreadCaches(int capacity) {
+    for (Map<Integer, Deque<DataBuffer>> cache : allThreadCaches) {
+      Deque<DataBuffer> buffers = cache.get(capacity);
+      DataBuffer buffer = buffers != null ? buffers.pollLast() : null;
+      if (buffer != null) {
+        return buffer;
+      }
+    }
+    return null;
+  }
+
+  private void trimFreeBuffers(int needed) {
+    long freed = trim(freeBuffers, needed, 0);
+    for (Map<Integer, Deque<DataBuffer>> cache : allThreadCaches) {
+      if (freed >= needed) {
+        return;
+      }
+      freed = trim(cache, needed, freed);
+    }
+  }
+
+  private long trim(Map<Integer, ? extends Queue<DataBuffer>> buffers, int needed, long freed) {
+    long total = freed;
+    for (Map.Entry<Integer, ? extends Queue<DataBuffer>> e : buffers.entrySet()) {
+      if (e.getKey() == needed) {
+        continue;
+      }
+      DataBuffer buffer;
+      while (total < needed && (buffer = e.getValue().poll()) != null) {
+        total += buffer.getCapacity();
+        allocatedBytes.addAndGet(-buffer.getCapacity());
+      }
+      if (total >= needed) {
+        break;
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,173 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.api.comms.packing;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+
+/**
+ * A read only view of a primitive array message that is still inside a receive
+ * {@link DataBuffer}. These are delivered instead of arrays when zero copy receives are enabled
+ * with {@link CommunicationContext#RECEIVE_ZERO_COPY}.
+ * <p>
+ * The receive buffer holding the data is not returned to the channel until {@link #release()}
+ * is called, so receivers must release a view as soon as they are done with it. Holding views
+ * for longer than that will make the channel run out of receive buffers.
+ */
+public class DataBufferView {
+  /**
+   * Read only slice of the receive buffer containing only the data of this message
+   */
+  private final ByteBuffer data;
+
+  /**
+   * Type of the array in the view
+   */
+  private final MessageType dataType;
+
+  /**
+   * The channel message owning the receive buffers, released once the view is released
+   */
+  private ChannelMessage owner;
+
+  /**
+   * Weather we have released this view
+   */
+  private boolean released = false;
+
+  public DataBufferView(ByteBuffer buffer, int offset, int length, MessageType type) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    duplicate.limit(offset + length);
+    this.data = duplicate.slice().asReadOnlyBuffer().order(CommunicationContext.DEFAULT_BYTEORDER);
+    this.dataType = type;
+  }
+
+  /**
+   * Keep the buffers of the given message until this view is released
+   *
+   * @param message the message owning the buffer
+   */
+  public void pin(ChannelMessage message) {
+    this.owner = message;
+    message.incrementRefCount();
+  }
+
+  /**
+   * Release the receive buffer, after this the view must not be accessed
+   */
+  public void release() {
+    if (released) {
+      return;
+    }
+    released = true;
+    if (owner != null) {
+      owner.release();
+      owner = null;
+    }
+  }
+
+  public boolean isReleased() {
+    return released;
+  }
+
+  public MessageType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Number of elements of the array in this view
+   */
+  public int length() {
+    return data.remaining() / dataType.getUnitSizeInBytes();
+  }
+
+  public ByteBuffer asByteBuffer() {
+    return data.duplicate().order(CommunicationContext.DEFAULT_BYTEORDER);
+  }
+
+  public DoubleBuffer asDoubleBuffer() {
+    return data.asDoubleBuffer();
+  }
+
+  public IntBuffer asIntBuffer() {
+    return data.asIntBuffer();
+  }
+
+  public LongBuffer asLongBuffer() {
+    return data.asLongBuffer();
+  }
+
+  public FloatBuffer asFloatBuffer() {
+    return data.asFloatBuffer();
+  }
+
+  public ShortBuffer asShortBuffer() {
+    return data.asShortBuffer();
+  }
+
+  /**
+   * Copy the data of the view to an array of the view type, the view is not released
+   *
+   * @return a new array
+   */
+  @SuppressWarnings("unchecked")
+  public Object toArray() {
+    return dataType.getDataPacker().unpackFromBuffer(data, 0, data.remaining());
+  }
+
+  /**
+   * Get a double buffer for a message that can either be a view or a double array. Local messages
+   * are not serialized so they are still delivered as arrays when zero copy is enabled.
+   *
+   * @param message the message
+   * @return a double buffer for the data
+   */
+  public static DoubleBuffer doubles(Object message) {
+    if (message instanceof DataBufferView) {
+      return ((DataBufferView) message).asDoubleBuffer();
+    }
+    return DoubleBuffer.wrap((double[]) message);
+  }
+
+  /**
+   * Get a int buffer for a message that can either be a view or a int array.
+   *
+   * @param message the message
+   * @return a int buffer for the data
+   */
+  public static IntBuffer ints(Object message) {
+    if (message instanceof DataBufferView) {
+      return ((DataBufferView) message).asIntBuffer();
+    }
+    return IntBuffer.wrap((int[]) message);
+  }
+
+  /**
+   * Release the message if it is a view, does nothing for other objects
+   *
+   * @param message the message
+   */
+  public static void release(Object message) {
+    if (message instanceof DataBufferView) {
+      ((DataBufferView) message).release();
+    }
+  }
+}
@@ -19,15 +19,21 @@ import edu.iu.dsc.tws.api.comms.packing.ObjectBuilder;
 import edu.iu.dsc.tws.api.comms.packing.PackerStore;
 import edu.iu.dsc.tws.api.util.KryoSerializer;
 
+/**
+ * Packs objects with the kryo serializer of the current thread.
+ *
+ * When messages are serialized, {@link #determineLength(Object, PackerStore)} serializes the
+ * object once in to the reused kryo output of the thread and keeps a copy of the bytes in the
+ * {@link PackerStore}, because the object may be written over several buffers while the same
+ * thread serializes other objects. {@link #writeDataToBuffer} only copies the stored bytes, so
+ * an object is never serialized twice. Only {@link #packToByteBuffer(ByteBuffer, Object)} writes
+ * directly from the kryo output without an intermediate array.
+ */
 public final class ObjectPacker implements DataPacker<Object, byte[]> {
 
   private static volatile ObjectPacker instance;
 
-  // Creating a thread local since Kryo is stateful
-  private ThreadLocal<KryoSerializer> serializer;
-
   private ObjectPacker() {
-    serializer = ThreadLocal.withInitial(KryoSerializer::new);
   }
 
   public static DataPacker<Object, byte[]> getInstance() {
@@ -40,7 +46,7 @@ public final class ObjectPacker implements DataPacker<Object, byte[]> {
   @Override
   public int determineLength(Object data, PackerStore store) {
     if (store.retrieve() == null) {
-      byte[] serialize = serializer.get().serialize(data);
+      byte[] serialize = KryoSerializer.local().serialize(data);
       store.store(serialize);
     }
     return store.retrieve().length;
@@ -51,9 +57,10 @@ public final class ObjectPacker implements DataPacker<Object, byte[]> {
                                 int alreadyCopied, int leftToCopy, int spaceLeft,
                                 ByteBuffer targetBuffer) {
     byte[] datBytes = packerStore.retrieve();
-    if (datBytes == null) { // could be due to fixed schema
-      datBytes = serializer.get().serialize(data);
-      // storing since this will be useful for next iteration
+    if (datBytes == null) {
+      // fixed schema serializers do not call determineLength, we serialize once and keep the
+      // bytes for the rest of the object
+      datBytes = KryoSerializer.local().serialize(data);
       packerStore.store(datBytes);
     }
     targetBuffer.put(datBytes, alreadyCopied, Math.min(leftToCopy, spaceLeft));
@@ -65,13 +72,21 @@ public final class ObjectPacker implements DataPacker<Object, byte[]> {
                                 int currentBufferLocation, DataBuffer dataBuffer) {
     int totalObjectLength = objectBuilder.getTotalSize();
     int startIndex = objectBuilder.getCompletedSize();
+    // the whole object is in this buffer, so we can read it without copying
+    if (startIndex == 0
+        && dataBuffer.getSize() - currentBufferLocation >= totalObjectLength) {
+      objectBuilder.setFinalObject(KryoSerializer.local().deserialize(
+          dataBuffer.getByteBuffer(), currentBufferLocation, totalObjectLength));
+      return totalObjectLength;
+    }
+
     byte[] objectVal = (byte[]) objectBuilder.getPartialDataHolder();
     int value = dataBuffer.copyPartToByteArray(currentBufferLocation, objectVal,
         startIndex, totalObjectLength);
     // at the end we switch to the actual object
     int totalBytesRead = startIndex + value;
     if (totalBytesRead == totalObjectLength) {
-      Object kryoValue = serializer.get().deserialize(objectVal);
+      Object kryoValue = KryoSerializer.local().deserialize(objectVal);
       objectBuilder.setFinalObject(kryoValue);
     }
     return value;
@@ -79,20 +94,18 @@ public final class ObjectPacker implements DataPacker<Object, byte[]> {
 
   @Override
   public byte[] packToByteArray(Object data) {
-    return this.serializer.get().serialize(data);
+    return KryoSerializer.local().serialize(data);
   }
 
   @Override
   public ByteBuffer packToByteBuffer(ByteBuffer byteBuffer, Object data) {
-    return byteBuffer.put(this.packToByteArray(data));
+    KryoSerializer.local().serialize(data, byteBuffer);
+    return byteBuffer;
   }
 
   @Override
   public ByteBuffer packToByteBuffer(ByteBuffer byteBuffer, int offset, Object data) {
-    byte[] packedData = this.packToByteArray(data);
-    for (int i = 0; i < packedData.length; i++) {
-      byteBuffer.put(offset + i, packedData[i]);
-    }
+    KryoSerializer.local().serialize(data, byteBuffer, offset);
     return byteBuffer;
   }
 
@@ -108,19 +121,15 @@ public final class ObjectPacker implements DataPacker<Object, byte[]> {
 
   @Override
   public Object unpackFromBuffer(ByteBuffer byteBuffer, int bufferOffset, int byteLength) {
-    byte[] bytes = new byte[byteLength];
-    // intentionally not using byteBuffer.get(byte[]). The contract of this method is not to update
-    // buffer position
-    for (int i = 0; i < byteLength; i++) {
-      bytes[i] = byteBuffer.get(bufferOffset + i);
-    }
-    return this.serializer.get().deserialize(bytes);
+    // the contract of this method is not to update buffer position
+    return KryoSerializer.local().deserialize(byteBuffer, bufferOffset, byteLength);
   }
 
   @Override
   public Object unpackFromBuffer(ByteBuffer byteBuffer, int byteLength) {
-    byte[] bytes = new byte[byteLength];
-    byteBuffer.get(bytes, 0, byteLength);
-    return serializer.get().deserialize(bytes);
+    Object value = KryoSerializer.local().deserialize(byteBuffer, byteBuffer.position(),
+        byteLength);
+    byteBuffer.position(byteBuffer.position() + byteLength);
+    return value;
   }
 }
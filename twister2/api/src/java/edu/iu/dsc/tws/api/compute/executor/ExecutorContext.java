@@ -21,12 +21,42 @@ public class ExecutorContext extends Context {
       "twister2.exector.instance.queue.low.watermark";
   public static final String INSTANCE_QUEUE_HIGH_WATERMARK =
       "twister2.exector.instance.queue.high.watermark";
+  /**
+   * Use pre allocated single producer single consumer ring buffers for the in queues of the
+   * streaming instances with a single in edge
+   */
+  public static final String INSTANCE_QUEUE_RING = "twister2.exector.instance.queue.ring";
   public static final String BATCH_EXECUTOR = "twister2.executor.batch.name";
   public static final String STREAM_EXECUTOR = "twister2.executor.stream.name";
   public static final String BATCH_EXECUTOR_SHARING_SEP_COMM
       = "edu.iu.dsc.tws.executor.threading.BatchSharingExecutor";
   public static final String BATCH_EXECUTOR_SHARING
       = "edu.iu.dsc.tws.executor.threading.BatchSharingExecutor2";
+  public static final String BATCH_EXECUTOR_EVENT_DRIVEN
+      = "edu.iu.dsc.tws.executor.threading.EventDrivenBatchExecutor";
+  public static final String BATCH_EXECUTOR_WORK_STEALING
+      = "edu.iu.dsc.tws.executor.threading.WorkStealingBatchExecutor";
+
+  /**
+   * Number of idle passes an event driven executor thread spins before yielding
+   */
+  public static final String IDLE_SPIN_COUNT = "twister2.executor.idle.spin.count";
+
+  /**
+   * Number of idle passes an event driven executor thread yields before parking
+   */
+  public static final String IDLE_YIELD_COUNT = "twister2.executor.idle.yield.count";
+
+  /**
+   * Maximum time an idle worker thread is parked without a wake up, in micro seconds
+   */
+  public static final String IDLE_MAX_PARK_MICROS = "twister2.executor.idle.max.park.micros";
+
+  /**
+   * Maximum time the thread progressing the channel is parked, in micro seconds
+   */
+  public static final String IDLE_MAX_PROGRESS_PARK_MICROS
+      = "twister2.executor.idle.max.progress.park.micros";
 
   public static final String STREAM_EXECUTOR_ALL_SHARING =
       "edu.iu.dsc.tws.executor.threading.StreamingAllSharingExecutor";
@@ -48,6 +78,34 @@ public class ExecutorContext extends Context {
     return cfg.getIntegerValue(INSTANCE_QUEUE_HIGH_WATERMARK, 128);
   }
 
+  public static boolean instanceQueueRing(Config cfg) {
+    return cfg.getBooleanValue(INSTANCE_QUEUE_RING, false);
+  }
+
+  /**
+   * Number of slots in a ring buffer instance queue, we keep room for the messages produced
+   * after the low water mark is reached
+   */
+  public static int instanceQueueRingCapacity(Config cfg) {
+    return 2 * Math.max(instanceQueueLowWaterMark(cfg), instanceQueueHighWaterMark(cfg));
+  }
+
+  public static int idleSpinCount(Config cfg) {
+    return cfg.getIntegerValue(IDLE_SPIN_COUNT, 100);
+  }
+
+  public static int idleYieldCount(Config cfg) {
+    return cfg.getIntegerValue(IDLE_YIELD_COUNT, 10);
+  }
+
+  public static long idleMaxParkMicros(Config cfg) {
+    return cfg.getLongValue(IDLE_MAX_PARK_MICROS, 1000);
+  }
+
+  public static long idleMaxProgressParkMicros(Config cfg) {
+    return cfg.getLongValue(IDLE_MAX_PROGRESS_PARK_MICROS, 50);
+  }
+
   public static String getBatchExecutor(Config cfg) {
     return cfg.getStringValue(BATCH_EXECUTOR, BATCH_EXECUTOR_SHARING);
   }
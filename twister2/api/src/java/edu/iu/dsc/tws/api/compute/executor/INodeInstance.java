@@ -11,6 +11,9 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.api.compute.executor;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import edu.iu.dsc.tws.api.compute.nodes.INode;
 import edu.iu.dsc.tws.api.config.Config;
 
@@ -53,6 +56,25 @@ public interface INodeInstance {
     return false;
   }
 
+  /**
+   * Weather this instance has data waiting to be processed or sent. Executors that park idle
+   * threads use this as a hint, so returning true is always safe.
+   *
+   * @return true if calling execute is likely to make progress
+   */
+  default boolean hasPendingWork() {
+    return true;
+  }
+
+  /**
+   * The parallel operations this instance sends to or receives from
+   *
+   * @return the operations
+   */
+  default Collection<IParallelOperation> getParallelOperations() {
+    return Collections.emptyList();
+  }
+
   /**
    * Get the node of this instance
    * @return the graph node
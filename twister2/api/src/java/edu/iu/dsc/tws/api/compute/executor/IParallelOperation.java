@@ -76,6 +76,13 @@ public interface IParallelOperation {
     this.getOp().reset();
   }
 
+  /**
+   * Weather the operation is waiting for credits from a receiving worker
+   */
+  default boolean isBackPressured() {
+    return this.getOp().isBackPressured();
+  }
+
   default boolean sendBarrier(int src, byte[] barrierId) {
     return this.getOp().sendBarrier(src, barrierId);
   }
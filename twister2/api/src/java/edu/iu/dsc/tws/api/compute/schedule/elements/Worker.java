@@ -18,6 +18,11 @@ import java.util.Map;
  * Represents a a worker.
  */
 public class Worker {
+  /**
+   * Property holding the IP of the node the worker is running on
+   */
+  public static final String NODE_IP = "nodeIP";
+
   /**
    * Id of the worker
    */
@@ -290,6 +290,22 @@ public class Context {
         getOpSpecificPropertyName(cfg, name), second);
   }
 
+  public static boolean getBooleanPropertyValue(Config cfg, String name, boolean def) {
+    boolean first = cfg.getBooleanValue(name, def);
+
+    Object modSpecific = getModeProperty(cfg, name, first);
+    first = TypeUtils.getBoolean(modSpecific);
+
+    boolean second = cfg.getBooleanValue(
+        getModeSpecificPropertyName(cfg, name), first);
+
+    Object modeOpSpecific = getModeOpProperty(cfg, name, second);
+    second = TypeUtils.getBoolean(modeOpSpecific);
+
+    return cfg.getBooleanValue(
+        getOpSpecificPropertyName(cfg, name), second);
+  }
+
   private static Object getModeOpProperty(Config cfg, String name, Object def) {
     String mode = mode(cfg);
 
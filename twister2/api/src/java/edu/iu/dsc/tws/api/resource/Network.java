@@ -39,6 +39,7 @@ package edu.iu.dsc.tws.api.resource;
 import java.lang.reflect.InvocationTargetException;
 import java.util.logging.Logger;
 
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
@@ -50,6 +51,9 @@ public final class Network {
 
   public static final Logger LOG = Logger.getLogger(Network.class.getName());
 
+  private static final String SHARED_MEMORY_CHANNEL
+      = "edu.iu.dsc.tws.comms.shm.TWSSharedMemoryChannel";
+
   private Network() {
   }
 
@@ -58,10 +62,18 @@ public final class Network {
         "twister2.network.channel.class",
         "edu.iu.dsc.tws.comms.mpi.TWSMPIChannel");
     try {
-      return (TWSChannel) Network.class.getClassLoader()
+      TWSChannel channel = (TWSChannel) Network.class.getClassLoader()
           .loadClass(channelClass)
           .getConstructor(Config.class, IWorkerController.class)
           .newInstance(config, wController);
+      if (CommunicationContext.sharedMemoryEnabled(config)) {
+        // workers of the same host talk through shared memory, the rest use the channel
+        channel = (TWSChannel) Network.class.getClassLoader()
+            .loadClass(SHARED_MEMORY_CHANNEL)
+            .getConstructor(Config.class, IWorkerController.class, TWSChannel.class)
+            .newInstance(config, wController, channel);
+      }
+      return channel;
     } catch (InstantiationException
         | IllegalAccessException
         | InvocationTargetException
@@ -30,6 +30,7 @@ import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.config.Context;
 import edu.iu.dsc.tws.api.exceptions.TimeoutException;
 import edu.iu.dsc.tws.api.util.CommonThreadPool;
+import edu.iu.dsc.tws.api.util.KryoSerializer;
 import edu.iu.dsc.tws.proto.jobmaster.JobMasterAPI;
 
 /**
@@ -100,6 +101,9 @@ public final class WorkerEnvironment {
     //initialize common thread pool
     CommonThreadPool.init(config);
 
+    //configure the kryo serializers used for object messages
+    KryoSerializer.init(config);
+
     //wait for the workers to join
     try {
       this.workerList = workerController.getAllWorkers();
@@ -172,6 +172,18 @@ public interface BatchTupleTSet<K, V> extends TupleTSet<K, V>,
       join(BatchTupleTSet<K, VR> rightTSet, CommunicationContext.JoinType type,
            Comparator<K> keyComparator, TaskPartitioner<K> partitioner);
 
+  /**
+   * Hint the approximate size of this tset in bytes, summed over all the partitions. Joins use
+   * this to replicate a small relation to all the workers instead of shuffling both relations. A
+   * join with a relation whose hint is below twister2.join.broadcast.threshold.bytes becomes a
+   * broadcast join unless its algorithm is set explicitly.
+   *
+   * @param bytes approximate size in bytes
+   * @return this tset
+   * @throws IllegalArgumentException if the size is negative
+   */
+  BatchTupleTSet<K, V> withSizeHint(long bytes);
+
   /**
    * Adds inputs to {@link BatchTupleTSet}s
    *
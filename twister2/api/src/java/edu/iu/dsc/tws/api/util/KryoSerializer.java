@@ -12,16 +12,65 @@
 package edu.iu.dsc.tws.api.util;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.logging.Logger;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.io.UnsafeInput;
+import com.esotericsoftware.kryo.io.UnsafeOutput;
+
+import edu.iu.dsc.tws.api.config.Config;
 
 /**
- * Kryo serializer for serializing objects
+ * Kryo serializer for serializing objects.
+ * <p>
+ * Every thread can get a serializer of its own with {@link #local()}. These serializers are
+ * configured by {@link #init(Config)}, they register the classes listed in
+ * {@link #KRYO_REGISTRATIONS} so that the class names are not written with the objects and can
+ * use unsafe based input and output. Data written by them should only be read by serializers
+ * configured in the same way, which is the case for all the workers of a job.
  */
 public class KryoSerializer {
+  private static final Logger LOG = Logger.getLogger(KryoSerializer.class.getName());
+
+  /**
+   * Classes to register with the thread local serializers, the order must be the same in every
+   * worker
+   */
+  public static final String KRYO_REGISTRATIONS = "twister2.kryo.registrations";
+
+  /**
+   * Use unsafe based input and output in the thread local serializers
+   */
+  public static final String KRYO_UNSAFE = "twister2.kryo.unsafe";
+
+  /**
+   * Classes registered with the thread local serializers
+   */
+  private static volatile List<Class<?>> registrations = Collections.emptyList();
+
+  /**
+   * Weather thread local serializers use unsafe input and output
+   */
+  private static volatile boolean unsafeIO = false;
+
+  /**
+   * Incremented every time the configuration changes, so that the thread local serializers
+   * created before are replaced
+   */
+  private static volatile int generation = 0;
+
+  /**
+   * The serializer of each thread
+   */
+  private static final ThreadLocal<KryoSerializer> LOCAL = new ThreadLocal<>();
+
   /**
    * Kryo object
    */
@@ -35,12 +84,76 @@ public class KryoSerializer {
    */
   private Input kryoIn;
 
+  /**
+   * Bytes are copied here when we read from buffers without an accessible array
+   */
+  private byte[] scratch = new byte[0];
+
+  /**
+   * The configuration generation this serializer was created with
+   */
+  private int createdGeneration;
+
   public KryoSerializer() {
+    this(Collections.emptyList(), false);
+  }
+
+  public KryoSerializer(List<Class<?>> classes, boolean unsafe) {
     kryo = new Kryo();
     kryo.setReferences(false);
     kryo.setRegistrationRequired(false);
-    kryoOut = new Output(2000, 2000000000);
-    kryoIn = new Input(1);
+    for (Class<?> c : classes) {
+      kryo.register(c);
+    }
+    if (unsafe) {
+      kryoOut = new UnsafeOutput(2000, 2000000000);
+      kryoIn = new UnsafeInput(1);
+    } else {
+      kryoOut = new Output(2000, 2000000000);
+      kryoIn = new Input(1);
+    }
+  }
+
+  /**
+   * Configure the thread local serializers
+   *
+   * @param config configuration
+   */
+  public static synchronized void init(Config config) {
+    List<Class<?>> classes = new ArrayList<>();
+    List<String> names = config.getStringList(KRYO_REGISTRATIONS);
+    if (names != null) {
+      ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      for (String name : names) {
+        try {
+          classes.add(Class.forName(name.trim(), false, loader));
+        } catch (ClassNotFoundException e) {
+          throw new RuntimeException("Failed to load class for kryo registration: " + name, e);
+        }
+      }
+    }
+    registrations = Collections.unmodifiableList(classes);
+    unsafeIO = config.getBooleanValue(KRYO_UNSAFE, false);
+    generation++;
+    LOG.fine(String.format("Kryo serializers configured with %d registrations, unsafe %b",
+        classes.size(), unsafeIO));
+  }
+
+  /**
+   * Get the serializer of the current thread. Kryo is not thread safe, so the returned serializer
+   * must not be shared with other threads.
+   *
+   * @return serializer of this thread
+   */
+  public static KryoSerializer local() {
+    KryoSerializer serializer = LOCAL.get();
+    int current = generation;
+    if (serializer == null || serializer.createdGeneration != current) {
+      serializer = new KryoSerializer(registrations, unsafeIO);
+      serializer.createdGeneration = current;
+      LOCAL.set(serializer);
+    }
+    return serializer;
   }
 
   public void init(Map<String, Object> config) {
@@ -52,13 +165,70 @@ public class KryoSerializer {
     return kryoOut.toBytes();
   }
 
+  /**
+   * Serialize the object and put it to the buffer, the position of the buffer is updated
+   *
+   * @param object object
+   * @param target the buffer
+   * @return number of bytes written
+   */
+  public int serialize(Object object, ByteBuffer target) {
+    kryoOut.clear();
+    kryo.writeClassAndObject(kryoOut, object);
+    target.put(kryoOut.getBuffer(), 0, kryoOut.position());
+    return kryoOut.position();
+  }
+
+  /**
+   * Serialize the object and put it to the buffer starting from the index, the position of the
+   * buffer is not changed
+   *
+   * @param object object
+   * @param target the buffer
+   * @param index index to start writing
+   * @return number of bytes written
+   */
+  public int serialize(Object object, ByteBuffer target, int index) {
+    kryoOut.clear();
+    kryo.writeClassAndObject(kryoOut, object);
+    ByteBuffer duplicate = target.duplicate();
+    duplicate.position(index);
+    duplicate.put(kryoOut.getBuffer(), 0, kryoOut.position());
+    return kryoOut.position();
+  }
+
   public Object deserialize(byte[] input) {
     kryoIn.setBuffer(input);
     return kryo.readClassAndObject(kryoIn);
   }
 
+  /**
+   * Deserialize an object from a part of the buffer, the position of the buffer is not changed.
+   * No array is allocated for the object bytes.
+   *
+   * @param buffer the buffer
+   * @param offset start of the object
+   * @param length number of bytes of the object
+   * @return the object
+   */
+  public Object deserialize(ByteBuffer buffer, int offset, int length) {
+    if (buffer.hasArray()) {
+      kryoIn.setBuffer(buffer.array(), buffer.arrayOffset() + offset, length);
+    } else {
+      if (scratch.length < length) {
+        scratch = new byte[Math.max(length, scratch.length * 2)];
+      }
+      ByteBuffer duplicate = buffer.duplicate();
+      duplicate.position(offset);
+      duplicate.get(scratch, 0, length);
+      kryoIn.setBuffer(scratch, 0, length);
+    }
+    return kryo.readClassAndObject(kryoIn);
+  }
+
   public Object deserialize(InputStream inputStream) {
-    Input input = new Input(inputStream);
+    Input input = kryoIn instanceof UnsafeInput
+        ? new UnsafeInput(inputStream) : new Input(inputStream);
     return kryo.readClassAndObject(input);
   }
 }
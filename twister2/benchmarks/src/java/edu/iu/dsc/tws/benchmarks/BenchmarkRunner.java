@@ -0,0 +1,46 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the JMH benchmarks in this module. Unless a result format is given in the arguments
+ * the results are written in json to {@link #DEFAULT_RESULTS_FILE}, so that runs can be compared
+ * with each other to catch regressions in the communication hot paths.
+ */
+public final class BenchmarkRunner {
+  /**
+   * The file results are written to if no file is specified
+   */
+  public static final String DEFAULT_RESULTS_FILE = "jmh-results.json";
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+    if (!jmhArgs.contains("-rf")) {
+      jmhArgs.add("-rf");
+      jmhArgs.add("json");
+      if (!jmhArgs.contains("-rff")) {
+        jmhArgs.add("-rff");
+        jmhArgs.add(DEFAULT_RESULTS_FILE);
+      }
+    }
+    Main.main(jmhArgs.toArray(new String[0]));
+  }
+}
@@ -0,0 +1,104 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.packing.DataPacker;
+
+/**
+ * Packing and unpacking of primitive arrays with the packers in
+ * {@link edu.iu.dsc.tws.api.comms.packing.types.primitive} to heap and direct buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayPackerBenchmark {
+  /**
+   * Name of the array type in MessageTypes
+   */
+  @Param({"INTEGER_ARRAY", "LONG_ARRAY", "DOUBLE_ARRAY", "FLOAT_ARRAY", "SHORT_ARRAY",
+      "CHAR_ARRAY", "BYTE_ARRAY"})
+  private String type;
+
+  /**
+   * Number of elements in the array
+   */
+  @Param({"16", "1024", "65536"})
+  private int size;
+
+  private DataPacker arrayPacker;
+
+  private Object array;
+
+  private int byteLength;
+
+  private ByteBuffer heapBuffer;
+
+  private ByteBuffer directBuffer;
+
+  @SuppressWarnings("unchecked")
+  @Setup
+  public void setup() {
+    MessageType arrayType = BenchmarkData.type(type);
+    arrayPacker = arrayType.getDataPacker();
+    array = BenchmarkData.array(arrayType, size);
+    byteLength = size * arrayType.getUnitSizeInBytes();
+
+    heapBuffer = ByteBuffer.allocate(byteLength)
+        .order(CommunicationContext.DEFAULT_BYTEORDER);
+    directBuffer = ByteBuffer.allocateDirect(byteLength)
+        .order(CommunicationContext.DEFAULT_BYTEORDER);
+    arrayPacker.packToByteBuffer(heapBuffer, 0, array);
+    arrayPacker.packToByteBuffer(directBuffer, 0, array);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Benchmark
+  public ByteBuffer packHeap() {
+    return arrayPacker.packToByteBuffer(heapBuffer, 0, array);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Benchmark
+  public ByteBuffer packDirect() {
+    return arrayPacker.packToByteBuffer(directBuffer, 0, array);
+  }
+
+  @Benchmark
+  public Object unpackHeap() {
+    return arrayPacker.unpackFromBuffer(heapBuffer, 0, byteLength);
+  }
+
+  @Benchmark
+  public Object unpackDirect() {
+    return arrayPacker.unpackFromBuffer(directBuffer, 0, byteLength);
+  }
+}
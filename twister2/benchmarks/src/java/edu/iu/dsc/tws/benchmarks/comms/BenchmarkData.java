@@ -0,0 +1,118 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+
+/**
+ * Creates the data used by the benchmarks, the same seed is used so that every run works on
+ * the same data.
+ */
+public final class BenchmarkData {
+  private static final long SEED = 42L;
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Get the message type with the given name from {@link MessageTypes}
+   *
+   * @param name name of the field, i.e. INTEGER_ARRAY
+   * @return the message type
+   */
+  public static MessageType type(String name) {
+    try {
+      return (MessageType) MessageTypes.class.getField(name).get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Un-known message type: " + name, e);
+    }
+  }
+
+  /**
+   * Create a primitive array of the given array type
+   *
+   * @param type the array type
+   * @param size number of elements
+   * @return the array
+   */
+  public static Object array(MessageType type, int size) {
+    Random random = new Random(SEED);
+    if (type == MessageTypes.INTEGER_ARRAY) {
+      int[] vals = new int[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = random.nextInt();
+      }
+      return vals;
+    } else if (type == MessageTypes.LONG_ARRAY) {
+      long[] vals = new long[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = random.nextLong();
+      }
+      return vals;
+    } else if (type == MessageTypes.DOUBLE_ARRAY) {
+      double[] vals = new double[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = random.nextDouble();
+      }
+      return vals;
+    } else if (type == MessageTypes.FLOAT_ARRAY) {
+      float[] vals = new float[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = random.nextFloat();
+      }
+      return vals;
+    } else if (type == MessageTypes.SHORT_ARRAY) {
+      short[] vals = new short[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = (short) random.nextInt();
+      }
+      return vals;
+    } else if (type == MessageTypes.CHAR_ARRAY) {
+      char[] vals = new char[size];
+      for (int i = 0; i < size; i++) {
+        vals[i] = (char) random.nextInt();
+      }
+      return vals;
+    } else if (type == MessageTypes.BYTE_ARRAY) {
+      byte[] vals = new byte[size];
+      random.nextBytes(vals);
+      return vals;
+    }
+    throw new IllegalArgumentException("Not an array type: " + type);
+  }
+
+  /**
+   * Create a list of integer keyed tuples with values of the given array type
+   *
+   * @param count number of tuples
+   * @param keyRange keys are picked from 0 to this value
+   * @param valueType type of the value arrays
+   * @param valueSize number of elements in a value
+   * @return the tuples
+   */
+  public static List<Tuple> tuples(int count, int keyRange, MessageType valueType,
+                                   int valueSize) {
+    Random random = new Random(SEED);
+    Object value = array(valueType, valueSize);
+    List<Tuple> tuples = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      tuples.add(new Tuple<>(random.nextInt(keyRange), value));
+    }
+    return tuples;
+  }
+}
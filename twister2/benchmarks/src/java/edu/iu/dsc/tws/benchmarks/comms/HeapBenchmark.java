@@ -0,0 +1,93 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.comms.utils.Heap;
+import edu.iu.dsc.tws.comms.utils.HeapNode;
+
+/**
+ * K way merge of sorted lists with {@link Heap}, the way sorted partitions are merged.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+  /**
+   * Total number of tuples in all the lists
+   */
+  @Param({"1024", "65536"})
+  private int size;
+
+  /**
+   * Number of sorted lists merged
+   */
+  @Param({"4", "64"})
+  private int lists;
+
+  private List<List<Tuple<Integer, Integer>>> sortedLists;
+
+  @Setup
+  public void setup() {
+    sortedLists = new ArrayList<>(lists);
+    for (int i = 0; i < lists; i++) {
+      sortedLists.add(new ArrayList<>());
+    }
+    // keys are spread in a round robin fashion, so each list is sorted
+    for (int i = 0; i < size; i++) {
+      sortedLists.get(i % lists).add(new Tuple<>(i, i));
+    }
+  }
+
+  @Benchmark
+  public void merge(Blackhole blackhole) {
+    Heap<Integer, Integer> heap = new Heap<>(lists, Comparator.<Integer>naturalOrder());
+    int[] indexes = new int[lists];
+    for (int i = 0; i < lists; i++) {
+      if (!sortedLists.get(i).isEmpty()) {
+        heap.insert(sortedLists.get(i).get(0), i);
+        indexes[i] = 1;
+      }
+    }
+
+    HeapNode<Integer, Integer> min = heap.extractMin();
+    while (min != null) {
+      blackhole.consume(min.getData());
+      List<Tuple<Integer, Integer>> list = sortedLists.get(min.listNo);
+      if (indexes[min.listNo] < list.size()) {
+        heap.insert(list.get(indexes[min.listNo]++), min.listNo);
+      }
+      min = heap.extractMin();
+    }
+  }
+}
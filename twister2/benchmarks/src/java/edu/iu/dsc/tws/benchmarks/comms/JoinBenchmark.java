@@ -0,0 +1,78 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.comms.utils.HashJoinUtils;
+import edu.iu.dsc.tws.comms.utils.KeyComparatorWrapper;
+import edu.iu.dsc.tws.comms.utils.SortJoinUtils;
+
+/**
+ * In memory inner joins of two relations with {@link SortJoinUtils} and {@link HashJoinUtils}.
+ * The sort join sorts its inputs in place, so both joins are given fresh copies of the relations
+ * in each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+  /**
+   * Number of tuples in each relation, keys are picked from the same range
+   */
+  @Param({"1024", "65536"})
+  private int size;
+
+  private List<Tuple> left;
+
+  private List<Tuple> right;
+
+  private KeyComparatorWrapper comparator;
+
+  @Setup
+  public void setup() {
+    left = BenchmarkData.tuples(size, size, MessageTypes.INTEGER_ARRAY, 4);
+    right = BenchmarkData.tuples(size, size, MessageTypes.DOUBLE_ARRAY, 4);
+    comparator = new KeyComparatorWrapper(Comparator.<Integer>naturalOrder());
+  }
+
+  @Benchmark
+  public List<Object> sortJoin() {
+    return SortJoinUtils.innerJoin(new ArrayList<>(left), new ArrayList<>(right), comparator);
+  }
+
+  @Benchmark
+  public List<Object> hashJoin() {
+    return HashJoinUtils.innerJoin(new ArrayList<>(left), new ArrayList<>(right),
+        MessageTypes.INTEGER);
+  }
+}
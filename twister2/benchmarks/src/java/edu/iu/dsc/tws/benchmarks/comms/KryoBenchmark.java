@@ -0,0 +1,101 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.util.KryoSerializer;
+
+/**
+ * Object serialization with the thread local {@link KryoSerializer} used by the object packer,
+ * for a list of tuples and a primitive array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoBenchmark {
+  /**
+   * Number of tuples in the list and elements in the array
+   */
+  @Param({"16", "1024", "65536"})
+  private int size;
+
+  private KryoSerializer serializer;
+
+  private List<Tuple> tuples;
+
+  private double[] array;
+
+  /**
+   * Buffer the benchmarks serialize to
+   */
+  private ByteBuffer buffer;
+
+  private ByteBuffer serializedTuples;
+
+  private ByteBuffer serializedArray;
+
+  @Setup
+  public void setup() {
+    serializer = KryoSerializer.local();
+    tuples = BenchmarkData.tuples(size, size, MessageTypes.INTEGER_ARRAY, 4);
+    array = (double[]) BenchmarkData.array(MessageTypes.DOUBLE_ARRAY, size);
+    serializedTuples = ByteBuffer.wrap(serializer.serialize(tuples));
+    serializedArray = ByteBuffer.wrap(serializer.serialize(array));
+    buffer = ByteBuffer.allocate(Math.max(serializedTuples.capacity(),
+        serializedArray.capacity()));
+  }
+
+  @Benchmark
+  public byte[] serializeTuples() {
+    return serializer.serialize(tuples);
+  }
+
+  @Benchmark
+  public int serializeTuplesToBuffer() {
+    return serializer.serialize(tuples, buffer, 0);
+  }
+
+  @Benchmark
+  public Object deserializeTuples() {
+    return serializer.deserialize(serializedTuples, 0, serializedTuples.capacity());
+  }
+
+  @Benchmark
+  public int serializeArrayToBuffer() {
+    return serializer.serialize(array, buffer, 0);
+  }
+
+  @Benchmark
+  public Object deserializeArray() {
+    return serializer.deserialize(serializedArray, 0, serializedArray.capacity());
+  }
+}
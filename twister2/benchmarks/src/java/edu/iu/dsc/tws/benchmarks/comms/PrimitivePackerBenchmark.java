@@ -0,0 +1,97 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataPacker;
+
+/**
+ * Single value packers, measured by packing and unpacking a number of values one at a time as
+ * the keyed serializers do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivePackerBenchmark {
+  /**
+   * Number of values packed
+   */
+  @Param({"16", "1024", "65536"})
+  private int size;
+
+  private ByteBuffer buffer;
+
+  private DataPacker<Integer, ?> integerPacker;
+
+  private DataPacker<Long, ?> longPacker;
+
+  private DataPacker<Double, ?> doublePacker;
+
+  @Setup
+  public void setup() {
+    buffer = ByteBuffer.allocate(size * Long.BYTES).order(CommunicationContext.DEFAULT_BYTEORDER);
+    integerPacker = MessageTypes.INTEGER.getDataPacker();
+    longPacker = MessageTypes.LONG.getDataPacker();
+    doublePacker = MessageTypes.DOUBLE.getDataPacker();
+  }
+
+  @Benchmark
+  public void integerRoundTrip(Blackhole blackhole) {
+    for (int i = 0; i < size; i++) {
+      integerPacker.packToByteBuffer(buffer, i * Integer.BYTES, i);
+    }
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(integerPacker.unpackFromBuffer(buffer, i * Integer.BYTES,
+          Integer.BYTES));
+    }
+  }
+
+  @Benchmark
+  public void longRoundTrip(Blackhole blackhole) {
+    for (int i = 0; i < size; i++) {
+      longPacker.packToByteBuffer(buffer, i * Long.BYTES, (long) i);
+    }
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(longPacker.unpackFromBuffer(buffer, i * Long.BYTES, Long.BYTES));
+    }
+  }
+
+  @Benchmark
+  public void doubleRoundTrip(Blackhole blackhole) {
+    for (int i = 0; i < size; i++) {
+      doublePacker.packToByteBuffer(buffer, i * Double.BYTES, (double) i);
+    }
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(doublePacker.unpackFromBuffer(buffer, i * Double.BYTES, Double.BYTES));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.MessageDeSerializer;
+import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.comms.packing.MessageSerializer;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.dfw.InMessage;
+import edu.iu.dsc.tws.comms.dfw.OutMessage;
+import edu.iu.dsc.tws.comms.dfw.io.AggregatedObjects;
+import edu.iu.dsc.tws.comms.dfw.io.DataDeserializer;
+import edu.iu.dsc.tws.comms.dfw.io.DataSerializer;
+import edu.iu.dsc.tws.comms.dfw.io.FixedSchemaKeyedDataDeSerializer;
+import edu.iu.dsc.tws.comms.dfw.io.FixedSchemaKeyedDataSerializer;
+import edu.iu.dsc.tws.comms.dfw.io.KeyedDataDeSerializer;
+import edu.iu.dsc.tws.comms.dfw.io.KeyedDataSerializer;
+
+/**
+ * Serializes a message in to network buffers and builds it back the way a receiver does, for
+ * a single primitive array with {@link DataSerializer} and a list of tuples with
+ * {@link KeyedDataSerializer}, and with {@link FixedSchemaKeyedDataSerializer} when the tuples
+ * have a fixed schema.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+  /**
+   * Number of elements in the array, or number of tuples in the keyed list
+   */
+  @Param({"16", "1024", "65536"})
+  private int size;
+
+  /**
+   * Size of a network buffer
+   */
+  @Param({"65536"})
+  private int bufferSize;
+
+  private BlockingQueue<DataBuffer> buffers;
+
+  private Object array;
+
+  private AggregatedObjects<Object> tuples;
+
+  private DataSerializer serializer;
+
+  private DataDeserializer deserializer;
+
+  private KeyedDataSerializer keyedSerializer;
+
+  private KeyedDataDeSerializer keyedDeserializer;
+
+  private FixedSchemaKeyedDataSerializer schemaSerializer;
+
+  private FixedSchemaKeyedDataDeSerializer schemaDeserializer;
+
+  @Setup
+  public void setup() {
+    Config config = Config.newBuilder().build();
+    // enough buffers for the keyed list, each tuple takes less than 32 bytes
+    int numBuffers = (int) ((long) size * 32 / bufferSize) + 2;
+    buffers = new LinkedBlockingQueue<>();
+    for (int i = 0; i < numBuffers; i++) {
+      buffers.offer(new DataBuffer(ByteBuffer.allocate(bufferSize)));
+    }
+
+    array = BenchmarkData.array(MessageTypes.DOUBLE_ARRAY, size);
+    tuples = new AggregatedObjects<>(size);
+    for (int i = 0; i < size; i++) {
+      tuples.add(new Tuple<>(i, (double) i));
+    }
+
+    serializer = new DataSerializer();
+    serializer.init(config, buffers);
+    deserializer = new DataDeserializer();
+    deserializer.init(config);
+    keyedSerializer = new KeyedDataSerializer();
+    keyedSerializer.init(config, buffers);
+    keyedDeserializer = new KeyedDataDeSerializer();
+    keyedDeserializer.init(config);
+
+    MessageSchema schema = MessageSchema.ofSize(Integer.BYTES + Double.BYTES, Integer.BYTES);
+    schemaSerializer = new FixedSchemaKeyedDataSerializer(schema);
+    schemaSerializer.init(config, buffers);
+    schemaDeserializer = new FixedSchemaKeyedDataDeSerializer(schema);
+    schemaDeserializer.init(config);
+  }
+
+  @Benchmark
+  public Object array() {
+    return roundTrip(serializer, deserializer, array, MessageTypes.DOUBLE_ARRAY, null);
+  }
+
+  @Benchmark
+  public Object keyedList() {
+    return roundTrip(keyedSerializer, keyedDeserializer, tuples, MessageTypes.DOUBLE,
+        MessageTypes.INTEGER);
+  }
+
+  @Benchmark
+  public Object keyedListWithSchema() {
+    return roundTrip(schemaSerializer, schemaDeserializer, tuples, MessageTypes.DOUBLE,
+        MessageTypes.INTEGER);
+  }
+
+  private Object roundTrip(MessageSerializer messageSerializer,
+                           MessageDeSerializer messageDeSerializer,
+                           Object data, MessageType dataType, MessageType keyType) {
+    OutMessage outMessage = new OutMessage(0, 1, -1, 10, 0, null,
+        null, dataType, keyType, null, data);
+    List<ChannelMessage> messages = new ArrayList<>();
+    while (outMessage.getSendState() != OutMessage.SendState.SERIALIZED) {
+      messages.add(messageSerializer.build(data, outMessage));
+    }
+
+    MessageHeader header = messageDeSerializer.buildHeader(
+        messages.get(0).getBuffers().get(0), 1);
+    InMessage inMessage = new InMessage(0, dataType, null, header);
+    inMessage.setKeyType(keyType);
+    for (ChannelMessage channelMessage : messages) {
+      for (DataBuffer dataBuffer : channelMessage.getBuffers()) {
+        inMessage.addBufferAndCalculate(dataBuffer);
+      }
+    }
+    messageDeSerializer.build(inMessage, 1);
+
+    // return the buffers for the next invocation
+    for (ChannelMessage channelMessage : messages) {
+      for (DataBuffer dataBuffer : channelMessage.getBuffers()) {
+        dataBuffer.getByteBuffer().clear();
+        buffers.offer(dataBuffer);
+      }
+    }
+    return inMessage.getDeserializedData();
+  }
+}
@@ -0,0 +1,92 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.benchmarks.comms;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.comms.utils.THashMap;
+
+/**
+ * Inserting and looking up keys in {@link THashMap}, which the hash joins use to build the hash
+ * table. A {@link HashMap} with integer keys is measured as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class THashMapBenchmark {
+  /**
+   * Number of keys in the map
+   */
+  @Param({"1024", "65536"})
+  private int size;
+
+  private Integer[] integerKeys;
+
+  private byte[][] byteKeys;
+
+  @Setup
+  public void setup() {
+    integerKeys = new Integer[size];
+    byteKeys = new byte[size][];
+    for (int i = 0; i < size; i++) {
+      integerKeys[i] = i;
+      byteKeys[i] = ByteBuffer.allocate(Long.BYTES).putLong(i).array();
+    }
+  }
+
+  @Benchmark
+  public void integerKeys(Blackhole blackhole) {
+    Map<Object, Object> map = new THashMap<>(MessageTypes.INTEGER);
+    putAndGet(map, integerKeys, blackhole);
+  }
+
+  @Benchmark
+  public void byteArrayKeys(Blackhole blackhole) {
+    Map<Object, Object> map = new THashMap<>(MessageTypes.BYTE_ARRAY);
+    putAndGet(map, byteKeys, blackhole);
+  }
+
+  @Benchmark
+  public void integerKeysHashMap(Blackhole blackhole) {
+    Map<Object, Object> map = new HashMap<>();
+    putAndGet(map, integerKeys, blackhole);
+  }
+
+  private static void putAndGet(Map<Object, Object> map, Object[] keys, Blackhole blackhole) {
+    for (Object key : keys) {
+      map.put(key, key);
+    }
+    for (Object key : keys) {
+      blackhole.consume(map.get(key));
+    }
+  }
+}
@@ -42,22 +42,42 @@ public abstract class BaseNetworkChannel {
 
   protected ByteBuffer readHeader;
 
-  protected ByteBuffer writeHeader;
-
   protected TCPMessage readingRequest;
 
+  /**
+   * Buffers used for scattering reads of a body and the next header
+   */
+  private ByteBuffer[] readBuffers;
+
   protected int readEdge;
 
   protected int readMessageSize;
 
   protected DataStatus readStatus;
 
-  protected DataStatus writeStatus;
-
   protected ChannelHandler channelHandler;
 
+  /**
+   * Messages taken from the pending sends that are being written with a gathering write
+   */
+  private final TCPMessage[] writeBatch;
+
+  /**
+   * The header and body buffers of the messages in the write batch, header of the message i is
+   * at 2 * i and the body at 2 * i + 1. Header buffers are direct and reused.
+   */
+  private final ByteBuffer[] writeBuffers;
+
+  /**
+   * Number of messages in the write batch
+   */
+  private int writeBatchSize;
+
   // header size of each message, we use edge and length as the header
-  private static final int HEADER_SIZE = 8;
+  protected static final int HEADER_SIZE = 8;
+
+  // default number of messages written with a single system call
+  private static final int DEFAULT_WRITE_GATHER_MAX = 32;
 
   BaseNetworkChannel(Config cfg, Progress progress, SelectHandler handler,
                      SocketChannel channel, ChannelHandler msgHandler) {
@@ -70,10 +90,18 @@ public abstract class BaseNetworkChannel {
     pendingReceives = new HashMap<>();
 
     readHeader = ByteBuffer.allocate(HEADER_SIZE);
-    writeHeader = ByteBuffer.allocate(HEADER_SIZE);
+
+    int gatherMax = Math.max(1, TCPContext.getWriteGatherMax(cfg, DEFAULT_WRITE_GATHER_MAX));
+    writeBatch = new TCPMessage[gatherMax];
+    writeBuffers = new ByteBuffer[gatherMax * 2];
+    ByteBuffer headers = ByteBuffer.allocateDirect(gatherMax * HEADER_SIZE);
+    for (int i = 0; i < gatherMax; i++) {
+      headers.limit((i + 1) * HEADER_SIZE);
+      headers.position(i * HEADER_SIZE);
+      writeBuffers[2 * i] = headers.slice();
+    }
 
     this.readStatus = DataStatus.INIT;
-    this.writeStatus = DataStatus.INIT;
   }
 
   public void read() {
@@ -94,12 +122,29 @@ public abstract class BaseNetworkChannel {
   public void clear() {
     pendingReceives.clear();
     pendingSends.clear();
+    for (int i = 0; i < writeBatchSize; i++) {
+      writeBatch[i] = null;
+      writeBuffers[2 * i + 1] = null;
+    }
+    writeBatchSize = 0;
   }
 
   public boolean addReadRequest(TCPMessage request) {
     return false;
   }
 
+  /**
+   * Remove a read request that is not yet being read
+   *
+   * @param request the request
+   * @return true if the request was removed, false if it is already being read or is not
+   * found
+   */
+  public boolean removeReadRequest(TCPMessage request) {
+    BlockingQueue<TCPMessage> readRequests = pendingReceives.get(request.getEdge());
+    return readRequests != null && readRequests.remove(request);
+  }
+
   public boolean addWriteRequest(TCPMessage request) {
     ByteBuffer byteBuffer = request.getByteBuffer();
     if (request.getLength() == 0) {
@@ -113,82 +158,94 @@ public abstract class BaseNetworkChannel {
     return pendingSends.offer(request);
   }
 
+  /**
+   * Write the pending messages. Messages are written in batches with a single gathering write
+   * for the headers and bodies of a batch, so many small messages need only one system call.
+   */
   public void write() {
-    while (pendingSends.size() > 0) {
-      TCPMessage writeRequest = pendingSends.peek();
-      if (writeRequest == null) {
-        break;
-      }
-
-      int writeState = writeRequest(socketChannel, writeRequest);
-      if (writeState > 0) {
-        break;
-      } else if (writeState < 0) {
+    while (writeBatchSize > 0 || pendingSends.size() > 0) {
+      int completed = writeBatch(socketChannel);
+      if (completed < 0) {
         LOG.severe("Something bad happened while writing to channel");
         selectHandler.handleError(socketChannel);
         return;
-      } else {
-        // remove the request
-        pendingSends.poll();
-        writeRequest.setComplete(true);
-        // notify the handler
-        channelHandler.onSendComplete(socketChannel, writeRequest);
-        if (pendingSends.size() == 0) {
-          disableWriting();
-        }
       }
-    }
-
-  }
 
-  private int writeRequest(SocketChannel channel, TCPMessage message) {
-    ByteBuffer buffer = message.getByteBuffer();
-    int written = 0;
-    if (writeStatus == DataStatus.INIT) {
-      // lets flip the buffer
-      writeHeader.clear();
-      writeStatus = DataStatus.HEADER;
-
-      writeHeader.putInt(message.getLength());
-      writeHeader.putInt(message.getEdge());
-      writeHeader.flip();
-    }
-
-    if (writeStatus == DataStatus.HEADER) {
-      written = writeToChannel(channel, writeHeader);
-      if (written < 0) {
-        return written;
-      } else if (written == 0) {
-        writeStatus = DataStatus.BODY;
+      if (writeBatchSize > 0) {
+        // the socket buffer is full, we will continue when the channel is writable again
+        break;
+      } else if (pendingSends.size() == 0) {
+        disableWriting();
       }
     }
+  }
 
-    if (writeStatus == DataStatus.BODY) {
-      written = writeToChannel(channel, buffer);
-      if (written < 0) {
-        return written;
-      } else if (written == 0) {
-        LOG.finest(String.format("WRITE BODY %d", buffer.limit()));
-        writeStatus = DataStatus.INIT;
-        return written;
+  /**
+   * Fill the write batch from the pending sends and write it to the channel
+   *
+   * @param channel the channel
+   * @return number of messages written fully or -1 in case of an error
+   */
+  private int writeBatch(SocketChannel channel) {
+    while (writeBatchSize < writeBatch.length) {
+      TCPMessage message = pendingSends.poll();
+      if (message == null) {
+        break;
       }
+      ByteBuffer header = writeBuffers[2 * writeBatchSize];
+      header.clear();
+      header.putInt(message.getLength());
+      header.putInt(message.getEdge());
+      header.flip();
+      writeBuffers[2 * writeBatchSize + 1] = message.getByteBuffer();
+      writeBatch[writeBatchSize++] = message;
     }
 
-    return written;
-  }
+    if (writeBatchSize == 0) {
+      return 0;
+    }
 
-  private int writeToChannel(SocketChannel channel, ByteBuffer buffer) {
-    int remaining = buffer.remaining();
-    assert remaining > 0;
-    int wrote;
     try {
-      wrote = channel.write(buffer);
+      long wrote = channel.write(writeBuffers, 0, writeBatchSize * 2);
       LOG.finest("Wrote " + wrote);
     } catch (IOException e) {
       LOG.log(Level.SEVERE, "Error writing to channel ", e);
       return -1;
     }
-    return remaining - wrote;
+
+    // a message is written once both its header and its body are written
+    int completed = 0;
+    while (completed < writeBatchSize && !writeBuffers[2 * completed].hasRemaining()
+        && !writeBuffers[2 * completed + 1].hasRemaining()) {
+      completed++;
+    }
+    if (completed == 0) {
+      return 0;
+    }
+
+    for (int i = 0; i < completed; i++) {
+      TCPMessage message = writeBatch[i];
+      LOG.finest(String.format("WRITE BODY %d", message.getByteBuffer().limit()));
+      message.setComplete(true);
+      channelHandler.onSendComplete(channel, message);
+    }
+
+    // move the partially written messages to the front, swapping the header buffers so that
+    // each slot still owns a header
+    for (int i = completed; i < writeBatchSize; i++) {
+      int to = i - completed;
+      ByteBuffer header = writeBuffers[2 * to];
+      writeBuffers[2 * to] = writeBuffers[2 * i];
+      writeBuffers[2 * i] = header;
+      writeBuffers[2 * to + 1] = writeBuffers[2 * i + 1];
+      writeBatch[to] = writeBatch[i];
+    }
+    for (int i = writeBatchSize - completed; i < writeBatchSize; i++) {
+      writeBuffers[2 * i + 1] = null;
+      writeBatch[i] = null;
+    }
+    writeBatchSize -= completed;
+    return completed;
   }
 
   int readFromChannel(SocketChannel channel, ByteBuffer buffer) {
@@ -211,17 +268,49 @@ public abstract class BaseNetworkChannel {
     }
   }
 
+  /**
+   * Read the body of the current message and, with the same system call, as much as possible of
+   * the header of the next message in to {@link #readHeader}. The header must be cleared before.
+   *
+   * @param channel the channel
+   * @param body the body buffer
+   * @return the remaining bytes of the body or a negative value in case of an error
+   */
+  int readBodyAndNextHeader(SocketChannel channel, ByteBuffer body) {
+    if (readBuffers == null) {
+      readBuffers = new ByteBuffer[2];
+    }
+    readBuffers[0] = body;
+    readBuffers[1] = readHeader;
+    long read;
+    try {
+      read = channel.read(readBuffers);
+    } catch (java.nio.channels.ClosedByInterruptException e) {
+      LOG.warning("ClosedByInterruptException thrown. "
+          + "Probably the Channel is closed by the user program intentionally.");
+      return -1;
+    } catch (IOException e) {
+      LOG.log(Level.SEVERE, "Error in channel.read ", e);
+      return -1;
+    } finally {
+      readBuffers[0] = null;
+    }
+    if (read < 0) {
+      return -1;
+    }
+    return body.remaining();
+  }
+
   public void forceFlush() {
-    while (!pendingSends.isEmpty()) {
-      int writeState = writeRequest(socketChannel, pendingSends.poll());
-      if (writeState != 0) {
+    while (writeBatchSize > 0 || !pendingSends.isEmpty()) {
+      if (writeBatch(socketChannel) <= 0) {
         return;
       }
     }
   }
 
   public boolean isPending() {
-    boolean sendPending = pendingSends.size() > 0;
+    boolean sendPending = writeBatchSize > 0 || pendingSends.size() > 0;
     boolean recvPending = false;
     for (Map.Entry<Integer, BlockingQueue<TCPMessage>> e : pendingReceives.entrySet()) {
       recvPending = e.getValue().size() > 0;
@@ -39,7 +39,8 @@ public interface ChannelHandler {
   void onClose(SocketChannel channel);
 
   /**
-   * A message hae been received fully
+   * A message hae been received fully. With dynamic buffers the buffer of the message may be
+   * reused once this method returns, so it must be consumed here.
    * @param channel the channel
    * @param readRequest the message details along with the buffers read
    */
@@ -17,12 +17,31 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.config.Config;
 
+/**
+ * A channel that allocates the buffers for the messages it receives. Messages are read in to a
+ * direct buffer of the channel, so a single read can bring in many small messages. Such messages
+ * are delivered as slices of this buffer and are only valid until
+ * {@link ChannelHandler#onReceiveComplete(SocketChannel, TCPMessage)} returns. Messages larger
+ * than the read buffer get their own buffer.
+ */
 public class DynamicBufferChannel extends BaseNetworkChannel {
   private static final Logger LOG = Logger.getLogger(DynamicBufferChannel.class.getName());
 
+  // default size of the read buffer
+  private static final int DEFAULT_READ_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The buffer we read in to, kept ready for reading the received bytes
+   */
+  private final ByteBuffer readBuffer;
+
   public DynamicBufferChannel(Config cfg, Progress progress, SelectHandler handler,
                             SocketChannel channel, ChannelHandler msgHandler) {
     super(cfg, progress, handler, channel, msgHandler);
+    int size = Math.max(HEADER_SIZE,
+        TCPContext.getReadBufferSize(cfg, DEFAULT_READ_BUFFER_SIZE));
+    this.readBuffer = ByteBuffer.allocateDirect(size);
+    this.readBuffer.flip();
   }
 
   public void read() {
@@ -45,66 +64,97 @@ public class DynamicBufferChannel extends BaseNetworkChannel {
    * @return
    */
   public TCPMessage readRequest(SocketChannel channel) {
-    if (readStatus == DataStatus.INIT) {
-      readHeader.clear();
-      readStatus = DataStatus.HEADER;
-      LOG.finest("READ Header INIT");
+    if (readingRequest != null) {
+      return readLargeBody(channel);
     }
 
-    if (readStatus == DataStatus.HEADER) {
-      int retval = readFromChannel(channel, readHeader);
-      if (retval != 0) {
-        // we had an error
-        if (retval < 0) {
-          selectHandler.handleError(channel);
-        }
+    if (readStatus != DataStatus.BODY) {
+      if (readBuffer.remaining() < HEADER_SIZE && !fill(channel)) {
         return null;
       }
-
-      // We read the header fully
-      readHeader.flip();
-      readMessageSize = readHeader.getInt();
-      readEdge = readHeader.getInt();
+      if (readBuffer.remaining() < HEADER_SIZE) {
+        return null;
+      }
+      readMessageSize = readBuffer.getInt();
+      readEdge = readBuffer.getInt();
       readStatus = DataStatus.BODY;
       LOG.finest(String.format("READ Header %d %d", readMessageSize, readEdge));
     }
 
-    if (readStatus == DataStatus.BODY) {
-      ByteBuffer buffer;
-      if (readingRequest == null) {
-        readingRequest = new TCPMessage(ByteBuffer.allocate(readMessageSize),
-            readEdge, readMessageSize);
-        buffer = readingRequest.getByteBuffer();
-        buffer.limit(readMessageSize);
-      } else {
-        buffer = readingRequest.getByteBuffer();
-      }
+    if (readMessageSize > readBuffer.capacity()) {
+      // the message does not fit in to the read buffer, copy what we have and read the rest
+      // directly to its own buffer
+      ByteBuffer buffer = ByteBuffer.allocate(readMessageSize);
+      buffer.put(readBuffer);
+      readingRequest = new TCPMessage(buffer, readEdge, readMessageSize);
+      return readLargeBody(channel);
+    }
+
+    if (readBuffer.remaining() < readMessageSize && !fill(channel)) {
+      return null;
+    }
+    if (readBuffer.remaining() < readMessageSize) {
+      return null;
+    }
 
-      int retVal = readFromChannel(channel, buffer);
-      if (retVal < 0) {
-        readMessageSize = 0;
-        readEdge = 0;
+    ByteBuffer buffer = readBuffer.slice();
+    buffer.limit(readMessageSize);
+    readBuffer.position(readBuffer.position() + readMessageSize);
+    TCPMessage ret = new TCPMessage(buffer, readEdge, readMessageSize);
+    resetRead();
+    LOG.finest(String.format("READ Body %d", buffer.limit()));
+    return ret;
+  }
 
-        readingRequest = null;
-        readStatus = DataStatus.INIT;
-        LOG.severe("Failed to read");
+  private TCPMessage readLargeBody(SocketChannel channel) {
+    ByteBuffer buffer = readingRequest.getByteBuffer();
+    int retVal = buffer.hasRemaining() ? readFromChannel(channel, buffer) : 0;
+    if (retVal < 0) {
+      readingRequest = null;
+      resetRead();
+      LOG.severe("Failed to read");
 
-        // we had an error
-        selectHandler.handleError(channel);
-        // handle the error
-        return null;
-      } else if (retVal == 0) {
-        readMessageSize = 0;
-        readEdge = 0;
-        buffer.flip();
-
-        TCPMessage ret = readingRequest;
-        readingRequest = null;
-        readStatus = DataStatus.INIT;
-        LOG.finest(String.format("READ Body %d", buffer.limit()));
-        return ret;
-      }
+      // we had an error
+      selectHandler.handleError(channel);
+      return null;
+    } else if (retVal == 0) {
+      buffer.flip();
+
+      TCPMessage ret = readingRequest;
+      readingRequest = null;
+      resetRead();
+      LOG.finest(String.format("READ Body %d", buffer.limit()));
+      return ret;
     }
     return null;
   }
+
+  /**
+   * Read from the channel to the free space of the read buffer
+   *
+   * @param channel the channel
+   * @return false if an error occurred
+   */
+  private boolean fill(SocketChannel channel) {
+    readBuffer.compact();
+    int retVal = readFromChannel(channel, readBuffer);
+    readBuffer.flip();
+    if (retVal < 0) {
+      readBuffer.clear();
+      readBuffer.flip();
+      resetRead();
+      LOG.severe("Failed to read");
+
+      // we had an error
+      selectHandler.handleError(channel);
+      return false;
+    }
+    return true;
+  }
+
+  private void resetRead() {
+    readMessageSize = 0;
+    readEdge = 0;
+    readStatus = DataStatus.INIT;
+  }
 }
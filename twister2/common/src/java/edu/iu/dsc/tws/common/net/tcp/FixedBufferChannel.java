@@ -66,7 +66,8 @@ public class FixedBufferChannel extends BaseNetworkChannel {
       LOG.finest("READ Header INIT");
     }
 
-    if (readStatus == DataStatus.HEADER) {
+    // the header may already be read with the body of the previous message
+    if (readStatus == DataStatus.HEADER && readHeader.hasRemaining()) {
       int retval = readFromChannel(channel, readHeader);
       if (retval != 0) {
         // either we didnt read fully or we had an error
@@ -76,12 +77,16 @@ public class FixedBufferChannel extends BaseNetworkChannel {
         }
         return null;
       }
+    }
 
+    if (readStatus == DataStatus.HEADER) {
       // We read the header fully
       readHeader.flip();
       readMessageSize = readHeader.getInt();
       readEdge = readHeader.getInt();
       readStatus = DataStatus.BODY;
+      // the header buffer receives the next header while we read the body
+      readHeader.clear();
       LOG.finest(String.format("READ Header %d %d", readMessageSize, readEdge));
     }
 
@@ -99,7 +104,7 @@ public class FixedBufferChannel extends BaseNetworkChannel {
         buffer = readingRequest.getByteBuffer();
       }
 
-      int retVal = readFromChannel(channel, buffer);
+      int retVal = readBodyAndNextHeader(channel, buffer);
       if (retVal < 0) {
         readMessageSize = 0;
         readEdge = 0;
@@ -118,7 +123,8 @@ public class FixedBufferChannel extends BaseNetworkChannel {
 
         TCPMessage ret = readingRequest;
         readingRequest = null;
-        readStatus = DataStatus.INIT;
+        // part of the next header may be already read in to the header buffer
+        readStatus = DataStatus.HEADER;
         LOG.finest(String.format("READ Body %d", buffer.limit()));
         return ret;
       } else {
@@ -193,6 +193,16 @@ public class Server implements SelectHandler {
     return request;
   }
 
+  /**
+   * Cancel a receive posted with {@link #receive(SocketChannel, ByteBuffer, int, int)}
+   *
+   * @return true if the receive is cancelled and its buffer is not used anymore
+   */
+  public boolean cancelReceive(SocketChannel sc, TCPMessage request) {
+    BaseNetworkChannel channel = connectedChannels.get(sc);
+    return channel != null && channel.removeReadRequest(request);
+  }
+
   @Override
   public void handleRead(SelectableChannel ch) {
     BaseNetworkChannel channel = connectedChannels.get(ch);
@@ -214,6 +214,18 @@ public class TCPChannel {
     return server.receive(ch, buffer, size, edge);
   }
 
+  /**
+   * Cancel a receive that is not yet started
+   *
+   * @param request the receive request
+   * @param procId the process id the receive is posted to
+   * @return true if the receive is cancelled and its buffer can be reused
+   */
+  public boolean cancelRecv(TCPMessage request, int procId) {
+    SocketChannel ch = serverChannel.get(procId);
+    return ch != null && server.cancelReceive(ch, request);
+  }
+
   /**
    * Progress the communication
    */
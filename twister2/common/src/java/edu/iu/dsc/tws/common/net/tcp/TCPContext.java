@@ -29,6 +29,9 @@ public class TCPContext extends Context {
   public static final String TWISTER2_SEND_BUFF_SIZE = "twister2.tcp.send.buffer.size";
   public static final String TWISTER2_RECV_BUFF_SIZE = "twister2.tcp.recv.buffer.size";
 
+  public static final String TWISTER2_WRITE_GATHER_MAX = "twister2.tcp.write.gather.max";
+  public static final String TWISTER2_READ_BUFFER_SIZE = "twister2.tcp.read.buffer.size";
+
   public static final String NETWORK_HOSTNAME = "twister2.tcp.hostname";
   public static final String NETWORK_PORT = "twister2.tcp.port";
 
@@ -60,6 +63,20 @@ public class TCPContext extends Context {
     return cfg.getIntegerValue(TWISTER2_MAX_PACKET_SIZE, def);
   }
 
+  /**
+   * Maximum number of messages written to a channel with a single gathering write
+   */
+  public static int getWriteGatherMax(Config cfg, int def) {
+    return cfg.getIntegerValue(TWISTER2_WRITE_GATHER_MAX, def);
+  }
+
+  /**
+   * Size of the direct buffer used by dynamic channels to read many small messages at once
+   */
+  public static int getReadBufferSize(Config cfg, int def) {
+    return cfg.getIntegerValue(TWISTER2_READ_BUFFER_SIZE, def);
+  }
+
   public static String getHostName(NetworkInfo networkInfo) {
     return (String) networkInfo.getProperties().get(NETWORK_HOSTNAME);
   }
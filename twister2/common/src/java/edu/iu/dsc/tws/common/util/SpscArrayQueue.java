@@ -0,0 +1,269 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.common.util;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock free queue backed by a pre allocated ring buffer. Only one thread can add
+ * elements and only one thread can remove elements at a time, offer and poll do not take locks
+ * or allocate memory.
+ *
+ * The blocking methods are implemented by parking the calling thread for short intervals, they
+ * are there to satisfy the {@link BlockingQueue} interface and are not expected to be used in
+ * the fast path.
+ *
+ * @param <E> element type
+ */
+public class SpscArrayQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+  /**
+   * Time to park when waiting in the blocking methods
+   */
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /**
+   * The slots
+   */
+  private final Object[] buffer;
+
+  /**
+   * Mask to get the slot index from a sequence
+   */
+  private final int mask;
+
+  /**
+   * Sequence of the next element to be removed, only updated by the consumer
+   */
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * Sequence of the next element to be added, only updated by the producer
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Cached value of head used by the producer to avoid reading the volatile on every offer
+   */
+  private long headCache;
+
+  /**
+   * Cached value of tail used by the consumer to avoid reading the volatile on every poll
+   */
+  private long tailCache;
+
+  /**
+   * Create a queue that can hold at least the given number of elements, the capacity is
+   * rounded up to a power of two
+   *
+   * @param capacity minimum capacity
+   */
+  public SpscArrayQueue(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.buffer = new Object[size];
+    this.mask = size - 1;
+  }
+
+  public int capacity() {
+    return buffer.length;
+  }
+
+  @Override
+  public boolean offer(E e) {
+    if (e == null) {
+      throw new NullPointerException("Null elements are not supported");
+    }
+    long t = tail.get();
+    if (t - headCache >= buffer.length) {
+      headCache = head.get();
+      if (t - headCache >= buffer.length) {
+        return false;
+      }
+    }
+    buffer[(int) t & mask] = e;
+    // publish the element, the consumer reads tail before reading the slot
+    tail.lazySet(t + 1);
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E poll() {
+    long h = head.get();
+    if (h >= tailCache) {
+      tailCache = tail.get();
+      if (h >= tailCache) {
+        return null;
+      }
+    }
+    int index = (int) h & mask;
+    E e = (E) buffer[index];
+    buffer[index] = null;
+    head.lazySet(h + 1);
+    return e;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E peek() {
+    long h = head.get();
+    if (h >= tail.get()) {
+      return null;
+    }
+    return (E) buffer[(int) h & mask];
+  }
+
+  /**
+   * Remove up to max elements in to the given array, this is cheaper than polling one by one
+   * because the sequences are updated once
+   *
+   * @param array the array to copy the elements to, starting from index 0
+   * @param max maximum number of elements to remove
+   * @return number of elements removed
+   */
+  @SuppressWarnings("unchecked")
+  public int drain(E[] array, int max) {
+    long h = head.get();
+    long t = tail.get();
+    int n = (int) Math.min(t - h, Math.min(max, array.length));
+    if (n <= 0) {
+      return 0;
+    }
+    for (int i = 0; i < n; i++) {
+      int index = (int) (h + i) & mask;
+      array[i] = (E) buffer[index];
+      buffer[index] = null;
+    }
+    head.lazySet(h + n);
+    return n;
+  }
+
+  @Override
+  public int size() {
+    // read head first, so that the size is never negative
+    long h = head.get();
+    long t = tail.get();
+    return (int) Math.max(0, Math.min(t - h, buffer.length));
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return head.get() >= tail.get();
+  }
+
+  @Override
+  public void put(E e) throws InterruptedException {
+    while (!offer(e)) {
+      waitOrThrow();
+    }
+  }
+
+  @Override
+  public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!offer(e)) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      waitOrThrow();
+    }
+    return true;
+  }
+
+  @Override
+  public E take() throws InterruptedException {
+    E e;
+    while ((e = poll()) == null) {
+      waitOrThrow();
+    }
+    return e;
+  }
+
+  @Override
+  public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    E e;
+    while ((e = poll()) == null) {
+      if (System.nanoTime() - deadline >= 0) {
+        return null;
+      }
+      waitOrThrow();
+    }
+    return e;
+  }
+
+  private static void waitOrThrow() throws InterruptedException {
+    LockSupport.parkNanos(PARK_NANOS);
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return buffer.length - size();
+  }
+
+  @Override
+  public int drainTo(Collection<? super E> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super E> c, int maxElements) {
+    if (c == this) {
+      throw new IllegalArgumentException("Cannot drain a queue to itself");
+    }
+    int n = 0;
+    E e;
+    while (n < maxElements && (e = poll()) != null) {
+      c.add(e);
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Iterates through a snapshot of the elements, this should only be called by the consumer
+   */
+  @Override
+  public Iterator<E> iterator() {
+    final long start = head.get();
+    final long end = tail.get();
+    return new Iterator<E>() {
+      private long next = start;
+
+      @Override
+      public boolean hasNext() {
+        return next < end;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public E next() {
+        if (next >= end) {
+          throw new NoSuchElementException();
+        }
+        return (E) buffer[(int) next++ & mask];
+      }
+    };
+  }
+}
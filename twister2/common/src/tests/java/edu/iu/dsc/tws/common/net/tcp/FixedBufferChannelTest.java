@@ -0,0 +1,309 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.common.net.tcp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.net.StatusCode;
+
+/**
+ * Tests the gathering writes and the scattering reads of the channels with a socket that
+ * transfers only a limited number of bytes in each call
+ */
+public class FixedBufferChannelTest {
+
+  @Test
+  public void testPartialWrites() {
+    int[] sizes = {10, 20, 5, 1, 33};
+    byte[] expected = frames(sizes);
+    for (int limit = 1; limit <= expected.length; limit++) {
+      LimitedSocketChannel socket = new LimitedSocketChannel(new byte[0], limit);
+      RecordingHandler handler = new RecordingHandler();
+      Config cfg = Config.newBuilder().put(TCPContext.TWISTER2_WRITE_GATHER_MAX, 2).build();
+      FixedBufferChannel channel = new FixedBufferChannel(cfg, new Progress(), null, socket,
+          handler);
+      for (int i = 0; i < sizes.length; i++) {
+        Assert.assertTrue(channel.addWriteRequest(
+            new TCPMessage(body(i, sizes[i]), i, sizes[i])));
+      }
+
+      int calls = 0;
+      while (handler.sent.size() < sizes.length) {
+        channel.write();
+        Assert.assertTrue("Too many writes with limit " + limit, ++calls <= expected.length);
+      }
+      Assert.assertFalse(channel.isPending());
+      Assert.assertArrayEquals("Limit " + limit, expected, socket.written.toByteArray());
+      for (int i = 0; i < sizes.length; i++) {
+        TCPMessage message = handler.sent.get(i);
+        Assert.assertEquals(i, message.getEdge());
+        Assert.assertTrue(message.isComplete());
+      }
+    }
+  }
+
+  @Test
+  public void testWriteWhenSocketIsFull() {
+    int[] sizes = {8, 8};
+    LimitedSocketChannel socket = new LimitedSocketChannel(new byte[0], 0);
+    RecordingHandler handler = new RecordingHandler();
+    FixedBufferChannel channel = new FixedBufferChannel(Config.newBuilder().build(),
+        new Progress(), null, socket, handler);
+    for (int i = 0; i < sizes.length; i++) {
+      channel.addWriteRequest(new TCPMessage(body(i, sizes[i]), i, sizes[i]));
+    }
+
+    channel.write();
+    Assert.assertTrue(handler.sent.isEmpty());
+    Assert.assertTrue(channel.isPending());
+
+    socket.limit = 3;
+    while (handler.sent.size() < sizes.length) {
+      channel.write();
+    }
+    Assert.assertArrayEquals(frames(sizes), socket.written.toByteArray());
+  }
+
+  @Test
+  public void testHeaderSplitAcrossReads() {
+    int[] sizes = {10, 3, 17, 8};
+    byte[] input = frames(sizes);
+    // every limit splits the headers and the bodies at different offsets
+    for (int limit = 1; limit <= input.length; limit++) {
+      LimitedSocketChannel socket = new LimitedSocketChannel(input, limit);
+      RecordingHandler handler = new RecordingHandler();
+      FixedBufferChannel channel = new FixedBufferChannel(Config.newBuilder().build(),
+          new Progress(), null, socket, handler);
+      for (int i = 0; i < sizes.length; i++) {
+        Assert.assertTrue(channel.addReadRequest(
+            new TCPMessage(ByteBuffer.allocate(64), i, 64)));
+      }
+
+      int calls = 0;
+      while (handler.received.size() < sizes.length) {
+        channel.read();
+        Assert.assertTrue("Too many reads with limit " + limit, ++calls <= input.length);
+      }
+
+      for (int i = 0; i < sizes.length; i++) {
+        TCPMessage message = handler.received.get(i);
+        Assert.assertEquals(i, message.getEdge());
+        ByteBuffer buffer = message.getByteBuffer();
+        Assert.assertEquals("Limit " + limit, sizes[i], buffer.remaining());
+        for (int j = 0; j < sizes[i]; j++) {
+          Assert.assertEquals(value(i, j), buffer.get());
+        }
+      }
+    }
+  }
+
+  private static byte value(int message, int index) {
+    return (byte) (message * 31 + index);
+  }
+
+  private static ByteBuffer body(int message, int size) {
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int j = 0; j < size; j++) {
+      buffer.put(value(message, j));
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * The bytes of the messages as they are written to the socket, the edge of message i is i
+   */
+  private static byte[] frames(int[] sizes) {
+    int total = 0;
+    for (int size : sizes) {
+      total += size + BaseNetworkChannel.HEADER_SIZE;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(total);
+    for (int i = 0; i < sizes.length; i++) {
+      buffer.putInt(sizes[i]);
+      buffer.putInt(i);
+      buffer.put(body(i, sizes[i]));
+    }
+    return buffer.array();
+  }
+
+  private static class RecordingHandler implements ChannelHandler {
+    private List<TCPMessage> sent = new ArrayList<>();
+
+    private List<TCPMessage> received = new ArrayList<>();
+
+    @Override
+    public void onError(SocketChannel channel) {
+      Assert.fail("Unexpected error");
+    }
+
+    @Override
+    public void onConnect(SocketChannel channel, StatusCode status) {
+    }
+
+    @Override
+    public void onClose(SocketChannel channel) {
+    }
+
+    @Override
+    public void onReceiveComplete(SocketChannel channel, TCPMessage readRequest) {
+      received.add(readRequest);
+    }
+
+    @Override
+    public void onSendComplete(SocketChannel channel, TCPMessage writeRequest) {
+      sent.add(writeRequest);
+    }
+  }
+
+  /**
+   * A socket channel that transfers at most limit bytes in each read or write call
+   */
+  private static class LimitedSocketChannel extends SocketChannel {
+    private byte[] input;
+
+    private int readPosition;
+
+    private int limit;
+
+    private ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    LimitedSocketChannel(byte[] input, int limit) {
+      super(SelectorProvider.provider());
+      this.input = input;
+      this.limit = limit;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      return (int) read(new ByteBuffer[]{dst}, 0, 1);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) {
+      int allowed = Math.min(limit, input.length - readPosition);
+      int read = 0;
+      for (int i = offset; i < offset + length && read < allowed; i++) {
+        int n = Math.min(dsts[i].remaining(), allowed - read);
+        dsts[i].put(input, readPosition, n);
+        readPosition += n;
+        read += n;
+      }
+      return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      return (int) write(new ByteBuffer[]{src}, 0, 1);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+      int wrote = 0;
+      for (int i = offset; i < offset + length && wrote < limit; i++) {
+        while (srcs[i].hasRemaining() && wrote < limit) {
+          written.write(srcs[i].get());
+          wrote++;
+        }
+      }
+      return wrote;
+    }
+
+    @Override
+    public SocketChannel bind(SocketAddress local) {
+      return this;
+    }
+
+    @Override
+    public <T> SocketChannel setOption(SocketOption<T> name, T value) {
+      return this;
+    }
+
+    @Override
+    public <T> T getOption(SocketOption<T> name) {
+      return null;
+    }
+
+    @Override
+    public Set<SocketOption<?>> supportedOptions() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public SocketChannel shutdownInput() {
+      return this;
+    }
+
+    @Override
+    public SocketChannel shutdownOutput() {
+      return this;
+    }
+
+    @Override
+    public Socket socket() {
+      return null;
+    }
+
+    @Override
+    public boolean isConnected() {
+      return true;
+    }
+
+    @Override
+    public boolean isConnectionPending() {
+      return false;
+    }
+
+    @Override
+    public boolean connect(SocketAddress remote) {
+      return true;
+    }
+
+    @Override
+    public boolean finishConnect() {
+      return true;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+      return null;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+      return null;
+    }
+
+    @Override
+    protected void implCloseSelectableChannel() throws IOException {
+    }
+
+    @Override
+    protected void implConfigureBlocking(boolean block) throws IOException {
+    }
+  }
+}
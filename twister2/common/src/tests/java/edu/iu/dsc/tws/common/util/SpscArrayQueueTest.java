@@ -0,0 +1,73 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpscArrayQueueTest {
+  @Test
+  public void testBounded() {
+    SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(6);
+    Assert.assertEquals(8, queue.capacity());
+    for (int i = 0; i < 8; i++) {
+      Assert.assertTrue(queue.offer(i));
+    }
+    Assert.assertFalse(queue.offer(8));
+    Assert.assertEquals(8, queue.size());
+
+    Assert.assertEquals(0, (int) queue.peek());
+    Assert.assertEquals(0, (int) queue.poll());
+    Assert.assertTrue(queue.offer(8));
+
+    Integer[] batch = new Integer[5];
+    Assert.assertEquals(5, queue.drain(batch, 10));
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(i + 1, (int) batch[i]);
+    }
+
+    List<Integer> rest = new ArrayList<>();
+    Assert.assertEquals(3, queue.drainTo(rest));
+    Assert.assertEquals(6, (int) rest.get(0));
+    Assert.assertEquals(8, (int) rest.get(2));
+    Assert.assertTrue(queue.isEmpty());
+    Assert.assertNull(queue.poll());
+  }
+
+  @Test
+  public void testProducerConsumer() throws InterruptedException {
+    final int count = 1000000;
+    SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(128);
+    Thread producer = new Thread(() -> {
+      for (int i = 0; i < count; i++) {
+        while (!queue.offer(i)) {
+          Thread.yield();
+        }
+      }
+    });
+    producer.start();
+
+    Integer[] batch = new Integer[16];
+    int expected = 0;
+    while (expected < count) {
+      int n = queue.drain(batch, batch.length);
+      for (int i = 0; i < n; i++) {
+        Assert.assertEquals(expected++, (int) batch[i]);
+      }
+    }
+    producer.join();
+    Assert.assertTrue(queue.isEmpty());
+  }
+}
@@ -22,16 +22,25 @@ import edu.iu.dsc.tws.api.comms.SingularReceiver;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.comms.dfw.AllReduce;
+import edu.iu.dsc.tws.comms.dfw.ChunkedAllReduce;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
 
 /**
  * Batch ALLReduce Operation
  */
 public class BAllReduce extends BaseOperation {
+  /**
+   * Construct a Batch AllReduce operation
+   *
+   * @param reduceEdgeId edge used by the tree reduce
+   * @param broadEdgeId edge used by the tree broadcast
+   * @param chunkEdgeId edge used by the ring and halving doubling algorithms
+   */
   public BAllReduce(Communicator comm, LogicalPlan plan,
                     Set<Integer> sources, Set<Integer> targets, ReduceFunction fnc,
                     SingularReceiver rcvr, MessageType dataType,
-                    int reduceEdgeId, int broadEdgeId, MessageSchema messageSchema) {
+                    int reduceEdgeId, int broadEdgeId, int chunkEdgeId,
+                    MessageSchema messageSchema) {
     super(comm, false, CommunicationContext.ALLREDUCE);
     if (sources.size() == 0) {
       throw new IllegalArgumentException("The sources cannot be empty");
@@ -45,9 +54,25 @@ public class BAllReduce extends BaseOperation {
     int firstSource = sources.iterator().next();
     plan.addLogicalIdToWorker(plan.getWorkerForForLogicalId(firstSource), middleTask);
 
-    op = new AllReduce(comm.getConfig(), comm.getChannel(), plan, sources,
-        targets, middleTask, fnc, rcvr, dataType, reduceEdgeId, broadEdgeId,
-        false, messageSchema);
+    String algorithm = ChunkedAllReduce.selectAlgorithm(comm.getConfig(), sources, targets,
+        fnc, dataType);
+    if (CommunicationContext.ALLREDUCE_ALGO_TREE.equals(algorithm)) {
+      op = new AllReduce(comm.getConfig(), comm.getChannel(), plan, sources,
+          targets, middleTask, fnc, rcvr, dataType, reduceEdgeId, broadEdgeId,
+          false, messageSchema);
+    } else {
+      op = new ChunkedAllReduce(comm.getConfig(), comm.getChannel(), plan, sources, targets,
+          middleTask, fnc, rcvr, dataType, reduceEdgeId, broadEdgeId, messageSchema,
+          algorithm, chunkEdgeId, false);
+    }
+  }
+
+  public BAllReduce(Communicator comm, LogicalPlan plan,
+                    Set<Integer> sources, Set<Integer> targets, ReduceFunction fnc,
+                    SingularReceiver rcvr, MessageType dataType,
+                    int reduceEdgeId, int broadEdgeId, MessageSchema messageSchema) {
+    this(comm, plan, sources, targets, fnc, rcvr, dataType, reduceEdgeId, broadEdgeId,
+        comm.nextEdge(), messageSchema);
   }
 
   /**
@@ -12,12 +12,15 @@
 
 package edu.iu.dsc.tws.comms.batch;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.BaseOperation;
@@ -34,8 +37,10 @@ import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.comms.dfw.AllGather;
 import edu.iu.dsc.tws.comms.dfw.MToNChain;
 import edu.iu.dsc.tws.comms.dfw.MToNSimple;
+import edu.iu.dsc.tws.comms.dfw.io.join.BroadcastRelationReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.join.BulkReceiverWrapper;
 import edu.iu.dsc.tws.comms.dfw.io.join.JoinBatchCombinedReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.join.JoinPartitionBatchFinalReceiver;
@@ -81,6 +86,17 @@ public class BJoin extends BaseOperation {
   private Set<Integer> leftSources;
   private Set<Integer> rightSources;
 
+  /**
+   * With the broadcast algorithm, the tag of the relation replicated to all the targets.
+   * -1 if both relations are partitioned by key
+   */
+  private int broadcastTag = -1;
+
+  /**
+   * With the broadcast algorithm, the target each source of the other relation sends to
+   */
+  private Map<Integer, Integer> localTargets;
+
   /**
    * Construct a Batch partition operation
    *
@@ -100,6 +116,31 @@ public class BJoin extends BaseOperation {
                CommunicationContext.JoinType joinType,
                CommunicationContext.JoinAlgorithm joinAlgorithm,
                MessageSchema leftSchema, MessageSchema rightSchema) {
+    this(comm, plan, leftSources, rightSources, targets, keyType, leftDataType, rightDataType,
+        rcvr, destSelector, useDisk, comparator, leftEdgeId, rightEdgeId, joinType,
+        joinAlgorithm, leftSchema, rightSchema, false, -1);
+  }
+
+  /**
+   * Construct a join operation. With the {@link CommunicationContext.JoinAlgorithm#BROADCAST}
+   * algorithm one relation is gathered and replicated to all the targets with a tree broadcast,
+   * and each source of the other relation sends its tuples to a target in the same worker
+   * instead of partitioning them by key.
+   *
+   * @param broadcastLeft weather the left relation is replicated, otherwise the right one is
+   * @param broadcastEdgeId edge used to broadcast the replicated relation, if -1 a new edge is
+   * taken from the communicator
+   */
+  public BJoin(Communicator comm, LogicalPlan plan,
+               Set<Integer> leftSources, Set<Integer> rightSources, Set<Integer> targets,
+               MessageType keyType,
+               MessageType leftDataType, MessageType rightDataType, BulkReceiver rcvr,
+               DestinationSelector destSelector, boolean useDisk,
+               Comparator<Object> comparator, int leftEdgeId, int rightEdgeId,
+               CommunicationContext.JoinType joinType,
+               CommunicationContext.JoinAlgorithm joinAlgorithm,
+               MessageSchema leftSchema, MessageSchema rightSchema,
+               boolean broadcastLeft, int broadcastEdgeId) {
     super(comm, false, CommunicationContext.JOIN);
 
     Map<String, Object> newConfigs = new HashMap<>();
@@ -113,11 +154,26 @@ public class BJoin extends BaseOperation {
     this.destinationSelector = destSelector;
     this.channel = comm.getChannel();
 
+    JoinRelation broadcastRelation = null;
+    if (joinAlgorithm.equals(CommunicationContext.JoinAlgorithm.BROADCAST)) {
+      broadcastRelation = broadcastLeft ? JoinRelation.LEFT : JoinRelation.RIGHT;
+      // tuples of the replicated relation without a match would be emitted by every target
+      if (joinType.equals(CommunicationContext.JoinType.FULL_OUTER)
+          || (broadcastLeft && joinType.equals(CommunicationContext.JoinType.LEFT))
+          || (!broadcastLeft && joinType.equals(CommunicationContext.JoinType.RIGHT))) {
+        throw new IllegalArgumentException("Cannot broadcast the " + broadcastRelation
+            + " relation for a " + joinType + " join");
+      }
+      this.broadcastTag = broadcastLeft ? 0 : 1;
+      this.localTargets = localTargets(plan, broadcastLeft ? rightSources : leftSources,
+          targets);
+    }
+
     JoinBatchCombinedReceiver commonReceiver = new JoinBatchCombinedReceiver(rcvr,
         joinAlgorithm,
         joinType,
         new KeyComparatorWrapper(comparator),
-        keyType);
+        keyType, broadcastRelation);
 
     MessageReceiver leftFinalReceiver;
     MessageReceiver rightFinalReceiver;
@@ -150,7 +206,23 @@ public class BJoin extends BaseOperation {
     Set<Integer> allSources = new HashSet<>(leftSources);
     allSources.addAll(rightSources);
 
-    if (CommunicationContext.ALLTOALL_ALGO_SIMPLE.equals(
+    if (broadcastTag >= 0) {
+      int bEdge = broadcastEdgeId >= 0 ? broadcastEdgeId : comm.nextEdge();
+      if (broadcastLeft) {
+        this.partitionLeft = newBroadcast(comm, plan, leftSources, targets,
+            new BroadcastRelationReceiver(commonReceiver, JoinRelation.LEFT), leftEdgeId, bEdge);
+        this.partitionRight = new MToNSimple(comm.getConfig(), comm.getChannel(), plan,
+            rightSources, targets, rightFinalReceiver, new PartitionPartialReceiver(),
+            rightDataType, rightRecvDataType, keyType, keyType, rightEdgeId, rightSchema);
+      } else {
+        this.partitionLeft = new MToNSimple(comm.getConfig(), comm.getChannel(), plan,
+            leftSources, targets, leftFinalReceiver, new PartitionPartialReceiver(),
+            leftDataType, leftRecvDataType, keyType, keyType, leftEdgeId, leftSchema);
+        this.partitionRight = newBroadcast(comm, plan, rightSources, targets,
+            new BroadcastRelationReceiver(commonReceiver, JoinRelation.RIGHT), rightEdgeId,
+            bEdge);
+      }
+    } else if (CommunicationContext.ALLTOALL_ALGO_SIMPLE.equals(
         CommunicationContext.partitionAlgorithm(comm.getConfig()))) {
       this.partitionLeft = new MToNSimple(comm.getConfig(), comm.getChannel(), plan,
           leftSources, targets, leftFinalReceiver,
@@ -173,6 +245,51 @@ public class BJoin extends BaseOperation {
     this.destinationSelector.prepare(comm, allSources, targets, keyType, null);
   }
 
+  /**
+   * Gather the tuples of a relation to one task and broadcast them to all the targets
+   */
+  private static DataFlowOperation newBroadcast(Communicator comm, LogicalPlan plan,
+                                                Set<Integer> sources, Set<Integer> targets,
+                                                BulkReceiver rcvr, int gatherEdgeId,
+                                                int broadcastEdgeId) {
+    int middleTask = comm.nextId();
+    int firstSource = sources.iterator().next();
+    plan.addLogicalIdToWorker(plan.getWorkerForForLogicalId(firstSource), middleTask);
+    return new AllGather(comm.getConfig(), comm.getChannel(), plan, sources, targets,
+        middleTask, rcvr, MessageTypes.OBJECT, gatherEdgeId, broadcastEdgeId, false,
+        MessageSchema.noSchema());
+  }
+
+  /**
+   * Pick a target in the same worker for each source. Sources of a worker without any target
+   * are spread over all the targets.
+   */
+  private static Map<Integer, Integer> localTargets(LogicalPlan plan, Set<Integer> sources,
+                                                    Set<Integer> targets) {
+    List<Integer> sortedTargets = new ArrayList<>(new TreeSet<>(targets));
+    Map<Integer, List<Integer>> targetsOfWorker = new HashMap<>();
+    for (int target : sortedTargets) {
+      targetsOfWorker.computeIfAbsent(plan.getWorkerForForLogicalId(target),
+          w -> new ArrayList<>()).add(target);
+    }
+
+    Map<Integer, Integer> sourcesOfWorker = new HashMap<>();
+    Map<Integer, Integer> selected = new HashMap<>();
+    int index = 0;
+    for (int source : new TreeSet<>(sources)) {
+      int worker = plan.getWorkerForForLogicalId(source);
+      List<Integer> local = targetsOfWorker.get(worker);
+      if (local != null) {
+        int n = sourcesOfWorker.merge(worker, 1, Integer::sum) - 1;
+        selected.put(source, local.get(n % local.size()));
+      } else {
+        selected.put(source, sortedTargets.get(index % sortedTargets.size()));
+      }
+      index++;
+    }
+    return selected;
+  }
+
   public BJoin(Communicator comm, LogicalPlan plan,
                Set<Integer> leftSources, Set<Integer> rightSources, Set<Integer> targets,
                MessageType keyType,
@@ -238,6 +355,9 @@ public class BJoin extends BaseOperation {
    * @return true if the data is accepted
    */
   public boolean join(int source, Object key, Object data, int flags, int tag) {
+    if (broadcastTag >= 0) {
+      return joinBroadcast(source, key, data, flags, tag);
+    }
     int dest = destinationSelector.next(source, key, data);
 
     boolean send;
@@ -257,6 +377,18 @@ public class BJoin extends BaseOperation {
     return send;
   }
 
+  private boolean joinBroadcast(int source, Object key, Object data, int flags, int tag) {
+    if (tag != 0 && tag != 1) {
+      throw new RuntimeException("Tag value must be either 0(left) or 1(right) for join operation");
+    }
+    DataFlowOperation op = tag == 0 ? partitionLeft : partitionRight;
+    Tuple message = new Tuple<>(key, data);
+    if (tag == broadcastTag) {
+      return op.send(source, message, flags);
+    }
+    return op.send(source, message, flags, localTargets.get(source));
+  }
+
   /**
    * Weather we have messages pending
    *
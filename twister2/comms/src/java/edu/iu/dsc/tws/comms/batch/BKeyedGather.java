@@ -20,6 +20,7 @@ import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.Communicator;
 import edu.iu.dsc.tws.api.comms.DestinationSelector;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
 import edu.iu.dsc.tws.api.comms.messaging.MessageReceiver;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
@@ -28,6 +29,7 @@ import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.comms.dfw.MToNChain;
 import edu.iu.dsc.tws.comms.dfw.MToNSimple;
 import edu.iu.dsc.tws.comms.dfw.io.gather.keyed.KGatherBatchFinalReceiver;
+import edu.iu.dsc.tws.comms.dfw.io.partition.CombiningPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.partition.DPartitionBatchFinalReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.partition.PartitionPartialReceiver;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
@@ -125,13 +127,32 @@ public class BKeyedGather extends BaseOperation {
                       boolean useDisk,
                       Comparator<Object> comparator,
                       boolean groupByKey, int edgeId, MessageSchema messageSchema) {
+    this(comm, plan, sources, destinations, kType, dType, rcvr, destSelector,
+        useDisk, comparator, groupByKey, edgeId, messageSchema, null);
+  }
+
+  /**
+   * Creates an instance of BKeyedGather that combines the values of the same key before they
+   * are sent, the receiver gets the partial aggregates of each key instead of every value
+   *
+   * @param combiner associative function used to combine values, null for no combining
+   */
+  public BKeyedGather(Communicator comm, LogicalPlan plan,
+                      Set<Integer> sources, Set<Integer> destinations,
+                      MessageType kType, MessageType dType, BulkReceiver rcvr,
+                      DestinationSelector destSelector,
+                      boolean useDisk,
+                      Comparator<Object> comparator,
+                      boolean groupByKey, int edgeId, MessageSchema messageSchema,
+                      ReduceFunction combiner) {
     super(comm, false, CommunicationContext.KEYED_GATHER);
     this.keyType = kType;
     this.dataType = dType;
 
     MessageType receiveDataType = dataType;
     MessageReceiver finalReceiver;
-    MessageReceiver partialReceiver = new PartitionPartialReceiver();
+    MessageReceiver partialReceiver = combiner != null
+        ? new CombiningPartialReceiver(combiner) : new PartitionPartialReceiver();
     if (!useDisk) {
       finalReceiver = new KGatherBatchFinalReceiver(rcvr, groupByKey, comparator);
     } else {
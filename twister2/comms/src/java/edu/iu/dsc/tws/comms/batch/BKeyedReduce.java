@@ -26,6 +26,7 @@ import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.comms.dfw.MToNChain;
 import edu.iu.dsc.tws.comms.dfw.MToNSimple;
+import edu.iu.dsc.tws.comms.dfw.io.partition.CombiningPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.partition.PartitionPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.reduce.keyed.KReduceBatchFinalReceiver;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
@@ -45,10 +46,25 @@ public class BKeyedReduce extends BaseOperation {
                       Set<Integer> sources, Set<Integer> destinations, ReduceFunction fnc,
                       BulkReceiver rcvr, MessageType kType, MessageType dType,
                       DestinationSelector destSelector, int edgeId, MessageSchema messageSchema) {
+    this(comm, plan, sources, destinations, fnc, rcvr, kType, dType, destSelector, edgeId,
+        messageSchema, false);
+  }
+
+  /**
+   * Creates an instance of BKeyedReduce
+   *
+   * @param combine weather to reduce the values of the same key before they are sent
+   */
+  public BKeyedReduce(Communicator comm, LogicalPlan plan,
+                      Set<Integer> sources, Set<Integer> destinations, ReduceFunction fnc,
+                      BulkReceiver rcvr, MessageType kType, MessageType dType,
+                      DestinationSelector destSelector, int edgeId, MessageSchema messageSchema,
+                      boolean combine) {
     super(comm, false, CommunicationContext.KEYED_REDUCE);
     this.keyType = kType;
     this.dataType = dType;
-    MessageReceiver partialReceiver = new PartitionPartialReceiver();
+    MessageReceiver partialReceiver = combine
+        ? new CombiningPartialReceiver(fnc) : new PartitionPartialReceiver();
 
     if (CommunicationContext.ALLTOALL_ALGO_SIMPLE.equals(
         CommunicationContext.partitionAlgorithm(comm.getConfig()))) {
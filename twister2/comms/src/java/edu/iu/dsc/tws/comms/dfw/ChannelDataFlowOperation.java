@@ -21,7 +21,6 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -30,6 +29,7 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
@@ -105,14 +105,20 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
    */
   private int executor;
   /**
-   * The send sendBuffers used by the operation
+   * The send sendBuffers used by the operation, borrowed from the pool while in use
    */
-  private Queue<DataBuffer> sendBuffers;
+  private PooledBufferQueue sendBuffers;
 
   /**
-   * Receive availableBuffers, for each receive we need to make
+   * Receive availableBuffers, for each receive we need to make. Borrowed from the pool when
+   * posted and returned once the data in them is deserialized
    */
-  private Map<Integer, Queue<DataBuffer>> receiveBuffers;
+  private Map<Integer, PooledBufferQueue> receiveBuffers;
+
+  /**
+   * Weather the operation is closed, buffers of messages released after this go to the pool
+   */
+  private volatile boolean closed;
 
   /**
    * Local buffers that are used when receive buffers need to be freed. Buffer are only added
@@ -162,6 +168,11 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
 
   private AtomicInteger externalSendsPending = new AtomicInteger(0);
 
+  /**
+   * Credit based flow control with the other workers, null if it is not enabled
+   */
+  private CreditFlowControl creditControl;
+
   ChannelDataFlowOperation(TWSChannel channel) {
     this.channel = channel;
   }
@@ -197,10 +208,8 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
     int noOfSendBuffers = CommunicationContext.sendBuffersCount(config);
     int sendBufferSize = CommunicationContext.bufferSize(config);
 
-    this.sendBuffers = new ArrayBlockingQueue<>(noOfSendBuffers);
-    for (int i = 0; i < noOfSendBuffers; i++) {
-      sendBuffers.offer(new DataBuffer(channel.createBuffer(sendBufferSize)));
-    }
+    this.sendBuffers = new PooledBufferQueue(channel.getBufferPool(), sendBufferSize,
+        noOfSendBuffers, 0);
     this.receiveBuffers = new HashMap<>();
     this.localReceiveBuffers = new ArrayDeque<>();
 
@@ -208,6 +217,11 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
     // now setup the sends and receives
     setupCommunication();
 
+    if (CommunicationContext.creditEnabled(config)) {
+      creditControl = new CreditFlowControl(channel, config, executor, edge,
+          instancePlan.getAllWorkers(), receivingExecutors);
+    }
+
     // initialize the serializers
     LOG.fine(String.format("%d setup initializers", instancePlan.getThisWorker()));
     initSerializers();
@@ -265,30 +279,21 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
   }
 
   /**
-   * Setup the receives and send sendBuffers
+   * Setup the receives
    */
   private void setupCommunication() {
     // we will receive from these
     int maxReceiveBuffers = CommunicationContext.receiveBufferCount(config);
     int receiveBufferSize = CommunicationContext.bufferSize(config);
     for (Integer recv : receivingExecutors) {
-      Queue<DataBuffer> recvList = new LinkedBlockingQueue<>();
-      for (int i = 0; i < maxReceiveBuffers; i++) {
-        recvList.add(new DataBuffer(channel.createBuffer(receiveBufferSize)));
-      }
+      // one buffer is posted at a time, more are borrowed as the posted ones get data
+      PooledBufferQueue recvList = new PooledBufferQueue(channel.getBufferPool(),
+          receiveBufferSize, maxReceiveBuffers, 1);
       // register with the channel
       LOG.fine(instancePlan.getThisWorker() + " Register to receive from: " + recv);
       channel.receiveMessage(0, recv, edge, this, recvList);
       receiveBuffers.put(recv, recvList);
     }
-
-    // configure the send sendBuffers
-    int sendBufferSize = CommunicationContext.bufferSize(config);
-    int sendBufferCount = CommunicationContext.sendBuffersCount(config);
-    for (int i = 0; i < sendBufferCount; i++) {
-      DataBuffer buffer = new DataBuffer(channel.createBuffer(sendBufferSize));
-      sendBuffers.offer(buffer);
-    }
   }
 
   /**
@@ -337,6 +342,11 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
     byteBuffer.position(buffer.getSize());
     byteBuffer.flip();
 
+    PooledBufferQueue buffers = receiveBuffers.get(id);
+    if (buffers != null) {
+      buffers.received(buffer);
+    }
+
     // we have the source of the message at 0th position as an integer
     int source = byteBuffer.getInt(0);
     InMessage currentMessage = currentMessages.get(source);
@@ -403,6 +413,10 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
    * send messages through this communication
    */
   public void progress() {
+    if (creditControl != null) {
+      creditControl.progress();
+    }
+
     if (sendProgressTracker.canProgress()) {
       int sendId = sendProgressTracker.next();
       if (sendId != Integer.MIN_VALUE) {
@@ -663,7 +677,37 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
 
   private boolean sendMessageToTarget(ChannelMessage channelMessage, int i) {
     int e = instancePlan.getWorkerForForLogicalId(i);
-    return channel.sendMessage(e, channelMessage, this);
+    if (creditControl == null || e == executor) {
+      return channel.sendMessage(e, channelMessage, this);
+    }
+
+    int buffers = channelMessage.getNormalBuffers().size();
+    if (!creditControl.acquire(e, buffers)) {
+      return false;
+    }
+    if (!channel.sendMessage(e, channelMessage, this)) {
+      creditControl.cancel(e, buffers);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Weather a worker we send to is out of credits
+   *
+   * @return true if the sources of this operation should stop producing
+   */
+  public boolean isBackPressured() {
+    return creditControl != null && creditControl.isExhausted();
+  }
+
+  /**
+   * The credit counters of this edge
+   *
+   * @return the metrics or null if credit based flow control is not enabled
+   */
+  public BackPressureMetrics getBackPressureMetrics() {
+    return creditControl != null ? creditControl.getMetrics() : null;
   }
 
   @Override
@@ -682,15 +726,19 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
   }
 
   private void releaseTheBuffers(int id, ChannelMessage message) {
-    if (MessageDirection.IN == message.getMessageDirection()) {
-      Queue<DataBuffer> list = receiveBuffers.get(id);
+    if (MessageDirection.IN == message.getMessageDirection() && closed) {
+      releaseToPool(message.getNormalBuffers());
+      releaseToPool(message.getOverflowBuffers());
+      message.getOverflowBuffers().clear();
+    } else if (MessageDirection.IN == message.getMessageDirection()) {
+      // the buffers go back to the pool
+      PooledBufferQueue list = receiveBuffers.get(id);
       for (DataBuffer buffer : message.getNormalBuffers()) {
-        // we need to clean the buffer so it can be used again
-        buffer.getByteBuffer().clear();
-        if (!list.offer(buffer)) {
-          throw new RuntimeException(String.format("%d Buffer release failed for target %d",
-              executor, message.getHeader().getDestinationIdentifier()));
-        }
+        list.offer(buffer);
+      }
+      // the receive buffers are consumed, so the sender gets its credits back
+      if (creditControl != null && id != executor) {
+        creditControl.delivered(id, message.getNormalBuffers().size());
       }
       if (message.getOverflowBuffers().size() > 0) {
         for (DataBuffer byteBuffer : message.getOverflowBuffers()) {
@@ -703,14 +751,8 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
         message.getOverflowBuffers().clear();
       }
     } else if (MessageDirection.OUT == message.getMessageDirection()) {
-      ArrayBlockingQueue<DataBuffer> queue = (ArrayBlockingQueue<DataBuffer>) sendBuffers;
       for (DataBuffer buffer : message.getNormalBuffers()) {
-        // we need to clean the buffer so it can be used again
-        buffer.getByteBuffer().clear();
-        if (!queue.offer(buffer)) {
-          throw new RuntimeException(String.format("%d Buffer release failed for source %d %d %d",
-              executor, message.getOriginatingId(), queue.size(), queue.remainingCapacity()));
-        }
+        sendBuffers.offer(buffer);
       }
     }
   }
@@ -731,5 +773,30 @@ public class ChannelDataFlowOperation implements ChannelListener, ChannelMessage
     for (int exec : receivingExecutors) {
       channel.releaseBuffers(exec, edge);
     }
+    // the receive buffers posted to the channel are returned by the channel when the receives
+    // are cancelled and the buffers of messages still in flight are returned when released
+    closed = true;
+    for (PooledBufferQueue list : receiveBuffers.values()) {
+      list.close();
+    }
+    drainToPool(localReceiveBuffers);
+    if (creditControl != null) {
+      creditControl.close();
+    }
+    // send buffers still in flight go to the pool when their sends complete
+    sendBuffers.close();
+  }
+
+  private void drainToPool(Queue<DataBuffer> buffers) {
+    DataBuffer buffer;
+    while ((buffer = buffers.poll()) != null) {
+      channel.getBufferPool().release(buffer);
+    }
+  }
+
+  private void releaseToPool(List<DataBuffer> buffers) {
+    for (DataBuffer buffer : buffers) {
+      channel.getBufferPool().release(buffer);
+    }
   }
 }
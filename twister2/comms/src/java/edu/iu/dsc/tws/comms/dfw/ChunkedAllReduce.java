@@ -0,0 +1,680 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.SingularReceiver;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
+import edu.iu.dsc.tws.api.comms.messaging.MessageReceiver;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.dfw.io.allreduce.AllReduceExchange;
+import edu.iu.dsc.tws.comms.dfw.io.allreduce.AllReduceRound;
+import edu.iu.dsc.tws.comms.dfw.io.allreduce.HalvingDoublingAllReduceRound;
+import edu.iu.dsc.tws.comms.dfw.io.allreduce.RingAllReduceRound;
+import edu.iu.dsc.tws.comms.functions.reduction.ReduceOperationFunction;
+import edu.iu.dsc.tws.comms.utils.TaskPlanUtils;
+
+/**
+ * AllReduce of primitive arrays with the ring or recursive halving doubling algorithms. Instead
+ * of reducing the full arrays at a single task and broadcasting the result, the sources split the
+ * arrays in to chunks and exchange them with each other, so the data each source sends stays
+ * close to twice the array size regardless of the number of sources.
+ * <p>
+ * The chunks are reduced separately, so the reduce function must work element by element.
+ * Messages between the sources go through a single {@link MToNSimple} edge. Once a source has
+ * the result it hands it to the target with the same index, the targets must either be the
+ * sources themselves or a separate set of the same size. Barriers and in batch mode the end of
+ * the data are sent through the tree {@link AllReduce}, after the rounds before them are done.
+ * A target is synced only after it got the result.
+ */
+public class ChunkedAllReduce implements DataFlowOperation {
+  private static final Logger LOG = Logger.getLogger(ChunkedAllReduce.class.getName());
+
+  /**
+   * The tree allreduce, used for barriers
+   */
+  private AllReduce tree;
+
+  /**
+   * Used to send the chunks between sources and the results to the targets
+   */
+  private MToNSimple exchange;
+
+  /**
+   * The sources in sorted order
+   */
+  private int[] participants;
+
+  /**
+   * The target each source gives its result to
+   */
+  private Map<Integer, Integer> resultTargets = new HashMap<>();
+
+  /**
+   * The sources of this worker
+   */
+  private Map<Integer, Participant> localParticipants = new HashMap<>();
+
+  /**
+   * Results waiting to be given to the targets of this worker
+   */
+  private Map<Integer, Queue<Object>> results = new HashMap<>();
+
+  /**
+   * Targets of this worker which got the result in the current batch
+   */
+  private Set<Integer> resultDelivered = new HashSet<>();
+
+  /**
+   * Syncs that came through the tree and the barriers with them, given to the targets after
+   * their results
+   */
+  private Map<Integer, byte[]> pendingSyncs = new HashMap<>();
+
+  /**
+   * Targets of this worker which are synced in the current batch
+   */
+  private Set<Integer> syncedTargets = new HashSet<>();
+
+  /**
+   * Messages which are not yet accepted by the exchange
+   */
+  private Queue<PendingSend> pendingSends = new ArrayDeque<>();
+
+  private ReduceFunction reduceFunction;
+
+  private SingularReceiver finalReceiver;
+
+  private MessageType dataType;
+
+  private Class<?> componentType;
+
+  /**
+   * The configured algorithm, ring, halving_doubling or auto
+   */
+  private String algorithm;
+
+  /**
+   * With auto, arrays of at least this many bytes use the ring when the sources are not a power
+   * of two
+   */
+  private long ringBytes;
+
+  /**
+   * The length of the last result, in batch mode the sources use this to pick the same algorithm
+   * even if some of them did not get any data. Every source gets the full result, so all of them
+   * see the same length.
+   */
+  private int lastResultLength = -1;
+
+  private boolean streaming;
+
+  private int maxPendingRounds;
+
+  private LogicalPlan logicalPlan;
+
+  private int edge;
+
+  public ChunkedAllReduce(Config config, TWSChannel channel, LogicalPlan plan,
+                          Set<Integer> sources, Set<Integer> targets, int middleTask,
+                          ReduceFunction reduceFn, SingularReceiver finalRecv, MessageType type,
+                          int reduceEdge, int broadEdge, MessageSchema messageSchema,
+                          String algo, int chunkEdge, boolean strm) {
+    this.tree = new AllReduce(config, channel, plan, sources, targets, middleTask, reduceFn,
+        new TreeReceiver(), type, reduceEdge, broadEdge, strm, messageSchema);
+    this.reduceFunction = reduceFn;
+    this.finalReceiver = finalRecv;
+    this.dataType = type;
+    this.componentType = type.getClazz().getComponentType();
+    this.algorithm = algo;
+    this.ringBytes = CommunicationContext.allReduceAutoRingBytes(config);
+    this.maxPendingRounds = CommunicationContext.sendPendingMax(config);
+    this.streaming = strm;
+    this.logicalPlan = plan;
+    this.edge = chunkEdge;
+
+    this.participants = sources.stream().mapToInt(Integer::intValue).sorted().toArray();
+    int[] sortedTargets = targets.stream().mapToInt(Integer::intValue).sorted().toArray();
+    boolean sameTasks = sources.equals(targets);
+    for (int i = 0; i < participants.length; i++) {
+      resultTargets.put(participants[i], sameTasks ? participants[i] : sortedTargets[i]);
+    }
+
+    for (int t : TaskPlanUtils.getTasksOfThisWorker(plan, targets)) {
+      results.put(t, new ArrayDeque<>());
+    }
+    for (int i = 0; i < participants.length; i++) {
+      if (plan.getLogicalIdsOfThisWorker().contains(participants[i])) {
+        localParticipants.put(participants[i], new Participant(participants[i], i));
+      }
+    }
+
+    Set<Integer> destinations = new HashSet<>(sources);
+    destinations.addAll(targets);
+    this.exchange = new MToNSimple(config, channel, plan, sources, destinations,
+        new ExchangeReceiver(), new ExchangeReceiver(), type, type, chunkEdge,
+        MessageSchema.noSchema());
+  }
+
+  /**
+   * Check weather the chunked algorithms can be used for this allreduce
+   *
+   * @return true if the data is a primitive array and the targets are the sources or a set of
+   * the same size
+   */
+  public static boolean isSupported(Set<Integer> sources, Set<Integer> targets, MessageType type) {
+    if (!type.isPrimitive() || !type.isArray() || !type.getClazz().isArray()) {
+      return false;
+    }
+    if (sources.equals(targets)) {
+      return true;
+    }
+    Set<Integer> common = new HashSet<>(sources);
+    common.retainAll(targets);
+    return common.isEmpty() && sources.size() == targets.size();
+  }
+
+  /**
+   * Pick the allreduce algorithm from the configuration
+   *
+   * @return one of tree, ring, halving_doubling or auto
+   */
+  public static String selectAlgorithm(Config config, Set<Integer> sources, Set<Integer> targets,
+                                       ReduceFunction reduceFn, MessageType type) {
+    String algo = CommunicationContext.allReduceAlgorithm(config);
+    if (CommunicationContext.ALLREDUCE_ALGO_TREE.equals(algo)) {
+      return algo;
+    }
+
+    if (!isSupported(sources, targets, type)) {
+      if (!CommunicationContext.ALLREDUCE_ALGO_AUTO.equals(algo)) {
+        LOG.warning(String.format("AllReduce algorithm %s is not supported for %s from %s to "
+            + "%s, using the tree", algo, type.getClazz().getSimpleName(), sources, targets));
+      }
+      return CommunicationContext.ALLREDUCE_ALGO_TREE;
+    }
+
+    if (CommunicationContext.ALLREDUCE_ALGO_AUTO.equals(algo)) {
+      // we only know the built in reduce operations work element by element
+      if (!(reduceFn instanceof ReduceOperationFunction)
+          || sources.size() < CommunicationContext.allReduceAutoMinTasks(config)) {
+        return CommunicationContext.ALLREDUCE_ALGO_TREE;
+      }
+    } else if (!CommunicationContext.ALLREDUCE_ALGO_RING.equals(algo)
+        && !CommunicationContext.ALLREDUCE_ALGO_HALVING_DOUBLING.equals(algo)) {
+      throw new IllegalArgumentException("Un-known allreduce algorithm: " + algo);
+    }
+    return algo;
+  }
+
+  @Override
+  public synchronized boolean send(int source, Object message, int flags) {
+    Participant participant = localParticipants.get(source);
+    if (participant == null) {
+      throw new RuntimeException("Un-expected source for allreduce: " + source);
+    }
+
+    if ((flags & MessageFlags.SYNC_BARRIER) == MessageFlags.SYNC_BARRIER) {
+      if (!streaming) {
+        // the barrier ends the data of this source
+        if (participant.treeSynced || !tree.send(source, message, flags)) {
+          return participant.treeSynced;
+        }
+        participant.treeSynced = true;
+        participant.finished = true;
+        return true;
+      }
+      // keep the barrier in order with the data
+      if (participant.inputs.size() >= maxPendingRounds) {
+        return false;
+      }
+      participant.inputs.add(new Barrier(message, flags));
+      return true;
+    }
+
+    if (streaming) {
+      if (participant.inputs.size() >= maxPendingRounds) {
+        return false;
+      }
+      participant.inputs.add(message);
+    } else {
+      participant.accumulated = participant.accumulated == null ? message
+          : reduce(participant.accumulated, message);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean sendPartial(int source, Object message, int flags) {
+    return send(source, message, flags);
+  }
+
+  @Override
+  public boolean send(int source, Object message, int flags, int target) {
+    throw new RuntimeException("Not-implemented");
+  }
+
+  @Override
+  public boolean sendPartial(int source, Object message, int flags, int target) {
+    throw new RuntimeException("Not-implemented");
+  }
+
+  @Override
+  public synchronized void finish(int source) {
+    if (streaming) {
+      tree.finish(source);
+    } else {
+      Participant participant = localParticipants.get(source);
+      if (participant == null) {
+        throw new RuntimeException("Invalid source completion: " + source);
+      }
+      participant.finished = true;
+      if (!participant.treeSynced) {
+        participant.treeSynced = true;
+        tree.finish(source);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean progress() {
+    try {
+      boolean needsProgress = false;
+      for (Participant participant : localParticipants.values()) {
+        needsProgress |= participant.progress();
+      }
+      flushSends();
+      needsProgress |= exchange.progress();
+      // new messages may have arrived
+      for (Participant participant : localParticipants.values()) {
+        needsProgress |= participant.progress();
+      }
+      flushSends();
+      needsProgress |= deliverResults();
+      needsProgress |= tree.progress();
+      return needsProgress || !pendingSends.isEmpty();
+    } catch (Throwable t) {
+      LOG.log(Level.SEVERE, "un-expected error", t);
+      throw new RuntimeException(t);
+    }
+  }
+
+  @Override
+  public synchronized boolean isComplete() {
+    if (!pendingSends.isEmpty() || !pendingSyncs.isEmpty() || !exchange.isDelegateComplete()
+        || !tree.isComplete()) {
+      return false;
+    }
+    for (Participant participant : localParticipants.values()) {
+      if (streaming ? participant.round != null || !participant.inputs.isEmpty()
+          : !participant.done) {
+        return false;
+      }
+    }
+    for (Map.Entry<Integer, Queue<Object>> e : results.entrySet()) {
+      if (!e.getValue().isEmpty() || (!streaming && !syncedTargets.contains(e.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized void reset() {
+    for (Participant participant : localParticipants.values()) {
+      participant.clear();
+    }
+    for (Queue<Object> queue : results.values()) {
+      queue.clear();
+    }
+    resultDelivered.clear();
+    pendingSyncs.clear();
+    syncedTargets.clear();
+    pendingSends.clear();
+    exchange.reset();
+    tree.reset();
+  }
+
+  @Override
+  public void close() {
+    exchange.close();
+    tree.close();
+  }
+
+  @Override
+  public LogicalPlan getLogicalPlan() {
+    return logicalPlan;
+  }
+
+  @Override
+  public String getUniqueId() {
+    return String.valueOf(edge);
+  }
+
+  @Override
+  public MessageType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Reduce two arrays, an empty array comes from a source without any data and is the identity
+   */
+  private Object reduce(Object data1, Object data2) {
+    if (Array.getLength(data1) == 0) {
+      return data2;
+    } else if (Array.getLength(data2) == 0) {
+      return data1;
+    }
+    return reduceFunction.reduce(data1, data2);
+  }
+
+  private AllReduceRound newRound(Participant participant, Object input) {
+    boolean ring;
+    if (CommunicationContext.ALLREDUCE_ALGO_AUTO.equals(algorithm)) {
+      // halving doubling moves the same amount of data as the ring with a power of two sources,
+      // otherwise the folding adds two full arrays so the ring is better for large arrays
+      int p = participants.length;
+      int length = streaming ? Array.getLength(input) : lastResultLength;
+      ring = (p & (p - 1)) != 0 && (long) length * dataType.getUnitSizeInBytes() >= ringBytes;
+    } else {
+      ring = CommunicationContext.ALLREDUCE_ALGO_RING.equals(algorithm);
+    }
+
+    if (ring) {
+      return new RingAllReduceRound(input, participant.rank, participants, componentType,
+          participant);
+    }
+    return new HalvingDoublingAllReduceRound(input, participant.rank, participants,
+        componentType, participant);
+  }
+
+  private void flushSends() {
+    PendingSend send = pendingSends.peek();
+    while (send != null) {
+      if (!exchange.sendPartial(send.source, send.data, 0, send.target)) {
+        return;
+      }
+      pendingSends.poll();
+      send = pendingSends.peek();
+    }
+  }
+
+  private boolean deliverResults() {
+    boolean needsProgress = false;
+    for (Map.Entry<Integer, Queue<Object>> e : results.entrySet()) {
+      int target = e.getKey();
+      Queue<Object> queue = e.getValue();
+      Object result = queue.peek();
+      while (result != null) {
+        // in batch mode an empty result means none of the sources had data
+        if ((streaming || Array.getLength(result) > 0)
+            && !finalReceiver.receive(target, result)) {
+          needsProgress = true;
+          break;
+        }
+        queue.poll();
+        if (!streaming) {
+          resultDelivered.add(target);
+        }
+        result = queue.peek();
+      }
+    }
+
+    Iterator<Map.Entry<Integer, byte[]>> syncs = pendingSyncs.entrySet().iterator();
+    while (syncs.hasNext()) {
+      Map.Entry<Integer, byte[]> sync = syncs.next();
+      int target = sync.getKey();
+      if (!resultDelivered.contains(target)) {
+        continue;
+      }
+      if (finalReceiver.sync(target, sync.getValue())) {
+        syncedTargets.add(target);
+        syncs.remove();
+      } else {
+        needsProgress = true;
+      }
+    }
+    return needsProgress;
+  }
+
+  private void addResult(int source, int target, Object result) {
+    Queue<Object> queue = results.get(target);
+    if (queue != null) {
+      queue.add(result);
+    } else {
+      pendingSends.add(new PendingSend(source, target, result));
+    }
+  }
+
+  /**
+   * A source of this worker
+   */
+  private final class Participant implements AllReduceExchange {
+    private final int task;
+
+    private final int rank;
+
+    /**
+     * Streaming rounds and barriers waiting to start
+     */
+    private Queue<Object> inputs = new ArrayDeque<>();
+
+    /**
+     * The messages received from each source
+     */
+    private Map<Integer, Queue<Object>> received = new HashMap<>();
+
+    /**
+     * The data reduced so far in batch mode
+     */
+    private Object accumulated;
+
+    private boolean finished;
+
+    /**
+     * Weather the end of the data is sent through the tree in batch mode
+     */
+    private boolean treeSynced;
+
+    /**
+     * Weather the batch round is done
+     */
+    private boolean done;
+
+    private AllReduceRound round;
+
+    Participant(int task, int rank) {
+      this.task = task;
+      this.rank = rank;
+    }
+
+    boolean progress() {
+      if (round == null && !startRound()) {
+        // barriers waiting for the tree
+        return !inputs.isEmpty();
+      }
+
+      boolean progressed = round.progress();
+      if (round.isDone()) {
+        Object result = round.getResult();
+        addResult(task, resultTargets.get(task), result);
+        round = null;
+        if (!streaming) {
+          lastResultLength = Array.getLength(result);
+          done = true;
+          accumulated = null;
+        }
+        return true;
+      }
+      return progressed || round != null;
+    }
+
+    private boolean startRound() {
+      if (streaming) {
+        Object next = inputs.peek();
+        while (next instanceof Barrier) {
+          Barrier barrier = (Barrier) next;
+          if (!tree.send(task, barrier.message, barrier.flags)) {
+            return false;
+          }
+          inputs.poll();
+          next = inputs.peek();
+        }
+        if (next == null) {
+          return false;
+        }
+        inputs.poll();
+        round = newRound(this, next);
+      } else {
+        if (!finished || done) {
+          return false;
+        }
+        round = newRound(this, accumulated != null ? accumulated
+            : Array.newInstance(componentType, 0));
+      }
+      return true;
+    }
+
+    void clear() {
+      inputs.clear();
+      received.clear();
+      accumulated = null;
+      finished = false;
+      treeSynced = false;
+      done = false;
+      round = null;
+    }
+
+    @Override
+    public void send(int target, Object data) {
+      pendingSends.add(new PendingSend(task, target, data));
+    }
+
+    @Override
+    public Object poll(int source) {
+      Queue<Object> queue = received.get(source);
+      return queue != null ? queue.poll() : null;
+    }
+
+    @Override
+    public Object reduce(Object data1, Object data2) {
+      return ChunkedAllReduce.this.reduce(data1, data2);
+    }
+  }
+
+  /**
+   * Receives the chunks and the results
+   */
+  private final class ExchangeReceiver implements MessageReceiver {
+    @Override
+    public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    }
+
+    @Override
+    public boolean onMessage(int source, int path, int target, int flags, Object object) {
+      synchronized (ChunkedAllReduce.this) {
+        Participant participant = localParticipants.get(target);
+        if (participant != null) {
+          // a chunk from another source, when the sources are the targets results are not sent
+          participant.received.computeIfAbsent(source, s -> new ArrayDeque<>()).add(object);
+        } else if (results.containsKey(target)) {
+          results.get(target).add(object);
+        } else {
+          LOG.warning(String.format("Un-expected allreduce message from %d to %d, sources %s",
+              source, target, Arrays.toString(participants)));
+        }
+        return true;
+      }
+    }
+
+    @Override
+    public boolean progress() {
+      return false;
+    }
+
+    @Override
+    public boolean isComplete() {
+      return true;
+    }
+  }
+
+  /**
+   * Receives the syncs from the tree, in batch mode a target is synced after it got the result
+   */
+  private final class TreeReceiver implements SingularReceiver {
+    @Override
+    public void init(Config cfg, Set<Integer> targets) {
+      finalReceiver.init(cfg, targets);
+    }
+
+    @Override
+    public boolean receive(int target, Object object) {
+      // the data goes through the exchange, in batch mode the tree only carries the syncs
+      return !streaming || finalReceiver.receive(target, object);
+    }
+
+    @Override
+    public boolean sync(int target, byte[] message) {
+      if (streaming) {
+        return finalReceiver.sync(target, message);
+      }
+      synchronized (ChunkedAllReduce.this) {
+        pendingSyncs.put(target, message);
+        return true;
+      }
+    }
+  }
+
+  private static final class PendingSend {
+    private final int source;
+
+    private final int target;
+
+    private final Object data;
+
+    PendingSend(int source, int target, Object data) {
+      this.source = source;
+      this.target = target;
+      this.data = data;
+    }
+  }
+
+  private static final class Barrier {
+    private final Object message;
+
+    private final int flags;
+
+    Barrier(Object message, int flags) {
+      this.message = message;
+      this.flags = flags;
+    }
+  }
+}
@@ -12,6 +12,7 @@
 package edu.iu.dsc.tws.comms.dfw;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
 import edu.iu.dsc.tws.api.comms.packing.MessageDeSerializer;
 import edu.iu.dsc.tws.api.comms.packing.MessageSerializer;
 import edu.iu.dsc.tws.api.config.Config;
@@ -109,11 +111,21 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
    */
   private Queue<DataBuffer> sendBuffers;
 
+  /**
+   * All the send buffers taken from the pool, returned to the pool when closing
+   */
+  private List<DataBuffer> ownedSendBuffers;
+
   /**
    * Receive availableBuffers, for each receive we need to make
    */
   private Map<Integer, Queue<DataBuffer>> receiveBuffers;
 
+  /**
+   * Weather the operation is closed, buffers of messages released after this go to the pool
+   */
+  private volatile boolean closed;
+
   /**
    * Pending send messages
    */
@@ -252,9 +264,13 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
     int noOfSendBuffers = CommunicationContext.sendBuffersCount(config);
     int sendBufferSize = CommunicationContext.bufferSize(config);
 
+    DataBufferPool pool = channel.getBufferPool();
     this.sendBuffers = new ArrayBlockingQueue<>(noOfSendBuffers);
+    this.ownedSendBuffers = new ArrayList<>(noOfSendBuffers);
     for (int i = 0; i < noOfSendBuffers; i++) {
-      sendBuffers.offer(new DataBuffer(channel.createBuffer(sendBufferSize)));
+      DataBuffer buffer = pool.acquire(sendBufferSize);
+      ownedSendBuffers.add(buffer);
+      sendBuffers.offer(buffer);
     }
     this.receiveBuffers = new HashMap<>();
 
@@ -289,7 +305,7 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
   }
 
   /**
-   * Setup the receives and send sendBuffers
+   * Setup the receives
    */
   private void setupCommunication() {
     // we will receive from these
@@ -303,14 +319,6 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
         receiveBuffers.put(recv, recvList);
       }
     }
-
-    // configure the send sendBuffers
-    int sendBufferSize = CommunicationContext.bufferSize(config);
-    int sendBufferCount = CommunicationContext.sendBuffersCount(config);
-    for (int i = 0; i < sendBufferCount; i++) {
-      DataBuffer buffer = new DataBuffer(channel.createBuffer(sendBufferSize));
-      sendBuffers.offer(buffer);
-    }
   }
 
   /**
@@ -330,8 +338,7 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
     int receiveBufferSize = CommunicationContext.bufferSize(config);
     this.freeReceiveBuffers = new ArrayBlockingQueue<>(max);
     for (int i = 0; i < max; i++) {
-      ByteBuffer byteBuffer = channel.createBuffer(receiveBufferSize);
-      this.freeReceiveBuffers.offer(new DataBuffer(byteBuffer));
+      this.freeReceiveBuffers.offer(channel.getBufferPool().acquire(receiveBufferSize));
     }
   }
 
@@ -774,7 +781,9 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
   private int addedFreedBuffers = 0;
 
   private void releaseTheBuffers(int id, ChannelMessage message) {
-    if (MessageDirection.IN == message.getMessageDirection()) {
+    if (MessageDirection.IN == message.getMessageDirection() && closed) {
+      releaseToPool(message.getNormalBuffers());
+    } else if (MessageDirection.IN == message.getMessageDirection()) {
       // if we have received the full message we can release the buffer to free buffers,
       // otherwise we need to release to receive more
       for (DataBuffer buffer : message.getNormalBuffers()) {
@@ -815,5 +824,29 @@ public class ControlledChannelOperation implements ChannelListener, ChannelMessa
     for (int exec : receivingExecutors) {
       channel.releaseBuffers(exec, edge);
     }
+    // the receive buffers posted to the channel are returned by the channel when the receives
+    // are cancelled and the buffers of messages still in flight are returned when released
+    closed = true;
+    for (Queue<DataBuffer> list : receiveBuffers.values()) {
+      drainToPool(list);
+    }
+    drainToPool(freeReceiveBuffers);
+    channel.getBufferPool().releaseAll(ownedSendBuffers, sendBuffers,
+        String.format("worker %d edge %d", executor, edge));
+    ownedSendBuffers.clear();
+    sendBuffers.clear();
+  }
+
+  private void drainToPool(Queue<DataBuffer> buffers) {
+    DataBuffer buffer;
+    while ((buffer = buffers.poll()) != null) {
+      channel.getBufferPool().release(buffer);
+    }
+  }
+
+  private void releaseToPool(List<DataBuffer> buffers) {
+    for (DataBuffer buffer : buffers) {
+      channel.getBufferPool().release(buffer);
+    }
   }
 }
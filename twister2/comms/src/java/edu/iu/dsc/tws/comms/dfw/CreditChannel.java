@@ -0,0 +1,166 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Receives the credit messages of all the operations of a channel. The credits of every
+ * operation travel on the same reserved edge, which is used as the MPI tag, and the operation
+ * edge is carried in the message. Deriving a credit edge from each operation edge would need
+ * tags above 32767, the largest tag MPI guarantees.
+ * <p>
+ * There is one instance per channel, created when the first {@link CreditFlowControl} of the
+ * channel registers and released when the last one is closed.
+ */
+final class CreditChannel implements ChannelListener {
+
+  /**
+   * The edge used for all the credit messages, the largest tag every MPI implementation supports.
+   * Operation edges are allocated from 0 upwards and stay below this.
+   */
+  static final int CREDIT_EDGE = 32767;
+
+  /**
+   * Size of a credit message, the operation edge and the number of credits
+   */
+  static final int MESSAGE_SIZE = 2 * Integer.BYTES;
+
+  /**
+   * Receive buffers posted for credit messages from each worker
+   */
+  private static final int RECEIVE_BUFFERS = 4;
+
+  /**
+   * The credit channel of each channel
+   */
+  private static final Map<TWSChannel, CreditChannel> CHANNELS = new WeakHashMap<>();
+
+  private final TWSChannel channel;
+
+  private final int thisWorker;
+
+  /**
+   * The flow controls registered, keyed by the operation edge
+   */
+  private final Map<Integer, CreditFlowControl> controls = new ConcurrentHashMap<>();
+
+  /**
+   * Receive buffers for credit messages from each worker
+   */
+  private final Int2ObjectOpenHashMap<Queue<DataBuffer>> receiveBuffers =
+      new Int2ObjectOpenHashMap<>();
+
+  private CreditChannel(TWSChannel channel, int thisWorker) {
+    this.channel = channel;
+    this.thisWorker = thisWorker;
+  }
+
+  /**
+   * Register the flow control of an operation edge, the credits sent to this worker for the edge
+   * are given to it
+   *
+   * @param channel the channel
+   * @param thisWorker this worker
+   * @param workers the workers that may send credits
+   * @param edge the operation edge
+   * @param control the flow control of the edge
+   */
+  static synchronized void register(TWSChannel channel, int thisWorker, Set<Integer> workers,
+                                    int edge, CreditFlowControl control) {
+    if (edge >= CREDIT_EDGE) {
+      throw new IllegalArgumentException(String.format("Edge %d is not below the reserved "
+          + "credit edge %d", edge, CREDIT_EDGE));
+    }
+    CreditChannel creditChannel = CHANNELS.computeIfAbsent(channel,
+        c -> new CreditChannel(c, thisWorker));
+    if (creditChannel.controls.putIfAbsent(edge, control) != null) {
+      throw new IllegalStateException(String.format("%d Credit flow control is already "
+          + "registered for edge %d", thisWorker, edge));
+    }
+    // we may send to any of the workers, so we listen for credits from all of them
+    for (int w : workers) {
+      if (w != thisWorker && !creditChannel.receiveBuffers.containsKey(w)) {
+        creditChannel.postReceives(w);
+      }
+    }
+  }
+
+  /**
+   * Remove the flow control of an edge, the receives are released with the last one
+   *
+   * @param channel the channel
+   * @param edge the operation edge
+   */
+  static synchronized void unregister(TWSChannel channel, int edge) {
+    CreditChannel creditChannel = CHANNELS.get(channel);
+    if (creditChannel == null) {
+      return;
+    }
+    creditChannel.controls.remove(edge);
+    if (creditChannel.controls.isEmpty()) {
+      creditChannel.close();
+      CHANNELS.remove(channel);
+    }
+  }
+
+  private void postReceives(int worker) {
+    Queue<DataBuffer> buffers = new LinkedBlockingQueue<>();
+    for (int i = 0; i < RECEIVE_BUFFERS; i++) {
+      buffers.add(channel.getBufferPool().acquire(MESSAGE_SIZE));
+    }
+    channel.receiveMessage(0, worker, CREDIT_EDGE, this, buffers);
+    receiveBuffers.put(worker, buffers);
+  }
+
+  @Override
+  public void onReceiveComplete(int id, int stream, DataBuffer buffer) {
+    int edge = buffer.getByteBuffer().getInt(0);
+    int granted = buffer.getByteBuffer().getInt(Integer.BYTES);
+    CreditFlowControl control = controls.get(edge);
+    // the operation may be closed already
+    if (control != null) {
+      control.granted(id, granted);
+    }
+
+    buffer.getByteBuffer().clear();
+    if (!receiveBuffers.get(id).offer(buffer)) {
+      throw new RuntimeException(String.format("%d Failed to return a credit buffer for %d",
+          thisWorker, id));
+    }
+  }
+
+  @Override
+  public void onSendComplete(int id, int stream, ChannelMessage message) {
+    // the flow controls send the credits
+  }
+
+  private void close() {
+    // like the receive buffers of the operations, these may still be posted to the channel
+    for (int w : receiveBuffers.keySet()) {
+      channel.releaseBuffers(w, CREDIT_EDGE);
+    }
+    receiveBuffers.clear();
+  }
+}
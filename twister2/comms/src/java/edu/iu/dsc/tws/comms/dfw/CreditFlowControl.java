@@ -0,0 +1,255 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
+import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessageReleaseCallback;
+import edu.iu.dsc.tws.api.comms.messaging.MessageDirection;
+import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.config.Config;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+/**
+ * Credit based flow control between the workers of an operation edge. A sender starts with a
+ * window of credits for every worker and uses one credit for each buffer it sends to that worker.
+ * The receiving worker returns the credits as it consumes the receive buffers, so a slow receiver
+ * stops its senders instead of making them buffer or retry against the channel. Credits are not
+ * held until a whole message is delivered, a message can span more buffers than the window.
+ * <p>
+ * Credits are returned as small messages carrying the operation edge on the edge reserved for
+ * credits, see {@link CreditChannel}.
+ */
+public class CreditFlowControl implements ChannelListener, ChannelMessageReleaseCallback {
+  private static final Logger LOG = Logger.getLogger(CreditFlowControl.class.getName());
+
+  /**
+   * The channel
+   */
+  private TWSChannel channel;
+
+  /**
+   * This worker
+   */
+  private int thisWorker;
+
+  /**
+   * The operation edge
+   */
+  private int edge;
+
+  /**
+   * Credits a sender starts with for each worker
+   */
+  private int window;
+
+  /**
+   * Available credits for the workers we send to
+   */
+  private Int2IntOpenHashMap credits = new Int2IntOpenHashMap();
+
+  /**
+   * Credits we owe to the workers we receive from
+   */
+  private Int2IntOpenHashMap pendingReturns = new Int2IntOpenHashMap();
+
+  /**
+   * Workers that refused a send, cleared when they return credits
+   */
+  private Set<Integer> exhausted = new HashSet<>();
+
+  /**
+   * Buffers for sending credit messages
+   */
+  private Queue<DataBuffer> sendBuffers;
+
+  /**
+   * All the buffers taken from the pool
+   */
+  private List<DataBuffer> ownedBuffers = new ArrayList<>();
+
+  /**
+   * The counters
+   */
+  private BackPressureMetrics metrics;
+
+  public CreditFlowControl(TWSChannel channel, Config cfg, int thisWorker, int edge,
+                           Set<Integer> workers, Set<Integer> receivingWorkers) {
+    this.channel = channel;
+    this.thisWorker = thisWorker;
+    this.edge = edge;
+    this.window = CommunicationContext.creditWindow(cfg);
+    this.metrics = new BackPressureMetrics(edge);
+    this.credits.defaultReturnValue(window);
+
+    CreditChannel.register(channel, thisWorker, workers, edge, this);
+
+    // at most one credit message is in flight for each worker we receive from
+    this.sendBuffers = new LinkedBlockingQueue<>();
+    for (int i = 0; i < Math.max(1, receivingWorkers.size()); i++) {
+      sendBuffers.add(acquire());
+    }
+  }
+
+  private DataBuffer acquire() {
+    DataBuffer buffer = channel.getBufferPool().acquire(CreditChannel.MESSAGE_SIZE);
+    ownedBuffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * Use credits for sending buffers to a worker. A message larger than the window is allowed
+   * when no credits are outstanding, otherwise it could never be sent.
+   *
+   * @param worker the worker
+   * @param buffers number of buffers
+   * @return true if there were enough credits
+   */
+  public synchronized boolean acquire(int worker, int buffers) {
+    int available = credits.get(worker);
+    if (available >= buffers || available == window) {
+      credits.put(worker, available - buffers);
+      metrics.used(buffers);
+      return true;
+    }
+    if (exhausted.add(worker)) {
+      metrics.stalled();
+    }
+    return false;
+  }
+
+  /**
+   * Give back credits that were acquired for a send the channel did not accept
+   *
+   * @param worker the worker
+   * @param buffers number of buffers
+   */
+  public synchronized void cancel(int worker, int buffers) {
+    credits.put(worker, credits.get(worker) + buffers);
+    metrics.used(-buffers);
+  }
+
+  /**
+   * These receive buffers were consumed and can receive again, the credits can be returned to
+   * the sending worker
+   *
+   * @param worker the worker that sent the buffers
+   * @param buffers number of buffers
+   */
+  public synchronized void delivered(int worker, int buffers) {
+    pendingReturns.addTo(worker, buffers);
+  }
+
+  /**
+   * Send the credits we owe to the senders
+   */
+  public synchronized void progress() {
+    if (pendingReturns.isEmpty()) {
+      return;
+    }
+    int[] workers = pendingReturns.keySet().toIntArray();
+    for (int worker : workers) {
+      DataBuffer buffer = sendBuffers.poll();
+      if (buffer == null) {
+        return;
+      }
+      int returned = pendingReturns.get(worker);
+      ByteBuffer byteBuffer = buffer.getByteBuffer();
+      byteBuffer.clear();
+      byteBuffer.putInt(0, edge);
+      byteBuffer.putInt(Integer.BYTES, returned);
+      buffer.setSize(CreditChannel.MESSAGE_SIZE);
+
+      ChannelMessage message = new ChannelMessage(thisWorker, MessageTypes.INTEGER,
+          MessageDirection.OUT, this);
+      message.setHeader(MessageHeader.newBuilder(thisWorker, CreditChannel.CREDIT_EDGE).build());
+      message.addBuffer(buffer);
+      message.incrementRefCount();
+      if (channel.sendMessage(worker, message, this)) {
+        pendingReturns.remove(worker);
+        metrics.returned(returned);
+      } else {
+        sendBuffers.offer(buffer);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Weather a worker we send to has run out of credits
+   *
+   * @return true if the senders of this edge should back off
+   */
+  public synchronized boolean isExhausted() {
+    return !exhausted.isEmpty();
+  }
+
+  public BackPressureMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * A worker we send to returned credits
+   *
+   * @param worker the worker
+   * @param granted number of credits
+   */
+  void granted(int worker, int granted) {
+    synchronized (this) {
+      credits.put(worker, credits.get(worker) + granted);
+      exhausted.remove(worker);
+    }
+    metrics.received(granted);
+  }
+
+  @Override
+  public void onReceiveComplete(int id, int stream, DataBuffer buffer) {
+    // credits are received by the credit channel
+  }
+
+  @Override
+  public void onSendComplete(int id, int stream, ChannelMessage message) {
+    message.release();
+  }
+
+  @Override
+  public void release(ChannelMessage message) {
+    for (DataBuffer buffer : message.getNormalBuffers()) {
+      buffer.getByteBuffer().clear();
+      sendBuffers.offer(buffer);
+    }
+  }
+
+  public void close() {
+    CreditChannel.unregister(channel, edge);
+    LOG.fine(String.format("%d %s", thisWorker, metrics));
+    channel.getBufferPool().releaseAll(ownedBuffers, sendBuffers,
+        String.format("worker %d credits of edge %d", thisWorker, edge));
+    ownedBuffers.clear();
+    sendBuffers.clear();
+  }
+}
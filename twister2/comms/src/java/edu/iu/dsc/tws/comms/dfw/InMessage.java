@@ -223,14 +223,21 @@ public class InMessage {
     return lastBuffer == 1;
   }
 
-  @SuppressWarnings("unchecked")
   public void addCurrentKeyedObject() {
-    Object key = keyBuilder.getFinalObject();
-    Object value = dataBuilder.getFinalObject();
+    addKeyedObject(new Tuple(keyBuilder.getFinalObject(), dataBuilder.getFinalObject()));
+  }
+
+  /**
+   * Add a keyed record that was read directly from the buffers without the object builders
+   *
+   * @param tuple the record
+   */
+  @SuppressWarnings("unchecked")
+  public void addKeyedObject(Tuple tuple) {
     if (header.getNumberTuples() == -1) {
-      deserializedData = new Tuple(key, value);
+      deserializedData = tuple;
     } else {
-      ((List<Object>) deserializedData).add(new Tuple(key, value));
+      ((List<Object>) deserializedData).add(tuple);
     }
     unPkNumberObjects++;
     this.setUnPkCurrentObjectLength(-1);
@@ -27,6 +27,7 @@ import java.util.logging.Logger;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
@@ -528,6 +529,16 @@ public class MToNRing implements DataFlowOperation, ChannelReceiver {
     return delegate.isComplete();
   }
 
+  @Override
+  public boolean isBackPressured() {
+    return delegate.isBackPressured();
+  }
+
+  @Override
+  public BackPressureMetrics getBackPressureMetrics() {
+    return delegate.getBackPressureMetrics();
+  }
+
   @Override
   public void finish(int source) {
     Set<Integer> targetsOfThisWorker = TaskPlanUtils.getTasksOfThisWorker(logicalPlan, targets);
@@ -26,6 +26,7 @@ import java.util.logging.Logger;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
@@ -338,6 +339,16 @@ public class MToNSimple implements DataFlowOperation, ChannelReceiver {
     return delegete.isComplete();
   }
 
+  @Override
+  public boolean isBackPressured() {
+    return delegete.isBackPressured();
+  }
+
+  @Override
+  public BackPressureMetrics getBackPressureMetrics() {
+    return delegete.getBackPressureMetrics();
+  }
+
   @Override
   public boolean progress() {
     return OperationUtils.progressReceivers(delegete, lock, finalReceiver,
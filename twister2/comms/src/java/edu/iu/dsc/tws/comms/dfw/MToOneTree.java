@@ -29,6 +29,7 @@ import com.google.common.collect.Table;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
@@ -308,13 +309,17 @@ public class MToOneTree implements DataFlowOperation, ChannelReceiver {
     if (receiveExecutorsSize == 0) {
       receiveExecutorsSize = 1;
     }
+    // views of the receive buffers are only given to receivers that release them promptly
+    boolean zeroCopy = CommunicationContext.isReceiveZeroCopy(cfg)
+        && finalReceiver.acceptsBufferViews()
+        && (partialReceiver == null || partialReceiver.acceptsBufferViews());
     Set<Integer> execs = router.getReceiveSources();
     for (int e : execs) {
       int capacity = maxReceiveBuffers * 2 * receiveExecutorsSize;
       Queue<InMessage> pendingReceiveMessages = new ArrayBlockingQueue<>(capacity);
       pendingReceiveMessagesPerSource.put(e, pendingReceiveMessages);
       pendingReceiveDeSerializations.put(e, new ArrayBlockingQueue<>(capacity));
-      deSerializerMap.put(e, Deserializers.get(isKeyed, this.messageSchema));
+      deSerializerMap.put(e, Deserializers.get(isKeyed, this.messageSchema, zeroCopy));
     }
 
     Set<Integer> sourcesOfThisExec = TaskPlanUtils.getTasksOfThisWorker(logicalPlan, sources);
@@ -357,6 +362,16 @@ public class MToOneTree implements DataFlowOperation, ChannelReceiver {
     return delegete.isComplete();
   }
 
+  @Override
+  public boolean isBackPressured() {
+    return delegete.isBackPressured();
+  }
+
+  @Override
+  public BackPressureMetrics getBackPressureMetrics() {
+    return delegete.getBackPressureMetrics();
+  }
+
   @Override
   public boolean isComplete() {
     boolean done = delegete.isComplete();
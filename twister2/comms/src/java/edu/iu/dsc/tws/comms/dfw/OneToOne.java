@@ -26,6 +26,7 @@ import java.util.logging.Logger;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
@@ -217,7 +218,9 @@ public class OneToOne implements DataFlowOperation, ChannelReceiver {
       pendingReceiveMessagesPerSource.put(sources.get(targets.indexOf(tar)),
           new ArrayBlockingQueue<>(CommunicationContext.sendPendingMax(config)));
 
-      deSerializerMap.put(tar, Deserializers.get(false, this.messageSchema));
+      // messages are deserialized by the source id they carry
+      deSerializerMap.put(sources.get(targets.indexOf(tar)),
+          Deserializers.get(false, this.messageSchema));
     }
 
     // calculate the routing parameters
@@ -301,6 +304,16 @@ public class OneToOne implements DataFlowOperation, ChannelReceiver {
     return delegate.isComplete();
   }
 
+  @Override
+  public boolean isBackPressured() {
+    return delegate.isBackPressured();
+  }
+
+  @Override
+  public BackPressureMetrics getBackPressureMetrics() {
+    return delegate.getBackPressureMetrics();
+  }
+
   @Override
   public boolean isComplete() {
     if (lock.tryLock()) {
@@ -0,0 +1,171 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.util.AbstractQueue;
+import java.util.Collections;
+import java.util.Iterator;
+
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
+
+/**
+ * Buffers of an operation borrowed from the buffer pool when they are needed. Taking a buffer
+ * acquires one from the pool while fewer than the maximum are out, and a buffer given back goes
+ * to the pool right away, so an operation holds buffers only while messages use them.
+ * <p>
+ * Receive buffers are posted to the channel before any data arrives. To keep an idle operation
+ * from holding its receive buffers, only a limited number are handed out until the channel
+ * reports through {@link #received(DataBuffer)} that a posted buffer got data.
+ */
+public class PooledBufferQueue extends AbstractQueue<DataBuffer> {
+  /**
+   * The pool the buffers are borrowed from
+   */
+  private final DataBufferPool pool;
+
+  /**
+   * Capacity of the buffers
+   */
+  private final int bufferSize;
+
+  /**
+   * Maximum number of buffers out at the same time
+   */
+  private final int maxBuffers;
+
+  /**
+   * Maximum number of buffers handed out that did not get data yet, 0 for no limit
+   */
+  private final int maxPosted;
+
+  /**
+   * Number of buffers out
+   */
+  private int out;
+
+  /**
+   * Number of buffers handed out that did not get data yet
+   */
+  private int posted;
+
+  /**
+   * Weather no more buffers are lent
+   */
+  private boolean closed;
+
+  /**
+   * Create the queue
+   *
+   * @param pool the pool
+   * @param bufferSize capacity of the buffers
+   * @param maxBuffers maximum number of buffers out at the same time
+   * @param maxPosted maximum number of buffers out without data, 0 for no limit
+   */
+  public PooledBufferQueue(DataBufferPool pool, int bufferSize, int maxBuffers, int maxPosted) {
+    this.pool = pool;
+    this.bufferSize = bufferSize;
+    this.maxBuffers = maxBuffers;
+    this.maxPosted = maxPosted;
+  }
+
+  /**
+   * Return a buffer to the pool
+   *
+   * @param buffer the buffer
+   * @return always true
+   */
+  @Override
+  public synchronized boolean offer(DataBuffer buffer) {
+    pool.release(buffer);
+    if (out > 0) {
+      out--;
+    }
+    return true;
+  }
+
+  /**
+   * Borrow a buffer from the pool
+   *
+   * @return the buffer or null if the maximum number of buffers are out
+   */
+  @Override
+  public synchronized DataBuffer poll() {
+    if (available() <= 0) {
+      return null;
+    }
+    out++;
+    if (maxPosted > 0) {
+      posted++;
+    }
+    return pool.acquire(bufferSize);
+  }
+
+  /**
+   * The queue does not hold buffers, a buffer is only acquired when taken
+   *
+   * @return null
+   */
+  @Override
+  public DataBuffer peek() {
+    return null;
+  }
+
+  /**
+   * Nothing to clear, the queue does not hold buffers
+   */
+  @Override
+  public void clear() {
+  }
+
+  /**
+   * A buffer taken from this queue got data
+   *
+   * @param buffer the buffer
+   */
+  public synchronized void received(DataBuffer buffer) {
+    if (posted > 0) {
+      posted--;
+    }
+  }
+
+  /**
+   * Stop lending buffers, buffers given back after this still go to the pool
+   */
+  public synchronized void close() {
+    closed = true;
+  }
+
+  /**
+   * Number of buffers that can be taken now
+   */
+  @Override
+  public synchronized int size() {
+    return Math.max(available(), 0);
+  }
+
+  @Override
+  public Iterator<DataBuffer> iterator() {
+    return Collections.emptyIterator();
+  }
+
+  private int available() {
+    if (closed) {
+      return 0;
+    }
+    int available = maxBuffers - out;
+    if (maxPosted > 0) {
+      available = Math.min(available, maxPosted - posted);
+    }
+    return available;
+  }
+}
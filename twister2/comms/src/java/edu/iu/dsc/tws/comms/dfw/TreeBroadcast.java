@@ -30,6 +30,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.BackPressureMetrics;
 import edu.iu.dsc.tws.api.comms.channel.ChannelReceiver;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
@@ -412,6 +413,16 @@ public class TreeBroadcast implements DataFlowOperation, ChannelReceiver {
     return delegate.isComplete();
   }
 
+  @Override
+  public boolean isBackPressured() {
+    return delegate.isBackPressured();
+  }
+
+  @Override
+  public BackPressureMetrics getBackPressureMetrics() {
+    return delegate.getBackPressureMetrics();
+  }
+
   @Override
   public boolean handleReceivedChannelMessage(ChannelMessage currentMessage) {
     int src = router.mainTaskOfExecutor(instancePlan.getThisWorker(),
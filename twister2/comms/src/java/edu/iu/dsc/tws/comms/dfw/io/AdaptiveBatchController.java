@@ -0,0 +1,109 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+/**
+ * Decides when a queue of messages going to a target should be sent. The average gap between
+ * arrivals is tracked with an exponential moving average and the batch size is the number of
+ * messages we expect within the maximum delay, bounded by the maximum batch size. With a low
+ * arrival rate this becomes one and messages are sent as they arrive. With a high rate batches
+ * grow up to the maximum, and no message waits longer than the maximum delay.
+ */
+public class AdaptiveBatchController {
+  /**
+   * Weight of the latest gap in the moving average
+   */
+  private static final double SMOOTHING = 0.2;
+
+  /**
+   * Maximum time a message can be queued in nano seconds
+   */
+  private final long maxDelay;
+
+  /**
+   * Largest batch we create
+   */
+  private final int maxBatch;
+
+  /**
+   * Average gap between two arrivals in nano seconds
+   */
+  private double averageGap = -1;
+
+  /**
+   * Time of the last arrival
+   */
+  private long lastArrival = -1;
+
+  /**
+   * Arrival time of the oldest message in the current batch
+   */
+  private long batchStart = -1;
+
+  public AdaptiveBatchController(long maxDelayNanos, int maxBatch) {
+    this.maxDelay = maxDelayNanos;
+    this.maxBatch = Math.max(1, maxBatch);
+  }
+
+  /**
+   * Record an arrival
+   *
+   * @param now current time in nano seconds
+   * @param firstInBatch true if the queue was empty before this message
+   */
+  public void arrived(long now, boolean firstInBatch) {
+    if (lastArrival >= 0) {
+      long gap = now - lastArrival;
+      averageGap = averageGap < 0 ? gap : SMOOTHING * gap + (1 - SMOOTHING) * averageGap;
+    }
+    lastArrival = now;
+    if (firstInBatch || batchStart < 0) {
+      batchStart = now;
+    }
+  }
+
+  /**
+   * The number of messages we are going to wait for before sending
+   *
+   * @return the batch size
+   */
+  public int batchSize() {
+    if (averageGap < 0) {
+      return 1;
+    }
+    double expected = maxDelay / Math.max(averageGap, 1.0);
+    return (int) Math.max(1, Math.min(maxBatch, expected));
+  }
+
+  /**
+   * Check weather a queue should be sent now
+   *
+   * @param now current time in nano seconds
+   * @param queued number of queued messages
+   * @return true if the batch is full or the oldest message has waited the maximum delay
+   */
+  public boolean isDue(long now, int queued) {
+    if (queued == 0) {
+      return false;
+    }
+    return queued >= batchSize() || now - batchStart >= maxDelay;
+  }
+
+  /**
+   * Forget the arrival history, called when the operation is reset
+   */
+  public void reset() {
+    averageGap = -1;
+    lastArrival = -1;
+    batchStart = -1;
+  }
+}
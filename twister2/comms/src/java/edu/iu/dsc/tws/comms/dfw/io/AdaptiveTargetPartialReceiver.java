@@ -0,0 +1,77 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+import java.util.List;
+import java.util.Map;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.config.Config;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Streaming partial receiver that holds messages for a target until an
+ * {@link AdaptiveBatchController} decides the batch is ready. Because progress is called
+ * continuously by the executor, the maximum delay is checked there without a separate timer.
+ */
+public class AdaptiveTargetPartialReceiver extends TargetPartialReceiver {
+  /**
+   * Batch controller for each target
+   */
+  private Int2ObjectOpenHashMap<AdaptiveBatchController> controllers =
+      new Int2ObjectOpenHashMap<>();
+
+  @Override
+  public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    super.init(cfg, op, expectedIds);
+    long maxDelay = CommunicationContext.batchMaxDelayMicros(cfg) * 1000;
+    for (int target : thisDestinations) {
+      controllers.put(target, new AdaptiveBatchController(maxDelay, highWaterMark));
+    }
+  }
+
+  @Override
+  protected void addMessage(int target, List<Object> msgQueue, Object value) {
+    boolean first = msgQueue.isEmpty();
+    super.addMessage(target, msgQueue, value);
+    controllers.get(target).arrived(System.nanoTime(), first);
+  }
+
+  @Override
+  protected boolean isFilledToSend(int target) {
+    if (!super.isFilledToSend(target)) {
+      return false;
+    }
+    // we don't hold messages back once a source has sent a sync
+    return isSyncPending()
+        || controllers.get(target).isDue(System.nanoTime(), messages.get(target).size());
+  }
+
+  private boolean isSyncPending() {
+    for (int source : thisSources) {
+      if (sourceStates.get(source) == ReceiverState.ALL_SYNCS_RECEIVED) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void clean() {
+    super.clean();
+    for (AdaptiveBatchController controller : controllers.values()) {
+      controller.reset();
+    }
+  }
+}
@@ -18,6 +18,9 @@ import java.util.UUID;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataPacker;
+import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.comms.packing.types.primitive.PrimitivePacker;
 import edu.iu.dsc.tws.comms.dfw.OutMessage;
 
 public final class DFWIOUtils {
@@ -107,6 +110,25 @@ public final class DFWIOUtils {
     }
     return false;
   }
+
+  /**
+   * Check weather the key and the value of a fixed schema keyed message are single primitives
+   * that fill the schema, so that a record can be written to and read from the buffers
+   * directly with the primitive packers
+   *
+   * @param schema the message schema
+   * @param keyPacker packer of the key
+   * @param dataPacker packer of the value
+   * @return true if both are primitives matching the key and value sizes of the schema
+   */
+  public static boolean isPrimitiveRecord(MessageSchema schema, DataPacker keyPacker,
+                                          DataPacker dataPacker) {
+    return keyPacker instanceof PrimitivePacker && dataPacker instanceof PrimitivePacker
+        && ((PrimitivePacker) keyPacker).getMessageType().getUnitSizeInBytes()
+        == schema.getKeySize()
+        && ((PrimitivePacker) dataPacker).getMessageType().getUnitSizeInBytes()
+        == schema.getMessageSize() - schema.getKeySize();
+  }
 }
 
 
@@ -17,14 +17,34 @@ import java.util.Queue;
 
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.messaging.MessageDirection;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
 import edu.iu.dsc.tws.api.comms.packing.DataPacker;
 import edu.iu.dsc.tws.api.comms.packing.MessageDeSerializer;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.comms.dfw.InMessage;
 
 public class DataDeserializer implements MessageDeSerializer {
+  /**
+   * Weather primitive arrays are delivered as views of the receive buffers
+   */
+  private final boolean zeroCopy;
+
+  public DataDeserializer() {
+    this(false);
+  }
+
+  /**
+   * Create the deserializer
+   *
+   * @param zeroCopy deliver primitive arrays as views, only for receivers accepting views
+   */
+  public DataDeserializer(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
 
   @Override
   public void init(Config cfg) {
@@ -49,6 +69,8 @@ public class DataDeserializer implements MessageDeSerializer {
     }
 
     List<DataBuffer> builtBuffers = new ArrayList<>();
+    // views created from the buffers, these need to pin the buffers once the message is built
+    List<DataBufferView> views = new ArrayList<>();
     // get the number of objects deserialized
     DataBuffer buffer = buffers.peek();
     while (buffer != null) {
@@ -62,6 +84,7 @@ public class DataDeserializer implements MessageDeSerializer {
 
       // if we are at the beginning
       int currentObjectLength = currentMessage.getUnPkCurrentObjectLength();
+      boolean asView = false;
 
       if (currentMessage.getUnPkBuffers() == 0) {
         currentLocation = DFWIOUtils.HEADER_SIZE;
@@ -77,17 +100,27 @@ public class DataDeserializer implements MessageDeSerializer {
         currentLocation += Integer.BYTES;
 
         // starting to build a new object
-        currentMessage.getDataBuilder().init(dataPacker, currentObjectLength);
+        asView = canView(currentMessage, currentObjectLength, remaining);
+        initBuilder(currentMessage, dataPacker, currentObjectLength, asView);
       }
 
 
       while (remaining > 0) {
         // read the values from the buffer
         ObjectBuilderImpl dataBuilder = currentMessage.getDataBuilder();
-        int bytesRead = dataPacker.readDataFromBuffer(
-            dataBuilder, currentLocation,
-            buffer
-        );
+        int bytesRead;
+        if (asView) {
+          DataBufferView view = new DataBufferView(buffer.getByteBuffer(), currentLocation,
+              currentObjectLength, currentMessage.getDataType());
+          views.add(view);
+          dataBuilder.setFinalObject(view);
+          bytesRead = currentObjectLength;
+        } else {
+          bytesRead = dataPacker.readDataFromBuffer(
+              dataBuilder, currentLocation,
+              buffer
+          );
+        }
         dataBuilder.incrementCompletedSizeBy(bytesRead);
 
         currentLocation += bytesRead;
@@ -107,7 +140,8 @@ public class DataDeserializer implements MessageDeSerializer {
           remaining = remaining - Integer.BYTES;
           currentLocation += Integer.BYTES;
 
-          currentMessage.getDataBuilder().init(dataPacker, currentObjectLength);
+          asView = canView(currentMessage, currentObjectLength, remaining);
+          initBuilder(currentMessage, dataPacker, currentObjectLength, asView);
           currentMessage.setUnPkCurrentObjectLength(currentObjectLength);
         } else {
           // we have to break here as we cannot read further
@@ -139,10 +173,46 @@ public class DataDeserializer implements MessageDeSerializer {
       channelMessage.addBuffers(builtBuffers);
       channelMessage.setHeader(currentMessage.getHeader());
       channelMessage.incrementRefCount();
+      // the views keep the buffers until the receivers release them
+      for (DataBufferView view : views) {
+        view.pin(channelMessage);
+      }
       currentMessage.addBuiltMessage(channelMessage);
     }
   }
 
+  /**
+   * Check weather we can deliver the next object as a view of the buffer. We only do this for
+   * primitive arrays that are fully inside the current buffer.
+   *
+   * @param message the message being built
+   * @param objectLength length of the object in bytes
+   * @param remaining bytes remaining in the current buffer
+   * @return true if a view can be created
+   */
+  private boolean canView(InMessage message, int objectLength, int remaining) {
+    if (!zeroCopy || objectLength > remaining) {
+      return false;
+    }
+    int flags = message.getHeader().getFlags();
+    if ((flags & MessageFlags.SYNC_BARRIER) == MessageFlags.SYNC_BARRIER
+        || (flags & MessageFlags.SYNC_EMPTY) == MessageFlags.SYNC_EMPTY) {
+      return false;
+    }
+    MessageType type = message.getDataType();
+    return type.isPrimitive() && type.isArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void initBuilder(InMessage message, DataPacker dataPacker,
+                           int objectLength, boolean asView) {
+    if (asView) {
+      message.getDataBuilder().initWithoutHolder(objectLength);
+    } else {
+      message.getDataBuilder().init(dataPacker, objectLength);
+    }
+  }
+
   @Override
   public Object getDataBuffers(Object partialObject, int edge) {
     return null;
@@ -21,11 +21,24 @@ public final class Deserializers {
   }
 
   public static MessageDeSerializer get(boolean isKeyed, MessageSchema messageSchema) {
+    return get(isKeyed, messageSchema, false);
+  }
+
+  /**
+   * Get a deserializer
+   *
+   * @param isKeyed weather the messages are keyed
+   * @param messageSchema the schema of the messages
+   * @param zeroCopy deliver the primitive arrays as views of the receive buffers
+   * @return the deserializer
+   */
+  public static MessageDeSerializer get(boolean isKeyed, MessageSchema messageSchema,
+                                        boolean zeroCopy) {
     if (!isKeyed) {
       if (messageSchema.isFixedSchema()) {
         return new FixedSchemaDataDeserializer(messageSchema);
       }
-      return new DataDeserializer();
+      return new DataDeserializer(zeroCopy);
     } else {
       if (messageSchema.isFixedSchema()) {
         return new FixedSchemaKeyedDataDeSerializer(messageSchema);
@@ -12,6 +12,7 @@
 
 package edu.iu.dsc.tws.comms.dfw.io;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
@@ -19,6 +20,7 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.messaging.MessageDirection;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
@@ -58,6 +60,15 @@ public class FixedSchemaKeyedDataDeSerializer extends KeyedDataDeSerializer {
       throw new RuntimeException("Header must be built before the message");
     }
 
+    byte primitiveKey = PrimitiveTuple.typeOf(keyType);
+    byte primitiveData = PrimitiveTuple.typeOf(currentMessage.getDataType());
+    if ((header.getFlags() & MessageFlags.SYNC_BARRIER) != MessageFlags.SYNC_BARRIER
+        && primitiveKey != PrimitiveTuple.NONE && primitiveData != PrimitiveTuple.NONE
+        && DFWIOUtils.isPrimitiveRecord(messageSchema, keyPacker, dataPacker)) {
+      buildPrimitive(currentMessage, keyPacker, primitiveKey, primitiveData);
+      return;
+    }
+
     List<DataBuffer> builtBuffers = new ArrayList<>();
     // get the number of objects deserialized
     DataBuffer buffer = buffers.peek();
@@ -190,7 +201,88 @@ public class FixedSchemaKeyedDataDeSerializer extends KeyedDataDeSerializer {
       buffer = buffers.peek();
     }
 
+    addBuiltMessage(currentMessage, builtBuffers);
+  }
+
+  /**
+   * Build a message with primitive keys and values. The records are read directly from the
+   * buffers in to {@link PrimitiveTuple}s, without initializing the object builders for every
+   * key and value and without boxing them. A primitive is never split between buffers, but the
+   * value of a record can be in the buffer after its key.
+   *
+   * @param currentMessage message object that needs to be built
+   * @param keyPacker packer of the key
+   * @param keyType primitive type of the key
+   * @param dataType primitive type of the value
+   */
+  private void buildPrimitive(InMessage currentMessage, DataPacker keyPacker,
+                              byte keyType, byte dataType) {
+    Queue<DataBuffer> buffers = currentMessage.getBuffers();
+    MessageHeader header = currentMessage.getHeader();
+    ObjectBuilderImpl keyBuilder = currentMessage.getKeyBuilder();
+    int keySize = messageSchema.getKeySize();
+    int recordSize = messageSchema.getMessageSize();
+    int dataSize = recordSize - keySize;
+
+    List<DataBuffer> builtBuffers = new ArrayList<>();
+    DataBuffer buffer = buffers.peek();
+    while (buffer != null) {
+      if (header.getNumberTuples() == 0) {
+        builtBuffers.add(buffer);
+        break;
+      }
+
+      ByteBuffer byteBuffer = buffer.getByteBuffer();
+      int size = buffer.getSize();
+      int currentLocation = currentMessage.getUnPkBuffers() == 0
+          ? DFWIOUtils.HEADER_SIZE : DFWIOUtils.SHORT_HEADER_SIZE;
+
+      // the key of this record was at the end of the previous buffer
+      if (!currentMessage.isReadingKey() && currentLocation + dataSize <= size) {
+        PrimitiveTuple tuple = (PrimitiveTuple) keyBuilder.getFinalObject();
+        tuple.setValueBits(dataType, PrimitiveTuple.read(byteBuffer, currentLocation, dataType));
+        currentMessage.addKeyedObject(tuple);
+        currentMessage.setReadingKey(true);
+        currentLocation += dataSize;
+      }
+
+      if (currentMessage.isReadingKey()) {
+        while (currentLocation + recordSize <= size) {
+          PrimitiveTuple tuple = new PrimitiveTuple(keyType,
+              PrimitiveTuple.read(byteBuffer, currentLocation, keyType));
+          tuple.setValueBits(dataType,
+              PrimitiveTuple.read(byteBuffer, currentLocation + keySize, dataType));
+          currentMessage.addKeyedObject(tuple);
+          currentLocation += recordSize;
+        }
+
+        // only the key of the last record is in this buffer, the key builder keeps the record
+        // until its value is read from the next buffer
+        if (currentLocation + keySize <= size) {
+          keyBuilder.init(keyPacker, keySize);
+          keyBuilder.setFinalObject(new PrimitiveTuple(keyType,
+              PrimitiveTuple.read(byteBuffer, currentLocation, keyType)));
+          currentMessage.setReadingKey(false);
+        }
+      }
+
+      // lets remove this buffer
+      buffers.poll();
+      builtBuffers.add(buffer);
+      // increment the unpacked buffers
+      currentMessage.incrementUnPkBuffers();
+
+      // we need to get number of tuples and get abs because we are using -1 for single messages
+      if (currentMessage.getUnPkNumberObjects() == Math.abs(header.getNumberTuples())) {
+        break;
+      }
+      buffer = buffers.peek();
+    }
+
+    addBuiltMessage(currentMessage, builtBuffers);
+  }
 
+  private void addBuiltMessage(InMessage currentMessage, List<DataBuffer> builtBuffers) {
     if (builtBuffers.size() > 0) {
       ChannelMessage channelMessage = new ChannelMessage(currentMessage.getOriginatingId(),
           currentMessage.getDataType(), MessageDirection.IN, currentMessage.getReleaseListener());
@@ -14,9 +14,12 @@ package edu.iu.dsc.tws.comms.dfw.io;
 
 import java.nio.ByteBuffer;
 
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
 import edu.iu.dsc.tws.api.comms.packing.DataPacker;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.comms.packing.types.primitive.PrimitivePacker;
+import edu.iu.dsc.tws.comms.dfw.OutMessage;
 
 /**
  * This serializer will be used to serialize messages with keys
@@ -29,6 +32,38 @@ public class FixedSchemaKeyedDataSerializer extends KeyedDataSerializer {
     this.messageSchema = messageSchema;
   }
 
+  /**
+   * Records received with a fixed schema are {@link PrimitiveTuple}s, when such a record is sent
+   * again it is written from its bits without boxing the key and the value.
+   *
+   * @param payload the message that needs to be built
+   * @param sendMessage the send message object that contains all the metadata
+   * @param targetBuffer the data targetBuffer to which the built message needs to be copied
+   * @return true if the body was built and copied to the targetBuffer successfully,false otherwise.
+   */
+  @Override
+  public boolean serializeSingleMessage(Object payload,
+                                        OutMessage sendMessage, DataBuffer targetBuffer) {
+    if (payload instanceof PrimitiveTuple
+        && (sendMessage.getFlags() & MessageFlags.SYNC_BARRIER) != MessageFlags.SYNC_BARRIER) {
+      PrimitiveTuple tuple = (PrimitiveTuple) payload;
+      SerializeState state = sendMessage.getSerializationState();
+      ByteBuffer byteBuffer = targetBuffer.getByteBuffer();
+      if (state.getPart() == SerializeState.Part.INIT
+          && byteBuffer.remaining() >= messageSchema.getMessageSize()
+          && tuple.isPrimitive(PrimitiveTuple.typeOf(sendMessage.getKeyType()),
+          PrimitiveTuple.typeOf(sendMessage.getDataType()))
+          && DFWIOUtils.isPrimitiveRecord(messageSchema,
+          sendMessage.getKeyType().getDataPacker(), sendMessage.getDataType().getDataPacker())) {
+        state.setCurrentHeaderLength(messageSchema.getMessageSize());
+        tuple.writeTo(byteBuffer);
+        targetBuffer.setSize(byteBuffer.position());
+        return state.reset(true);
+      }
+    }
+    return super.serializeSingleMessage(payload, sendMessage, targetBuffer);
+  }
+
   /**
    * Helper method that builds the body of the message for keyed messages.
    *
@@ -43,6 +78,18 @@ public class FixedSchemaKeyedDataSerializer extends KeyedDataSerializer {
                                        SerializeState state,
                                        DataBuffer targetBuffer) {
     ByteBuffer byteBuffer = targetBuffer.getByteBuffer();
+    // primitive keys and values that fit in to this buffer are written directly with the
+    // packers, the state goes through the same steps as a record written in parts
+    if (state.getPart() == SerializeState.Part.INIT
+        && byteBuffer.remaining() >= messageSchema.getMessageSize()
+        && DFWIOUtils.isPrimitiveRecord(messageSchema, keyPacker, dataPacker)) {
+      state.setCurrentHeaderLength(messageSchema.getMessageSize());
+      ((PrimitivePacker) keyPacker).addToBuffer(byteBuffer, key);
+      ((PrimitivePacker) dataPacker).addToBuffer(byteBuffer, payload);
+      targetBuffer.setSize(byteBuffer.position());
+      return state.reset(true);
+    }
+
     // okay we need to serialize the header
     if (state.getPart() == SerializeState.Part.INIT) {
       int keyLength = messageSchema.getKeySize();
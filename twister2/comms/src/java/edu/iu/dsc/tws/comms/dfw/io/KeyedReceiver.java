@@ -398,7 +398,7 @@ public abstract class KeyedReceiver implements MessageReceiver {
       sourcesFinished = isSourcesFinished(target);
 
       if (!sourcesFinished && !(dataFlowOperation.isDelegateComplete()
-          && messages.get(target).isEmpty() && targetSendQueue.isEmpty())) {
+          && isBufferEmpty(target) && targetSendQueue.isEmpty())) {
         needsFurtherProgress = true;
       }
 
@@ -451,6 +451,17 @@ public abstract class KeyedReceiver implements MessageReceiver {
     return needsProgress;
   }
 
+  /**
+   * checks if the structures used to buffer the incoming messages for the target are empty. If
+   * messages are buffered outside the messages data structure this method needs to be overwritten
+   *
+   * @param target the target to be checked
+   * @return true if there are no buffered messages for the target
+   */
+  protected boolean isBufferEmpty(int target) {
+    return messages.get(target).isEmpty();
+  }
+
   /**
    * checks if the queue structures used to send data is empty. If Additional data structures are
    * used this method needs to be overwritten to include them
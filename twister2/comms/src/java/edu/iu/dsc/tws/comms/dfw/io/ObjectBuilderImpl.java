@@ -42,6 +42,17 @@ public class ObjectBuilderImpl<D, W> implements ObjectBuilder<D, W> {
     this.totalSize = totSize;
   }
 
+  /**
+   * Initialize the builder for an object that is not copied from the buffer, so we don't
+   * allocate a holder for it
+   *
+   * @param totSize total size of the object
+   */
+  void initWithoutHolder(int totSize) {
+    this.reset();
+    this.totalSize = totSize;
+  }
+
   void incrementCompletedSizeBy(int bytes) {
     this.completedSize += bytes;
   }
@@ -0,0 +1,212 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+import java.nio.ByteBuffer;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+
+/**
+ * A tuple with a primitive key and value read from a fixed schema message. The key and the
+ * value are kept as their bits and boxed only when they are read, so a received record is a
+ * single object instead of a tuple and two boxed values. Setting the key or the value replaces
+ * the primitive with the given object.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class PrimitiveTuple<K, V> extends Tuple<K, V> {
+  static final byte NONE = 0;
+  static final byte INTEGER = 1;
+  static final byte LONG = 2;
+  static final byte DOUBLE = 3;
+  static final byte FLOAT = 4;
+  static final byte SHORT = 5;
+  static final byte CHAR = 6;
+  static final byte BYTE = 7;
+
+  /**
+   * Type of the key bits, NONE if the key is an object set on the tuple
+   */
+  private byte keyType = NONE;
+
+  /**
+   * Type of the value bits, NONE if the value is an object set on the tuple
+   */
+  private byte valueType = NONE;
+
+  /**
+   * Bits of the key
+   */
+  private long keyBits;
+
+  /**
+   * Bits of the value
+   */
+  private long valueBits;
+
+  public PrimitiveTuple() {
+  }
+
+  PrimitiveTuple(byte keyType, long keyBits) {
+    this.keyType = keyType;
+    this.keyBits = keyBits;
+  }
+
+  void setValueBits(byte type, long bits) {
+    this.valueType = type;
+    this.valueBits = bits;
+  }
+
+  /**
+   * Weather the key and the value are still the primitives of the given types
+   */
+  boolean isPrimitive(byte kType, byte vType) {
+    return kType != NONE && vType != NONE && keyType == kType && valueType == vType;
+  }
+
+  /**
+   * Write the key and the value to the buffer, the tuple must be primitive
+   */
+  void writeTo(ByteBuffer buffer) {
+    write(buffer, keyType, keyBits);
+    write(buffer, valueType, valueBits);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public K getKey() {
+    return keyType == NONE ? super.getKey() : (K) box(keyType, keyBits);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V getValue() {
+    return valueType == NONE ? super.getValue() : (V) box(valueType, valueBits);
+  }
+
+  @Override
+  public void setKey(K key) {
+    keyType = NONE;
+    super.setKey(key);
+  }
+
+  @Override
+  public void setValue(V value) {
+    valueType = NONE;
+    super.setValue(value);
+  }
+
+  @Override
+  public String toString() {
+    return "KeyValue{"
+        + "key="
+        + getKey()
+        + ", value="
+        + getValue()
+        + '}';
+  }
+
+  /**
+   * Get the primitive type of a message type
+   *
+   * @param type message type
+   * @return the primitive type or NONE if this is not a single primitive
+   */
+  static byte typeOf(MessageType type) {
+    if (type == MessageTypes.INTEGER) {
+      return INTEGER;
+    } else if (type == MessageTypes.LONG) {
+      return LONG;
+    } else if (type == MessageTypes.DOUBLE) {
+      return DOUBLE;
+    } else if (type == MessageTypes.FLOAT) {
+      return FLOAT;
+    } else if (type == MessageTypes.SHORT) {
+      return SHORT;
+    } else if (type == MessageTypes.CHAR) {
+      return CHAR;
+    } else if (type == MessageTypes.BYTE) {
+      return BYTE;
+    }
+    return NONE;
+  }
+
+  /**
+   * Read the bits of a primitive at the offset, the position of the buffer is not changed
+   */
+  static long read(ByteBuffer buffer, int offset, byte type) {
+    switch (type) {
+      case INTEGER:
+      case FLOAT:
+        return buffer.getInt(offset);
+      case LONG:
+      case DOUBLE:
+        return buffer.getLong(offset);
+      case SHORT:
+        return buffer.getShort(offset);
+      case CHAR:
+        return buffer.getChar(offset);
+      case BYTE:
+        return buffer.get(offset);
+      default:
+        throw new IllegalArgumentException("Not a primitive type: " + type);
+    }
+  }
+
+  private static void write(ByteBuffer buffer, byte type, long bits) {
+    switch (type) {
+      case INTEGER:
+      case FLOAT:
+        buffer.putInt((int) bits);
+        break;
+      case LONG:
+      case DOUBLE:
+        buffer.putLong(bits);
+        break;
+      case SHORT:
+        buffer.putShort((short) bits);
+        break;
+      case CHAR:
+        buffer.putChar((char) bits);
+        break;
+      case BYTE:
+        buffer.put((byte) bits);
+        break;
+      default:
+        throw new IllegalArgumentException("Not a primitive type: " + type);
+    }
+  }
+
+  private static Object box(byte type, long bits) {
+    switch (type) {
+      case INTEGER:
+        return (int) bits;
+      case LONG:
+        return bits;
+      case DOUBLE:
+        return Double.longBitsToDouble(bits);
+      case FLOAT:
+        return Float.intBitsToFloat((int) bits);
+      case SHORT:
+        return (short) bits;
+      case CHAR:
+        return (char) bits;
+      case BYTE:
+        return (byte) bits;
+      default:
+        throw new IllegalArgumentException("Not a primitive type: " + type);
+    }
+  }
+}
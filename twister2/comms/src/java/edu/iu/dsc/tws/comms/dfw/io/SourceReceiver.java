@@ -25,6 +25,7 @@ import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
 import edu.iu.dsc.tws.api.comms.messaging.MessageReceiver;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.api.config.Config;
 
@@ -277,6 +278,10 @@ public abstract class SourceReceiver implements MessageReceiver {
   private void clearTarget(int target) {
     Map<Integer, Queue<Object>> messagesPerTarget = messages.get(target);
     for (Map.Entry<Integer, Queue<Object>> mEntry : messagesPerTarget.entrySet()) {
+      // views left in the queues hold receive buffers
+      for (Object message : mEntry.getValue()) {
+        DataBufferView.release(message);
+      }
       mEntry.getValue().clear();
     }
     isSyncSent.put(target, false);
@@ -0,0 +1,44 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.allreduce;
+
+/**
+ * The messaging used by a source task while it is running an allreduce round. Messages between
+ * two tasks are delivered in the order they are sent.
+ */
+public interface AllReduceExchange {
+  /**
+   * Send a part of the array to another source task
+   *
+   * @param target the task to send to
+   * @param data the data
+   */
+  void send(int target, Object data);
+
+  /**
+   * Get the next message received from a source task
+   *
+   * @param source the task that sent the message
+   * @return the message or null if nothing is received yet
+   */
+  Object poll(int source);
+
+  /**
+   * Reduce two parts of the array. An empty array is returned by tasks that did not get any
+   * data, and is treated as the identity.
+   *
+   * @param data1 first part
+   * @param data2 second part
+   * @return the reduced part
+   */
+  Object reduce(Object data1, Object data2);
+}
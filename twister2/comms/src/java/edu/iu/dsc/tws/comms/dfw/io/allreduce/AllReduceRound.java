@@ -0,0 +1,133 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.allreduce;
+
+import java.lang.reflect.Array;
+
+/**
+ * One allreduce of a primitive array by a source task. Rounds are progressed until they are done,
+ * every call does as many steps as possible with the messages received so far.
+ */
+public abstract class AllReduceRound {
+  /**
+   * The position of this task among the sources
+   */
+  protected final int rank;
+
+  /**
+   * The source tasks taking part, sorted so that every task sees the same order
+   */
+  protected final int[] participants;
+
+  /**
+   * Used to communicate with other sources
+   */
+  protected final AllReduceExchange exchange;
+
+  /**
+   * The component type of the arrays
+   */
+  protected final Class<?> componentType;
+
+  /**
+   * The current step
+   */
+  protected int step;
+
+  /**
+   * Weather the message of the current step is sent
+   */
+  protected boolean sent;
+
+  private Object result;
+
+  private boolean done;
+
+  protected AllReduceRound(int rank, int[] participants, Class<?> componentType,
+                           AllReduceExchange exchange) {
+    this.rank = rank;
+    this.participants = participants;
+    this.componentType = componentType;
+    this.exchange = exchange;
+  }
+
+  /**
+   * Progress the round
+   *
+   * @return true if any progress was made
+   */
+  public abstract boolean progress();
+
+  public boolean isDone() {
+    return done;
+  }
+
+  /**
+   * The fully reduced array, available once the round is done
+   */
+  public Object getResult() {
+    return result;
+  }
+
+  protected void complete(Object value) {
+    this.result = value;
+    this.done = true;
+  }
+
+  /**
+   * Split an array in to parts of nearly equal size
+   *
+   * @param array the array
+   * @param parts number of parts
+   * @return copies of the parts
+   */
+  public static Object[] split(Object array, int parts) {
+    int length = Array.getLength(array);
+    Object[] chunks = new Object[parts];
+    for (int i = 0; i < parts; i++) {
+      chunks[i] = slice(array, (int) ((long) length * i / parts),
+          (int) ((long) length * (i + 1) / parts));
+    }
+    return chunks;
+  }
+
+  /**
+   * Copy a part of an array
+   */
+  public static Object slice(Object array, int from, int to) {
+    Object part = Array.newInstance(array.getClass().getComponentType(), to - from);
+    System.arraycopy(array, from, part, 0, to - from);
+    return part;
+  }
+
+  /**
+   * Concatenate arrays
+   *
+   * @param type component type of the arrays
+   * @param arrays the arrays in order
+   * @return a new array
+   */
+  public static Object concat(Class<?> type, Object... arrays) {
+    int length = 0;
+    for (Object a : arrays) {
+      length += Array.getLength(a);
+    }
+    Object result = Array.newInstance(type, length);
+    int position = 0;
+    for (Object a : arrays) {
+      int l = Array.getLength(a);
+      System.arraycopy(a, 0, result, position, l);
+      position += l;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,139 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.allreduce;
+
+import java.lang.reflect.Array;
+
+/**
+ * Recursive halving and doubling allreduce. In log(p) steps each source exchanges half of its
+ * current part of the array with a partner and reduces the half it keeps, after that the reduced
+ * parts are doubled back to the full array in another log(p) steps. When the number of sources is
+ * not a power of two, the extra sources first fold their arrays in to a partner and get the
+ * result back from it at the end.
+ */
+public class HalvingDoublingAllReduceRound extends AllReduceRound {
+  /**
+   * Largest power of two not greater than the number of sources
+   */
+  private final int powerOfTwo;
+
+  /**
+   * log2 of powerOfTwo
+   */
+  private final int levels;
+
+  /**
+   * Number of sources beyond powerOfTwo
+   */
+  private final int extras;
+
+  /**
+   * The part of the array this source is responsible for at the current step
+   */
+  private Object segment;
+
+  /**
+   * The half of the segment kept while halving, until the partner's half is received
+   */
+  private Object kept;
+
+  public HalvingDoublingAllReduceRound(Object input, int rank, int[] participants,
+                                       Class<?> componentType, AllReduceExchange exchange) {
+    super(rank, participants, componentType, exchange);
+    this.powerOfTwo = Integer.highestOneBit(participants.length);
+    this.levels = Integer.numberOfTrailingZeros(powerOfTwo);
+    this.extras = participants.length - powerOfTwo;
+    this.segment = input;
+  }
+
+  @Override
+  public boolean progress() {
+    if (isDone()) {
+      return false;
+    }
+
+    if (rank >= powerOfTwo) {
+      return progressExtra();
+    }
+
+    boolean progressed = false;
+    while (!isDone()) {
+      if (step == 0) {
+        // fold in the array of the extra source
+        if (rank < extras) {
+          Object received = exchange.poll(participants[rank + powerOfTwo]);
+          if (received == null) {
+            return progressed;
+          }
+          segment = exchange.reduce(segment, received);
+        }
+      } else if (step <= 2 * levels) {
+        int s = step - 1;
+        boolean halving = s < levels;
+        int distance = halving ? powerOfTwo >> (s + 1) : 1 << (s - levels);
+        int partner = participants[rank ^ distance];
+        boolean lower = (rank & distance) == 0;
+        if (!sent) {
+          if (halving) {
+            int length = Array.getLength(segment);
+            int mid = length / 2;
+            kept = lower ? slice(segment, 0, mid) : slice(segment, mid, length);
+            exchange.send(partner, lower ? slice(segment, mid, length) : slice(segment, 0, mid));
+          } else {
+            exchange.send(partner, segment);
+          }
+          sent = true;
+          progressed = true;
+        }
+
+        Object received = exchange.poll(partner);
+        if (received == null) {
+          return progressed;
+        }
+        if (halving) {
+          segment = exchange.reduce(kept, received);
+          kept = null;
+        } else {
+          segment = lower ? concat(componentType, segment, received)
+              : concat(componentType, received, segment);
+        }
+        sent = false;
+      } else {
+        // give the result back to the extra source
+        if (rank < extras) {
+          exchange.send(participants[rank + powerOfTwo], segment);
+        }
+        complete(segment);
+      }
+      step++;
+      progressed = true;
+    }
+    return true;
+  }
+
+  private boolean progressExtra() {
+    int partner = participants[rank - powerOfTwo];
+    boolean progressed = false;
+    if (!sent) {
+      exchange.send(partner, segment);
+      sent = true;
+      progressed = true;
+    }
+
+    Object received = exchange.poll(partner);
+    if (received == null) {
+      return progressed;
+    }
+    complete(received);
+    return true;
+  }
+}
@@ -0,0 +1,73 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.allreduce;
+
+/**
+ * Ring allreduce. The array is split in to one chunk per source, a reduce scatter passes the
+ * chunks around the ring so that each source ends up with one fully reduced chunk, and an
+ * allgather passes the reduced chunks around the ring again. Every source sends and receives
+ * 2 * (p - 1) / p of the array, independent of the number of sources.
+ */
+public class RingAllReduceRound extends AllReduceRound {
+  private Object[] chunks;
+
+  public RingAllReduceRound(Object input, int rank, int[] participants,
+                            Class<?> componentType, AllReduceExchange exchange) {
+    super(rank, participants, componentType, exchange);
+    if (participants.length == 1) {
+      complete(input);
+    } else {
+      this.chunks = split(input, participants.length);
+    }
+  }
+
+  @Override
+  public boolean progress() {
+    if (isDone()) {
+      return false;
+    }
+
+    int p = participants.length;
+    int next = participants[(rank + 1) % p];
+    int previous = participants[(rank + p - 1) % p];
+    boolean progressed = false;
+    while (step < 2 * (p - 1)) {
+      boolean reducing = step < p - 1;
+      int s = reducing ? step : step - (p - 1);
+      if (!sent) {
+        // in the reduce scatter we pass on the chunk we reduced in the last step, in the
+        // allgather the chunk we received in the last step
+        int sendChunk = reducing ? Math.floorMod(rank - s, p) : Math.floorMod(rank + 1 - s, p);
+        exchange.send(next, chunks[sendChunk]);
+        sent = true;
+        progressed = true;
+      }
+
+      Object received = exchange.poll(previous);
+      if (received == null) {
+        return progressed;
+      }
+      if (reducing) {
+        int chunk = Math.floorMod(rank - s - 1, p);
+        chunks[chunk] = exchange.reduce(chunks[chunk], received);
+      } else {
+        chunks[Math.floorMod(rank - s, p)] = received;
+      }
+      step++;
+      sent = false;
+      progressed = true;
+    }
+
+    complete(concat(componentType, chunks));
+    return true;
+  }
+}
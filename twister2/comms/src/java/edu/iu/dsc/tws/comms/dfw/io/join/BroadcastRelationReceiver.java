@@ -0,0 +1,93 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.join;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import edu.iu.dsc.tws.api.comms.BulkReceiver;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.utils.JoinRelation;
+
+/**
+ * Receives the relation replicated to all the targets in a broadcast join. The all gather used to
+ * replicate the relation delivers the gathered values as (source, tuple) pairs, possibly grouped
+ * in to lists, these are flattened to a list of the original tuples before handing it to the
+ * {@link JoinBatchCombinedReceiver}. All the targets of the worker receive the same relation, so it
+ * is flattened only for the first target and the list is given to the other targets.
+ */
+public class BroadcastRelationReceiver implements BulkReceiver {
+
+  private JoinRelation joinRelation;
+  private JoinBatchCombinedReceiver joinBatchCombinedReceiver;
+
+  /**
+   * The flattened relation of the current run, shared by the targets
+   */
+  private List<Tuple> relation;
+
+  /**
+   * Targets that received the sync of the current run
+   */
+  private Set<Integer> syncedTargets = new HashSet<>();
+
+  private int numberOfTargets;
+
+  public BroadcastRelationReceiver(JoinBatchCombinedReceiver joinBatchCombinedReceiver,
+                                   JoinRelation joinRelation) {
+    this.joinRelation = joinRelation;
+    this.joinBatchCombinedReceiver = joinBatchCombinedReceiver;
+  }
+
+  @Override
+  public void init(Config cfg, Set<Integer> targets) {
+    this.numberOfTargets = targets.size();
+    this.joinBatchCombinedReceiver.init(cfg, targets);
+  }
+
+  @Override
+  public boolean receive(int target, Iterator<Object> it) {
+    if (relation == null) {
+      relation = new ArrayList<>();
+      while (it.hasNext()) {
+        flatten(it.next(), relation);
+      }
+    }
+    return this.joinBatchCombinedReceiver.receive(target, relation, this.joinRelation);
+  }
+
+  private static void flatten(Object value, List<Tuple> tuples) {
+    if (value instanceof List) {
+      for (Object o : (List) value) {
+        flatten(o, tuples);
+      }
+    } else {
+      // (source, tuple) pair created by the all gather
+      tuples.add((Tuple) ((Tuple) value).getValue());
+    }
+  }
+
+  @Override
+  public boolean sync(int target, byte[] message) {
+    syncedTargets.add(target);
+    if (syncedTargets.size() == numberOfTargets) {
+      // every target has the relation, the next run replicates a new one
+      syncedTargets.clear();
+      relation = null;
+    }
+    return this.joinBatchCombinedReceiver.sync(target, message, this.joinRelation);
+  }
+}
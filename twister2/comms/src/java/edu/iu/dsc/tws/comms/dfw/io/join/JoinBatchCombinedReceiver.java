@@ -54,15 +54,39 @@ public class JoinBatchCombinedReceiver {
   private MessageType keyType;
   private Config config;
 
+  /**
+   * The relation replicated to all the targets with the broadcast algorithm
+   */
+  private JoinRelation broadcastRelation;
+
+  /**
+   * Hash table of the replicated relation shared by the targets
+   */
+  private Map<Object, List> broadcastHash;
+
+  /**
+   * The replicated relation the current hash table was built from
+   */
+  private Object hashedRelation;
+
   public JoinBatchCombinedReceiver(BulkReceiver recvr,
                                    CommunicationContext.JoinAlgorithm algorithm,
                                    CommunicationContext.JoinType joinType,
                                    KeyComparatorWrapper keyComparator, MessageType keyType) {
+    this(recvr, algorithm, joinType, keyComparator, keyType, null);
+  }
+
+  public JoinBatchCombinedReceiver(BulkReceiver recvr,
+                                   CommunicationContext.JoinAlgorithm algorithm,
+                                   CommunicationContext.JoinType joinType,
+                                   KeyComparatorWrapper keyComparator, MessageType keyType,
+                                   JoinRelation broadcastRelation) {
     this.rcvr = recvr;
     this.algorithm = algorithm;
     this.joinType = joinType;
     this.keyComparator = keyComparator;
     this.keyType = keyType;
+    this.broadcastRelation = broadcastRelation;
   }
 
   public void init(Config cfg, Set<Integer> targets) {
@@ -79,7 +103,9 @@ public class JoinBatchCombinedReceiver {
   }
 
   private Iterator doJoin(Object left, Object right) {
-    if (algorithm.equals(CommunicationContext.JoinAlgorithm.SORT)) {
+    if (algorithm.equals(CommunicationContext.JoinAlgorithm.BROADCAST)) {
+      return doBroadcastJoin(left, right);
+    } else if (algorithm.equals(CommunicationContext.JoinAlgorithm.SORT)) {
       if (left instanceof RestorableIterator) {
         if (config.getBooleanValue(CONFIG_USE_SORT_JOIN_CACHE, true)) {
           return SortJoinUtils.joinWithCache(
@@ -107,7 +133,8 @@ public class JoinBatchCombinedReceiver {
             (ResettableIterator) left,
             (ResettableIterator) right,
             joinType,
-            keyType
+            keyType,
+            config
         );
       } else if (left instanceof List) {
         return HashJoinUtils.join(
@@ -122,6 +149,22 @@ public class JoinBatchCombinedReceiver {
     }
   }
 
+  /**
+   * The replicated relation is always the one kept in the hash table, the relation received
+   * from the local sources is only streamed through it. All the targets of the worker receive
+   * the same replicated relation, so its hash table is built once and shared by the targets.
+   */
+  private Iterator doBroadcastJoin(Object left, Object right) {
+    boolean hashedLeft = broadcastRelation == JoinRelation.LEFT;
+    Object replicated = hashedLeft ? left : right;
+    if (replicated != hashedRelation) {
+      this.broadcastHash = HashJoinUtils.hash(HashJoinUtils.resettable(replicated), keyType);
+      this.hashedRelation = replicated;
+    }
+    return HashJoinUtils.probe(broadcastHash,
+        HashJoinUtils.resettable(hashedLeft ? right : left), joinType, hashedLeft);
+  }
+
   public boolean receive(int target, Object object, JoinRelation joinRelation) {
     Object[] values = joinRelations.get(target);
     values[joinRelation.ordinal()] = object;
@@ -0,0 +1,185 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.partition;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.dfw.io.AggregatedObjects;
+import edu.iu.dsc.tws.comms.dfw.io.ReceiverState;
+import edu.iu.dsc.tws.comms.utils.PrimitiveKeyReduceTable;
+import edu.iu.dsc.tws.comms.utils.THashMap;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Partial receiver for keyed operations that combines the values of the same key with an
+ * associative function before they are sent to the targets. The values are reduced in to a hash
+ * table per target instead of being queued, and the tables are moved to the send queues when they
+ * hold more than {@link CommunicationContext#COMBINER_MAX_KEYS} keys or when all the sources of
+ * this worker are finished. For keys with a low cardinality only a handful of partial aggregates
+ * leave the worker.
+ */
+public class CombiningPartialReceiver extends PartitionPartialReceiver {
+
+  /**
+   * The function used to combine values of the same key
+   */
+  private ReduceFunction combiner;
+
+  /**
+   * Tables used when the key type is not a primitive, array keys are compared by their content.
+   * Structure - {@literal <target, table>}
+   */
+  private Int2ObjectOpenHashMap<Map<Object, Object>> tables = new Int2ObjectOpenHashMap<>();
+
+  /**
+   * Tables used when the key type is a primitive. Structure - {@literal <target, table>}
+   */
+  private Int2ObjectOpenHashMap<PrimitiveKeyReduceTable> primitiveTables =
+      new Int2ObjectOpenHashMap<>();
+
+  /**
+   * Weather we are using the primitive tables
+   */
+  private boolean primitiveKeys;
+
+  /**
+   * Maximum number of keys kept in all the tables
+   */
+  private int maxKeys;
+
+  /**
+   * Number of keys currently in the tables
+   */
+  private int bufferedKeys;
+
+  public CombiningPartialReceiver(ReduceFunction combiner) {
+    this.combiner = combiner;
+  }
+
+  @Override
+  public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    super.init(cfg, op, expectedIds);
+    this.maxKeys = CommunicationContext.combinerMaxKeys(cfg);
+    this.primitiveKeys = PrimitiveKeyReduceTable.isSupported(op.getKeyType());
+    for (int target : thisDestinations) {
+      if (primitiveKeys) {
+        primitiveTables.put(target, new PrimitiveKeyReduceTable(op.getKeyType(), combiner));
+      } else {
+        tables.put(target, new THashMap<>(op.getKeyType()));
+      }
+    }
+  }
+
+  @Override
+  protected void addMessage(int target, List<Object> msgQueue, Object value) {
+    if (value instanceof List) {
+      for (Object o : (List) value) {
+        combine(target, (Tuple) o);
+      }
+    } else {
+      combine(target, (Tuple) value);
+    }
+
+    if (bufferedKeys > maxKeys) {
+      for (int t : targets) {
+        flush(t);
+      }
+    }
+  }
+
+  private void combine(int target, Tuple tuple) {
+    if (primitiveKeys) {
+      PrimitiveKeyReduceTable table = primitiveTables.get(target);
+      int size = table.size();
+      table.reduce(tuple.getKey(), tuple.getValue());
+      bufferedKeys += table.size() - size;
+    } else {
+      Map<Object, Object> table = tables.get(target);
+      Object current = table.get(tuple.getKey());
+      if (current == null) {
+        table.put(tuple.getKey(), tuple.getValue());
+        bufferedKeys++;
+      } else {
+        table.put(tuple.getKey(), combiner.reduce(current, tuple.getValue()));
+      }
+    }
+  }
+
+  /**
+   * Move the partial aggregates of a target to its send queue
+   *
+   * @param target the target
+   */
+  private void flush(int target) {
+    AggregatedObjects<Object> partials = new AggregatedObjects<>();
+    if (primitiveKeys) {
+      PrimitiveKeyReduceTable table = primitiveTables.get(target);
+      Iterator<Tuple> it = table.iterator();
+      while (it.hasNext()) {
+        partials.add(it.next());
+      }
+      table.clear();
+    } else {
+      Map<Object, Object> table = tables.get(target);
+      for (Map.Entry<Object, Object> e : table.entrySet()) {
+        partials.add(new Tuple<>(e.getKey(), e.getValue()));
+      }
+      table.clear();
+    }
+
+    if (!partials.isEmpty()) {
+      bufferedKeys -= partials.size();
+      super.addMessage(target, messages.get(target), partials);
+    }
+  }
+
+  @Override
+  protected boolean isFilledToSend(int target) {
+    if (allSourcesFinished()) {
+      flush(target);
+    }
+    return super.isFilledToSend(target);
+  }
+
+  /**
+   * Once all the sources have sent their syncs, no more values are added to the tables
+   */
+  private boolean allSourcesFinished() {
+    for (int source : thisSources) {
+      ReceiverState state = sourceStates.get(source);
+      if (state != ReceiverState.ALL_SYNCS_RECEIVED && state != ReceiverState.SYNCED) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void clean() {
+    super.clean();
+    for (Map<Object, Object> table : tables.values()) {
+      table.clear();
+    }
+    for (PrimitiveKeyReduceTable table : primitiveTables.values()) {
+      table.clear();
+    }
+    bufferedKeys = 0;
+  }
+}
@@ -19,9 +19,11 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.comms.dfw.io.ReceiverState;
 import edu.iu.dsc.tws.comms.dfw.io.SourceReceiver;
+import edu.iu.dsc.tws.comms.functions.reduction.ReduceOperationFunction;
 
 public abstract class ReduceBatchReceiver extends SourceReceiver {
   private static final Logger LOG = Logger.getLogger(ReduceBatchReceiver.class.getName());
@@ -71,11 +73,11 @@ public abstract class ReduceBatchReceiver extends SourceReceiver {
     Object previous = reducedValueMap.get(target);
     for (Map.Entry<Integer, Queue<Object>> e : messagePerTarget.entrySet()) {
       if (previous == null) {
-        previous = e.getValue().poll();
+        previous = copyView(e.getValue().poll());
       } else {
         Object current = e.getValue().poll();
         if (current != null) {
-          previous = reduceFunction.reduce(previous, current);
+          previous = reduceReceived(previous, current);
         }
       }
     }
@@ -85,6 +87,43 @@ public abstract class ReduceBatchReceiver extends SourceReceiver {
     return true;
   }
 
+  /**
+   * Reduce a received value to the current value. The built in reduce operations read views of
+   * the receive buffers in place, other functions get a copy. A view is released after this.
+   */
+  private Object reduceReceived(Object previous, Object current) {
+    if (!(current instanceof DataBufferView)) {
+      return reduceFunction.reduce(previous, current);
+    }
+    DataBufferView view = (DataBufferView) current;
+    try {
+      if (reduceFunction instanceof ReduceOperationFunction) {
+        return reduceFunction.reduce(previous, view);
+      }
+      return reduceFunction.reduce(previous, view.toArray());
+    } finally {
+      view.release();
+    }
+  }
+
+  /**
+   * The first value of a target is kept until the reduction is sent, so a view is copied
+   */
+  private Object copyView(Object value) {
+    if (value instanceof DataBufferView) {
+      DataBufferView view = (DataBufferView) value;
+      Object copy = view.toArray();
+      view.release();
+      return copy;
+    }
+    return value;
+  }
+
+  @Override
+  public boolean acceptsBufferViews() {
+    return true;
+  }
+
   @Override
   protected boolean isAllEmpty(int target) {
     return reducedValueMap.get(target) == null;
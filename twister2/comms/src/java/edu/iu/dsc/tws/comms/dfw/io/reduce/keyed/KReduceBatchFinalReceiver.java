@@ -22,7 +22,7 @@ import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.comms.dfw.io.ReceiverState;
 import edu.iu.dsc.tws.comms.dfw.io.TargetFinalReceiver;
-
+import edu.iu.dsc.tws.comms.utils.PrimitiveKeyReduceTable;
 import edu.iu.dsc.tws.comms.utils.THashMap;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -43,6 +43,18 @@ public class KReduceBatchFinalReceiver extends TargetFinalReceiver {
    */
   protected Int2ObjectOpenHashMap<Map<Object, Object>> reduced = new Int2ObjectOpenHashMap<>();
 
+  /**
+   * The reduced values for each target when the key is a primitive, these are used instead of
+   * the reduced maps to avoid boxing keys and creating map entries for each key
+   */
+  protected Int2ObjectOpenHashMap<PrimitiveKeyReduceTable> primitiveReduced =
+      new Int2ObjectOpenHashMap<>();
+
+  /**
+   * Weather we are using the primitive tables
+   */
+  protected boolean primitiveKeys;
+
   public KReduceBatchFinalReceiver(ReduceFunction reduce, BulkReceiver receiver) {
     this.reduceFunction = reduce;
     this.bulkReceiver = receiver;
@@ -52,13 +64,22 @@ public class KReduceBatchFinalReceiver extends TargetFinalReceiver {
   public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
     super.init(cfg, op, expectedIds);
     this.bulkReceiver.init(cfg, expectedIds.keySet());
+    this.primitiveKeys = PrimitiveKeyReduceTable.isSupported(op.getKeyType());
     for (int t : expectedIds.keySet()) {
-      reduced.put(t, new THashMap<>(op.getKeyType()));
+      if (primitiveKeys) {
+        primitiveReduced.put(t, new PrimitiveKeyReduceTable(op.getKeyType(), reduceFunction));
+      } else {
+        reduced.put(t, new THashMap<>(op.getKeyType()));
+      }
     }
   }
 
   @Override
   protected void merge(int dest, List<Object> dests) {
+    if (primitiveKeys) {
+      mergePrimitive(dest, dests);
+      return;
+    }
     Map<Object, Object> targetValues = reduced.get(dest);
 
     for (int i = 0; i < dests.size(); i++) {
@@ -81,8 +102,27 @@ public class KReduceBatchFinalReceiver extends TargetFinalReceiver {
     dests.clear();
   }
 
+  private void mergePrimitive(int dest, List<Object> dests) {
+    PrimitiveKeyReduceTable table = primitiveReduced.get(dest);
+
+    for (int i = 0; i < dests.size(); i++) {
+      Object val = dests.get(i);
+      if (val instanceof Tuple) {
+        Tuple t = (Tuple) val;
+        table.reduce(t.getKey(), t.getValue());
+      } else {
+        throw new RuntimeException("Un-expected type: " + val.getClass());
+      }
+    }
+    dests.clear();
+  }
+
   @Override
   protected boolean isAllEmpty(int target) {
+    if (primitiveKeys) {
+      PrimitiveKeyReduceTable table = primitiveReduced.get(target);
+      return table == null || table.isEmpty();
+    }
     if (reduced.containsKey(target)) {
       Map<Object, Object> queue = reduced.get(target);
       return queue.isEmpty();
@@ -92,6 +132,9 @@ public class KReduceBatchFinalReceiver extends TargetFinalReceiver {
 
   @Override
   protected boolean sendToTarget(int source, int target) {
+    if (primitiveKeys) {
+      return sendPrimitiveToTarget(target);
+    }
     Map<Object, Object> values = reduced.get(target);
 
     if (values == null || values.isEmpty()) {
@@ -105,6 +148,21 @@ public class KReduceBatchFinalReceiver extends TargetFinalReceiver {
     return send;
   }
 
+  private boolean sendPrimitiveToTarget(int target) {
+    PrimitiveKeyReduceTable table = primitiveReduced.get(target);
+
+    if (table == null || table.isEmpty()) {
+      return isFilledToSend(target);
+    }
+
+    boolean send = bulkReceiver.receive(target, table.iterator());
+    if (send) {
+      primitiveReduced.put(target, new PrimitiveKeyReduceTable(operation.getKeyType(),
+          reduceFunction, table.size()));
+    }
+    return send;
+  }
+
   @Override
   protected boolean isFilledToSend(int target) {
     return targetStates.get(target) == ReceiverState.ALL_SYNCS_RECEIVED
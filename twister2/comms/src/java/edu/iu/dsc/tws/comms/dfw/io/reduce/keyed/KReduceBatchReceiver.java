@@ -12,14 +12,20 @@
 package edu.iu.dsc.tws.comms.dfw.io.reduce.keyed;
 
 import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.logging.Logger;
 
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.ReduceFunction;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.comms.dfw.io.KeyedReceiver;
+import edu.iu.dsc.tws.comms.utils.PrimitiveKeyReduceTable;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 /**
  * Abstract class that is extended by keyed reduce batch receivers
@@ -33,6 +39,30 @@ public abstract class KReduceBatchReceiver extends KeyedReceiver {
    */
   protected ReduceFunction reduceFunction;
 
+  /**
+   * When the key type is a primitive the reduced values are kept in these tables instead of the
+   * messages data structure. Structure - {@literal <target, table>}
+   */
+  protected Int2ObjectOpenHashMap<PrimitiveKeyReduceTable> primitiveReduced =
+      new Int2ObjectOpenHashMap<>();
+
+  /**
+   * Weather we are using the primitive tables
+   */
+  protected boolean primitiveKeys;
+
+  @Override
+  public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    super.init(cfg, op, expectedIds);
+    this.primitiveKeys = PrimitiveKeyReduceTable.isSupported(op.getKeyType());
+    if (primitiveKeys) {
+      for (int target : expectedIds.keySet()) {
+        primitiveReduced.put(target, new PrimitiveKeyReduceTable(op.getKeyType(),
+            reduceFunction));
+      }
+    }
+  }
+
   /**
    * The reduce operation overrides the offer method because the reduce operation
    * does not save all the incoming messages, it rather reduces messages with the same key and
@@ -46,7 +76,9 @@ public abstract class KReduceBatchReceiver extends KeyedReceiver {
   @Override
   @SuppressWarnings("rawtypes")
   protected boolean offerMessage(int target, Object object) {
-
+    if (primitiveKeys) {
+      return offerPrimitive(target, object);
+    }
 
     Map<Object, Queue<Object>> messagesPerTarget = messages.get(target);
 
@@ -73,6 +105,37 @@ public abstract class KReduceBatchReceiver extends KeyedReceiver {
     return true;
   }
 
+  /**
+   * Reduce the message/messages in to the primitive table of the target
+   *
+   * @param target target for which the messages are to be added
+   * @param object the message/messages to be added
+   * @return true if the message was added or false otherwise
+   */
+  @SuppressWarnings("rawtypes")
+  private boolean offerPrimitive(int target, Object object) {
+    PrimitiveKeyReduceTable table = primitiveReduced.get(target);
+
+    if (!isFinalBatchReceiver && table.size() > keyLimit) {
+      LOG.fine(String.format("Executor %d Partial cannot add any further keys needs flush ",
+          executor));
+      moveMessagesToSendQueue(target, messages.get(target));
+      return false;
+    }
+
+    if (object instanceof List) {
+      List dataList = (List) object;
+      for (Object dataEntry : dataList) {
+        Tuple tuple = (Tuple) dataEntry;
+        table.reduce(tuple.getKey(), tuple.getValue());
+      }
+    } else {
+      Tuple tuple = (Tuple) object;
+      table.reduce(tuple.getKey(), tuple.getValue());
+    }
+    return true;
+  }
+
   /**
    * reduces the given Tuple value with the existing value in the messages for the same key.
    * If the key is not present it will insert the key with the given value.
@@ -107,6 +170,17 @@ public abstract class KReduceBatchReceiver extends KeyedReceiver {
   protected boolean moveMessagesToSendQueue(int target,
                                             Map<Object, Queue<Object>> messagesPerTarget) {
     Queue<Object> targetSendQueue = sendQueue.get(target);
+    if (primitiveKeys) {
+      PrimitiveKeyReduceTable table = primitiveReduced.get(target);
+      Iterator<Tuple> it = table.iterator();
+      while (it.hasNext()) {
+        if (!targetSendQueue.offer(it.next())) {
+          throw new RuntimeException("Failed to move reduced values to the send queue");
+        }
+      }
+      table.clear();
+    }
+
     messagesPerTarget.entrySet().removeIf(entry -> {
       Tuple send = new Tuple(entry.getKey(), entry.getValue().peek());
       return targetSendQueue.offer(send);
@@ -114,4 +188,12 @@ public abstract class KReduceBatchReceiver extends KeyedReceiver {
 
     return messagesPerTarget.isEmpty();
   }
+
+  @Override
+  protected boolean isBufferEmpty(int target) {
+    if (primitiveKeys) {
+      return primitiveReduced.get(target).isEmpty();
+    }
+    return super.isBufferEmpty(target);
+  }
 }
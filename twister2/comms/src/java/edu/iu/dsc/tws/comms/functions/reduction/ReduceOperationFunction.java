@@ -11,6 +11,11 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.comms.functions.reduction;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +24,7 @@ import edu.iu.dsc.tws.api.comms.Op;
 import edu.iu.dsc.tws.api.comms.ReduceFunction;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
 
@@ -53,6 +59,9 @@ public class ReduceOperationFunction implements ReduceFunction {
    * Applying the operation on data
    */
   public Object applyOp(Object data1, Object data2, AbstractOp op) {
+    if (data2 instanceof DataBufferView) {
+      return applyOpOnView(data1, (DataBufferView) data2, op);
+    }
     if (this.messageType == MessageTypes.INTEGER_ARRAY) {
       if (data1 instanceof int[] && data2 instanceof int[]) {
         int[] i1 = (int[]) data1;
@@ -138,6 +147,63 @@ public class ReduceOperationFunction implements ReduceFunction {
     }
   }
 
+  /**
+   * Apply the operation on an array and a view of a receive buffer, the values are read from the
+   * buffer without copying them to an array. The view is not released here.
+   */
+  private Object applyOpOnView(Object data1, DataBufferView view, AbstractOp op) {
+    if (view.getDataType() != this.messageType) {
+      return applyOp(data1, view.toArray(), op);
+    }
+    if (data1 instanceof int[]) {
+      int[] i1 = (int[]) data1;
+      IntBuffer i2 = view.asIntBuffer();
+      validateArrayLength(i1.length, i2.remaining());
+      int[] res = new int[i1.length];
+      for (int i = 0; i < i1.length; i++) {
+        res[i] = op.doInt(i1[i], i2.get(i));
+      }
+      return res;
+    } else if (data1 instanceof double[]) {
+      double[] i1 = (double[]) data1;
+      DoubleBuffer i2 = view.asDoubleBuffer();
+      validateArrayLength(i1.length, i2.remaining());
+      double[] res = new double[i1.length];
+      for (int i = 0; i < i1.length; i++) {
+        res[i] = op.doDouble(i1[i], i2.get(i));
+      }
+      return res;
+    } else if (data1 instanceof short[]) {
+      short[] i1 = (short[]) data1;
+      ShortBuffer i2 = view.asShortBuffer();
+      validateArrayLength(i1.length, i2.remaining());
+      short[] res = new short[i1.length];
+      for (int i = 0; i < i1.length; i++) {
+        res[i] = op.doShort(i1[i], i2.get(i));
+      }
+      return res;
+    } else if (data1 instanceof byte[]) {
+      byte[] i1 = (byte[]) data1;
+      ByteBuffer i2 = view.asByteBuffer();
+      validateArrayLength(i1.length, i2.remaining());
+      byte[] res = new byte[i1.length];
+      for (int i = 0; i < i1.length; i++) {
+        res[i] = op.doByte(i1[i], i2.get(i));
+      }
+      return res;
+    } else if (data1 instanceof long[]) {
+      long[] i1 = (long[]) data1;
+      LongBuffer i2 = view.asLongBuffer();
+      validateArrayLength(i1.length, i2.remaining());
+      long[] res = new long[i1.length];
+      for (int i = 0; i < i1.length; i++) {
+        res[i] = op.doLong(i1[i], i2.get(i));
+      }
+      return res;
+    }
+    return applyOp(data1, view.toArray(), op);
+  }
+
   @Override
   public Object reduce(Object data1, Object data2) {
     if (this.operation == Op.SUM) { // Start SUM
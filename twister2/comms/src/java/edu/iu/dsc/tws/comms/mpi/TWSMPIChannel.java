@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,9 +27,11 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.ChannelReadinessListener;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.resource.IWorkerController;
 import edu.iu.dsc.tws.common.util.IterativeLinkedList;
@@ -123,6 +126,11 @@ public class TWSMPIChannel implements TWSChannel {
    */
   private List<Pair<Integer, Integer>> pendingCloseRequests = new ArrayList<>();
 
+  /**
+   * Listeners notified when sends or receives complete
+   */
+  private List<ChannelReadinessListener> readinessListeners = new CopyOnWriteArrayList<>();
+
   /**
    * Worker id
    */
@@ -138,6 +146,11 @@ public class TWSMPIChannel implements TWSChannel {
   private boolean debug = false;
   private int completedReceives = 0;
 
+  /**
+   * The buffers used by the operations on this channel
+   */
+  private final DataBufferPool bufferPool;
+
   /**
    * Create the mpi channel
    *
@@ -146,6 +159,7 @@ public class TWSMPIChannel implements TWSChannel {
    */
   public TWSMPIChannel(Config config,
                        IWorkerController wController) {
+    this.bufferPool = new DataBufferPool(config, this::createBuffer);
     Object commObject = wController.getRuntimeObject("comm");
     if (commObject == null) {
       this.comm = MPI.COMM_WORLD;
@@ -315,10 +329,30 @@ public class TWSMPIChannel implements TWSChannel {
         sendRequests.callback.onSendComplete(sendRequests.rank,
             sendRequests.edge, sendRequests.message);
         sendRequestsIterator.remove();
+        notifyReadiness();
       }
     }
   }
 
+  @Override
+  public void addReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.add(listener);
+  }
+
+  @Override
+  public void removeReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.remove(listener);
+  }
+
+  /**
+   * Notify the readiness listeners that a send or receive completed
+   */
+  private void notifyReadiness() {
+    for (int i = 0; i < readinessListeners.size(); i++) {
+      readinessListeners.get(i).onChannelReady();
+    }
+  }
+
   @Override
   public void progressReceives(int receiveGroupIndex) {
     progressInternalReceives(groupedRegisteredReceives.get(receiveGroupIndex));
@@ -351,6 +385,7 @@ public class TWSMPIChannel implements TWSChannel {
 
               pendingReceiveCount--;
               requestIterator.remove();
+              notifyReadiness();
             } else {
               throw new RuntimeException("MPI receive request cancelled");
             }
@@ -397,6 +432,9 @@ public class TWSMPIChannel implements TWSChannel {
             try {
               MPIRequest request = (MPIRequest) pendItr.next();
               request.request.cancel();
+              // the buffer can be reused only after the cancel is complete
+              request.request.waitFor();
+              bufferPool.release(request.buffer);
               pendItr.remove();
             } catch (MPIException e) {
               LOG.log(Level.WARNING, String.format("MPI Receive cancel error: rank %d edge %d",
@@ -419,6 +457,11 @@ public class TWSMPIChannel implements TWSChannel {
     return byteBuffer;
   }
 
+  @Override
+  public DataBufferPool getBufferPool() {
+    return bufferPool;
+  }
+
   /**
    * Close a worker id with edge
    *
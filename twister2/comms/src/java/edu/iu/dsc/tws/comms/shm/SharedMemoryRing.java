@@ -0,0 +1,290 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.shm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.api.util.MemoryMapUtils;
+
+/**
+ * A single producer single consumer ring of messages in a memory mapped file, used to pass
+ * messages between two workers of the same host. Both workers map the same file, the writer
+ * only moves the write index and the reader only moves the read index.
+ * <p>
+ * The file starts with the write index and the read index on separate cache lines followed by
+ * the data area. Each record is an int length, an int edge and the payload, padded to 8 bytes.
+ * A record is never split at the end of the data area, the writer marks the rest of the area
+ * as padding and starts the record from the beginning instead.
+ */
+public class SharedMemoryRing {
+  private static final Logger LOG = Logger.getLogger(SharedMemoryRing.class.getName());
+
+  private static final int WRITE_INDEX_OFFSET = 0;
+
+  private static final int READ_INDEX_OFFSET = 64;
+
+  private static final int DATA_OFFSET = 128;
+
+  private static final int RECORD_HEADER = 8;
+
+  private static final int PADDING = -1;
+
+  /**
+   * Fences of the unsafe class, the indexes are published only after the records are visible
+   */
+  private static final MethodHandle STORE_FENCE;
+
+  private static final MethodHandle LOAD_FENCE;
+
+  /**
+   * Used as a fence if the unsafe fences are not available
+   */
+  private static volatile long fallbackFence;
+
+  static {
+    MethodHandle store = null;
+    MethodHandle load = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafeField.setAccessible(true);
+      Object unsafe = theUnsafeField.get(null);
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      store = lookup.unreflect(unsafeClass.getMethod("storeFence")).bindTo(unsafe);
+      load = lookup.unreflect(unsafeClass.getMethod("loadFence")).bindTo(unsafe);
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "Memory fences are not available, using volatile fields", e);
+    }
+    STORE_FENCE = store;
+    LOAD_FENCE = load;
+  }
+
+  /**
+   * The file backing the ring
+   */
+  private final File file;
+
+  /**
+   * The mapped file
+   */
+  private final MappedByteBuffer buffer;
+
+  /**
+   * Size of the data area
+   */
+  private final int capacity;
+
+  /**
+   * Local copy of the index this side owns, the writer owns the write index
+   */
+  private long position;
+
+  /**
+   * Create or open the ring in the given file
+   *
+   * @param file the file, created if it doesn't exist
+   * @param ringBytes size of the data area
+   */
+  public SharedMemoryRing(File file, int ringBytes) {
+    this.file = file;
+    this.capacity = ringBytes & ~7;
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      long length = (long) DATA_OFFSET + capacity;
+      if (raf.length() < length) {
+        raf.setLength(length);
+      }
+      this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+      this.buffer.order(CommunicationContext.DEFAULT_BYTEORDER);
+    } catch (IOException e) {
+      throw new Twister2RuntimeException("Failed to map the shared memory ring " + file, e);
+    }
+  }
+
+  /**
+   * Prepare this side for writing, must be called before the first offer
+   */
+  public void openForWrite() {
+    position = buffer.getLong(WRITE_INDEX_OFFSET);
+  }
+
+  /**
+   * Prepare this side for reading, must be called before the first poll
+   */
+  public void openForRead() {
+    position = buffer.getLong(READ_INDEX_OFFSET);
+  }
+
+  /**
+   * Largest payload that can be written to this ring
+   */
+  public int maxPayload() {
+    return capacity / 2 - RECORD_HEADER;
+  }
+
+  /**
+   * Write a record to the ring
+   *
+   * @param edge the edge of the message
+   * @param data the data, bytes from the position to the limit are written
+   * @return true if the record was written, false if the ring does not have enough space
+   */
+  public boolean offer(int edge, ByteBuffer data) {
+    int length = data.remaining();
+    if (length > maxPayload()) {
+      throw new Twister2RuntimeException("Message of " + length
+          + " bytes is larger than the shared memory ring " + file);
+    }
+    int recordSize = align(RECORD_HEADER + length);
+    int pos = (int) (position % capacity);
+    int tail = capacity - pos;
+    int needed = tail < recordSize ? tail + recordSize : recordSize;
+    long read = buffer.getLong(READ_INDEX_OFFSET);
+    loadFence();
+    if (position + needed - read > capacity) {
+      return false;
+    }
+
+    long next = position;
+    if (tail < recordSize) {
+      buffer.putInt(DATA_OFFSET + pos, PADDING);
+      next += tail;
+      pos = 0;
+    }
+    int start = DATA_OFFSET + pos;
+    buffer.putInt(start + 4, edge);
+    ByteBuffer target = buffer.duplicate();
+    target.position(start + RECORD_HEADER);
+    target.put(data.duplicate());
+    buffer.putInt(start, length);
+    next += recordSize;
+
+    storeFence();
+    buffer.putLong(WRITE_INDEX_OFFSET, next);
+    position = next;
+    return true;
+  }
+
+  /**
+   * Check weather a record is available to read
+   *
+   * @return true if there is a record
+   */
+  public boolean hasNext() {
+    long write = buffer.getLong(WRITE_INDEX_OFFSET);
+    loadFence();
+    while (position != write) {
+      int pos = (int) (position % capacity);
+      if (buffer.getInt(DATA_OFFSET + pos) != PADDING) {
+        return true;
+      }
+      position += capacity - pos;
+    }
+    return false;
+  }
+
+  /**
+   * Edge of the next record, only valid after {@link #hasNext()} returned true
+   */
+  public int nextEdge() {
+    return buffer.getInt(DATA_OFFSET + (int) (position % capacity) + 4);
+  }
+
+  /**
+   * Read the next record in to the target and release its space in the ring, only valid after
+   * {@link #hasNext()} returned true
+   *
+   * @param target the buffer to copy the payload, it is cleared and flipped after the copy
+   * @return the number of bytes copied
+   */
+  public int poll(ByteBuffer target) {
+    int start = DATA_OFFSET + (int) (position % capacity);
+    int length = buffer.getInt(start);
+    if (length > target.capacity()) {
+      throw new Twister2RuntimeException("Receive buffer of " + target.capacity()
+          + " bytes cannot hold a message of " + length + " bytes from " + file);
+    }
+    ByteBuffer source = buffer.duplicate();
+    source.position(start + RECORD_HEADER);
+    source.limit(start + RECORD_HEADER + length);
+    target.clear();
+    target.put(source);
+    target.flip();
+
+    position += align(RECORD_HEADER + length);
+    storeFence();
+    buffer.putLong(READ_INDEX_OFFSET, position);
+    return length;
+  }
+
+  /**
+   * Weather the reader has consumed everything written so far
+   */
+  public boolean isEmpty() {
+    return buffer.getLong(READ_INDEX_OFFSET) == buffer.getLong(WRITE_INDEX_OFFSET);
+  }
+
+  /**
+   * Unmap the ring and optionally delete the backing file
+   *
+   * @param delete delete the file
+   */
+  public void close(boolean delete) {
+    try {
+      MemoryMapUtils.unMapBuffer(buffer);
+    } catch (ReflectiveOperationException e) {
+      LOG.log(Level.FINE, "Failed to unmap the shared memory ring " + file, e);
+    }
+    if (delete && file.exists() && !file.delete()) {
+      LOG.warning("Failed to delete the shared memory ring " + file);
+    }
+  }
+
+  private static int align(int size) {
+    return (size + 7) & ~7;
+  }
+
+  private static void storeFence() {
+    if (STORE_FENCE != null) {
+      try {
+        STORE_FENCE.invokeExact();
+        return;
+      } catch (Throwable t) {
+        throw new Twister2RuntimeException("Failed to invoke the store fence", t);
+      }
+    }
+    fallbackFence = 0;
+  }
+
+  private static void loadFence() {
+    if (LOAD_FENCE != null) {
+      try {
+        LOAD_FENCE.invokeExact();
+        return;
+      } catch (Throwable t) {
+        throw new Twister2RuntimeException("Failed to invoke the load fence", t);
+      }
+    }
+    long ignored = fallbackFence;
+  }
+}
@@ -0,0 +1,497 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.shm;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.ChannelReadinessListener;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.config.Context;
+import edu.iu.dsc.tws.api.exceptions.TimeoutException;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.api.resource.IWorkerController;
+import edu.iu.dsc.tws.proto.jobmaster.JobMasterAPI;
+import edu.iu.dsc.tws.proto.utils.WorkerInfoUtils;
+
+/**
+ * A channel that sends messages between workers of the same host through memory mapped
+ * {@link SharedMemoryRing}s and the rest through a network channel. Routing trees already put
+ * the workers of a host under a single node leader, so with this channel only the leaders talk
+ * over the network and the rest of the tree traffic stays in memory.
+ * <p>
+ * There is a ring for every ordered pair of workers on the host, messages of all the edges
+ * between the two workers go through it in order. Workers with the same IP are considered to
+ * be on the same host. A message that cannot be given to its receive yet, because the receive
+ * is not registered, belongs to a group that is not progressed or has no free buffer, is moved
+ * from the ring to a queue of its edge, so it does not hold back the messages of the other
+ * edges. Messages of an edge are always delivered in order.
+ * <p>
+ * Ring files of the job left by a previous run are deleted when the channel is created, the
+ * workers wait on a barrier after that so that no worker maps a stale ring.
+ */
+public class TWSSharedMemoryChannel implements TWSChannel {
+  private static final Logger LOG = Logger.getLogger(TWSSharedMemoryChannel.class.getName());
+
+  @SuppressWarnings("VisibilityModifier")
+  private class LocalSend {
+    int target;
+    int edge;
+    ChannelMessage message;
+    ChannelListener callback;
+    int nextBuffer;
+
+    LocalSend(int target, int edge, ChannelMessage message, ChannelListener callback) {
+      this.target = target;
+      this.edge = edge;
+      this.message = message;
+      this.callback = callback;
+    }
+  }
+
+  @SuppressWarnings("VisibilityModifier")
+  private class LocalReceive {
+    int group;
+    ChannelListener callback;
+    Queue<DataBuffer> availableBuffers;
+
+    LocalReceive(int group, ChannelListener callback, Queue<DataBuffer> buffers) {
+      this.group = group;
+      this.callback = callback;
+      this.availableBuffers = buffers;
+    }
+  }
+
+  @SuppressWarnings("VisibilityModifier")
+  private class InRing {
+    int source;
+    SharedMemoryRing ring;
+    Map<Integer, LocalReceive> receives = new HashMap<>();
+    // messages taken from the ring before their receive could accept them, keyed by the edge
+    Map<Integer, ArrayDeque<ByteBuffer>> staged = new HashMap<>();
+    int stagedCount;
+    // staging buffers that can be used again, a buffer is allocated only when none is free so
+    // a ring never has more than stagingMax of them
+    ArrayDeque<ByteBuffer> freeStaging = new ArrayDeque<>();
+
+    InRing(int source, SharedMemoryRing ring) {
+      this.source = source;
+      this.ring = ring;
+    }
+  }
+
+  /**
+   * The channel used for workers on other hosts
+   */
+  private final TWSChannel channel;
+
+  /**
+   * This worker
+   */
+  private final int workerId;
+
+  /**
+   * Workers running on the same host including this worker
+   */
+  private final Set<Integer> localWorkers = new HashSet<>();
+
+  /**
+   * Directory of the ring files
+   */
+  private final File directory;
+
+  /**
+   * Prefix of the ring files, unique to the job
+   */
+  private final String filePrefix;
+
+  /**
+   * Size of a ring
+   */
+  private final int ringBytes;
+
+  /**
+   * Sends to local workers, accepted from any thread
+   */
+  private final ArrayBlockingQueue<LocalSend> pendingSends;
+
+  /**
+   * Sends waiting for space in the ring of each target, in the order they were accepted
+   */
+  private final Map<Integer, ArrayDeque<LocalSend>> waitingSends = new HashMap<>();
+
+  /**
+   * Number of sends in the waiting queues
+   */
+  private int waitingSendCount = 0;
+
+  /**
+   * Rings we write to, keyed by the target worker
+   */
+  private final Map<Integer, SharedMemoryRing> outRings = new HashMap<>();
+
+  /**
+   * Rings we read from, keyed by the source worker
+   */
+  private final Map<Integer, InRing> inRings = new HashMap<>();
+
+  /**
+   * Listeners notified when sends or receives complete
+   */
+  private final List<ChannelReadinessListener> readinessListeners
+      = new CopyOnWriteArrayList<>();
+
+  /**
+   * Maximum number of staged messages of a ring
+   */
+  private final int stagingMax;
+
+  /**
+   * Create the channel
+   *
+   * @param config configuration
+   * @param wController worker controller, used to find the workers of this host
+   * @param channel the channel used for the other workers
+   */
+  public TWSSharedMemoryChannel(Config config, IWorkerController wController,
+                                TWSChannel channel) {
+    this.channel = channel;
+    this.workerId = wController.getWorkerInfo().getWorkerID();
+    this.directory = new File(CommunicationContext.sharedMemoryDir(config));
+    this.ringBytes = CommunicationContext.sharedMemoryRingBytes(config);
+    this.stagingMax = CommunicationContext.sharedMemoryStagingMax(config);
+    this.pendingSends = new ArrayBlockingQueue<>(
+        CommunicationContext.networkChannelPendingSize(config));
+
+    String jobId = Context.jobId(config);
+    if (jobId == null) {
+      jobId = Context.jobName(config);
+    }
+    this.filePrefix = "twister2-" + jobId + "-";
+
+    // the task plan groups the workers with the same key
+    String localHost = WorkerInfoUtils.hostKey(wController.getWorkerInfo());
+    List<JobMasterAPI.WorkerInfo> workers = wController.getJoinedWorkers();
+    for (JobMasterAPI.WorkerInfo w : workers) {
+      if (localHost.equals(WorkerInfoUtils.hostKey(w))) {
+        localWorkers.add(w.getWorkerID());
+      }
+    }
+    deleteStaleRings();
+    try {
+      // no worker opens a ring before all the stale rings are deleted
+      wController.waitOnBarrier();
+    } catch (TimeoutException e) {
+      throw new Twister2RuntimeException("Timed out waiting for the workers to clear the "
+          + "shared memory rings", e);
+    }
+    LOG.fine(String.format("Worker %d using shared memory with workers %s",
+        workerId, localWorkers));
+  }
+
+  /**
+   * Delete the ring files from and to this worker that a previous run of the job with the same
+   * id left behind, for example after a failure
+   */
+  private void deleteStaleRings() {
+    for (int other : localWorkers) {
+      if (other == workerId) {
+        continue;
+      }
+      for (File f : new File[]{ringFile(other, workerId), ringFile(workerId, other)}) {
+        if (f.exists()) {
+          LOG.warning("Deleting stale shared memory ring " + f);
+          if (!f.delete()) {
+            throw new Twister2RuntimeException("Failed to delete stale shared memory ring " + f);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Weather messages to this worker go through shared memory
+   *
+   * @param worker the worker
+   * @return true if the worker is on this host
+   */
+  public boolean isLocal(int worker) {
+    return localWorkers.contains(worker);
+  }
+
+  @Override
+  public boolean sendMessage(int id, ChannelMessage message, ChannelListener callback) {
+    if (!isLocal(id)) {
+      return channel.sendMessage(id, message, callback);
+    }
+    return pendingSends.offer(new LocalSend(id, message.getHeader().getEdge(),
+        message, callback));
+  }
+
+  @Override
+  public boolean receiveMessage(int group, int id, int edge,
+                                ChannelListener callback, Queue<DataBuffer> receiveBuffers) {
+    if (!isLocal(id)) {
+      return channel.receiveMessage(group, id, edge, callback, receiveBuffers);
+    }
+    InRing in = inRings.computeIfAbsent(id, source -> {
+      SharedMemoryRing ring = new SharedMemoryRing(ringFile(source, workerId), ringBytes);
+      ring.openForRead();
+      return new InRing(source, ring);
+    });
+    in.receives.put(edge, new LocalReceive(group, callback, receiveBuffers));
+    return true;
+  }
+
+  @Override
+  public void progress() {
+    progressLocalSends();
+    progressLocalReceives(-1);
+    channel.progress();
+  }
+
+  @Override
+  public void progressSends() {
+    progressLocalSends();
+    channel.progressSends();
+  }
+
+  @Override
+  public void progressReceives(int group) {
+    progressLocalReceives(group);
+    channel.progressReceives(group);
+  }
+
+  /**
+   * Copy the pending messages to the rings, a message is complete once all its buffers are
+   * copied
+   */
+  private void progressLocalSends() {
+    LocalSend accepted;
+    while ((accepted = pendingSends.poll()) != null) {
+      waitingSends.computeIfAbsent(accepted.target, t -> new ArrayDeque<>()).add(accepted);
+      waitingSendCount++;
+    }
+    if (waitingSendCount == 0) {
+      return;
+    }
+
+    for (Map.Entry<Integer, ArrayDeque<LocalSend>> e : waitingSends.entrySet()) {
+      ArrayDeque<LocalSend> sends = e.getValue();
+      if (sends.isEmpty()) {
+        continue;
+      }
+      SharedMemoryRing ring = outRings.computeIfAbsent(e.getKey(), target -> {
+        SharedMemoryRing r = new SharedMemoryRing(ringFile(workerId, target), ringBytes);
+        r.openForWrite();
+        return r;
+      });
+      while (!sends.isEmpty()) {
+        LocalSend send = sends.peek();
+        List<DataBuffer> buffers = send.message.getNormalBuffers();
+        while (send.nextBuffer < buffers.size()) {
+          DataBuffer buffer = buffers.get(send.nextBuffer);
+          ByteBuffer data = buffer.getByteBuffer().duplicate();
+          data.position(0);
+          data.limit(buffer.getSize());
+          if (!ring.offer(send.edge, data)) {
+            break;
+          }
+          send.nextBuffer++;
+        }
+        if (send.nextBuffer < buffers.size()) {
+          // the ring is full, try again in the next progress
+          break;
+        }
+        sends.poll();
+        waitingSendCount--;
+        send.callback.onSendComplete(send.target, send.edge, send.message);
+        notifyReadiness();
+      }
+    }
+  }
+
+  /**
+   * Copy the messages in the rings to the receive buffers of the operations. A message that
+   * cannot be delivered now is moved to the staging queue of its edge, when a ring has the
+   * maximum number of staged messages it is not read until some of them are delivered.
+   *
+   * @param group only progress receives of this group, -1 for all the groups
+   */
+  private void progressLocalReceives(int group) {
+    for (InRing in : inRings.values()) {
+      if (in.stagedCount > 0) {
+        deliverStaged(in, group);
+      }
+
+      SharedMemoryRing ring = in.ring;
+      while (ring.hasNext()) {
+        int edge = ring.nextEdge();
+        LocalReceive receive = in.receives.get(edge);
+        ArrayDeque<ByteBuffer> staged = in.staged.get(edge);
+        if (canDeliver(receive, group) && (staged == null || staged.isEmpty())) {
+          DataBuffer buffer = receive.availableBuffers.poll();
+          if (buffer != null) {
+            buffer.setSize(ring.poll(buffer.getByteBuffer()));
+            receive.callback.onReceiveComplete(in.source, edge, buffer);
+            notifyReadiness();
+            continue;
+          }
+        }
+        if (!stage(in, edge)) {
+          break;
+        }
+      }
+    }
+  }
+
+  private boolean canDeliver(LocalReceive receive, int group) {
+    return receive != null && (group < 0 || receive.group == group);
+  }
+
+  /**
+   * Move the next message of the ring to the staging queue of its edge
+   *
+   * @return false if the ring already has the maximum number of staged messages
+   */
+  private boolean stage(InRing in, int edge) {
+    if (in.stagedCount >= stagingMax) {
+      return false;
+    }
+    ByteBuffer staging = in.freeStaging.poll();
+    if (staging == null) {
+      staging = ByteBuffer.allocate(in.ring.maxPayload());
+    }
+    in.ring.poll(staging);
+    in.staged.computeIfAbsent(edge, e -> new ArrayDeque<>()).add(staging);
+    in.stagedCount++;
+    return true;
+  }
+
+  /**
+   * Deliver the staged messages of the edges whose receives can take them
+   */
+  private void deliverStaged(InRing in, int group) {
+    for (Map.Entry<Integer, ArrayDeque<ByteBuffer>> e : in.staged.entrySet()) {
+      ArrayDeque<ByteBuffer> staged = e.getValue();
+      LocalReceive receive = in.receives.get(e.getKey());
+      if (staged.isEmpty() || !canDeliver(receive, group)) {
+        continue;
+      }
+      while (!staged.isEmpty()) {
+        DataBuffer buffer = receive.availableBuffers.poll();
+        if (buffer == null) {
+          break;
+        }
+        ByteBuffer message = staged.poll();
+        in.stagedCount--;
+        ByteBuffer target = buffer.getByteBuffer();
+        target.clear();
+        target.put(message);
+        target.flip();
+        buffer.setSize(target.limit());
+        message.clear();
+        in.freeStaging.offer(message);
+        receive.callback.onReceiveComplete(in.source, e.getKey(), buffer);
+        notifyReadiness();
+      }
+    }
+  }
+
+  @Override
+  public boolean isComplete() {
+    return pendingSends.isEmpty() && waitingSendCount == 0 && channel.isComplete();
+  }
+
+  @Override
+  public ByteBuffer createBuffer(int capacity) {
+    return channel.createBuffer(capacity);
+  }
+
+  @Override
+  public DataBufferPool getBufferPool() {
+    return channel.getBufferPool();
+  }
+
+  @Override
+  public void close() {
+    while (!pendingSends.isEmpty() || waitingSendCount > 0) {
+      progress();
+    }
+    channel.close();
+    for (SharedMemoryRing ring : outRings.values()) {
+      ring.close(false);
+    }
+    // the reader owns the ring file
+    for (InRing in : inRings.values()) {
+      in.ring.close(true);
+    }
+  }
+
+  @Override
+  public void addReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.add(listener);
+    channel.addReadinessListener(listener);
+  }
+
+  @Override
+  public void removeReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.remove(listener);
+    channel.removeReadinessListener(listener);
+  }
+
+  @Override
+  public void releaseBuffers(int wId, int e) {
+    if (!isLocal(wId)) {
+      channel.releaseBuffers(wId, e);
+      return;
+    }
+    InRing in = inRings.get(wId);
+    if (in != null) {
+      in.receives.remove(e);
+      ArrayDeque<ByteBuffer> staged = in.staged.remove(e);
+      if (staged != null) {
+        in.stagedCount -= staged.size();
+        for (ByteBuffer message : staged) {
+          message.clear();
+          in.freeStaging.offer(message);
+        }
+      }
+    }
+  }
+
+  private File ringFile(int source, int target) {
+    return new File(directory, filePrefix + source + "-" + target);
+  }
+
+  private void notifyReadiness() {
+    for (int i = 0; i < readinessListeners.size(); i++) {
+      readinessListeners.get(i).onChannelReady();
+    }
+  }
+}
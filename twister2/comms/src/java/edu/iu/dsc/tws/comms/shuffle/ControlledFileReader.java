@@ -24,6 +24,7 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.util.MemoryMapUtils;
 
 
 public class ControlledFileReader implements ControlledReader<Tuple> {
@@ -13,11 +13,11 @@ package edu.iu.dsc.tws.comms.shuffle;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
@@ -28,6 +28,7 @@ import java.util.logging.Logger;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.api.util.CommonThreadPool;
+import edu.iu.dsc.tws.comms.utils.NormalizedKeys;
 
 /**
  * Sorted merger implementation
@@ -99,8 +100,6 @@ public class FSKeyedSortedMerger2 implements Shuffle {
    */
   private Comparator keyComparator;
 
-  private ComparatorWrapper comparatorWrapper;
-
   private int parallelIOAllowance;
   private volatile Semaphore concurrentIOs;
   private final Object exclusiveAccess = new Object();
@@ -140,7 +139,6 @@ public class FSKeyedSortedMerger2 implements Shuffle {
     this.keyType = kType;
     this.dataType = dType;
     this.keyComparator = kComparator;
-    this.comparatorWrapper = new ComparatorWrapper(keyComparator);
     this.parallelIOAllowance = parallelIOAllowance;
 
     this.concurrentIOs = new Semaphore(parallelIOAllowance);
@@ -215,7 +213,7 @@ public class FSKeyedSortedMerger2 implements Shuffle {
       deserializeObjects();
       // lets sort the in-memory objects
       long start = System.currentTimeMillis();
-      recordsInMemory.sort(this.comparatorWrapper);
+      sortRecords(recordsInMemory);
       LOG.info("Memory sorting time: " + (System.currentTimeMillis() - start));
     } catch (InterruptedException iex) {
       LOG.log(Level.SEVERE, "Couldn't switch to reading", iex);
@@ -226,19 +224,14 @@ public class FSKeyedSortedMerger2 implements Shuffle {
   }
 
   /**
-   * Wrapper for comparing KeyValue with the user defined comparator
+   * Sort the records with {@link Arrays#parallelSort}, which splits large runs between the
+   * threads of the common fork join pool and sorts small runs in this thread. Normalized key
+   * prefixes are compared first when the key type and the comparator supports them.
+   *
+   * @param records records to sort
    */
-  private class ComparatorWrapper implements Comparator<Tuple> {
-    private Comparator comparator;
-
-    ComparatorWrapper(Comparator com) {
-      this.comparator = com;
-    }
-
-    @Override
-    public int compare(Tuple o1, Tuple o2) {
-      return comparator.compare(o1.getKey(), o2.getKey());
-    }
+  private void sortRecords(List<Tuple> records) {
+    NormalizedKeys.sort(records, keyType, keyComparator, true);
   }
 
   private void deserializeObjects() {
@@ -360,7 +353,7 @@ public class FSKeyedSortedMerger2 implements Shuffle {
       LOG.info(String.format("Shuffle saving to temporary file bytes %d, file %s",
           bytesInMemory, fileName));
       // do the sort
-      referenceToRecordsInMemory.sort(comparatorWrapper);
+      sortRecords(referenceToRecordsInMemory);
 
       long largestTupleWritten = FileLoader.saveKeyValues(
           referenceToRecordsInMemory, bytesInMemory, fileName, keyType);
@@ -495,8 +488,7 @@ public class FSKeyedSortedMerger2 implements Shuffle {
     private static final String RP_SAME_KEY_READER = "SAME_KEY_READER";
     private static final String RP_FILE_READERS = "FILE_READERS";
 
-    private PriorityQueue<ControlledReader<Tuple>> controlledFileReaders
-        = new PriorityQueue<>(1 + noOfFileWritten);
+    private TournamentTree<ControlledReader<Tuple>> controlledFileReaders;
     private ControlledReader<Tuple> sameKeyReader;
 
     private RestorePoint restorePoint;
@@ -508,11 +500,12 @@ public class FSKeyedSortedMerger2 implements Shuffle {
           Math.max(numOfBytesInMemory, largestTupleSizeRecorded.get()),
           keyComparator
       );
+      List<ControlledReader<Tuple>> readers = new ArrayList<>(1 + noOfFileWritten);
       if (!recordsInMemory.isEmpty()) {
         ControlledReader inMemoryReader = new ControlledMemoryReader(
             recordsInMemory, keyComparator);
         if (inMemoryReader.hasNext()) {
-          this.controlledFileReaders.add(inMemoryReader);
+          readers.add(inMemoryReader);
         }
       }
 
@@ -525,13 +518,14 @@ public class FSKeyedSortedMerger2 implements Shuffle {
             keyComparator
         );
         if (fr.hasNext()) {
-          controlledFileReaders.add(fr);
+          readers.add(fr);
         } else {
           //done with this file
           fr.releaseResources();
           LOG.warning("Found a controlled file reader without any data");
         }
       }
+      this.controlledFileReaders = new TournamentTree<>(readers);
     }
 
     @Override
@@ -541,9 +535,10 @@ public class FSKeyedSortedMerger2 implements Shuffle {
 
     @Override
     public Tuple next() {
+      // the same key reader is always the top of the tree, its key didn't change
       ControlledReader<Tuple> fr = this.sameKeyReader;
-      if (fr == null || !fr.hasNext()) {
-        fr = this.controlledFileReaders.poll();
+      if (fr == null) {
+        fr = this.controlledFileReaders.peek();
         fr.open();
       }
       Tuple nextTuple = fr.next();
@@ -551,10 +546,11 @@ public class FSKeyedSortedMerger2 implements Shuffle {
         this.sameKeyReader = fr;
       } else if (fr.hasNext()) {
         this.sameKeyReader = null;
-        this.controlledFileReaders.add(fr);
+        this.controlledFileReaders.update();
       } else {
         //done with this file
         this.sameKeyReader = null;
+        this.controlledFileReaders.removeTop();
         fr.releaseResources();
       }
       return nextTuple;
@@ -569,8 +565,9 @@ public class FSKeyedSortedMerger2 implements Shuffle {
         this.restorePoint.put(RP_SAME_KEY_READER, this.sameKeyReader);
       }
 
-      List<ControlledReader> fileReaderList = new ArrayList<>(this.controlledFileReaders);
-      fileReaderList.forEach(ControlledReader::createRestorePoint);
+      List<ControlledReader<Tuple>> fileReaderList = this.controlledFileReaders.inputs();
+      fileReaderList.stream().filter(fr -> fr != this.sameKeyReader)
+          .forEach(ControlledReader::createRestorePoint);
 
       this.restorePoint.put(RP_FILE_READERS, fileReaderList);
     }
@@ -586,14 +583,18 @@ public class FSKeyedSortedMerger2 implements Shuffle {
         this.sameKeyReader.restore();
       }
 
-      this.controlledFileReaders.clear();
-      List<ControlledReader> fileReaderList =
-          (List<ControlledReader>) this.restorePoint.get(RP_FILE_READERS);
-
-      fileReaderList.forEach(fr -> {
+      List<ControlledReader<Tuple>> fileReaderList =
+          (List<ControlledReader<Tuple>>) this.restorePoint.get(RP_FILE_READERS);
+      // the same key reader goes first, so that it wins the ties and stays at the top
+      List<ControlledReader<Tuple>> readers = new ArrayList<>(fileReaderList.size());
+      if (this.sameKeyReader != null) {
+        readers.add(this.sameKeyReader);
+      }
+      fileReaderList.stream().filter(fr -> fr != this.sameKeyReader).forEach(fr -> {
         fr.restore();
-        controlledFileReaders.add(fr);
+        readers.add(fr);
       });
+      this.controlledFileReaders = new TournamentTree<>(readers);
     }
 
     @Override
@@ -604,8 +605,7 @@ public class FSKeyedSortedMerger2 implements Shuffle {
     @Override
     public void clearRestorePoint() {
       this.restorePoint = null;
-      this.controlledFileReaders.iterator()
-          .forEachRemaining(ControlledReader::clearRestorePoint);
+      this.controlledFileReaders.inputs().forEach(ControlledReader::clearRestorePoint);
     }
   }
 
@@ -0,0 +1,144 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.shuffle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tournament tree used to merge sorted inputs. Each leaf holds an input and every internal
+ * node holds the index of the smallest leaf under it. After the input at the top advances or is
+ * removed only the path from its leaf to the root is replayed, which takes one comparison per
+ * level instead of the removal and insertion of a priority queue.
+ *
+ * @param <T> type of the inputs, inputs are compared by their current element
+ */
+public class TournamentTree<T extends Comparable<T>> {
+  /**
+   * The inputs, an exhausted input is set to null
+   */
+  private Object[] leaves;
+
+  /**
+   * Winner leaf index of each internal node, node 1 is the root
+   */
+  private int[] winners;
+
+  /**
+   * Number of leaves rounded up to a power of 2
+   */
+  private int width;
+
+  /**
+   * Number of inputs that are not removed
+   */
+  private int size;
+
+  public TournamentTree(List<T> inputs) {
+    width = 1;
+    while (width < Math.max(inputs.size(), 1)) {
+      width <<= 1;
+    }
+    leaves = new Object[width];
+    winners = new int[width << 1];
+    for (int i = 0; i < inputs.size(); i++) {
+      leaves[i] = inputs.get(i);
+      if (inputs.get(i) != null) {
+        size++;
+      }
+    }
+
+    for (int i = 0; i < width; i++) {
+      winners[width + i] = i;
+    }
+    for (int node = width - 1; node > 0; node--) {
+      winners[node] = play(winners[node << 1], winners[(node << 1) + 1]);
+    }
+  }
+
+  /**
+   * Get the input with the smallest element
+   *
+   * @return the input or null if there are no more inputs
+   */
+  @SuppressWarnings("unchecked")
+  public T peek() {
+    return (T) leaves[winners[1]];
+  }
+
+  /**
+   * The input at the top has moved to its next element, find the new top
+   */
+  public void update() {
+    replay(winners[1]);
+  }
+
+  /**
+   * Remove the input at the top
+   *
+   * @return the removed input
+   */
+  public T removeTop() {
+    T top = peek();
+    if (top != null) {
+      int leaf = winners[1];
+      leaves[leaf] = null;
+      size--;
+      replay(leaf);
+    }
+    return top;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the inputs that are not removed
+   *
+   * @return list of inputs
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> inputs() {
+    List<T> inputs = new ArrayList<>(size);
+    for (Object leaf : leaves) {
+      if (leaf != null) {
+        inputs.add((T) leaf);
+      }
+    }
+    return inputs;
+  }
+
+  private void replay(int leaf) {
+    int node = (width + leaf) >> 1;
+    while (node > 0) {
+      winners[node] = play(winners[node << 1], winners[(node << 1) + 1]);
+      node >>= 1;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int play(int left, int right) {
+    T l = (T) leaves[left];
+    T r = (T) leaves[right];
+    if (l == null) {
+      return right;
+    } else if (r == null) {
+      return left;
+    }
+    return l.compareTo(r) <= 0 ? left : right;
+  }
+}
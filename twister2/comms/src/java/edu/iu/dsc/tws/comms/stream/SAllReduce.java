@@ -22,6 +22,7 @@ import edu.iu.dsc.tws.api.comms.SingularReceiver;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.comms.dfw.AllReduce;
+import edu.iu.dsc.tws.comms.dfw.ChunkedAllReduce;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
 
 /**
@@ -37,11 +38,12 @@ public class SAllReduce extends BaseOperation {
    * @param targets target tasks
    * @param rcvr receiver
    * @param dataType data type
+   * @param chunkEdgeId edge used by the ring and halving doubling algorithms
    */
   public SAllReduce(Communicator comm, LogicalPlan plan,
                     Set<Integer> sources, Set<Integer> targets, MessageType dataType,
                     ReduceFunction fnc, SingularReceiver rcvr, int reduceEdgeId,
-                    int bcastEdgeId, MessageSchema messageSchema) {
+                    int bcastEdgeId, int chunkEdgeId, MessageSchema messageSchema) {
     super(comm, true, CommunicationContext.ALLREDUCE);
     if (sources.size() == 0) {
       throw new IllegalArgumentException("The sources cannot be empty");
@@ -55,8 +57,24 @@ public class SAllReduce extends BaseOperation {
     int firstSource = sources.iterator().next();
     plan.addLogicalIdToWorker(plan.getWorkerForForLogicalId(firstSource), middleTask);
 
-    op = new AllReduce(comm.getConfig(), comm.getChannel(), plan, sources, targets,
-        middleTask, fnc, rcvr, dataType, reduceEdgeId, bcastEdgeId, true, messageSchema);
+    String algorithm = ChunkedAllReduce.selectAlgorithm(comm.getConfig(), sources, targets,
+        fnc, dataType);
+    if (CommunicationContext.ALLREDUCE_ALGO_TREE.equals(algorithm)) {
+      op = new AllReduce(comm.getConfig(), comm.getChannel(), plan, sources, targets,
+          middleTask, fnc, rcvr, dataType, reduceEdgeId, bcastEdgeId, true, messageSchema);
+    } else {
+      op = new ChunkedAllReduce(comm.getConfig(), comm.getChannel(), plan, sources, targets,
+          middleTask, fnc, rcvr, dataType, reduceEdgeId, bcastEdgeId, messageSchema,
+          algorithm, chunkEdgeId, true);
+    }
+  }
+
+  public SAllReduce(Communicator comm, LogicalPlan plan,
+                    Set<Integer> sources, Set<Integer> targets, MessageType dataType,
+                    ReduceFunction fnc, SingularReceiver rcvr, int reduceEdgeId,
+                    int bcastEdgeId, MessageSchema messageSchema) {
+    this(comm, plan, sources, targets, dataType, fnc, rcvr, reduceEdgeId, bcastEdgeId,
+        comm.nextEdge(), messageSchema);
   }
 
   public SAllReduce(Communicator comm, LogicalPlan plan,
@@ -23,6 +23,7 @@ import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.comms.dfw.MToNSimple;
+import edu.iu.dsc.tws.comms.dfw.io.AdaptiveTargetPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.TargetPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.partition.PartitionStreamingFinalReceiver;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
@@ -53,8 +54,10 @@ public class SKeyedPartition extends BaseOperation {
                          MessageSchema messageSchema) {
     super(comm, true, CommunicationContext.KEYED_PARTITION);
     this.destinationSelector = destSelector;
+    TargetPartialReceiver partialReceiver = CommunicationContext.adaptiveBatching(
+        comm.getConfig()) ? new AdaptiveTargetPartialReceiver() : new TargetPartialReceiver();
     MToNSimple partition = new MToNSimple(comm.getChannel(), sources, targets,
-        new PartitionStreamingFinalReceiver(rcvr), new TargetPartialReceiver(),
+        new PartitionStreamingFinalReceiver(rcvr), partialReceiver,
         dataType, keyType, messageSchema);
 
     partition.init(comm.getConfig(), dataType, plan, edgeId);
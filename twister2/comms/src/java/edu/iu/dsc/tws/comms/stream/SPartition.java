@@ -22,6 +22,7 @@ import edu.iu.dsc.tws.api.comms.SingularReceiver;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.comms.dfw.MToNSimple;
+import edu.iu.dsc.tws.comms.dfw.io.AdaptiveTargetPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.TargetPartialReceiver;
 import edu.iu.dsc.tws.comms.dfw.io.partition.PartitionStreamingFinalReceiver;
 import edu.iu.dsc.tws.comms.utils.LogicalPlanBuilder;
@@ -52,9 +53,11 @@ public class SPartition extends BaseOperation {
                     MessageSchema messageSchema) {
     super(comm, true, CommunicationContext.PARTITION);
     this.destinationSelector = destSelector;
+    TargetPartialReceiver partialReceiver = CommunicationContext.adaptiveBatching(
+        comm.getConfig()) ? new AdaptiveTargetPartialReceiver() : new TargetPartialReceiver();
     MToNSimple partition = new MToNSimple(comm.getChannel(), sources, targets,
         new PartitionStreamingFinalReceiver(rcvr),
-        new TargetPartialReceiver(), dataType, messageSchema);
+        partialReceiver, dataType, messageSchema);
     partition.init(comm.getConfig(), dataType, plan, edgeId);
     this.destinationSelector.prepare(comm, partition.getSources(), partition.getTargets(),
         null, dataType);
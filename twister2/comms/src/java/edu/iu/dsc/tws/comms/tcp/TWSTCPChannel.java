@@ -17,6 +17,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,9 +26,11 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.ChannelReadinessListener;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.exceptions.TimeoutException;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
@@ -130,6 +133,16 @@ public class TWSTCPChannel implements TWSChannel {
    */
   private List<Pair<Integer, Integer>> pendingCloseRequests = new ArrayList<>();
 
+  /**
+   * Listeners notified when sends or receives complete
+   */
+  private List<ChannelReadinessListener> readinessListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The buffers used by the operations on this channel
+   */
+  private final DataBufferPool bufferPool;
+
   /**
    * Create the TCP channel
    * @param config configuration
@@ -137,6 +150,7 @@ public class TWSTCPChannel implements TWSChannel {
    */
   public TWSTCPChannel(Config config,
                        IWorkerController wController) {
+    this.bufferPool = new DataBufferPool(config, this::createBuffer);
     int index = wController.getWorkerInfo().getWorkerID();
     int workerPort = wController.getWorkerInfo().getPort();
     String localIp = wController.getWorkerInfo().getWorkerIP();
@@ -311,6 +325,7 @@ public class TWSTCPChannel implements TWSChannel {
           receiveRequests.callback.onReceiveComplete(
               receiveRequests.rank, receiveRequests.edge, r.buffer);
           requestIterator.remove();
+          notifyReadiness();
         }
       }
     }
@@ -359,10 +374,30 @@ public class TWSTCPChannel implements TWSChannel {
         sendRequests.callback.onSendComplete(sendRequests.rank,
             sendRequests.edge, sendRequests.message);
         sendRequestsIterator.remove();
+        notifyReadiness();
       }
     }
   }
 
+  @Override
+  public void addReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.add(listener);
+  }
+
+  @Override
+  public void removeReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.remove(listener);
+  }
+
+  /**
+   * Notify the readiness listeners that a send or receive completed
+   */
+  private void notifyReadiness() {
+    for (int i = 0; i < readinessListeners.size(); i++) {
+      readinessListeners.get(i).onChannelReady();
+    }
+  }
+
   @Override
   public void progressReceives(int group) {
     internalProgressReceives(groupedRegisteredReceives.get(group));
@@ -385,7 +420,10 @@ public class TWSTCPChannel implements TWSChannel {
               = receiveRequests.pendingRequests.iterator();
           while (pendItr.hasNext()) {
             Request r = (Request) pendItr.next();
-            r.request.isComplete();
+            // a receive that is not started yet does not touch the buffer anymore
+            if (!r.request.isComplete() && comm.cancelRecv(r.request, receiveRequests.rank)) {
+              bufferPool.release(r.buffer);
+            }
             pendItr.remove();
           }
           itr.remove();
@@ -397,7 +435,12 @@ public class TWSTCPChannel implements TWSChannel {
 
   @Override
   public ByteBuffer createBuffer(int capacity) {
-    return ByteBuffer.allocate(capacity);
+    return ByteBuffer.allocateDirect(capacity);
+  }
+
+  @Override
+  public DataBufferPool getBufferPool() {
+    return bufferPool;
   }
 
   /**
@@ -25,6 +25,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -42,9 +43,11 @@ import org.openucx.jucx.ucp.UcpWorker;
 import org.openucx.jucx.ucp.UcpWorkerParams;
 
 import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.ChannelReadinessListener;
 import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
 import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.exceptions.TimeoutException;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
@@ -80,8 +83,16 @@ public class TWSUCXChannel implements TWSChannel {
   private List<ReceiveProgress> receiveProgresses = new ArrayList<>();
   private Map<Integer, Map<Integer, Set<ReceiveProgress>>> groupReceives = new HashMap<>();
 
+  private List<ChannelReadinessListener> readinessListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The buffers used by the operations on this channel
+   */
+  private final DataBufferPool bufferPool;
+
   public TWSUCXChannel(Config config,
                        IWorkerController workerController) {
+    this.bufferPool = new DataBufferPool(config, this::createBuffer);
     this.workerId = workerController.getWorkerInfo().getWorkerID();
     createUXCWorker(workerController);
   }
@@ -138,6 +149,7 @@ public class TWSUCXChannel implements TWSChannel {
               pendingSendRequests.decrementAndGet();
               if (buffersLeft.decrementAndGet() == 0) {
                 callback.onSendComplete(id, message.getHeader().getEdge(), message);
+                notifyReadiness();
               }
             }
 
@@ -215,14 +227,23 @@ public class TWSUCXChannel implements TWSChannel {
                     String.format("Recv Buff from %d[%d] : %s, TAG[%d], Size : %d",
                         id, edge, recvBuffer.getByteBuffer(), tag,
                         recvBuffer.getByteBuffer().getInt(0)));
-                recvBuffer.setSize((int) request.getRecvSize());
                 requestsMap.remove(requestId);
+                if (closed) {
+                  // the receiver is gone, so the buffer goes back to the pool
+                  bufferPool.release(recvBuffer);
+                  return;
+                }
+                recvBuffer.setSize((int) request.getRecvSize());
                 callback.onReceiveComplete(id, edge, recvBuffer);
+                notifyReadiness();
               }
 
               @Override
               public void onError(int ucsStatus, String errorMsg) {
-                if (ucsStatus != -16) { // status -16(cancelled) is ignored
+                if (ucsStatus == -16) { // status -16(cancelled), the buffer is free again
+                  requestsMap.remove(requestId);
+                  bufferPool.release(recvBuffer);
+                } else {
                   // This is a catastrophic failure
                   String failedMsg = "Failed to receive from " + id + " with status "
                       + ucsStatus + ". Error : " + errorMsg;
@@ -250,6 +271,22 @@ public class TWSUCXChannel implements TWSChannel {
     return true;
   }
 
+  @Override
+  public void addReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.add(listener);
+  }
+
+  @Override
+  public void removeReadinessListener(ChannelReadinessListener listener) {
+    readinessListeners.remove(listener);
+  }
+
+  private void notifyReadiness() {
+    for (ChannelReadinessListener listener : readinessListeners) {
+      listener.onChannelReady();
+    }
+  }
+
   @Override
   public void progress() {
     for (ReceiveProgress receiveProgress : this.receiveProgresses) {
@@ -278,6 +315,11 @@ public class TWSUCXChannel implements TWSChannel {
     return ByteBuffer.allocateDirect(capacity);
   }
 
+  @Override
+  public DataBufferPool getBufferPool() {
+    return bufferPool;
+  }
+
   @Override
   public void close() {
     while (!this.closeables.isEmpty()) {
@@ -37,9 +37,20 @@ public class DiskBasedList implements List {
 
   public DiskBasedList(Config conf,
                        MessageType dataType) {
-    long maxBytesInMemory = CommunicationContext.getShuffleMaxBytesInMemory(conf);
-    long maxRecordsInMemory = CommunicationContext.getShuffleMaxRecordsInMemory(conf);
-
+    this(conf, dataType, CommunicationContext.getShuffleMaxRecordsInMemory(conf),
+        CommunicationContext.getShuffleMaxBytesInMemory(conf));
+  }
+
+  /**
+   * Create a list with explicit memory limits
+   *
+   * @param conf configuration
+   * @param dataType type of the elements
+   * @param maxRecordsInMemory number of elements kept as objects before writing to the disk
+   * @param maxBytesInMemory serialized bytes buffered before writing them to the disk
+   */
+  public DiskBasedList(Config conf, MessageType dataType,
+                       long maxRecordsInMemory, long maxBytesInMemory) {
     this.collectionPartition = new DiskBackedCollectionPartition<>(maxRecordsInMemory,
         dataType, maxBytesInMemory, conf, UUID.randomUUID().toString());
     this.dataType = dataType;
@@ -160,7 +171,8 @@ public class DiskBasedList implements List {
 
   @Override
   public Iterator iterator() {
-    final DataPartitionConsumer<byte[]> consumer = this.collectionPartition.getConsumer();
+    // the partition unpacks the elements read from the disk
+    final DataPartitionConsumer<Object> consumer = this.collectionPartition.getConsumer();
     return new Iterator() {
       @Override
       public boolean hasNext() {
@@ -169,8 +181,7 @@ public class DiskBasedList implements List {
 
       @Override
       public Object next() {
-        byte[] next = consumer.next();
-        return dataType.getDataPacker().unpackFromByteArray(next);
+        return consumer.next();
       }
     };
   }
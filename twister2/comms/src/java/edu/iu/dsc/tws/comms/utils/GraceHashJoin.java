@@ -0,0 +1,465 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.JoinedTuple;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+/**
+ * A hybrid grace hash join. The hashing relation is split in to partitions by the hash of the
+ * key and kept in memory as long as it fits in
+ * {@link CommunicationContext#SHUFFLE_MAX_BYTES_IN_MEMORY}. When it doesn't fit, the largest
+ * partitions are moved to disk buckets until it does. The partitions left in memory are joined
+ * while reading the probing relation once, and the tuples of the probing relation that belong to
+ * the partitions on disk are written to their own buckets.
+ * Each pair of disk buckets is then joined in memory one after the other.
+ * <p>
+ * A bucket that is still larger than the budget is joined recursively with a new hash seed, so
+ * its keys are split in to new partitions. After {@link #MAX_DEPTH} levels, for example when a
+ * single key is larger than the budget, the hashing bucket is loaded in chunks that fit in the
+ * budget and the probing bucket is read once for every chunk. Memory used is bounded by the
+ * budget plus a small write buffer for every bucket.
+ */
+public class GraceHashJoin implements Iterator<JoinedTuple> {
+  private static final Logger LOG = Logger.getLogger(GraceHashJoin.class.getName());
+
+  /**
+   * Number of tuples serialized to estimate the memory used by a tuple
+   */
+  private static final int SAMPLE_SIZE = 64;
+
+  /**
+   * Smallest write buffer of a disk bucket
+   */
+  private static final long MIN_BUCKET_BUFFER = 8 * 1024;
+
+  /**
+   * Number of times a bucket larger than the budget is partitioned again with a new hash seed
+   */
+  static final int MAX_DEPTH = 3;
+
+  private final CommunicationContext.JoinType joinType;
+
+  private final MessageType keyType;
+
+  private final Config config;
+
+  private final int partitions;
+
+  private final long budgetBytes;
+
+  private final long bucketBufferBytes;
+
+  /**
+   * Recursion level of this join, the hash seed is derived from this
+   */
+  private final int depth;
+
+  /**
+   * Hash tables of the partitions in memory, null for partitions on disk
+   */
+  private final THashMap<Object, List>[] tables;
+
+  /**
+   * Number of tuples in each partition kept in memory
+   */
+  private final long[] partitionRecords;
+
+  /**
+   * Buckets of the hashing relation for the partitions on disk
+   */
+  private final DiskBasedList[] hashingBuckets;
+
+  /**
+   * Buckets of the probing relation for the partitions on disk
+   */
+  private final DiskBasedList[] probingBuckets;
+
+  /**
+   * Used to compute the partition of a key
+   */
+  private final THashMap<Object, Object> hasher;
+
+  private long residentRecords;
+
+  private long sampledRecords;
+
+  private long sampledBytes;
+
+  /**
+   * The partition on disk being joined, -1 while joining the partitions in memory
+   */
+  private int currentPartition = -1;
+
+  /**
+   * Table of the partition on disk being joined, or of the current chunk of it
+   */
+  private Map<Object, List> currentTable;
+
+  /**
+   * Join of a partition on disk that is larger than the budget, with a new hash seed
+   */
+  private GraceHashJoin nested;
+
+  /**
+   * Reads the hashing bucket of the current partition, has more tuples if the bucket is
+   * loaded in chunks
+   */
+  private Iterator<Tuple<?, ?>> hashingChunks;
+
+  /**
+   * Weather the current partition is loaded in chunks
+   */
+  private boolean chunked;
+
+  /**
+   * The probing tuples that matched a chunk, by their position in the probing bucket
+   */
+  private BitSet probingMatched;
+
+  /**
+   * Position of the next tuple in the probing bucket
+   */
+  private int probingPosition;
+
+  /**
+   * Weather we are reading the probing bucket for the tuples that did not match any chunk
+   */
+  private boolean unmatchedPass;
+
+  private Iterator<Tuple<?, ?>> probing;
+
+  private Tuple<?, ?> currentProbingTuple;
+
+  private List matches;
+
+  private int matchIndex;
+
+  private JoinedTuple nextJoinTuple;
+
+  public GraceHashJoin(Iterator<Tuple<?, ?>> leftIt, Iterator<Tuple<?, ?>> rightIt,
+                       CommunicationContext.JoinType joinType, MessageType keyType,
+                       Config config) {
+    this(leftIt, rightIt, joinType, keyType, config, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private GraceHashJoin(Iterator<Tuple<?, ?>> leftIt, Iterator<Tuple<?, ?>> rightIt,
+                        CommunicationContext.JoinType joinType, MessageType keyType,
+                        Config config, int depth) {
+    this.depth = depth;
+    this.joinType = joinType;
+    this.keyType = keyType;
+    this.config = config;
+    this.partitions = Math.max(1, config.getIntegerValue(
+        HashJoinUtils.CONFIG_HASH_JOIN_PARTITIONS, 32));
+    this.budgetBytes = CommunicationContext.getShuffleMaxBytesInMemory(config);
+    this.bucketBufferBytes = Math.max(MIN_BUCKET_BUFFER, budgetBytes / (2L * partitions));
+    this.tables = new THashMap[partitions];
+    this.partitionRecords = new long[partitions];
+    this.hashingBuckets = new DiskBasedList[partitions];
+    this.probingBuckets = new DiskBasedList[partitions];
+    this.hasher = new THashMap<>(keyType);
+    for (int i = 0; i < partitions; i++) {
+      tables[i] = new THashMap<>(keyType);
+    }
+
+    // same as the in memory hash join, we hash right for left joins and left for the rest
+    build(hashRight() ? rightIt : leftIt);
+    this.probing = hashRight() ? leftIt : rightIt;
+    advance();
+  }
+
+  private boolean hashRight() {
+    return joinType.equals(CommunicationContext.JoinType.LEFT);
+  }
+
+  private int partition(Object key) {
+    // every level mixes the hash with a different seed, so that a bucket of a level is spread
+    // over the partitions of the next level
+    int h = hasher.hashKey(key) + depth * 0x9E3779B9;
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return (int) ((h >>> 1) % partitions);
+  }
+
+  /**
+   * Weather the given number of tuples fit in the budget
+   */
+  private boolean fits(long records) {
+    return sampledRecords == 0 || records * sampledBytes / sampledRecords <= budgetBytes;
+  }
+
+  private void build(Iterator<Tuple<?, ?>> hashing) {
+    while (hashing.hasNext()) {
+      Tuple<?, ?> tuple = hashing.next();
+      int p = partition(tuple.getKey());
+      if (tables[p] == null) {
+        hashingBuckets[p].add(tuple);
+        continue;
+      }
+      tables[p].computeIfAbsent(tuple.getKey(), k -> new ArrayList()).add(tuple.getValue());
+      partitionRecords[p]++;
+      residentRecords++;
+      if (sampledRecords < SAMPLE_SIZE) {
+        sampledBytes += MessageTypes.OBJECT.getDataPacker().packToByteArray(tuple).length;
+        sampledRecords++;
+      }
+      while (residentRecords * sampledBytes / sampledRecords > budgetBytes) {
+        if (!spillLargestPartition()) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Move the largest partition in memory to disk
+   *
+   * @return false if no partition is left in memory
+   */
+  private boolean spillLargestPartition() {
+    int largest = -1;
+    for (int i = 0; i < partitions; i++) {
+      if (tables[i] != null && (largest < 0 || partitionRecords[i] > partitionRecords[largest])) {
+        largest = i;
+      }
+    }
+    if (largest < 0 || partitionRecords[largest] == 0) {
+      return false;
+    }
+
+    DiskBasedList bucket = newBucket();
+    for (Map.Entry<Object, List> e : tables[largest].entrySet()) {
+      for (Object value : e.getValue()) {
+        bucket.add(new Tuple<>(e.getKey(), value));
+      }
+    }
+    LOG.fine(String.format("Moved hash join partition %d with %d tuples to disk",
+        largest, partitionRecords[largest]));
+    hashingBuckets[largest] = bucket;
+    probingBuckets[largest] = newBucket();
+    tables[largest] = null;
+    residentRecords -= partitionRecords[largest];
+    partitionRecords[largest] = 0;
+    return true;
+  }
+
+  private DiskBasedList newBucket() {
+    return new DiskBasedList(config, MessageTypes.OBJECT, 0, bucketBufferBytes);
+  }
+
+  /**
+   * Move to the next partition on disk. A hashing bucket that fits in the budget is loaded in
+   * to memory, a larger one is joined recursively or loaded in chunks.
+   *
+   * @return false if all the partitions are joined
+   */
+  private boolean nextPartition() {
+    if (currentPartition < 0) {
+      // partitions in memory are done
+      for (int i = 0; i < partitions; i++) {
+        tables[i] = null;
+      }
+    } else {
+      hashingBuckets[currentPartition].clear();
+      probingBuckets[currentPartition].clear();
+      hashingBuckets[currentPartition] = null;
+      probingBuckets[currentPartition] = null;
+    }
+
+    currentTable = null;
+    nested = null;
+    chunked = false;
+    unmatchedPass = false;
+    probingMatched = null;
+    int p = currentPartition + 1;
+    while (p < partitions && hashingBuckets[p] == null) {
+      p++;
+    }
+    if (p == partitions) {
+      return false;
+    }
+    currentPartition = p;
+
+    long records = hashingBuckets[p].size();
+    if (!fits(records) && depth < MAX_DEPTH) {
+      LOG.fine(String.format("Hash join partition %d with %d tuples is larger than the budget, "
+          + "partitioning it again at level %d", p, records, depth + 1));
+      Iterator<Tuple<?, ?>> hashingIt = hashingBuckets[p].iterator();
+      Iterator<Tuple<?, ?>> probingIt = probingBuckets[p].iterator();
+      nested = hashRight()
+          ? new GraceHashJoin(probingIt, hashingIt, joinType, keyType, config, depth + 1)
+          : new GraceHashJoin(hashingIt, probingIt, joinType, keyType, config, depth + 1);
+      probing = null;
+      return true;
+    }
+
+    hashingChunks = hashingBuckets[p].iterator();
+    loadChunk();
+    chunked = hashingChunks.hasNext();
+    if (chunked) {
+      LOG.warning(String.format("Hash join partition of %d tuples is larger than the memory "
+          + "budget of %d bytes after %d levels of partitioning, the keys are possibly skewed. "
+          + "Joining it in chunks", records, budgetBytes, depth));
+      probingMatched = new BitSet();
+    }
+    probingPosition = 0;
+    probing = probingBuckets[p].iterator();
+    return true;
+  }
+
+  /**
+   * Load the tuples of the hashing bucket that fit in the budget, at least one tuple is loaded
+   */
+  @SuppressWarnings("unchecked")
+  private void loadChunk() {
+    currentTable = new THashMap<>(keyType);
+    long records = 0;
+    while (hashingChunks.hasNext() && (records == 0 || fits(records + 1))) {
+      Tuple<?, ?> tuple = hashingChunks.next();
+      currentTable.computeIfAbsent(tuple.getKey(), k -> new ArrayList()).add(tuple.getValue());
+      records++;
+    }
+  }
+
+  /**
+   * Move to the next chunk of the current partition, after the last chunk the probing bucket is
+   * read once more for the tuples that did not match any chunk in an outer join
+   *
+   * @return false if the current partition is done
+   */
+  private boolean nextChunk() {
+    if (!chunked || unmatchedPass) {
+      return false;
+    }
+    if (hashingChunks.hasNext()) {
+      loadChunk();
+    } else if (joinType.equals(CommunicationContext.JoinType.LEFT)
+        || joinType.equals(CommunicationContext.JoinType.RIGHT)) {
+      currentTable = null;
+      unmatchedPass = true;
+    } else {
+      return false;
+    }
+    probingPosition = 0;
+    probing = probingBuckets[currentPartition].iterator();
+    return true;
+  }
+
+  private void advance() {
+    while (nextJoinTuple == null) {
+      if (matches != null) {
+        emitMatch();
+      } else if (nested != null) {
+        if (nested.hasNext()) {
+          nextJoinTuple = nested.next();
+        } else if (!nextPartition()) {
+          break;
+        }
+      } else if (probing.hasNext()) {
+        Tuple<?, ?> tuple = probing.next();
+        List found;
+        if (unmatchedPass) {
+          if (!probingMatched.get(probingPosition++)) {
+            emitUnmatched(tuple);
+          }
+          continue;
+        } else if (currentPartition < 0) {
+          int p = partition(tuple.getKey());
+          if (tables[p] == null) {
+            probingBuckets[p].add(tuple);
+            continue;
+          }
+          found = tables[p].get(tuple.getKey());
+        } else {
+          found = currentTable.get(tuple.getKey());
+          if (chunked) {
+            // a tuple without a match in this chunk may match another one
+            if (found != null) {
+              probingMatched.set(probingPosition);
+            }
+            probingPosition++;
+            if (found == null) {
+              continue;
+            }
+          }
+        }
+
+        if (found == null) {
+          emitUnmatched(tuple);
+        } else {
+          currentProbingTuple = tuple;
+          matches = found;
+          matchIndex = 0;
+        }
+      } else if (!nextChunk() && !nextPartition()) {
+        break;
+      }
+    }
+  }
+
+  private void emitUnmatched(Tuple<?, ?> tuple) {
+    if (joinType.equals(CommunicationContext.JoinType.LEFT)) {
+      nextJoinTuple = JoinedTuple.of(tuple.getKey(), tuple.getValue(), null);
+    } else if (joinType.equals(CommunicationContext.JoinType.RIGHT)) {
+      nextJoinTuple = JoinedTuple.of(tuple.getKey(), null, tuple.getValue());
+    }
+  }
+
+  private void emitMatch() {
+    // the relations are swapped for left joins
+    Object key = currentProbingTuple.getKey();
+    Object hashed = matches.get(matchIndex++);
+    if (joinType.equals(CommunicationContext.JoinType.LEFT)) {
+      nextJoinTuple = JoinedTuple.of(key, currentProbingTuple.getValue(), hashed);
+    } else {
+      nextJoinTuple = JoinedTuple.of(key, hashed, currentProbingTuple.getValue());
+    }
+    if (matchIndex == matches.size()) {
+      matches = null;
+      currentProbingTuple = null;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextJoinTuple != null;
+  }
+
+  @Override
+  public JoinedTuple next() {
+    if (!hasNext()) {
+      throw new Twister2RuntimeException("Join operation has reached to an end. "
+          + "Use hasNext() to check the status.");
+    }
+    JoinedTuple current = nextJoinTuple;
+    nextJoinTuple = null;
+    advance();
+    return current;
+  }
+}
@@ -23,6 +23,7 @@ import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.structs.JoinedTuple;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
 import edu.iu.dsc.tws.comms.shuffle.ResettableIterator;
 
@@ -30,6 +31,17 @@ public final class HashJoinUtils {
 
   private static final Logger LOG = Logger.getLogger(HashJoinUtils.class.getName());
 
+  /**
+   * Use the grace hash join, which partitions the relations to disk when the hashing relation
+   * doesn't fit in the shuffle memory limit
+   */
+  public static final String CONFIG_USE_GRACE_HASH_JOIN = "twister2.join.hash.grace";
+
+  /**
+   * Number of partitions used by the grace hash join
+   */
+  public static final String CONFIG_HASH_JOIN_PARTITIONS = "twister2.join.hash.partitions";
+
   private HashJoinUtils() {
 
   }
@@ -152,6 +164,109 @@ public final class HashJoinUtils {
     }
   }
 
+  /**
+   * Get a {@link ResettableIterator} over a relation delivered either as a list or as a
+   * resettable iterator
+   *
+   * @param relation the relation
+   * @return resettable iterator over the relation
+   */
+  public static ResettableIterator<Tuple<?, ?>> resettable(Object relation) {
+    if (relation instanceof ResettableIterator) {
+      return (ResettableIterator<Tuple<?, ?>>) relation;
+    } else if (relation instanceof List) {
+      return new ListBasedResettableIterator((List) relation);
+    }
+    throw new Twister2RuntimeException("Unsupported data formats received from sources : "
+        + relation.getClass());
+  }
+
+  /**
+   * Build an in memory hash table of a relation, so that it can be probed by more than one
+   * relation with {@link #probe(Map, Iterator, CommunicationContext.JoinType, boolean)}
+   *
+   * @param relation the relation to hash
+   * @param keyType type of the keys
+   * @return values of the relation grouped by the key
+   */
+  public static Map<Object, List> hash(Iterator<Tuple<?, ?>> relation, MessageType keyType) {
+    Map<Object, List> keyHash = new THashMap<>(keyType);
+    while (relation.hasNext()) {
+      Tuple<?, ?> tuple = relation.next();
+      keyHash.computeIfAbsent(tuple.getKey(), k -> new ArrayList()).add(tuple.getValue());
+    }
+    return keyHash;
+  }
+
+  /**
+   * Join a relation with a hash table built by {@link #hash(Iterator, MessageType)}. The hash
+   * table is not modified, so it can be shared by many probes. Only the unmatched tuples of the
+   * probing relation are emitted by outer joins, so the hashed relation must be the right one
+   * for a left join and the left one for a right join.
+   *
+   * @param keyHash the hashed relation
+   * @param probing the relation streamed through the hash table
+   * @param joinType type of the join
+   * @param hashedLeft weather the hashed relation is the left relation
+   * @return iterator over the joined tuples
+   */
+  public static Iterator<JoinedTuple> probe(Map<Object, List> keyHash,
+                                            Iterator<Tuple<?, ?>> probing,
+                                            CommunicationContext.JoinType joinType,
+                                            boolean hashedLeft) {
+    if (joinType.equals(CommunicationContext.JoinType.FULL_OUTER)
+        || (hashedLeft && joinType.equals(CommunicationContext.JoinType.LEFT))
+        || (!hashedLeft && joinType.equals(CommunicationContext.JoinType.RIGHT))) {
+      throw new Twister2RuntimeException("Cannot probe a hashed " + (hashedLeft ? "left"
+          : "right") + " relation for a " + joinType + " join");
+    }
+    boolean outer = !joinType.equals(CommunicationContext.JoinType.INNER);
+
+    return new Iterator<JoinedTuple>() {
+
+      private Tuple<?, ?> current;
+      private List matches;
+      private int index;
+      private JoinedTuple nextJoinTuple = advance();
+
+      private JoinedTuple advance() {
+        while (true) {
+          if (matches != null && index < matches.size()) {
+            Object hashed = matches.get(index++);
+            return hashedLeft ? JoinedTuple.of(current.getKey(), hashed, current.getValue())
+                : JoinedTuple.of(current.getKey(), current.getValue(), hashed);
+          }
+          if (!probing.hasNext()) {
+            return null;
+          }
+          current = probing.next();
+          matches = keyHash.get(current.getKey());
+          index = 0;
+          if (matches == null && outer) {
+            return hashedLeft ? JoinedTuple.of(current.getKey(), null, current.getValue())
+                : JoinedTuple.of(current.getKey(), current.getValue(), null);
+          }
+        }
+      }
+
+      @Override
+      public boolean hasNext() {
+        return nextJoinTuple != null;
+      }
+
+      @Override
+      public JoinedTuple next() {
+        if (!hasNext()) {
+          throw new Twister2RuntimeException("Join operation has reached to an end. "
+              + "Use hasNext() to check the status.");
+        }
+        JoinedTuple currentJoinTuple = nextJoinTuple;
+        nextJoinTuple = advance();
+        return currentJoinTuple;
+      }
+    };
+  }
+
   public static Iterator<JoinedTuple> join(List<Tuple> leftRelation,
                                            List<Tuple> rightRelation,
                                            CommunicationContext.JoinType joinType,
@@ -160,6 +275,23 @@ public final class HashJoinUtils {
         new ListBasedResettableIterator(rightRelation), joinType, messageType);
   }
 
+  /**
+   * Join with a memory limit, the relations are partitioned to disk when the hashing relation
+   * doesn't fit in {@link CommunicationContext#SHUFFLE_MAX_BYTES_IN_MEMORY}. Unlike
+   * {@link #join(ResettableIterator, ResettableIterator, CommunicationContext.JoinType,
+   * MessageType)} each relation is read only once.
+   */
+  public static Iterator<JoinedTuple> join(ResettableIterator<Tuple<?, ?>> leftIt,
+                                           ResettableIterator<Tuple<?, ?>> rightIt,
+                                           CommunicationContext.JoinType joinType,
+                                           MessageType keyType,
+                                           Config config) {
+    if (!config.getBooleanValue(CONFIG_USE_GRACE_HASH_JOIN, true)) {
+      return join(leftIt, rightIt, joinType, keyType);
+    }
+    return new GraceHashJoin(leftIt, rightIt, joinType, keyType, config);
+  }
+
   /**
    * Disk based inner join
    */
@@ -221,12 +353,6 @@ public final class HashJoinUtils {
         }
       }
 
-      {
-        // initially do hashing & probing
-        doHashing();
-        doProbing();
-      }
-
       // when iterating over the right(probing) relation, current element
       // (which has been returned by next()) will be kept in memory since it should be combined
       // with all the tuples in leftListForCurrentKey. But this has to be done on demand, on next()
@@ -240,6 +366,12 @@ public final class HashJoinUtils {
       // keeping the index of leftListForCurrentKey
       private int leftListIndex = 0;
 
+      {
+        // initially do hashing & probing, this has to be after the field initializers
+        doHashing();
+        doProbing();
+      }
+
       /**
        * This method should be guaranteed to create a {@link JoinedTuple}. If a tuple can't be
        * created, caller should determine that before calling this method.
@@ -22,6 +22,10 @@ public class KeyComparatorWrapper implements Comparator<Tuple> {
     this.comparator = com;
   }
 
+  public Comparator getComparator() {
+    return comparator;
+  }
+
   @Override
   public int compare(Tuple o1, Tuple o2) {
     return comparator.compare(o1.getKey(), o2.getKey());
@@ -0,0 +1,228 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.iu.dsc.tws.api.comms.NormalizedKeyComparator;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+
+/**
+ * Normalized key prefixes for sorting. A prefix is a long derived from the key, such that
+ * comparing the prefixes of two keys as signed longs gives the same order as comparing the keys,
+ * except that different keys can have the same prefix. When sorting, the prefixes are compared
+ * first and the key comparator is only called when they are equal.
+ * <p>
+ * Prefixes are only used when the comparator is a {@link NormalizedKeyComparator} or
+ * {@link Comparator#naturalOrder()}, because other comparators may use a different order.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class NormalizedKeys {
+
+  private NormalizedKeys() {
+  }
+
+  /**
+   * A record together with the prefix of its key
+   */
+  private static final class PrefixedRecord {
+    private final long prefix;
+    private final Tuple record;
+
+    PrefixedRecord(long prefix, Tuple record) {
+      this.prefix = prefix;
+      this.record = record;
+    }
+  }
+
+  /**
+   * Check weather we can create prefixes for keys of this type
+   *
+   * @param keyType key type
+   * @return true if prefixes are supported
+   */
+  public static boolean isSupported(MessageType keyType) {
+    return keyType == MessageTypes.INTEGER || keyType == MessageTypes.LONG
+        || keyType == MessageTypes.SHORT || keyType == MessageTypes.DOUBLE
+        || keyType == MessageTypes.STRING || keyType == MessageTypes.BYTE_ARRAY;
+  }
+
+  /**
+   * Check weather the prefix holds the whole key, so that keys with the same prefix are equal
+   *
+   * @param keyType key type
+   * @return true if the prefix is the full key
+   */
+  public static boolean isExact(MessageType keyType) {
+    return keyType == MessageTypes.INTEGER || keyType == MessageTypes.LONG
+        || keyType == MessageTypes.SHORT || keyType == MessageTypes.DOUBLE;
+  }
+
+  /**
+   * Check weather keys of this type sorted with this comparator can be sorted by prefixes
+   *
+   * @param keyType key type
+   * @param comparator the key comparator
+   * @return true if prefixes can be used
+   */
+  public static boolean canNormalize(MessageType keyType, Comparator comparator) {
+    if (!isSupported(keyType)) {
+      return false;
+    }
+    return comparator instanceof NormalizedKeyComparator
+        || (comparator == Comparator.naturalOrder() && keyType != MessageTypes.BYTE_ARRAY);
+  }
+
+  /**
+   * Create the prefix of a key
+   *
+   * @param keyType type of the key, must be a supported type
+   * @param key the key
+   * @return the prefix
+   */
+  public static long prefix(MessageType keyType, Object key) {
+    if (keyType == MessageTypes.INTEGER) {
+      return (Integer) key;
+    } else if (keyType == MessageTypes.LONG) {
+      return (Long) key;
+    } else if (keyType == MessageTypes.SHORT) {
+      return (Short) key;
+    } else if (keyType == MessageTypes.DOUBLE) {
+      // flip the value bits of negative numbers, so that they are ordered as signed longs
+      long bits = Double.doubleToLongBits((Double) key);
+      return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    } else if (keyType == MessageTypes.STRING) {
+      String s = (String) key;
+      long prefix = 0;
+      for (int i = 0; i < 4; i++) {
+        prefix <<= 16;
+        if (i < s.length()) {
+          prefix |= s.charAt(i);
+        }
+      }
+      // we compare unsigned values as signed longs
+      return prefix ^ Long.MIN_VALUE;
+    } else if (keyType == MessageTypes.BYTE_ARRAY) {
+      byte[] bytes = (byte[]) key;
+      long prefix = 0;
+      for (int i = 0; i < 8; i++) {
+        prefix <<= 8;
+        if (i < bytes.length) {
+          prefix |= bytes[i] & 0xff;
+        }
+      }
+      return prefix ^ Long.MIN_VALUE;
+    }
+    throw new IllegalArgumentException("Un-supported key type for normalized keys: " + keyType);
+  }
+
+  /**
+   * Sort the records by key, the key type is taken from the first key
+   *
+   * @param records records to sort
+   * @param comparator comparator wrapping the key comparator
+   */
+  public static void sort(List<Tuple> records, KeyComparatorWrapper comparator) {
+    MessageType keyType = records.isEmpty() ? null : typeOf(records.get(0).getKey());
+    sort(records, keyType, comparator.getComparator(), false);
+  }
+
+  /**
+   * Sort the records by key. Prefixes are used if the key type and the comparator supports them,
+   * otherwise the records are sorted with the comparator.
+   *
+   * @param records records to sort
+   * @param keyType type of the keys
+   * @param keyComparator the key comparator
+   * @param parallel use {@link Arrays#parallelSort} to sort large lists with multiple threads
+   */
+  public static void sort(List<Tuple> records, MessageType keyType, Comparator keyComparator,
+                          boolean parallel) {
+    if (keyType == null || !canNormalize(keyType, keyComparator)) {
+      Tuple[] sorted = records.toArray(new Tuple[0]);
+      Comparator<Tuple> c = (t1, t2) -> keyComparator.compare(t1.getKey(), t2.getKey());
+      if (parallel) {
+        Arrays.parallelSort(sorted, c);
+      } else {
+        Arrays.sort(sorted, c);
+      }
+      copy(sorted, records);
+      return;
+    }
+
+    Class<?> keyClass = records.get(0).getKey().getClass();
+    PrefixedRecord[] prefixed = new PrefixedRecord[records.size()];
+    for (int i = 0; i < prefixed.length; i++) {
+      Tuple record = records.get(i);
+      // keys of different classes, we cannot rely on the prefixes
+      if (record.getKey().getClass() != keyClass) {
+        sort(records, null, keyComparator, parallel);
+        return;
+      }
+      prefixed[i] = new PrefixedRecord(prefix(keyType, record.getKey()), record);
+    }
+
+    Comparator<PrefixedRecord> c;
+    if (isExact(keyType)) {
+      c = (r1, r2) -> Long.compare(r1.prefix, r2.prefix);
+    } else {
+      c = (r1, r2) -> {
+        int compare = Long.compare(r1.prefix, r2.prefix);
+        if (compare != 0) {
+          return compare;
+        }
+        return keyComparator.compare(r1.record.getKey(), r2.record.getKey());
+      };
+    }
+    if (parallel) {
+      Arrays.parallelSort(prefixed, c);
+    } else {
+      Arrays.sort(prefixed, c);
+    }
+    for (int i = 0; i < prefixed.length; i++) {
+      records.set(i, prefixed[i].record);
+    }
+  }
+
+  private static void copy(Tuple[] sorted, List<Tuple> records) {
+    for (int i = 0; i < sorted.length; i++) {
+      records.set(i, sorted[i]);
+    }
+  }
+
+  /**
+   * Get the message type of a key object
+   *
+   * @param key the key
+   * @return the type or null if prefixes are not supported for this key
+   */
+  private static MessageType typeOf(Object key) {
+    if (key instanceof Integer) {
+      return MessageTypes.INTEGER;
+    } else if (key instanceof Long) {
+      return MessageTypes.LONG;
+    } else if (key instanceof Short) {
+      return MessageTypes.SHORT;
+    } else if (key instanceof Double) {
+      return MessageTypes.DOUBLE;
+    } else if (key instanceof String) {
+      return MessageTypes.STRING;
+    } else if (key instanceof byte[]) {
+      return MessageTypes.BYTE_ARRAY;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,280 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+
+/**
+ * An open addressing hash table used by the keyed reduce receivers when the key type is a
+ * primitive. Keys are packed in to a long and kept in a primitive array, so no per key map entry
+ * or queue is created. Values are reduced in place as they arrive and {@link Tuple} objects are
+ * only created when the table is iterated.
+ */
+public class PrimitiveKeyReduceTable {
+  /**
+   * Default number of slots
+   */
+  private static final int DEFAULT_CAPACITY = 64;
+
+  /**
+   * Table is grown when it is filled beyond this fraction
+   */
+  private static final float LOAD_FACTOR = 0.75f;
+
+  /**
+   * The key type, we use this to pack and unpack keys
+   */
+  private MessageType keyType;
+
+  /**
+   * The function used to reduce values of the same key
+   */
+  private ReduceFunction reduceFunction;
+
+  /**
+   * The packed keys
+   */
+  private long[] keys;
+
+  /**
+   * The reduced values, index matches the keys array
+   */
+  private Object[] values;
+
+  /**
+   * Weather a slot is occupied
+   */
+  private boolean[] used;
+
+  /**
+   * Number of keys in the table
+   */
+  private int size;
+
+  /**
+   * Mask used to get the slot from the hash
+   */
+  private int mask;
+
+  /**
+   * Number of keys at which we resize the table
+   */
+  private int threshold;
+
+  public PrimitiveKeyReduceTable(MessageType kType, ReduceFunction function) {
+    this(kType, function, DEFAULT_CAPACITY);
+  }
+
+  public PrimitiveKeyReduceTable(MessageType kType, ReduceFunction function, int capacity) {
+    if (!isSupported(kType)) {
+      throw new IllegalArgumentException("Un-supported key type for primitive reduce: " + kType);
+    }
+    this.keyType = kType;
+    this.reduceFunction = function;
+    allocate(tableSize(capacity));
+  }
+
+  /**
+   * Check weather keys of this type can be kept in this table
+   *
+   * @param kType key type
+   * @return true if the key type is a single primitive value
+   */
+  public static boolean isSupported(MessageType kType) {
+    return kType == MessageTypes.INTEGER || kType == MessageTypes.LONG
+        || kType == MessageTypes.DOUBLE || kType == MessageTypes.FLOAT
+        || kType == MessageTypes.SHORT || kType == MessageTypes.CHAR
+        || kType == MessageTypes.BYTE;
+  }
+
+  /**
+   * Reduce the value with the current value of the key, if the key is not present it is inserted
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void reduce(Object key, Object value) {
+    long packed = pack(key);
+    int slot = mix(packed) & mask;
+    while (used[slot]) {
+      if (keys[slot] == packed) {
+        values[slot] = reduceFunction.reduce(values[slot], value);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    used[slot] = true;
+    keys[slot] = packed;
+    values[slot] = value;
+    if (++size >= threshold) {
+      rehash(keys.length << 1);
+    }
+  }
+
+  /**
+   * Get the current reduced value of a key
+   *
+   * @param key the key
+   * @return the reduced value or null if the key is not present
+   */
+  public Object get(Object key) {
+    long packed = pack(key);
+    int slot = mix(packed) & mask;
+    while (used[slot]) {
+      if (keys[slot] == packed) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Remove all the keys, the allocated arrays are kept for reuse
+   */
+  public void clear() {
+    if (size == 0) {
+      return;
+    }
+    Arrays.fill(used, false);
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Iterate through the reduced values, a new {@link Tuple} is created for each key
+   *
+   * @return iterator of tuples
+   */
+  public Iterator<Tuple> iterator() {
+    return new Iterator<Tuple>() {
+      private int index = nextSlot(0);
+
+      @Override
+      public boolean hasNext() {
+        return index < used.length;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public Tuple next() {
+        if (index >= used.length) {
+          throw new NoSuchElementException("No more keys in the table");
+        }
+        Tuple t = new Tuple(unpack(keys[index]), values[index]);
+        index = nextSlot(index + 1);
+        return t;
+      }
+    };
+  }
+
+  private int nextSlot(int from) {
+    int i = from;
+    while (i < used.length && !used[i]) {
+      i++;
+    }
+    return i;
+  }
+
+  private void rehash(int newLength) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    boolean[] oldUsed = used;
+
+    allocate(newLength);
+    for (int i = 0; i < oldUsed.length; i++) {
+      if (oldUsed[i]) {
+        int slot = mix(oldKeys[i]) & mask;
+        while (used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int length) {
+    keys = new long[length];
+    values = new Object[length];
+    used = new boolean[length];
+    mask = length - 1;
+    threshold = (int) (length * LOAD_FACTOR);
+  }
+
+  private static int tableSize(int capacity) {
+    int needed = (int) Math.ceil(Math.max(capacity, 2) / LOAD_FACTOR);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  /**
+   * Spread the bits of the key so that sequential keys do not cluster
+   */
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    h ^= h >>> 32;
+    return (int) (h ^ (h >>> 16));
+  }
+
+  private long pack(Object key) {
+    if (keyType == MessageTypes.INTEGER) {
+      return (Integer) key;
+    } else if (keyType == MessageTypes.LONG) {
+      return (Long) key;
+    } else if (keyType == MessageTypes.DOUBLE) {
+      return Double.doubleToLongBits((Double) key);
+    } else if (keyType == MessageTypes.FLOAT) {
+      return Float.floatToIntBits((Float) key);
+    } else if (keyType == MessageTypes.SHORT) {
+      return (Short) key;
+    } else if (keyType == MessageTypes.CHAR) {
+      return (Character) key;
+    } else {
+      return (Byte) key;
+    }
+  }
+
+  private Object unpack(long packed) {
+    if (keyType == MessageTypes.INTEGER) {
+      return (int) packed;
+    } else if (keyType == MessageTypes.LONG) {
+      return packed;
+    } else if (keyType == MessageTypes.DOUBLE) {
+      return Double.longBitsToDouble(packed);
+    } else if (keyType == MessageTypes.FLOAT) {
+      return Float.intBitsToFloat((int) packed);
+    } else if (keyType == MessageTypes.SHORT) {
+      return (short) packed;
+    } else if (keyType == MessageTypes.CHAR) {
+      return (char) packed;
+    } else {
+      return (byte) packed;
+    }
+  }
+}
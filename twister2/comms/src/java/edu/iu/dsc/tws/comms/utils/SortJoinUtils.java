@@ -70,8 +70,8 @@ public final class SortJoinUtils {
     int leftIndex = 0;
     int rightIndex = 0;
 
-    leftRelation.sort(comparator);
-    rightRelation.sort(comparator);
+    NormalizedKeys.sort(leftRelation, comparator);
+    NormalizedKeys.sort(rightRelation, comparator);
 
     List<Object> outPut = new ArrayList<>();
     while (leftIndex < leftRelation.size() && rightIndex < rightRelation.size()) {
@@ -556,8 +556,8 @@ public final class SortJoinUtils {
     int leftIndex = 0;
     int rightIndex = 0;
 
-    leftRelation.sort(comparator);
-    rightRelation.sort(comparator);
+    NormalizedKeys.sort(leftRelation, comparator);
+    NormalizedKeys.sort(rightRelation, comparator);
 
     List<Object> outPut = new ArrayList<>();
     while (leftIndex < leftRelation.size() && rightIndex < rightRelation.size()) {
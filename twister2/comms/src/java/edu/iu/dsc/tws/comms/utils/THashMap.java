@@ -26,6 +26,16 @@ public class THashMap<K, V> extends HashedMap<K, V> {
     this.keyType = kType;
   }
 
+  /**
+   * The hash this map uses for the key, array keys are hashed by their content
+   *
+   * @param key the key
+   * @return the hash
+   */
+  public int hashKey(Object key) {
+    return hash(key);
+  }
+
   @Override
   protected int hash(Object o) {
     if (o != null && o.getClass().isArray()) {
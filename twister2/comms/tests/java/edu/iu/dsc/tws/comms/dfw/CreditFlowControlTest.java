@@ -0,0 +1,424 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.channel.ChannelListener;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
+import edu.iu.dsc.tws.api.comms.messaging.MessageReceiver;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
+import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.config.Config;
+
+public class CreditFlowControlTest {
+  private static final int EDGE = 5;
+
+  private static final int WINDOW = 2;
+
+  private Config cfg = Config.newBuilder()
+      .put(CommunicationContext.CREDIT_WINDOW, WINDOW)
+      .build();
+
+  private Set<Integer> workers = new HashSet<>(Arrays.asList(0, 1));
+
+  @Test
+  public void testGrantAndExhaustion() {
+    RecordingChannel channel = new RecordingChannel();
+    CreditFlowControl control = new CreditFlowControl(channel, cfg, 0, EDGE, workers, workers);
+    // credits of all the operations are received on the reserved edge
+    Assert.assertTrue(channel.receives.containsKey(CreditChannel.CREDIT_EDGE));
+    Assert.assertTrue(CreditChannel.CREDIT_EDGE <= Short.MAX_VALUE);
+
+    Assert.assertTrue(control.acquire(1, 1));
+    Assert.assertTrue(control.acquire(1, 1));
+    Assert.assertFalse(control.isExhausted());
+
+    Assert.assertFalse(control.acquire(1, 1));
+    Assert.assertTrue(control.isExhausted());
+    Assert.assertFalse(control.acquire(1, 1));
+    Assert.assertEquals(1, control.getMetrics().getStalls());
+
+    // a send the channel refused gives back its credits
+    control.cancel(1, 1);
+    Assert.assertTrue(control.acquire(1, 1));
+    control.close();
+  }
+
+  @Test
+  public void testMessageLargerThanWindow() {
+    RecordingChannel channel = new RecordingChannel();
+    CreditFlowControl control = new CreditFlowControl(channel, cfg, 0, EDGE, workers, workers);
+    // without credits outstanding a large message can still go
+    Assert.assertTrue(control.acquire(1, WINDOW + 3));
+    Assert.assertFalse(control.acquire(1, 1));
+    control.close();
+  }
+
+  @Test
+  public void testReplenish() {
+    RecordingChannel senderChannel = new RecordingChannel();
+    RecordingChannel receiverChannel = new RecordingChannel();
+    CreditFlowControl sender = new CreditFlowControl(senderChannel, cfg, 0, EDGE, workers,
+        workers);
+    CreditFlowControl receiver = new CreditFlowControl(receiverChannel, cfg, 1, EDGE, workers,
+        workers);
+
+    Assert.assertTrue(sender.acquire(1, 2));
+    Assert.assertFalse(sender.acquire(1, 1));
+
+    // the receiving worker returns the credits after its tasks accept the messages
+    receiver.delivered(0, 2);
+    receiver.progress();
+    Assert.assertEquals(1, receiverChannel.sent.size());
+    ChannelMessage message = receiverChannel.sent.get(0);
+    Assert.assertEquals(CreditChannel.CREDIT_EDGE, message.getHeader().getEdge());
+    Assert.assertEquals(0, (int) receiverChannel.sentTo.get(0));
+    Assert.assertEquals(2, receiver.getMetrics().getCreditsReturned());
+
+    deliver(senderChannel, 1, message);
+    Assert.assertFalse(sender.isExhausted());
+    Assert.assertEquals(2, sender.getMetrics().getCreditsReceived());
+    Assert.assertTrue(sender.acquire(1, 2));
+
+    // nothing more is owed
+    receiver.progress();
+    Assert.assertEquals(1, receiverChannel.sent.size());
+    sender.close();
+    receiver.close();
+  }
+
+  @Test
+  public void testCreditsOfEdgesSharingTheChannel() {
+    RecordingChannel senderChannel = new RecordingChannel();
+    RecordingChannel receiverChannel = new RecordingChannel();
+    CreditFlowControl sender1 = new CreditFlowControl(senderChannel, cfg, 0, EDGE, workers,
+        workers);
+    CreditFlowControl sender2 = new CreditFlowControl(senderChannel, cfg, 0, EDGE + 1, workers,
+        workers);
+    CreditFlowControl receiver2 = new CreditFlowControl(receiverChannel, cfg, 1, EDGE + 1,
+        workers, workers);
+    // one set of receives serves both edges
+    Assert.assertEquals(1, senderChannel.receives.get(CreditChannel.CREDIT_EDGE).size());
+
+    Assert.assertTrue(sender1.acquire(1, 2));
+    Assert.assertTrue(sender2.acquire(1, 2));
+    Assert.assertFalse(sender1.acquire(1, 1));
+    Assert.assertFalse(sender2.acquire(1, 1));
+
+    receiver2.delivered(0, 2);
+    receiver2.progress();
+    deliver(senderChannel, 1, receiverChannel.sent.get(0));
+    Assert.assertTrue(sender1.isExhausted());
+    Assert.assertFalse(sender2.isExhausted());
+    Assert.assertTrue(sender2.acquire(1, 1));
+
+    // the receives are released with the last flow control of the channel
+    sender1.close();
+    Assert.assertTrue(senderChannel.released.isEmpty());
+    sender2.close();
+    Assert.assertEquals(1, senderChannel.released.size());
+    receiver2.close();
+  }
+
+  @Test
+  public void testMessageLargerThanWindowIsDelivered() {
+    Config config = Config.newBuilder()
+        .put(CommunicationContext.CREDIT_ENABLED, true)
+        .put(CommunicationContext.CREDIT_WINDOW, WINDOW)
+        .put(CommunicationContext.BUFFER_SIZE, 1024)
+        .put(CommunicationContext.SEND_BUFFERS_COUNT, 2)
+        .put(CommunicationContext.RECEIVE_BUFFERS_COUNT, 4)
+        .build();
+    Map<Integer, Set<Integer>> workerToIds = new HashMap<>();
+    Map<String, Set<Integer>> nodeToIds = new HashMap<>();
+    for (int w : workers) {
+      workerToIds.put(w, new HashSet<>(Collections.singletonList(w)));
+      nodeToIds.put("node-" + w, new HashSet<>(Collections.singletonList(w)));
+    }
+
+    Map<Integer, LinkedChannel> channels = new HashMap<>();
+    List<Object> received = new ArrayList<>();
+    List<OneToOne> ops = new ArrayList<>();
+    for (int w : workers) {
+      channels.put(w, new LinkedChannel(w, channels));
+    }
+    for (int w : workers) {
+      LogicalPlan plan = new LogicalPlan(workerToIds, new HashMap<>(), nodeToIds, w);
+      ops.add(new OneToOne(channels.get(w), Collections.singletonList(0),
+          Collections.singletonList(1), new RecordingReceiver(received), config,
+          MessageTypes.BYTE_ARRAY, plan, EDGE, MessageSchema.noSchema()));
+    }
+
+    // the message needs many more buffers than the window and the receive buffers
+    byte[] data = new byte[20 * 1024];
+    new Random(0).nextBytes(data);
+    Assert.assertTrue(ops.get(0).send(0, data, 0));
+    for (int i = 0; i < 10000 && received.isEmpty(); i++) {
+      for (OneToOne op : ops) {
+        op.progress();
+      }
+      for (LinkedChannel channel : channels.values()) {
+        channel.progress();
+      }
+    }
+    Assert.assertEquals(1, received.size());
+    Assert.assertArrayEquals(data, (byte[]) received.get(0));
+    for (OneToOne op : ops) {
+      op.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEdgeAboveReservedEdge() {
+    new CreditFlowControl(new RecordingChannel(), cfg, 0, CreditChannel.CREDIT_EDGE, workers,
+        workers);
+  }
+
+  /**
+   * Copy a credit message to a receive buffer of the channel and complete the receive
+   */
+  private static void deliver(RecordingChannel channel, int from, ChannelMessage message) {
+    ByteBuffer sent = message.getNormalBuffers().get(0).getByteBuffer();
+    Map<Integer, ChannelListener> listeners = channel.receives.get(CreditChannel.CREDIT_EDGE);
+    DataBuffer buffer = channel.receiveBuffers.get(from).poll();
+    buffer.getByteBuffer().put(sent.array(), 0, CreditChannel.MESSAGE_SIZE);
+    listeners.get(from).onReceiveComplete(from, CreditChannel.CREDIT_EDGE, buffer);
+    message.release();
+  }
+
+  private static class RecordingReceiver implements MessageReceiver {
+    private List<Object> received;
+
+    RecordingReceiver(List<Object> received) {
+      this.received = received;
+    }
+
+    @Override
+    public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    }
+
+    @Override
+    public boolean onMessage(int source, int path, int target, int flags, Object object) {
+      if ((flags & MessageFlags.SYNC_EMPTY) != MessageFlags.SYNC_EMPTY) {
+        received.add(object);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean progress() {
+      return false;
+    }
+
+    @Override
+    public boolean isComplete() {
+      return true;
+    }
+  }
+
+  /**
+   * Channels of workers in the same process. The buffers of a message are copied to the receive
+   * buffers the other worker posted, a message waits while there are no receive buffers.
+   */
+  private static class LinkedChannel implements TWSChannel {
+    private int worker;
+
+    private Map<Integer, LinkedChannel> channels;
+
+    private DataBufferPool pool = new DataBufferPool(Config.newBuilder().build(),
+        ByteBuffer::allocate);
+
+    /**
+     * Receive listeners and buffers, keyed by edge and worker
+     */
+    private Map<Integer, Map<Integer, ChannelListener>> listeners = new HashMap<>();
+
+    private Map<Integer, Map<Integer, Queue<DataBuffer>>> buffers = new HashMap<>();
+
+    private Queue<Object[]> sends = new ArrayDeque<>();
+
+    private int copied;
+
+    LinkedChannel(int worker, Map<Integer, LinkedChannel> channels) {
+      this.worker = worker;
+      this.channels = channels;
+    }
+
+    @Override
+    public boolean sendMessage(int id, ChannelMessage message, ChannelListener callback) {
+      sends.add(new Object[]{id, message, callback});
+      return true;
+    }
+
+    @Override
+    public boolean receiveMessage(int group, int id, int edge, ChannelListener callback,
+                                  Queue<DataBuffer> receiveBuffers) {
+      listeners.computeIfAbsent(edge, e -> new HashMap<>()).put(id, callback);
+      buffers.computeIfAbsent(edge, e -> new HashMap<>()).put(id, receiveBuffers);
+      return true;
+    }
+
+    @Override
+    public void progress() {
+      while (!sends.isEmpty()) {
+        Object[] send = sends.peek();
+        int to = (Integer) send[0];
+        ChannelMessage message = (ChannelMessage) send[1];
+        int edge = message.getHeader().getEdge();
+        LinkedChannel other = channels.get(to);
+        Queue<DataBuffer> receiveBuffers = other.buffers.get(edge).get(worker);
+        List<DataBuffer> sent = message.getNormalBuffers();
+        while (copied < sent.size()) {
+          DataBuffer buffer = receiveBuffers.poll();
+          if (buffer == null) {
+            return;
+          }
+          DataBuffer source = sent.get(copied++);
+          ByteBuffer bytes = source.getByteBuffer().duplicate();
+          bytes.clear();
+          bytes.limit(source.getSize());
+          buffer.getByteBuffer().clear();
+          buffer.getByteBuffer().put(bytes);
+          buffer.getByteBuffer().flip();
+          buffer.setSize(source.getSize());
+          other.listeners.get(edge).get(worker).onReceiveComplete(worker, edge, buffer);
+        }
+        sends.poll();
+        copied = 0;
+        ((ChannelListener) send[2]).onSendComplete(to, edge, message);
+      }
+    }
+
+    @Override
+    public void progressSends() {
+      progress();
+    }
+
+    @Override
+    public void progressReceives(int group) {
+    }
+
+    @Override
+    public boolean isComplete() {
+      return sends.isEmpty();
+    }
+
+    @Override
+    public ByteBuffer createBuffer(int capacity) {
+      return ByteBuffer.allocate(capacity);
+    }
+
+    @Override
+    public DataBufferPool getBufferPool() {
+      return pool;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void releaseBuffers(int wId, int e) {
+    }
+  }
+
+  private static class RecordingChannel implements TWSChannel {
+    private DataBufferPool pool = new DataBufferPool(Config.newBuilder().build(),
+        ByteBuffer::allocate);
+
+    /**
+     * Receive listeners, keyed by edge and worker
+     */
+    private Map<Integer, Map<Integer, ChannelListener>> receives = new HashMap<>();
+
+    private Map<Integer, Queue<DataBuffer>> receiveBuffers = new HashMap<>();
+
+    private List<ChannelMessage> sent = new ArrayList<>();
+
+    private List<Integer> sentTo = new ArrayList<>();
+
+    private List<Integer> released = new ArrayList<>();
+
+    @Override
+    public boolean sendMessage(int id, ChannelMessage message, ChannelListener callback) {
+      sent.add(message);
+      sentTo.add(id);
+      return true;
+    }
+
+    @Override
+    public boolean receiveMessage(int group, int id, int edge, ChannelListener callback,
+                                  Queue<DataBuffer> buffers) {
+      receives.computeIfAbsent(edge, e -> new HashMap<>()).put(id, callback);
+      receiveBuffers.put(id, buffers);
+      return true;
+    }
+
+    @Override
+    public void progress() {
+    }
+
+    @Override
+    public void progressSends() {
+    }
+
+    @Override
+    public void progressReceives(int group) {
+    }
+
+    @Override
+    public boolean isComplete() {
+      return true;
+    }
+
+    @Override
+    public ByteBuffer createBuffer(int capacity) {
+      return ByteBuffer.allocate(capacity);
+    }
+
+    @Override
+    public DataBufferPool getBufferPool() {
+      return pool;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void releaseBuffers(int wId, int e) {
+      released.add(wId);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferPool;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+public class DataBufferPoolTest {
+
+  @Test
+  public void testAcquireRelease() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 0, 2, false);
+    DataBuffer first = pool.acquire(64);
+    Assert.assertEquals(64, first.getCapacity());
+    first.getByteBuffer().putInt(10);
+    first.setSize(4);
+    pool.release(first);
+
+    // the released buffer is reused and it is cleared
+    DataBuffer second = pool.acquire(64);
+    Assert.assertSame(first, second);
+    Assert.assertEquals(0, second.getByteBuffer().position());
+    Assert.assertEquals(0, second.getSize());
+    // a different size gets a new buffer
+    Assert.assertEquals(128, pool.acquire(128).getCapacity());
+    Assert.assertEquals(192, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void testThreadCacheOverflow() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 0, 1, false);
+    List<DataBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      buffers.add(pool.acquire(32));
+    }
+    for (DataBuffer buffer : buffers) {
+      pool.release(buffer);
+    }
+    Assert.assertEquals(96, pool.getFreeBytes());
+    // the buffers beyond the thread cache are shared, so no new buffers are allocated
+    for (int i = 0; i < 3; i++) {
+      Assert.assertTrue(buffers.contains(pool.acquire(32)));
+    }
+    Assert.assertEquals(96, pool.getAllocatedBytes());
+    Assert.assertEquals(0, pool.getFreeBytes());
+  }
+
+  @Test
+  public void testByteCap() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 128, 2, false);
+    pool.acquire(64);
+    pool.acquire(64);
+    try {
+      pool.acquire(64);
+      Assert.fail("The pool should not allocate more than the cap");
+    } catch (Twister2RuntimeException e) {
+      // expected
+    }
+    Assert.assertEquals(128, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void testTrimOtherSizes() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 128, 1, false);
+    DataBuffer small1 = pool.acquire(32);
+    DataBuffer small2 = pool.acquire(32);
+    pool.acquire(64);
+    // one goes to the thread cache and the other to the shared list
+    pool.release(small1);
+    pool.release(small2);
+
+    // both free buffers are dropped to make space
+    DataBuffer large = pool.acquire(64);
+    Assert.assertEquals(64, large.getCapacity());
+    Assert.assertEquals(128, pool.getAllocatedBytes());
+    Assert.assertEquals(0, pool.getFreeBytes());
+  }
+
+  @Test
+  public void testReclaimFromOtherThreads() throws InterruptedException {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 128, 4, false);
+    AtomicReference<DataBuffer> released = new AtomicReference<>();
+    // the buffers released by this thread stay in its cache after it finishes
+    Thread other = new Thread(() -> {
+      DataBuffer same = pool.acquire(64);
+      DataBuffer different = pool.acquire(32);
+      pool.release(same);
+      pool.release(different);
+      released.set(same);
+    });
+    other.start();
+    other.join();
+    Assert.assertEquals(96, pool.getFreeBytes());
+
+    // a buffer of the same size is taken from the cache of the other thread
+    Assert.assertSame(released.get(), pool.acquire(64));
+    Assert.assertEquals(96, pool.getAllocatedBytes());
+    // a buffer of another size is dropped from the cache of the other thread
+    Assert.assertEquals(64, pool.acquire(64).getCapacity());
+    Assert.assertEquals(128, pool.getAllocatedBytes());
+    Assert.assertEquals(0, pool.getFreeBytes());
+  }
+
+  @Test
+  public void testLeakDetection() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 0, 2, true);
+    DataBuffer returned = pool.acquire(16);
+    DataBuffer kept = pool.acquire(16);
+    List<DataBuffer> owned = new ArrayList<>();
+    owned.add(returned);
+    owned.add(kept);
+    Assert.assertEquals(2, pool.getAcquiredCount());
+
+    // only the free buffers go back to the pool, the kept one is still acquired
+    pool.releaseAll(owned, Collections.singletonList(returned), "test");
+    Assert.assertEquals(1, pool.getAcquiredCount());
+    Assert.assertEquals(16, pool.getFreeBytes());
+
+    pool.release(kept);
+    Assert.assertEquals(0, pool.getAcquiredCount());
+  }
+
+  @Test
+  public void testPooledBuffersBorrowedOnDemand() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 0, 4, false);
+    PooledBufferQueue buffers = new PooledBufferQueue(pool, 64, 2, 0);
+    // nothing is taken from the pool until a buffer is needed
+    Assert.assertEquals(0, pool.getAllocatedBytes());
+    Assert.assertEquals(2, buffers.size());
+    DataBuffer first = buffers.poll();
+    DataBuffer second = buffers.poll();
+    Assert.assertNotNull(second);
+    Assert.assertNull(buffers.poll());
+    Assert.assertTrue(buffers.isEmpty());
+
+    // given back buffers go to the pool
+    buffers.offer(first);
+    Assert.assertEquals(64, pool.getFreeBytes());
+    Assert.assertSame(first, buffers.poll());
+    buffers.close();
+    Assert.assertNull(buffers.poll());
+    buffers.offer(first);
+    buffers.offer(second);
+    Assert.assertEquals(128, pool.getFreeBytes());
+  }
+
+  @Test
+  public void testPooledReceiveBuffersPostedOneAtATime() {
+    DataBufferPool pool = new DataBufferPool(ByteBuffer::allocate, 0, 4, false);
+    PooledBufferQueue buffers = new PooledBufferQueue(pool, 64, 3, 1);
+    DataBuffer first = buffers.poll();
+    // an idle receive holds a single buffer
+    Assert.assertNull(buffers.poll());
+    Assert.assertEquals(64, pool.getAllocatedBytes());
+
+    buffers.received(first);
+    DataBuffer second = buffers.poll();
+    buffers.received(second);
+    DataBuffer third = buffers.poll();
+    buffers.received(third);
+    // all the buffers have data that is not deserialized yet
+    Assert.assertNull(buffers.poll());
+
+    buffers.offer(first);
+    Assert.assertNotNull(buffers.poll());
+  }
+}
@@ -0,0 +1,61 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveBatchControllerTest {
+
+  private static final long MILLI = 1000000L;
+
+  @Test
+  public void testLowRateSendsImmediately() {
+    AdaptiveBatchController controller = new AdaptiveBatchController(MILLI, 16);
+    long now = 0;
+    for (int i = 0; i < 10; i++) {
+      now += 10 * MILLI;
+      controller.arrived(now, true);
+      Assert.assertEquals(1, controller.batchSize());
+      Assert.assertTrue(controller.isDue(now, 1));
+    }
+  }
+
+  @Test
+  public void testHighRateGrowsBatch() {
+    AdaptiveBatchController controller = new AdaptiveBatchController(MILLI, 16);
+    long now = 0;
+    controller.arrived(now, true);
+    for (int i = 1; i < 8; i++) {
+      now += 10000;
+      controller.arrived(now, false);
+    }
+    // 100 messages are expected within the delay, so we are bounded by the max batch
+    Assert.assertEquals(16, controller.batchSize());
+    Assert.assertFalse(controller.isDue(now, 8));
+    Assert.assertTrue(controller.isDue(now, 16));
+  }
+
+  @Test
+  public void testDeadline() {
+    AdaptiveBatchController controller = new AdaptiveBatchController(MILLI, 16);
+    long now = 0;
+    controller.arrived(now, true);
+    for (int i = 1; i < 4; i++) {
+      now += 1000;
+      controller.arrived(now, false);
+    }
+    Assert.assertFalse(controller.isDue(now, 4));
+    Assert.assertTrue(controller.isDue(MILLI, 4));
+    Assert.assertFalse(controller.isDue(2 * MILLI, 0));
+  }
+}
@@ -25,6 +25,7 @@ import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
 import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.comms.dfw.InMessage;
 import edu.iu.dsc.tws.comms.dfw.OutMessage;
@@ -90,7 +91,42 @@ public class DataSerializerTest {
     Assert.assertArrayEquals((int[]) inMessage.getDeserializedData(), (int[]) data);
   }
 
+  @Test
+  public void testZeroCopyDoubleMessage() {
+    int numBuffers = 10;
+    int size = 1000;
+    MessageType type = MessageTypes.DOUBLE_ARRAY;
+    double[] data = (double[]) createData(100, type);
+    InMessage inMessage = singleValueCase(numBuffers, size, type, data, true);
+
+    Assert.assertTrue(inMessage.getDeserializedData() instanceof DataBufferView);
+    DataBufferView view = (DataBufferView) inMessage.getDeserializedData();
+    Assert.assertEquals(data.length, view.length());
+    for (int i = 0; i < data.length; i++) {
+      Assert.assertEquals(data[i], view.asDoubleBuffer().get(i), .01);
+    }
+    Assert.assertArrayEquals(data, (double[]) view.toArray(), .01);
+    view.release();
+    Assert.assertTrue(view.isReleased());
+  }
+
+  @Test
+  public void testZeroCopyLargeMessageIsCopied() {
+    int numBuffers = 10;
+    int size = 1000;
+    MessageType type = MessageTypes.INTEGER_ARRAY;
+    Object data = createData(800, type);
+    InMessage inMessage = singleValueCase(numBuffers, size, type, data, true);
+    // the message spans many buffers so it cannot be a view
+    Assert.assertArrayEquals((int[]) inMessage.getDeserializedData(), (int[]) data);
+  }
+
   private InMessage singleValueCase(int numBuffers, int size, MessageType type, Object data) {
+    return singleValueCase(numBuffers, size, type, data, false);
+  }
+
+  private InMessage singleValueCase(int numBuffers, int size, MessageType type, Object data,
+                                    boolean zeroCopy) {
     BlockingQueue<DataBuffer> bufferQueue = createDataQueue(numBuffers, size);
 
     OutMessage outMessage = new OutMessage(0, 1, -1, 10, 0, null,
@@ -106,7 +142,7 @@ public class DataSerializerTest {
       messages.add(ch);
     }
 
-    DataDeserializer deserializer = new DataDeserializer();
+    DataDeserializer deserializer = new DataDeserializer(zeroCopy);
     deserializer.init(Config.newBuilder().build());
 
     MessageHeader header = deserializer.buildHeader(
@@ -0,0 +1,122 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.MessageHeader;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBuffer;
+import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.dfw.InMessage;
+import edu.iu.dsc.tws.comms.dfw.OutMessage;
+
+public class FixedSchemaKeyedSerializerTest extends BaseSerializeTest {
+  private static final MessageSchema SCHEMA = MessageSchema.ofSize(
+      Integer.BYTES + Double.BYTES, Integer.BYTES);
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testBuildPrimitiveList() {
+    // different buffer sizes so that records are split between the buffers at different places
+    for (int size = 32; size < 64; size++) {
+      List<Object> data = new AggregatedObjects<>();
+      for (int i = 0; i < 100; i++) {
+        data.add(new Tuple<>(i, i * 0.5));
+      }
+
+      InMessage inMessage = listCase(64, size, data);
+      List<Object> result = (List<Object>) inMessage.getDeserializedData();
+      Assert.assertEquals(data.size(), result.size());
+      for (int i = 0; i < result.size(); i++) {
+        Tuple deserialized = (Tuple) result.get(i);
+        Tuple d = (Tuple) data.get(i);
+        Assert.assertEquals(d.getKey(), deserialized.getKey());
+        Assert.assertEquals(d.getValue(), deserialized.getValue());
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testForwardPrimitiveTuples() {
+    List<Object> data = new AggregatedObjects<>();
+    for (int i = 0; i < 100; i++) {
+      data.add(new Tuple<>(i, i * 0.5));
+    }
+
+    // received records are sent again from their bits, as a partial receiver does
+    List<Object> received = (List<Object>) listCase(64, 40, data).getDeserializedData();
+    List<Object> forwarded = (List<Object>) listCase(64, 52,
+        new AggregatedObjects<>(received)).getDeserializedData();
+    Assert.assertEquals(data.size(), forwarded.size());
+    for (int i = 0; i < forwarded.size(); i++) {
+      Assert.assertTrue(forwarded.get(i) instanceof PrimitiveTuple);
+      Tuple deserialized = (Tuple) forwarded.get(i);
+      Tuple d = (Tuple) data.get(i);
+      Assert.assertEquals(d.getKey(), deserialized.getKey());
+      Assert.assertEquals(d.getValue(), deserialized.getValue());
+    }
+
+    // a key set on the tuple replaces the primitive
+    Tuple tuple = (Tuple) forwarded.get(1);
+    tuple.setKey(7);
+    Assert.assertEquals(7, tuple.getKey());
+    Assert.assertEquals(0.5, tuple.getValue());
+  }
+
+  @Test
+  public void testBuildPrimitiveSingle() {
+    Tuple<Integer, Double> data = new Tuple<>(10, 3.5);
+    InMessage inMessage = listCase(4, 1024, data);
+    Tuple result = (Tuple) inMessage.getDeserializedData();
+    Assert.assertEquals(data.getKey(), result.getKey());
+    Assert.assertEquals(data.getValue(), result.getValue());
+  }
+
+  private InMessage listCase(int numBuffers, int size, Object data) {
+    BlockingQueue<DataBuffer> bufferQueue = createDataQueue(numBuffers, size);
+    FixedSchemaKeyedDataSerializer serializer = new FixedSchemaKeyedDataSerializer(SCHEMA);
+    serializer.init(Config.newBuilder().build(), bufferQueue);
+    FixedSchemaKeyedDataDeSerializer deserializer = new FixedSchemaKeyedDataDeSerializer(SCHEMA);
+    deserializer.init(Config.newBuilder().build());
+
+    OutMessage outMessage = new OutMessage(0, 1, -1, 10, 0, null,
+        null, MessageTypes.DOUBLE, MessageTypes.INTEGER, null, data);
+
+    List<ChannelMessage> messages = new ArrayList<>();
+    while (outMessage.getSendState() != OutMessage.SendState.SERIALIZED) {
+      ChannelMessage ch = serializer.build(data, outMessage);
+      messages.add(ch);
+    }
+
+    MessageHeader header = deserializer.buildHeader(
+        messages.get(0).getBuffers().get(0), 1);
+    InMessage inMessage = new InMessage(0, MessageTypes.DOUBLE, null, header);
+    inMessage.setKeyType(MessageTypes.INTEGER);
+    for (ChannelMessage channelMessage : messages) {
+      for (DataBuffer dataBuffer : channelMessage.getBuffers()) {
+        inMessage.addBufferAndCalculate(dataBuffer);
+      }
+    }
+    deserializer.build(inMessage, 1);
+    return inMessage;
+  }
+}
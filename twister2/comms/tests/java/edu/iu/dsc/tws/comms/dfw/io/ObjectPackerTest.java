@@ -0,0 +1,104 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io;
+
+import java.nio.ByteBuffer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoSerializable;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.packing.DataPacker;
+import edu.iu.dsc.tws.api.comms.packing.types.ObjectPacker;
+import edu.iu.dsc.tws.api.util.KryoSerializer;
+
+public class ObjectPackerTest {
+
+  @Test
+  public void testSerializedOnceAcrossBuffers() {
+    Counted object = new Counted(1000);
+    DataPacker<Object, byte[]> packer = ObjectPacker.getInstance();
+    SerializeState state = new SerializeState();
+
+    Counted.writes = 0;
+    int length = packer.determineLength(object, state);
+    state.getActive().setTotalToCopy(length);
+
+    // copy the object through small buffers, so it is written in many parts
+    ByteBuffer all = ByteBuffer.allocate(length);
+    ByteBuffer part = ByteBuffer.allocate(64);
+    boolean completed = false;
+    while (!completed) {
+      part.clear();
+      completed = DataPackerProxy.writeDataToBuffer(packer, object, part, state);
+      part.flip();
+      all.put(part);
+    }
+    Assert.assertEquals(1, Counted.writes);
+    Assert.assertFalse(all.hasRemaining());
+
+    Counted read = (Counted) KryoSerializer.local().deserialize(all.array());
+    Assert.assertArrayEquals(object.values, read.values);
+  }
+
+  @Test
+  public void testSerializedOnceWithoutLength() {
+    // fixed schema serializers write without determining the length first
+    Counted object = new Counted(100);
+    DataPacker<Object, byte[]> packer = ObjectPacker.getInstance();
+    int length = packer.packToByteArray(object).length;
+    SerializeState state = new SerializeState();
+    state.getActive().setTotalToCopy(length);
+
+    Counted.writes = 0;
+    ByteBuffer part = ByteBuffer.allocate(length / 3 + 1);
+    int parts = 0;
+    while (!DataPackerProxy.writeDataToBuffer(packer, object, part, state)) {
+      part.clear();
+      parts++;
+    }
+    Assert.assertTrue(parts > 0);
+    Assert.assertEquals(1, Counted.writes);
+  }
+
+  public static class Counted implements KryoSerializable {
+    private static int writes;
+
+    private int[] values;
+
+    public Counted() {
+    }
+
+    Counted(int size) {
+      values = new int[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = i * 31;
+      }
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output) {
+      writes++;
+      output.writeInt(values.length);
+      output.writeInts(values);
+    }
+
+    @Override
+    public void read(Kryo kryo, Input input) {
+      values = input.readInts(input.readInt());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AllReduceRoundTest {
+
+  private static final int LENGTH = 37;
+
+  @Test
+  public void testRing() {
+    for (int p = 1; p <= 9; p++) {
+      runRound(p, false, false);
+      runRound(p, false, true);
+    }
+  }
+
+  @Test
+  public void testHalvingDoubling() {
+    for (int p = 1; p <= 9; p++) {
+      runRound(p, true, false);
+      runRound(p, true, true);
+    }
+  }
+
+  @Test
+  public void testSplitAndConcat() {
+    int[] array = {1, 2, 3, 4, 5, 6, 7};
+    Object[] parts = AllReduceRound.split(array, 3);
+    Assert.assertEquals(3, parts.length);
+    Assert.assertArrayEquals(array, (int[]) AllReduceRound.concat(int.class, parts));
+
+    Object[] empty = AllReduceRound.split(new int[0], 4);
+    Assert.assertEquals(4, empty.length);
+    Assert.assertEquals(0, ((int[]) AllReduceRound.concat(int.class, empty)).length);
+  }
+
+  private void runRound(int p, boolean halving, boolean withEmpty) {
+    Random random = new Random(p);
+    int[] participants = new int[p];
+    int[][] inputs = new int[p][];
+    int[] expected = new int[LENGTH];
+    for (int i = 0; i < p; i++) {
+      participants[i] = 100 + i * 3;
+      if (withEmpty && i % 2 == 1) {
+        inputs[i] = new int[0];
+        continue;
+      }
+      inputs[i] = new int[LENGTH];
+      for (int j = 0; j < LENGTH; j++) {
+        inputs[i][j] = random.nextInt(1000);
+        expected[j] += inputs[i][j];
+      }
+    }
+
+    Map<String, Queue<Object>> channels = new HashMap<>();
+    AllReduceRound[] rounds = new AllReduceRound[p];
+    for (int i = 0; i < p; i++) {
+      AllReduceExchange exchange = new TestExchange(participants[i], channels);
+      rounds[i] = halving
+          ? new HalvingDoublingAllReduceRound(inputs[i], i, participants, int.class, exchange)
+          : new RingAllReduceRound(inputs[i], i, participants, int.class, exchange);
+    }
+
+    boolean progressed = true;
+    while (progressed) {
+      progressed = false;
+      for (AllReduceRound round : rounds) {
+        progressed |= round.progress();
+      }
+    }
+
+    for (int i = 0; i < p; i++) {
+      Assert.assertTrue("Round not done p=" + p + " rank=" + i, rounds[i].isDone());
+      int[] result = (int[]) rounds[i].getResult();
+      if (withEmpty && p == 1) {
+        Assert.assertArrayEquals(inputs[0], result);
+      } else {
+        Assert.assertArrayEquals("p=" + p + " rank=" + i, expected, result);
+      }
+    }
+    for (Queue<Object> queue : channels.values()) {
+      Assert.assertTrue(queue.isEmpty());
+    }
+  }
+
+  private static final class TestExchange implements AllReduceExchange {
+    private final int task;
+
+    private final Map<String, Queue<Object>> channels;
+
+    private TestExchange(int task, Map<String, Queue<Object>> channels) {
+      this.task = task;
+      this.channels = channels;
+    }
+
+    @Override
+    public void send(int target, Object data) {
+      channels.computeIfAbsent(task + "-" + target, k -> new ArrayDeque<>()).add(data);
+    }
+
+    @Override
+    public Object poll(int source) {
+      Queue<Object> queue = channels.get(source + "-" + task);
+      return queue == null ? null : queue.poll();
+    }
+
+    @Override
+    public Object reduce(Object data1, Object data2) {
+      int[] a1 = (int[]) data1;
+      int[] a2 = (int[]) data2;
+      if (a1.length == 0) {
+        return a2;
+      } else if (a2.length == 0) {
+        return a1;
+      }
+      int[] result = Arrays.copyOf(a1, a1.length);
+      for (int i = 0; i < a2.length; i++) {
+        result[i] += a2[i];
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,302 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.dfw.io.AggregatedObjects;
+import edu.iu.dsc.tws.comms.utils.THashMap;
+
+public class CombiningPartialReceiverTest {
+  private static final int SOURCE_1 = 1;
+  private static final int SOURCE_2 = 2;
+  private static final int TARGET_1 = 10;
+  private static final int TARGET_2 = 11;
+
+  /**
+   * The combined values sent to each target, keyed by the tuple key
+   */
+  private Map<Integer, Map<Object, Object>> sent;
+
+  /**
+   * Number of data messages sent to each target
+   */
+  private Map<Integer, Integer> dataMessages;
+
+  /**
+   * The targets each source sent a sync to
+   */
+  private Map<Integer, Set<Integer>> syncs;
+
+  @Before
+  public void setUp() {
+    sent = new HashMap<>();
+    dataMessages = new HashMap<>();
+    syncs = new HashMap<>();
+  }
+
+  @Test
+  public void testCombineWithinBatch() {
+    for (MessageType keyType : new MessageType[]{MessageTypes.INTEGER, MessageTypes.OBJECT}) {
+      setUp();
+      CombiningPartialReceiver receiver = newReceiver(keyType, 100);
+
+      AggregatedObjects<Object> batch = new AggregatedObjects<>();
+      batch.add(new Tuple<>(1, 1));
+      batch.add(new Tuple<>(2, 10));
+      batch.add(new Tuple<>(1, 2));
+      Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0, batch));
+      Assert.assertTrue(receiver.onMessage(SOURCE_2, 0, TARGET_1, 0, new Tuple<>(1, 4)));
+      Assert.assertTrue(receiver.onMessage(SOURCE_2, 0, TARGET_1, 0, new Tuple<>(2, 20)));
+      receiver.progress();
+      // the values are only kept in the tables until the sources finish
+      Assert.assertTrue(sent.isEmpty());
+
+      sync(receiver);
+      Assert.assertEquals(1, (int) dataMessages.get(TARGET_1));
+      Map<Object, Object> expected = new HashMap<>();
+      expected.put(1, 7);
+      expected.put(2, 30);
+      Assert.assertEquals(expected, sent.get(TARGET_1));
+      Assert.assertTrue(receiver.isComplete());
+    }
+  }
+
+  @Test
+  public void testCombineArrayKeys() {
+    for (MessageType keyType : new MessageType[]{MessageTypes.INTEGER_ARRAY,
+        MessageTypes.OBJECT}) {
+      setUp();
+      CombiningPartialReceiver receiver = newReceiver(keyType, 100);
+      // equal keys are different array instances
+      Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0,
+          new Tuple<>(new int[]{1, 2}, 1)));
+      Assert.assertTrue(receiver.onMessage(SOURCE_2, 0, TARGET_1, 0,
+          new Tuple<>(new int[]{1, 2}, 2)));
+      Assert.assertTrue(receiver.onMessage(SOURCE_2, 0, TARGET_1, 0,
+          new Tuple<>(new int[]{3}, 4)));
+      sync(receiver);
+
+      Map<Object, Object> values = sent.get(TARGET_1);
+      Assert.assertEquals(2, values.size());
+      Assert.assertEquals(3, values.get(new int[]{1, 2}));
+      Assert.assertEquals(4, values.get(new int[]{3}));
+      Assert.assertTrue(receiver.isComplete());
+    }
+  }
+
+  @Test
+  public void testFlushOnSync() {
+    CombiningPartialReceiver receiver = newReceiver(MessageTypes.INTEGER, 100);
+    Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0, new Tuple<>(1, 1)));
+    Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_2, 0, new Tuple<>(2, 1)));
+
+    // one source finishing is not enough, the other one can still add to the same keys
+    syncSource(receiver, SOURCE_1);
+    receiver.progress();
+    Assert.assertTrue(sent.isEmpty());
+    Assert.assertTrue(syncs.isEmpty());
+
+    Assert.assertTrue(receiver.onMessage(SOURCE_2, 0, TARGET_1, 0, new Tuple<>(1, 5)));
+    syncSource(receiver, SOURCE_2);
+    receiver.progress();
+    receiver.progress();
+
+    Assert.assertEquals(Collections.singletonMap(1, 6), sent.get(TARGET_1));
+    Assert.assertEquals(Collections.singletonMap(2, 1), sent.get(TARGET_2));
+    // the partial aggregates go out before the syncs
+    for (int source : new int[]{SOURCE_1, SOURCE_2}) {
+      Assert.assertEquals(new HashSet<>(Arrays.asList(TARGET_1, TARGET_2)), syncs.get(source));
+    }
+    Assert.assertTrue(receiver.isComplete());
+  }
+
+  @Test
+  public void testFlushWhenTooManyKeys() {
+    CombiningPartialReceiver receiver = newReceiver(MessageTypes.INTEGER, 2);
+    for (int i = 0; i < 3; i++) {
+      Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0, new Tuple<>(i, 1)));
+    }
+    receiver.progress();
+    // the tables are flushed once they hold more than the maximum number of keys
+    Assert.assertEquals(3, sent.get(TARGET_1).size());
+
+    Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0, new Tuple<>(0, 1)));
+    sync(receiver);
+    Assert.assertEquals(2, (int) dataMessages.get(TARGET_1));
+    Assert.assertEquals(2, sent.get(TARGET_1).get(0));
+  }
+
+  @Test
+  public void testEmptyTarget() {
+    CombiningPartialReceiver receiver = newReceiver(MessageTypes.INTEGER, 100);
+    Assert.assertTrue(receiver.onMessage(SOURCE_1, 0, TARGET_1, 0, new Tuple<>(1, 1)));
+    sync(receiver);
+
+    // the target without values only gets the syncs
+    Assert.assertNull(sent.get(TARGET_2));
+    Assert.assertNull(dataMessages.get(TARGET_2));
+    Assert.assertTrue(syncs.get(SOURCE_1).contains(TARGET_2));
+    Assert.assertTrue(syncs.get(SOURCE_2).contains(TARGET_2));
+    Assert.assertTrue(receiver.isComplete());
+
+    // nothing is left for the next run
+    receiver.clean();
+    setUp();
+    sync(receiver);
+    Assert.assertTrue(sent.isEmpty());
+    Assert.assertTrue(receiver.isComplete());
+  }
+
+  private CombiningPartialReceiver newReceiver(MessageType keyType, int maxKeys) {
+    CombiningPartialReceiver receiver = new CombiningPartialReceiver(new ReduceFunction() {
+      @Override
+      public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> ids) {
+      }
+
+      @Override
+      public Object reduce(Object t1, Object t2) {
+        return (Integer) t1 + (Integer) t2;
+      }
+    });
+    // send the queued partial aggregates as soon as there is more than one
+    Config cfg = Config.newBuilder()
+        .put(CommunicationContext.COMBINER_MAX_KEYS, maxKeys)
+        .put(CommunicationContext.MESSAGE_GROUPING_SIZE, 1)
+        .build();
+    Map<Integer, List<Integer>> expected = new HashMap<>();
+    expected.put(TARGET_1, Arrays.asList(SOURCE_1, SOURCE_2));
+    expected.put(TARGET_2, Arrays.asList(SOURCE_1, SOURCE_2));
+    receiver.init(cfg, new RecordingOperation(keyType), expected);
+    return receiver;
+  }
+
+  private void sync(CombiningPartialReceiver receiver) {
+    syncSource(receiver, SOURCE_1);
+    syncSource(receiver, SOURCE_2);
+    receiver.progress();
+    receiver.progress();
+  }
+
+  private void syncSource(CombiningPartialReceiver receiver, int source) {
+    for (int target : new int[]{TARGET_1, TARGET_2}) {
+      Assert.assertTrue(receiver.onMessage(source, 0, target, MessageFlags.SYNC_EMPTY,
+          new byte[1]));
+    }
+  }
+
+  private class RecordingOperation implements DataFlowOperation {
+    private final LogicalPlan plan;
+
+    private final MessageType keyType;
+
+    RecordingOperation(MessageType keyType) {
+      this.keyType = keyType;
+      Map<Integer, Set<Integer>> workerToLogicalId = new HashMap<>();
+      workerToLogicalId.put(0, new HashSet<>(Arrays.asList(SOURCE_1, SOURCE_2, TARGET_1,
+          TARGET_2)));
+      this.plan = new LogicalPlan(workerToLogicalId, Collections.emptyMap(),
+          Collections.emptyMap(), 0);
+    }
+
+    @Override
+    public boolean sendPartial(int source, Object message, int flags) {
+      return false;
+    }
+
+    @Override
+    public boolean send(int source, Object message, int flags) {
+      return false;
+    }
+
+    @Override
+    public boolean send(int source, Object message, int flags, int target) {
+      return false;
+    }
+
+    @Override
+    public boolean sendPartial(int source, Object message, int flags, int target) {
+      if ((flags & MessageFlags.SYNC_EMPTY) == MessageFlags.SYNC_EMPTY) {
+        syncs.computeIfAbsent(source, s -> new HashSet<>()).add(target);
+        return true;
+      }
+      // data after the sync of a source would be lost
+      Assert.assertFalse(syncs.containsKey(source) && syncs.get(source).contains(target));
+      dataMessages.merge(target, 1, Integer::sum);
+      Map<Object, Object> values = sent.computeIfAbsent(target,
+          t -> new THashMap<>(MessageTypes.OBJECT));
+      for (Object o : (List) message) {
+        Tuple tuple = (Tuple) o;
+        values.merge(tuple.getKey(), tuple.getValue(), (v1, v2) -> (Integer) v1 + (Integer) v2);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean progress() {
+      return false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public LogicalPlan getLogicalPlan() {
+      return plan;
+    }
+
+    @Override
+    public String getUniqueId() {
+      return "test";
+    }
+
+    @Override
+    public MessageType getKeyType() {
+      return keyType;
+    }
+
+    @Override
+    public Set<Integer> getSources() {
+      return new HashSet<>(Arrays.asList(SOURCE_1, SOURCE_2));
+    }
+
+    @Override
+    public Set<Integer> getTargets() {
+      return new HashSet<>(Arrays.asList(TARGET_1, TARGET_2));
+    }
+  }
+}
@@ -0,0 +1,220 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.dfw.io.reduce;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.messaging.ChannelMessage;
+import edu.iu.dsc.tws.api.comms.messaging.MessageDirection;
+import edu.iu.dsc.tws.api.comms.messaging.MessageFlags;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataBufferView;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.comms.functions.reduction.ReduceOperationFunction;
+
+public class ReduceBatchReceiverTest {
+  private static final int TARGET = 10;
+
+  /**
+   * Number of channel messages released, these hold the receive buffers of the views
+   */
+  private int releasedMessages;
+
+  /**
+   * The values sent by the receiver
+   */
+  private List<Object> sent;
+
+  @Before
+  public void setUp() {
+    releasedMessages = 0;
+    sent = new ArrayList<>();
+  }
+
+  @Test
+  public void testReduceViews() {
+    ReduceBatchPartialReceiver receiver = new ReduceBatchPartialReceiver(TARGET,
+        new ReduceOperationFunction(Op.SUM, MessageTypes.DOUBLE_ARRAY));
+    init(receiver);
+    Assert.assertTrue(receiver.acceptsBufferViews());
+
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, doubleView(1, 2, 3)));
+    Assert.assertTrue(receiver.onMessage(2, 0, TARGET, 0, doubleView(10, 20, 30)));
+    receiver.progress();
+    // both views are reduced and their buffers are returned before the sync
+    Assert.assertEquals(2, releasedMessages);
+    Assert.assertTrue(sent.isEmpty());
+
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, doubleView(100, 200, 300)));
+    sync(receiver);
+    Assert.assertEquals(3, releasedMessages);
+    Assert.assertEquals(1, sent.size());
+    Assert.assertArrayEquals(new double[]{111, 222, 333}, (double[]) sent.get(0), 0.0);
+  }
+
+  @Test
+  public void testReduceIntViewWithArray() {
+    ReduceBatchPartialReceiver receiver = new ReduceBatchPartialReceiver(TARGET,
+        new ReduceOperationFunction(Op.MAX, MessageTypes.INTEGER_ARRAY));
+    init(receiver);
+
+    // local messages are not serialized, so arrays and views are mixed
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, new int[]{5, 1}));
+    ByteBuffer buffer = buffer(2 * Integer.BYTES);
+    buffer.putInt(3).putInt(7);
+    Assert.assertTrue(receiver.onMessage(2, 0, TARGET, 0,
+        view(buffer, MessageTypes.INTEGER_ARRAY)));
+    sync(receiver);
+    Assert.assertEquals(1, releasedMessages);
+    Assert.assertArrayEquals(new int[]{5, 7}, (int[]) sent.get(0));
+  }
+
+  @Test
+  public void testOtherFunctionsGetArrays() {
+    ReduceFunction function = new ReduceFunction() {
+      @Override
+      public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> ids) {
+      }
+
+      @Override
+      public Object reduce(Object t1, Object t2) {
+        double[] d1 = (double[]) t1;
+        double[] d2 = (double[]) t2;
+        return new double[]{d1[0] + d2[0]};
+      }
+    };
+    ReduceBatchPartialReceiver receiver = new ReduceBatchPartialReceiver(TARGET, function);
+    init(receiver);
+
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, doubleView(1)));
+    Assert.assertTrue(receiver.onMessage(2, 0, TARGET, 0, doubleView(2)));
+    sync(receiver);
+    Assert.assertEquals(2, releasedMessages);
+    Assert.assertArrayEquals(new double[]{3}, (double[]) sent.get(0), 0.0);
+  }
+
+  @Test
+  public void testCleanReleasesQueuedViews() {
+    ReduceBatchPartialReceiver receiver = new ReduceBatchPartialReceiver(TARGET,
+        new ReduceOperationFunction(Op.SUM, MessageTypes.DOUBLE_ARRAY));
+    init(receiver);
+
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, doubleView(1)));
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, 0, doubleView(2)));
+    Assert.assertEquals(0, releasedMessages);
+    receiver.clean();
+    Assert.assertEquals(2, releasedMessages);
+  }
+
+  private void init(ReduceBatchReceiver receiver) {
+    Map<Integer, List<Integer>> expected = new HashMap<>();
+    expected.put(TARGET, Arrays.asList(1, 2));
+    receiver.init(Config.newBuilder().build(), new RecordingOperation(), expected);
+  }
+
+  private void sync(ReduceBatchReceiver receiver) {
+    Assert.assertTrue(receiver.onMessage(1, 0, TARGET, MessageFlags.SYNC_EMPTY, new byte[1]));
+    Assert.assertTrue(receiver.onMessage(2, 0, TARGET, MessageFlags.SYNC_EMPTY, new byte[1]));
+    receiver.progress();
+  }
+
+  private DataBufferView doubleView(double... values) {
+    ByteBuffer buffer = buffer(values.length * Double.BYTES);
+    for (double v : values) {
+      buffer.putDouble(v);
+    }
+    return view(buffer, MessageTypes.DOUBLE_ARRAY);
+  }
+
+  private ByteBuffer buffer(int length) {
+    // leave space for a header so that the view does not start at the beginning
+    ByteBuffer buffer = ByteBuffer.allocate(length + 16)
+        .order(CommunicationContext.DEFAULT_BYTEORDER);
+    buffer.position(16);
+    return buffer;
+  }
+
+  private DataBufferView view(ByteBuffer buffer, MessageType type) {
+    DataBufferView view = new DataBufferView(buffer, 16, buffer.position() - 16, type);
+    ChannelMessage message = new ChannelMessage(0, type, MessageDirection.IN,
+        m -> releasedMessages++);
+    view.pin(message);
+    return view;
+  }
+
+  private class RecordingOperation implements DataFlowOperation {
+    private final LogicalPlan plan = new LogicalPlan(Collections.emptyMap(),
+        Collections.emptyMap(), Collections.emptyMap(), 0);
+
+    @Override
+    public boolean sendPartial(int source, Object message, int flags) {
+      return false;
+    }
+
+    @Override
+    public boolean send(int source, Object message, int flags) {
+      return false;
+    }
+
+    @Override
+    public boolean send(int source, Object message, int flags, int target) {
+      return false;
+    }
+
+    @Override
+    public boolean sendPartial(int source, Object message, int flags, int target) {
+      if ((flags & MessageFlags.SYNC_EMPTY) != MessageFlags.SYNC_EMPTY) {
+        sent.add(message);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean progress() {
+      return false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public LogicalPlan getLogicalPlan() {
+      return plan;
+    }
+
+    @Override
+    public String getUniqueId() {
+      return "test";
+    }
+  }
+}
@@ -0,0 +1,115 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.shm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedMemoryRingTest {
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("twister2-shm-", ".ring");
+    file.deleteOnExit();
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void testFullRing() {
+    SharedMemoryRing writer = new SharedMemoryRing(file, 256);
+    writer.openForWrite();
+    SharedMemoryRing reader = new SharedMemoryRing(file, 256);
+    reader.openForRead();
+
+    Assert.assertFalse(reader.hasNext());
+    int written = 0;
+    while (writer.offer(7, message(written, 40))) {
+      written++;
+    }
+    Assert.assertTrue(written > 0);
+
+    ByteBuffer target = ByteBuffer.allocate(64);
+    Assert.assertTrue(reader.hasNext());
+    Assert.assertEquals(7, reader.nextEdge());
+    Assert.assertEquals(40, reader.poll(target));
+    check(target, 0, 40);
+    // space of the read record can be used again
+    Assert.assertTrue(writer.offer(7, message(written, 40)));
+    writer.close(false);
+    reader.close(true);
+  }
+
+  @Test
+  public void testConcurrentWrap() throws Exception {
+    int count = 20000;
+    SharedMemoryRing writer = new SharedMemoryRing(file, 4096);
+    writer.openForWrite();
+    SharedMemoryRing reader = new SharedMemoryRing(file, 4096);
+    reader.openForRead();
+
+    Thread writerThread = new Thread(() -> {
+      for (int i = 0; i < count; i++) {
+        ByteBuffer data = message(i, i % 300 + 1);
+        while (!writer.offer(i % 5, data)) {
+          Thread.yield();
+        }
+      }
+    });
+    writerThread.start();
+
+    ByteBuffer target = ByteBuffer.allocate(512);
+    int i = 0;
+    while (i < count) {
+      if (!reader.hasNext()) {
+        Thread.yield();
+        continue;
+      }
+      Assert.assertEquals(i % 5, reader.nextEdge());
+      Assert.assertEquals(i % 300 + 1, reader.poll(target));
+      check(target, i, i % 300 + 1);
+      i++;
+    }
+    writerThread.join();
+    Assert.assertFalse(reader.hasNext());
+    Assert.assertTrue(reader.isEmpty());
+    writer.close(false);
+    reader.close(true);
+    Assert.assertFalse(file.exists());
+  }
+
+  private static ByteBuffer message(int seed, int length) {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    for (int j = 0; j < length; j++) {
+      buffer.put((byte) (seed + j));
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static void check(ByteBuffer target, int seed, int length) {
+    Assert.assertEquals(length, target.remaining());
+    for (int j = 0; j < length; j++) {
+      Assert.assertEquals((byte) (seed + j), target.get(j));
+    }
+  }
+}
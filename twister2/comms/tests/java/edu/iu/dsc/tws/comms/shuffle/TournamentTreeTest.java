@@ -0,0 +1,85 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.shuffle;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TournamentTreeTest {
+
+  /**
+   * A sorted input for the tree
+   */
+  private static final class Input implements Comparable<Input> {
+    private Iterator<Integer> values;
+    private Integer current;
+
+    Input(List<Integer> list) {
+      this.values = list.iterator();
+      this.current = values.hasNext() ? values.next() : null;
+    }
+
+    boolean advance() {
+      current = values.hasNext() ? values.next() : null;
+      return current != null;
+    }
+
+    @Override
+    public int compareTo(Input o) {
+      return Integer.compare(current, o.current);
+    }
+  }
+
+  @Test
+  public void testMerge() {
+    Random random = new Random(7);
+    for (int inputCount = 1; inputCount < 12; inputCount++) {
+      List<Input> inputs = new ArrayList<>();
+      int total = 0;
+      for (int i = 0; i < inputCount; i++) {
+        List<Integer> values = new ArrayList<>();
+        int v = 0;
+        int size = random.nextInt(50);
+        for (int j = 0; j < size; j++) {
+          v += random.nextInt(5);
+          values.add(v);
+        }
+        total += values.size();
+        if (!values.isEmpty()) {
+          inputs.add(new Input(values));
+        }
+      }
+
+      TournamentTree<Input> tree = new TournamentTree<>(inputs);
+      int count = 0;
+      int previous = Integer.MIN_VALUE;
+      while (!tree.isEmpty()) {
+        Input top = tree.peek();
+        Assert.assertTrue(top.current >= previous);
+        previous = top.current;
+        count++;
+        if (top.advance()) {
+          tree.update();
+        } else {
+          tree.removeTop();
+        }
+      }
+      Assert.assertEquals(total, count);
+      Assert.assertNull(tree.peek());
+    }
+  }
+}
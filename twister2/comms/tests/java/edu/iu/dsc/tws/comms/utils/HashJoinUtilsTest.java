@@ -26,18 +26,23 @@ package edu.iu.dsc.tws.comms.utils;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
 import edu.iu.dsc.tws.api.comms.structs.JoinedTuple;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
 import edu.iu.dsc.tws.comms.shuffle.FSKeyedMerger;
 import edu.iu.dsc.tws.comms.shuffle.ResettableIterator;
 
@@ -251,4 +256,150 @@ public class HashJoinUtilsTest {
     fsMerger1.clean();
     fsMerger2.clean();
   }
+
+  @Test
+  public void graceJoinSpillTest() {
+    Random random = new Random(42);
+    List<Tuple> left = new ArrayList<>();
+    List<Tuple> right = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      left.add(Tuple.of(random.nextInt(1000), "l" + i));
+      right.add(Tuple.of(random.nextInt(1200), "r" + i));
+    }
+
+    // small enough to move most of the partitions to disk
+    Config config = Config.newBuilder()
+        .put(CommunicationContext.SHUFFLE_MAX_BYTES_IN_MEMORY, 4096L)
+        .put(HashJoinUtils.CONFIG_HASH_JOIN_PARTITIONS, 8)
+        .build();
+
+    for (CommunicationContext.JoinType joinType : new CommunicationContext.JoinType[]{
+        CommunicationContext.JoinType.INNER, CommunicationContext.JoinType.LEFT,
+        CommunicationContext.JoinType.RIGHT}) {
+      List<String> expected = joinedStrings(HashJoinUtils.join(left, right, joinType,
+          MessageTypes.INTEGER));
+      List<String> joined = joinedStrings(HashJoinUtils.join(
+          new HashJoinUtils.ListBasedResettableIterator(left),
+          new HashJoinUtils.ListBasedResettableIterator(right),
+          joinType, MessageTypes.INTEGER, config));
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(expected, joined);
+    }
+  }
+
+  /**
+   * A key larger than the budget cannot be split by partitioning again, the partition is joined
+   * in chunks
+   */
+  @Test
+  public void graceJoinSkewedKeyTest() {
+    Random random = new Random(42);
+    List<Tuple> left = new ArrayList<>();
+    List<Tuple> right = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      left.add(Tuple.of(i % 4 == 0 ? random.nextInt(500) : 7, "l" + i));
+      right.add(Tuple.of(i % 500 == 0 ? 7 : random.nextInt(600), "r" + i));
+    }
+
+    Config config = Config.newBuilder()
+        .put(CommunicationContext.SHUFFLE_MAX_BYTES_IN_MEMORY, 4096L)
+        .put(HashJoinUtils.CONFIG_HASH_JOIN_PARTITIONS, 4)
+        .build();
+
+    for (CommunicationContext.JoinType joinType : new CommunicationContext.JoinType[]{
+        CommunicationContext.JoinType.INNER, CommunicationContext.JoinType.LEFT,
+        CommunicationContext.JoinType.RIGHT}) {
+      List<String> expected = joinedStrings(HashJoinUtils.join(left, right, joinType,
+          MessageTypes.INTEGER));
+      List<String> joined = joinedStrings(HashJoinUtils.join(
+          new HashJoinUtils.ListBasedResettableIterator(left),
+          new HashJoinUtils.ListBasedResettableIterator(right),
+          joinType, MessageTypes.INTEGER, config));
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(expected, joined);
+    }
+  }
+
+  /**
+   * A broadcast join hashes the replicated relation once and probes it with the part of the
+   * other relation each target has, the result should be the same as a sort join
+   */
+  @Test
+  public void broadcastJoinTest() {
+    Random random = new Random(7);
+    List<Tuple> left = new ArrayList<>();
+    List<Tuple> right = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      left.add(Tuple.of(random.nextInt(100), "l" + i));
+    }
+    // the small relation is a dimension table with unique keys, some of them missing in left
+    List<Integer> dimensionKeys = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      dimensionKeys.add(i);
+    }
+    Collections.shuffle(dimensionKeys, random);
+    for (int i = 0; i < 60; i++) {
+      right.add(Tuple.of(dimensionKeys.get(i), "r" + i));
+    }
+    KeyComparatorWrapper comparator = new KeyComparatorWrapper(
+        (Comparator<Integer>) Integer::compare);
+
+    assertBroadcastJoin(left, right, CommunicationContext.JoinType.INNER, false, comparator);
+    assertBroadcastJoin(left, right, CommunicationContext.JoinType.INNER, true, comparator);
+    assertBroadcastJoin(left, right, CommunicationContext.JoinType.LEFT, false, comparator);
+    assertBroadcastJoin(left, right, CommunicationContext.JoinType.RIGHT, true, comparator);
+  }
+
+  @Test(expected = Twister2RuntimeException.class)
+  public void broadcastJoinInvalidSideTest() {
+    HashJoinUtils.probe(HashJoinUtils.hash(Collections.emptyIterator(), MessageTypes.INTEGER),
+        Collections.emptyIterator(), CommunicationContext.JoinType.LEFT, true);
+  }
+
+  private static void assertBroadcastJoin(List<Tuple> left, List<Tuple> right,
+                                          CommunicationContext.JoinType joinType,
+                                          boolean broadcastLeft,
+                                          KeyComparatorWrapper comparator) {
+    List<Object> sortJoined;
+    if (joinType == CommunicationContext.JoinType.LEFT) {
+      sortJoined = SortJoinUtils.leftOuterJoin(left, right, comparator);
+    } else if (joinType == CommunicationContext.JoinType.RIGHT) {
+      sortJoined = SortJoinUtils.rightOuterJoin(left, right, comparator);
+    } else {
+      sortJoined = SortJoinUtils.innerJoin(left, right, comparator);
+    }
+    List<String> expected = joinedStrings((Iterator) sortJoined.iterator());
+
+    List<Tuple> replicated = broadcastLeft ? left : right;
+    List<Tuple> partitioned = broadcastLeft ? right : left;
+    Map<Object, List> hash = HashJoinUtils.hash(
+        new HashJoinUtils.ListBasedResettableIterator(replicated), MessageTypes.INTEGER);
+
+    // each target joins a part of the partitioned relation with the same hash table
+    int targets = 3;
+    List<String> joined = new ArrayList<>();
+    for (int t = 0; t < targets; t++) {
+      List<Tuple<?, ?>> part = new ArrayList<>();
+      for (int i = t; i < partitioned.size(); i += targets) {
+        part.add(partitioned.get(i));
+      }
+      joined.addAll(joinedStrings(HashJoinUtils.probe(hash, part.iterator(), joinType,
+          broadcastLeft)));
+    }
+    Collections.sort(joined);
+
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(joinType + " join broadcasting the " + (broadcastLeft ? "left"
+        : "right") + " relation", expected, joined);
+  }
+
+  private static List<String> joinedStrings(Iterator<JoinedTuple> iterator) {
+    List<String> joined = new ArrayList<>();
+    while (iterator.hasNext()) {
+      JoinedTuple t = iterator.next();
+      joined.add(t.getKey() + ":" + t.getLeftValue() + ":" + t.getRightValue());
+    }
+    Collections.sort(joined);
+    return joined;
+  }
 }
@@ -0,0 +1,107 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.NormalizedKeyComparator;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class NormalizedKeysTest {
+
+  private static final NormalizedKeyComparator<byte[]> BYTES = (left, right) -> {
+    for (int i = 0; i < left.length && i < right.length; i++) {
+      int a = left[i] & 0xff;
+      int b = right[i] & 0xff;
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return left.length - right.length;
+  };
+
+  @Test
+  public void testPrefixOrder() {
+    Random random = new Random(11);
+    for (int i = 0; i < 10000; i++) {
+      double d1 = random.nextGaussian() * 1000;
+      double d2 = random.nextBoolean() ? d1 : random.nextGaussian() * 1000;
+      assertOrder(MessageTypes.DOUBLE, d1, d2, Comparator.naturalOrder());
+
+      int i1 = random.nextInt();
+      int i2 = random.nextInt();
+      assertOrder(MessageTypes.INTEGER, i1, i2, Comparator.naturalOrder());
+
+      String s1 = randomString(random);
+      String s2 = randomString(random);
+      assertOrder(MessageTypes.STRING, s1, s2, Comparator.naturalOrder());
+
+      byte[] b1 = randomBytes(random);
+      byte[] b2 = randomBytes(random);
+      assertOrder(MessageTypes.BYTE_ARRAY, b1, b2, BYTES);
+    }
+  }
+
+  @Test
+  public void testSort() {
+    Random random = new Random(3);
+    List<Tuple> records = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      records.add(new Tuple(randomBytes(random), i));
+    }
+    List<Tuple> expected = new ArrayList<>(records);
+    expected.sort((t1, t2) -> BYTES.compare((byte[]) t1.getKey(), (byte[]) t2.getKey()));
+
+    NormalizedKeys.sort(records, MessageTypes.BYTE_ARRAY, BYTES, true);
+    for (int i = 0; i < records.size(); i++) {
+      Assert.assertSame(expected.get(i), records.get(i));
+    }
+  }
+
+  private void assertOrder(MessageType type, Object k1, Object k2, Comparator comparator) {
+    Assert.assertTrue(NormalizedKeys.canNormalize(type, comparator));
+    int keys = Integer.signum(comparator.compare(k1, k2));
+    int prefixes = Long.signum(Long.compare(NormalizedKeys.prefix(type, k1),
+        NormalizedKeys.prefix(type, k2)));
+    if (prefixes != 0) {
+      Assert.assertEquals(keys, prefixes);
+    } else if (NormalizedKeys.isExact(type)) {
+      Assert.assertEquals(0, keys);
+    }
+  }
+
+  private String randomString(Random random) {
+    StringBuilder builder = new StringBuilder();
+    int length = random.nextInt(8);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) ('a' + random.nextInt(3)));
+    }
+    return builder.toString();
+  }
+
+  private byte[] randomBytes(Random random) {
+    byte[] bytes = new byte[random.nextInt(12)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (random.nextInt(3) - 1);
+    }
+    return bytes;
+  }
+}
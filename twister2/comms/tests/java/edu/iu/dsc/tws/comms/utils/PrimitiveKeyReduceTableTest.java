@@ -0,0 +1,90 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.comms.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+
+public class PrimitiveKeyReduceTableTest {
+
+  private static final ReduceFunction SUM = new ReduceFunction() {
+    @Override
+    public void init(Config cfg, DataFlowOperation op, Map<Integer, List<Integer>> expectedIds) {
+    }
+
+    @Override
+    public Object reduce(Object t1, Object t2) {
+      return (Double) t1 + (Double) t2;
+    }
+  };
+
+  @Test
+  public void testIntegerKeys() {
+    PrimitiveKeyReduceTable table = new PrimitiveKeyReduceTable(MessageTypes.INTEGER, SUM, 4);
+    Map<Integer, Double> expected = new HashMap<>();
+    for (int i = 0; i < 10000; i++) {
+      int key = (i * 31) % 1000 - 500;
+      table.reduce(key, 1.0);
+      expected.merge(key, 1.0, Double::sum);
+    }
+
+    Assert.assertEquals(expected.size(), table.size());
+    Iterator<Tuple> it = table.iterator();
+    int count = 0;
+    while (it.hasNext()) {
+      Tuple t = it.next();
+      Assert.assertEquals(expected.get(t.getKey()), t.getValue());
+      count++;
+    }
+    Assert.assertEquals(expected.size(), count);
+  }
+
+  @Test
+  public void testDoubleAndLongKeys() {
+    PrimitiveKeyReduceTable doubles = new PrimitiveKeyReduceTable(MessageTypes.DOUBLE, SUM);
+    doubles.reduce(1.5, 2.0);
+    doubles.reduce(-1.5, 1.0);
+    doubles.reduce(1.5, 3.0);
+    Assert.assertEquals(2, doubles.size());
+    Assert.assertEquals(5.0, (Double) doubles.get(1.5), 0.0);
+    Assert.assertEquals(1.0, (Double) doubles.get(-1.5), 0.0);
+
+    PrimitiveKeyReduceTable longs = new PrimitiveKeyReduceTable(MessageTypes.LONG, SUM);
+    longs.reduce(Long.MAX_VALUE, 1.0);
+    longs.reduce(0L, 1.0);
+    longs.reduce(Long.MAX_VALUE, 1.0);
+    Assert.assertEquals(2.0, (Double) longs.get(Long.MAX_VALUE), 0.0);
+    Assert.assertNull(longs.get(5L));
+
+    longs.clear();
+    Assert.assertTrue(longs.isEmpty());
+    Assert.assertFalse(longs.iterator().hasNext());
+  }
+
+  @Test
+  public void testSupportedTypes() {
+    Assert.assertTrue(PrimitiveKeyReduceTable.isSupported(MessageTypes.INTEGER));
+    Assert.assertFalse(PrimitiveKeyReduceTable.isSupported(MessageTypes.INTEGER_ARRAY));
+    Assert.assertFalse(PrimitiveKeyReduceTable.isSupported(MessageTypes.OBJECT));
+  }
+}
@@ -24,7 +24,6 @@ import edu.iu.dsc.tws.api.data.FileStatus;
 import edu.iu.dsc.tws.api.data.FileSystem;
 import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.data.api.InputPartitioner;
-import edu.iu.dsc.tws.data.api.splits.CSVInputSplit;
 import edu.iu.dsc.tws.data.api.splits.FileInputSplit;
 import edu.iu.dsc.tws.data.fs.io.InputSplitAssigner;
 import edu.iu.dsc.tws.data.utils.FileSystemUtils;
@@ -98,7 +97,7 @@ public abstract class CSVInputPartitioner<OT> implements InputPartitioner<OT, Fi
         for (int i = 0; i < splitSizes.length; i++) {
           String[] hosts = new String[0];
           final FileInputSplit fis
-              = new CSVInputSplit(i, file.getPath(), position, splitSizes[i], hosts);
+              = createSplit(i, file.getPath(), position, splitSizes[i], hosts);
           position += splitSizes[i];
           inputSplits.add(fis);
         }
@@ -110,7 +109,7 @@ public abstract class CSVInputPartitioner<OT> implements InputPartitioner<OT, Fi
         } else {
           hosts = new String[0];
         }
-        final FileInputSplit fis = new CSVInputSplit(0, file.getPath(), 0, 0, hosts);
+        final FileInputSplit fis = createSplit(0, file.getPath(), 0, 0, hosts);
         inputSplits.add(fis);
       }
     }
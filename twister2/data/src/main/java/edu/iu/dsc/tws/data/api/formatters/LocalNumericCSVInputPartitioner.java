@@ -0,0 +1,84 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.api.formatters;
+
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.data.api.assigner.OrderedInputSplitAssigner;
+import edu.iu.dsc.tws.data.api.splits.CSVInputSplit;
+import edu.iu.dsc.tws.data.api.splits.FileInputSplit;
+import edu.iu.dsc.tws.data.api.splits.NumericCSVInputSplit;
+import edu.iu.dsc.tws.data.fs.io.InputSplitAssigner;
+
+/**
+ * Partitions a CSV file of numbers by lines, each record of the splits is a double array
+ */
+public class LocalNumericCSVInputPartitioner extends CSVInputPartitioner<double[]> {
+
+  private static final long serialVersionUID = 1L;
+
+  private int numberOfTasks;
+
+  private OrderedInputSplitAssigner<double[]> assigner;
+
+  /**
+   * The field delimiter of the records
+   */
+  private char fieldDelimiter = CSVInputSplit.DEFAULT_FIELD_DELIMITER.charAt(0);
+
+  /**
+   * The line delimiter of the records
+   */
+  private String lineDelimiter = CSVInputSplit.DEFAULT_LINE_DELIMITER;
+
+  public LocalNumericCSVInputPartitioner(Path filePath, int numTasks, Config config) {
+    super(filePath, config);
+    this.numberOfTasks = numTasks;
+  }
+
+  public LocalNumericCSVInputPartitioner(Path filePath, int numTasks, int datasize,
+                                         Config config) {
+    super(filePath, config, datasize);
+    this.numberOfTasks = numTasks;
+  }
+
+  public char getFieldDelimiter() {
+    return fieldDelimiter;
+  }
+
+  public void setFieldDelimiter(char fieldDelimiter) {
+    this.fieldDelimiter = fieldDelimiter;
+  }
+
+  public String getLineDelimiter() {
+    return lineDelimiter;
+  }
+
+  public void setLineDelimiter(String lineDelimiter) {
+    this.lineDelimiter = lineDelimiter;
+  }
+
+  protected NumericCSVInputSplit createSplit(int num, Path file, long start,
+                                             long length, String[] hosts) {
+    NumericCSVInputSplit split = new NumericCSVInputSplit(num, file, start, length, hosts);
+    split.setFieldDelimiter(fieldDelimiter);
+    split.setDelimiterString(lineDelimiter);
+    return split;
+  }
+
+  public InputSplitAssigner getInputSplitAssigner(FileInputSplit[] inputSplits) {
+    if (assigner == null) {
+      assigner = new OrderedInputSplitAssigner<>(inputSplits, numberOfTasks);
+    }
+    return assigner;
+  }
+}
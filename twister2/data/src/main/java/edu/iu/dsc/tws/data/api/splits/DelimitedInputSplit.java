@@ -19,6 +19,7 @@ import java.util.logging.Logger;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.data.api.formatters.FileInputPartitioner;
+import edu.iu.dsc.tws.data.utils.SwarScanner;
 
 public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
 
@@ -185,6 +186,9 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
     } else {
       fillBuffer(0);
     }
+    if (!this.end) {
+      this.end = !hasMoreRecords();
+    }
   }
 
   /**
@@ -204,13 +208,36 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
   @Override
   public OT nextRecord(OT record) throws IOException {
     if (readLine()) {
-      return readRecord(record, this.currBuffer, this.currOffset, this.currLen);
+      OT result = readRecord(record, this.currBuffer, this.currOffset, this.currLen);
+      // look ahead after the record is read, so the end is known before the next call
+      this.end = !hasMoreRecords();
+      return result;
     } else {
       this.end = true;
       return null;
     }
   }
 
+  /**
+   * Checks weather {@link #readLine()} can return another record, the read buffer is filled if
+   * it is consumed. This may overwrite the bytes of the current record.
+   *
+   * @return true if there are bytes left to read in this split
+   */
+  private boolean hasMoreRecords() throws IOException {
+    if (this.stream == null || this.overLimit) {
+      return false;
+    }
+    if (this.readPos < this.limit) {
+      return true;
+    }
+    // the split ends at a record boundary
+    if (this.splitLength == 0) {
+      return false;
+    }
+    return fillBuffer(0);
+  }
+
   private void initBuffers() {
     this.bufferSize = this.bufferSize <= 0 ? DEFAULT_READ_BUFFER_SIZE : this.bufferSize;
 
@@ -286,6 +313,10 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
 
     while (true) {
       if (this.readPos >= this.limit) {
+        if (this.splitLength == 0 && countInWrapBuffer == 0 && delimPos == 0) {
+          // the split ends at a record boundary, the next split starts with the next record
+          return false;
+        }
         // readBuffer is completely consumed. Fill it again but keep partially read delimiter bytes.
         if (!fillBuffer(delimPos)) {
           int countInReadBuffer = delimPos;
@@ -309,7 +340,7 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
             setResult(this.wrapBuffer, 0, countInWrapBuffer);
             return true;
           } else {
-            return true;
+            return false;
           }
         }
       }
@@ -318,6 +349,16 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
       int count;
       // Search for next occurence of delimiter in read buffer.
       while (this.readPos < this.limit && delimPos < this.delimiter.length) {
+        if (delimPos == 0) {
+          // skip a word at a time to the next byte that can start a delimiter
+          int next = SwarScanner.indexOf(this.readBuffer, this.readPos, this.limit,
+              this.delimiter[0]);
+          if (next < 0) {
+            this.readPos = this.limit;
+            break;
+          }
+          this.readPos = next;
+        }
         if ((this.readBuffer[this.readPos]) == this.delimiter[delimPos]) {
           // Found the expected delimiter character. Continue looking for the next
           // character of delimiter.
@@ -332,9 +373,6 @@ public abstract class DelimitedInputSplit<OT> extends FileInputSplit<OT> {
         }
         readPos++;
       }
-      if (readPos == limit) {
-        this.end = true;
-      }
       // check why we dropped out
       if (delimPos == this.delimiter.length) {
         // we found a delimiter
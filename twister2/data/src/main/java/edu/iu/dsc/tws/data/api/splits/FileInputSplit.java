@@ -19,6 +19,8 @@ import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.data.FSDataInputStream;
 import edu.iu.dsc.tws.api.data.FileSystem;
 import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.data.fs.io.ReadAheadInputStream;
+import edu.iu.dsc.tws.data.utils.DataContext;
 import edu.iu.dsc.tws.data.utils.FileSystemUtils;
 
 /**
@@ -264,6 +266,10 @@ public abstract class FileInputSplit<OT> extends LocatableInputSplit<OT> {
     if (this.splitStart != 0) {
       this.stream.seek(this.splitStart);
     }
+
+    if (cfg != null && DataContext.readAhead(cfg)) {
+      this.stream = new ReadAheadInputStream(this.stream, DataContext.readAheadBytes(cfg));
+    }
   }
 
   /**
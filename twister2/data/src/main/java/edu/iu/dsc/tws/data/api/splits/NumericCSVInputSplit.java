@@ -0,0 +1,98 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.api.splits;
+
+import java.io.IOException;
+
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.data.utils.ByteNumberParser;
+import edu.iu.dsc.tws.data.utils.SwarScanner;
+
+/**
+ * Reads a CSV file of numbers, each line is parsed directly from the read buffer to a double
+ * array without creating strings for the line or the fields.
+ */
+public class NumericCSVInputSplit extends DelimitedInputSplit<double[]> {
+
+  private static final byte CARRIAGE_RETURN = (byte) '\r';
+
+  /**
+   * The field delimiter
+   */
+  private byte fieldDelimiter = (byte) ',';
+
+  /**
+   * Constructs a split with host information.
+   *
+   * @param num the number of this input split
+   * @param file the file name
+   * @param start the position of the first byte in the file to process
+   * @param length the number of bytes in the file to process (-1 is flag for "read whole file")
+   * @param hosts the list of hosts containing the block, possibly <code>null</code>
+   */
+  public NumericCSVInputSplit(int num, Path file, long start, long length, String[] hosts) {
+    super(num, file, start, length, hosts);
+  }
+
+  public byte getFieldDelimiter() {
+    return fieldDelimiter;
+  }
+
+  public void setFieldDelimiter(char delimiter) {
+    if (delimiter > 0x7F) {
+      throw new IllegalArgumentException("Field delimiter must be an ASCII character: "
+          + delimiter);
+    }
+    this.fieldDelimiter = (byte) delimiter;
+  }
+
+  /**
+   * Parse the fields of a line, a blank line gives an empty array. The reuse array is filled if
+   * it has the same number of fields as the line.
+   */
+  @Override
+  public double[] readRecord(double[] reuse, byte[] bytes, int readOffset, int numBytes)
+      throws IOException {
+    int end = readOffset + numBytes;
+    if (end > readOffset && bytes[end - 1] == CARRIAGE_RETURN) {
+      end--;
+    }
+    if (isBlank(bytes, readOffset, end)) {
+      return new double[0];
+    }
+
+    int fields = SwarScanner.count(bytes, readOffset, end, fieldDelimiter) + 1;
+    double[] record = reuse != null && reuse.length == fields ? reuse : new double[fields];
+    int start = readOffset;
+    try {
+      for (int i = 0; i < fields; i++) {
+        int next = i == fields - 1 ? end
+            : SwarScanner.indexOf(bytes, start, end, fieldDelimiter);
+        record[i] = ByteNumberParser.parseDouble(bytes, start, next);
+        start = next + 1;
+      }
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid numeric record at offset " + readOffset + " of "
+          + getPath(), e);
+    }
+    return record;
+  }
+
+  private static boolean isBlank(byte[] bytes, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (bytes[i] < 0 || bytes[i] > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
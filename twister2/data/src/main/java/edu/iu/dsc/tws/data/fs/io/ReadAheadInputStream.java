@@ -0,0 +1,218 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.fs.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import edu.iu.dsc.tws.api.data.FSDataInputStream;
+import edu.iu.dsc.tws.api.util.CommonThreadPool;
+
+/**
+ * Reads the next chunk of a stream in a background thread while the current chunk is consumed,
+ * so that parsing a file and reading it from the disk or the network overlap. The reads run in the
+ * {@link CommonThreadPool}, if the pool is not active the chunks are read when they are needed.
+ * <p>
+ * Seeking within the current chunk is done in memory, other seeks wait for the pending read and
+ * restart reading from the new position.
+ */
+public class ReadAheadInputStream extends FSDataInputStream {
+  /**
+   * The underlying stream
+   */
+  private final FSDataInputStream in;
+
+  /**
+   * The chunk being consumed
+   */
+  private byte[] current;
+
+  /**
+   * The chunk being filled in the background
+   */
+  private byte[] next;
+
+  /**
+   * Read position in the current chunk
+   */
+  private int position;
+
+  /**
+   * Number of valid bytes in the current chunk
+   */
+  private int count;
+
+  /**
+   * The pending background read, null when the end of the stream is reached
+   */
+  private Future<Integer> pending;
+
+  /**
+   * Position of the next byte returned, from the start of the file
+   */
+  private long pos;
+
+  public ReadAheadInputStream(FSDataInputStream in, int chunkSize) throws IOException {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+    this.in = in;
+    this.current = new byte[chunkSize];
+    this.next = new byte[chunkSize];
+    this.pos = in.getPos();
+    startRead();
+  }
+
+  private void startRead() {
+    final byte[] buffer = next;
+    if (CommonThreadPool.isActive()) {
+      pending = CommonThreadPool.getExecutor().submit(() -> fill(buffer));
+    } else {
+      FutureTask<Integer> read = new FutureTask<>(() -> fill(buffer));
+      read.run();
+      pending = read;
+    }
+  }
+
+  /**
+   * Fill the buffer completely unless the end of the stream is reached
+   */
+  private int fill(byte[] buffer) throws IOException {
+    int total = 0;
+    while (total < buffer.length) {
+      int read = in.read(buffer, total, buffer.length - total);
+      if (read < 0) {
+        break;
+      }
+      total += read;
+    }
+    return total;
+  }
+
+  /**
+   * Move to the chunk read in the background and start reading the one after
+   *
+   * @return false if there are no more bytes
+   */
+  private boolean advance() throws IOException {
+    if (pending == null) {
+      return false;
+    }
+    int read = await();
+    if (read == 0) {
+      pending = null;
+      return false;
+    }
+
+    byte[] tmp = current;
+    current = next;
+    next = tmp;
+    position = 0;
+    count = read;
+    // a short read means we are at the end of the stream
+    if (read == current.length) {
+      startRead();
+    } else {
+      pending = null;
+    }
+    return true;
+  }
+
+  private int await() throws IOException {
+    try {
+      return pending.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading ahead");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to read ahead", e.getCause());
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position >= count && !advance()) {
+      return -1;
+    }
+    pos++;
+    return current[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    // fill the request across chunks, the splits expect full reads like from a local file
+    int total = 0;
+    while (total < length) {
+      if (position >= count && !advance()) {
+        break;
+      }
+      int n = Math.min(length - total, count - position);
+      System.arraycopy(current, position, buffer, offset + total, n);
+      position += n;
+      total += n;
+    }
+    pos += total;
+    return total == 0 ? -1 : total;
+  }
+
+  @Override
+  public void seek(long desired) throws IOException {
+    long chunkStart = pos - position;
+    if (desired >= chunkStart && desired < chunkStart + count) {
+      position = (int) (desired - chunkStart);
+      pos = desired;
+      return;
+    }
+
+    if (pending != null) {
+      await();
+    }
+    in.seek(desired);
+    pos = desired;
+    position = 0;
+    count = 0;
+    startRead();
+  }
+
+  @Override
+  public long getPos() {
+    return pos;
+  }
+
+  @Override
+  public Reader getReader() throws FileNotFoundException {
+    return in.getReader();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (pending != null) {
+        await();
+        pending = null;
+      }
+    } finally {
+      in.close();
+    }
+  }
+}
@@ -11,7 +11,9 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.data.fs.local;
 
+import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.data.api.formatters.LocalNumericCSVInputPartitioner;
 import edu.iu.dsc.tws.data.api.splits.CSVInputSplit;
 import edu.iu.dsc.tws.data.utils.PreConditions;
 
@@ -98,6 +100,28 @@ public class LocalCSVReader {
     return this;
   }
 
+  /**
+   * Create a partitioner that reads each line of the file as a double array with the
+   * delimiters of this reader, the lines are parsed without creating strings
+   *
+   * @param numTasks number of tasks reading the file
+   * @param datasize number of lines in the file
+   * @param config configuration
+   * @return the partitioner
+   */
+  public LocalNumericCSVInputPartitioner numericPartitioner(int numTasks, int datasize,
+                                                            Config config) {
+    if (fieldDelimiter.length() != 1) {
+      throw new IllegalArgumentException("Numeric CSV files need a single character field "
+          + "delimiter: " + fieldDelimiter);
+    }
+    LocalNumericCSVInputPartitioner partitioner = new LocalNumericCSVInputPartitioner(
+        path, numTasks, datasize, config);
+    partitioner.setFieldDelimiter(fieldDelimiter.charAt(0));
+    partitioner.setLineDelimiter(lineDelimiter);
+    return partitioner;
+  }
+
 //  private void configureInputSplit(CSVInputSplit<?> inputSplit) {
 //    inputSplit.setBufferSize(2000);
 //    inputSplit.setCharsetName(this.charset);
@@ -0,0 +1,216 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses numbers directly from ASCII bytes without creating strings. Leading and trailing
+ * whitespace, i.e. the bytes up to a space, is ignored like in {@link String#trim()}.
+ * <p>
+ * Decimal numbers with at most 15 significant digits and a small exponent, which covers most
+ * of the values written to data files, are computed exactly from the digits. Other values are
+ * handed over to {@link Double#parseDouble(String)} so the result is always correctly rounded.
+ */
+public final class ByteNumberParser {
+  /**
+   * Powers of ten that can be represented exactly as doubles
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * Maximum number of digits for which the mantissa is exact
+   */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private ByteNumberParser() {
+  }
+
+  /**
+   * Parse an int
+   *
+   * @param bytes the array
+   * @param from index of the first byte
+   * @param to index after the last byte
+   * @return the value
+   * @throws NumberFormatException if the bytes are not an int
+   */
+  public static int parseInt(byte[] bytes, int from, int to) {
+    long value = parseLong(bytes, from, to);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw error(bytes, from, to);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Parse a long
+   *
+   * @param bytes the array
+   * @param from index of the first byte
+   * @param to index after the last byte
+   * @return the value
+   * @throws NumberFormatException if the bytes are not a long
+   */
+  public static long parseLong(byte[] bytes, int from, int to) {
+    int start = skipSpaces(bytes, from, to);
+    int end = trimSpaces(bytes, start, to);
+    int i = start;
+    boolean negative = false;
+    if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+      negative = bytes[i] == '-';
+      i++;
+    }
+    if (i == end) {
+      throw error(bytes, from, to);
+    }
+
+    // accumulate as a negative number so that Long.MIN_VALUE can be parsed
+    long value = 0;
+    for (; i < end; i++) {
+      int digit = bytes[i] - '0';
+      if (digit < 0 || digit > 9 || value < Long.MIN_VALUE / 10) {
+        throw error(bytes, from, to);
+      }
+      value = value * 10 - digit;
+      if (value > 0) {
+        throw error(bytes, from, to);
+      }
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        throw error(bytes, from, to);
+      }
+      return -value;
+    }
+    return value;
+  }
+
+  /**
+   * Parse a double
+   *
+   * @param bytes the array
+   * @param from index of the first byte
+   * @param to index after the last byte
+   * @return the value
+   * @throws NumberFormatException if the bytes are not a double
+   */
+  public static double parseDouble(byte[] bytes, int from, int to) {
+    int start = skipSpaces(bytes, from, to);
+    int end = trimSpaces(bytes, start, to);
+    int i = start;
+    boolean negative = false;
+    if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+      negative = bytes[i] == '-';
+      i++;
+    }
+
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean anyDigit = false;
+    // integer part
+    for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+      anyDigit = true;
+      if (mantissa != 0 || bytes[i] != '0') {
+        if (digits < MAX_EXACT_DIGITS) {
+          mantissa = mantissa * 10 + (bytes[i] - '0');
+        } else {
+          scale++;
+        }
+        digits++;
+      }
+    }
+    // fraction part
+    if (i < end && bytes[i] == '.') {
+      i++;
+      for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+        anyDigit = true;
+        if (mantissa != 0 || bytes[i] != '0') {
+          if (digits < MAX_EXACT_DIGITS) {
+            mantissa = mantissa * 10 + (bytes[i] - '0');
+            scale--;
+          }
+          digits++;
+        } else {
+          scale--;
+        }
+      }
+    }
+    if (!anyDigit) {
+      return slowParse(bytes, from, to);
+    }
+    // exponent
+    if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+        negativeExponent = bytes[i] == '-';
+        i++;
+      }
+      int exponent = 0;
+      int exponentStart = i;
+      for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+        if (exponent < 10000) {
+          exponent = exponent * 10 + (bytes[i] - '0');
+        }
+      }
+      if (i == exponentStart) {
+        throw error(bytes, from, to);
+      }
+      scale += negativeExponent ? -exponent : exponent;
+    }
+    if (i != end) {
+      // hex, infinity, NaN or type suffixes
+      return slowParse(bytes, from, to);
+    }
+
+    if (digits > MAX_EXACT_DIGITS || scale < -22 || scale > 22) {
+      return slowParse(bytes, from, to);
+    }
+    double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale]
+        : mantissa * POWERS_OF_TEN[scale];
+    return negative ? -value : value;
+  }
+
+  private static double slowParse(byte[] bytes, int from, int to) {
+    return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+  }
+
+  private static int skipSpaces(byte[] bytes, int from, int to) {
+    int i = from;
+    while (i < to && isWhitespace(bytes[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int trimSpaces(byte[] bytes, int from, int to) {
+    int i = to;
+    while (i > from && isWhitespace(bytes[i - 1])) {
+      i--;
+    }
+    return i;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  private static NumberFormatException error(byte[] bytes, int from, int to) {
+    return new NumberFormatException("For input string: \""
+        + new String(bytes, from, to - from, StandardCharsets.US_ASCII) + "\"");
+  }
+}
@@ -11,6 +11,7 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.data.utils;
 
+import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.config.Context;
 
 public class DataContext extends Context {
@@ -25,4 +26,25 @@ public class DataContext extends Context {
 
   public static final String TWISTER2_LATENCY = "latency";
 
+  /**
+   * Read the next chunk of a file split in the background while the current one is parsed
+   */
+  public static final String READ_AHEAD = "twister2.data.read.ahead";
+
+  public static final boolean READ_AHEAD_DEFAULT = false;
+
+  /**
+   * Size of a chunk read in the background
+   */
+  public static final String READ_AHEAD_BYTES = "twister2.data.read.ahead.bytes";
+
+  public static final int READ_AHEAD_BYTES_DEFAULT = 4 * 1024 * 1024;
+
+  public static boolean readAhead(Config cfg) {
+    return cfg.getBooleanValue(READ_AHEAD, READ_AHEAD_DEFAULT);
+  }
+
+  public static int readAheadBytes(Config cfg) {
+    return cfg.getIntegerValue(READ_AHEAD_BYTES, READ_AHEAD_BYTES_DEFAULT);
+  }
 }
@@ -0,0 +1,154 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.nio.ByteOrder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Searches byte arrays eight bytes at a time. A word is read from the array and compared with a
+ * word filled with the byte we are looking for, and the matching bytes are found with a few
+ * arithmetic operations instead of a branch per byte.
+ * <p>
+ * Words are read with <code>sun.misc.Unsafe</code>, on platforms where it is not available or
+ * unaligned reads are not supported the search falls back to a byte by byte scan.
+ */
+public final class SwarScanner {
+  private static final Logger LOG = Logger.getLogger(SwarScanner.class.getName());
+
+  private static final long ONES = 0x0101010101010101L;
+
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  /**
+   * Unsafe getLong(Object, long) bound to the unsafe instance, null if not available
+   */
+  private static final MethodHandle GET_LONG;
+
+  /**
+   * Offset of the first element of a byte array
+   */
+  private static final long BYTE_ARRAY_OFFSET;
+
+  static {
+    MethodHandle getLong = null;
+    long offset = 0;
+    String arch = System.getProperty("os.arch", "");
+    if (arch.equals("amd64") || arch.equals("x86_64") || arch.equals("x86")
+        || arch.equals("i386") || arch.equals("aarch64")) {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafeField.setAccessible(true);
+        Object unsafe = theUnsafeField.get(null);
+        offset = (Integer) unsafeClass.getMethod("arrayBaseOffset", Class.class)
+            .invoke(unsafe, byte[].class);
+        getLong = MethodHandles.lookup().unreflect(
+            unsafeClass.getMethod("getLong", Object.class, long.class)).bindTo(unsafe);
+      } catch (Exception e) {
+        LOG.log(Level.FINE, "Word reads are not available, scanning byte by byte", e);
+        getLong = null;
+      }
+    }
+    GET_LONG = getLong;
+    BYTE_ARRAY_OFFSET = offset;
+  }
+
+  private SwarScanner() {
+  }
+
+  /**
+   * Find the first occurrence of a byte
+   *
+   * @param bytes the array
+   * @param from first index to search
+   * @param to index after the last one to search
+   * @param b the byte to find
+   * @return index of the byte or -1 if it is not found
+   */
+  public static int indexOf(byte[] bytes, int from, int to, byte b) {
+    int i = from;
+    if (GET_LONG != null) {
+      long pattern = (b & 0xFFL) * ONES;
+      for (; i + 8 <= to; i += 8) {
+        long found = zeroBytes(getLong(bytes, i) ^ pattern);
+        if (found != 0) {
+          return i + firstByte(found);
+        }
+      }
+    }
+    for (; i < to; i++) {
+      if (bytes[i] == b) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Count the occurrences of a byte
+   *
+   * @param bytes the array
+   * @param from first index to search
+   * @param to index after the last one to search
+   * @param b the byte to count
+   * @return number of occurrences
+   */
+  public static int count(byte[] bytes, int from, int to, byte b) {
+    int i = from;
+    int count = 0;
+    if (GET_LONG != null) {
+      long pattern = (b & 0xFFL) * ONES;
+      for (; i + 8 <= to; i += 8) {
+        count += Long.bitCount(zeroBytes(getLong(bytes, i) ^ pattern));
+      }
+    }
+    for (; i < to; i++) {
+      if (bytes[i] == b) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Set the high bit of every zero byte of the word and clear all the other bits. Unlike the
+   * shorter <code>(x - 0x01..) &amp; ~x</code> form this has no false positives, so it works
+   * for both byte orders.
+   */
+  private static long zeroBytes(long word) {
+    long t = (word & LOW_BITS) + LOW_BITS;
+    return ~(t | word | LOW_BITS);
+  }
+
+  /**
+   * Index of the first matching byte in memory order
+   */
+  private static int firstByte(long found) {
+    return (LITTLE_ENDIAN ? Long.numberOfTrailingZeros(found)
+        : Long.numberOfLeadingZeros(found)) >>> 3;
+  }
+
+  private static long getLong(byte[] bytes, int index) {
+    try {
+      return (long) GET_LONG.invokeExact((Object) bytes, BYTE_ARRAY_OFFSET + index);
+    } catch (Throwable t) {
+      throw new RuntimeException("Failed to read from the array", t);
+    }
+  }
+}
@@ -12,18 +12,20 @@
 package edu.iu.dsc.tws.dataset.partition;
 
 import java.io.Closeable;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -35,6 +37,7 @@ import edu.iu.dsc.tws.api.data.FileSystem;
 import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.api.dataset.DataPartitionConsumer;
 import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.api.util.CommonThreadPool;
 
 public abstract class BufferedCollectionPartition<T> extends CollectionPartition<T>
     implements Closeable {
@@ -50,6 +53,7 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
   private MessageType dataType;
 
   private List<Path> filesList = new ArrayList<>();
+  private List<Long> frameCounts = new ArrayList<>();
   private long fileCounter;
 
   private List<byte[]> buffers = new ArrayList<>();
@@ -59,6 +63,12 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
   private FileSystem fileSystem;
   private Path rootPath;
 
+  /**
+   * Consumers that may still hold files of this partition
+   */
+  private Set<FrameConsumer> consumers = Collections.synchronizedSet(
+      Collections.newSetFromMap(new WeakHashMap<>()));
+
   private String reference;
 
   /**
@@ -146,6 +156,17 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
 
   protected abstract Path getRootPath(Config config);
 
+  /**
+   * Load a file of frames written by this partition. By default the file is read to the heap,
+   * file systems with local files can memory map them instead.
+   *
+   * @param path path of the file
+   * @return the frames of the file
+   */
+  protected FrameFile openFrames(Path path) throws IOException {
+    return FrameFile.read(this.fileSystem, path);
+  }
+
   /**
    * This method loads existing frames on disk
    */
@@ -157,6 +178,10 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
           .sorted(Comparator.comparingLong(path ->
               Long.parseLong(path.getName().replace(EXTENSION, ""))))
           .collect(Collectors.toList());
+      this.frameCounts = new ArrayList<>();
+      for (Path path : this.filesList) {
+        this.frameCounts.add(FrameFile.frameCount(this.fileSystem, path));
+      }
       this.fileCounter = fileStatuses.length;
     } catch (IOException e) {
       throw new Twister2RuntimeException("Failed to load frames from file system", e);
@@ -168,7 +193,7 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
     if (this.dataList.size() < this.maxFramesInMemory) {
       super.add(val);
     } else {
-      LOG.info("Writing to disk...");
+      LOG.fine("Writing to disk...");
       // write to buffer
       byte[] bytes = dataType.getDataPacker().packToByteArray(val);
       this.buffers.add(bytes);
@@ -190,49 +215,201 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
 
   @Override
   public DataPartitionConsumer<T> getConsumer() {
+    FrameConsumer consumer = new FrameConsumer();
+    this.consumers.add(consumer);
+    return consumer;
+  }
+
+  /**
+   * Release the files of the consumers that are still open, these consumers will not return
+   * any more frames from the files. A consumer reading a frame in another thread finishes the
+   * read, a read after this fails.
+   */
+  private void releaseConsumers() {
+    List<FrameConsumer> open;
+    synchronized (this.consumers) {
+      open = new ArrayList<>(this.consumers);
+      this.consumers.clear();
+    }
+    for (FrameConsumer consumer : open) {
+      consumer.release();
+    }
+  }
 
-    final Iterator<T> inMemoryIterator = this.dataList.iterator();
-    final Iterator<Path> fileIterator = this.filesList.iterator();
-    final Iterator<byte[]> buffersIterator = this.buffers.iterator();
+  /**
+   * Consumes the frames in memory, then the frames in files and finally the frames in the
+   * buffers. The next file is loaded in the background while the current one is consumed.
+   */
+  private final class FrameConsumer implements DataPartitionConsumer<T> {
+
+    private final Iterator<T> inMemoryIterator = dataList.iterator();
+    private final List<Path> files = new ArrayList<>(filesList);
+    private final List<Long> counts = new ArrayList<>(frameCounts);
+    private final Iterator<byte[]> buffersIterator = buffers.iterator();
+
+    /**
+     * The file being consumed, only changed with the lock of the consumer
+     */
+    private FrameFile currentFile;
+
+    /**
+     * Next frame to read from the current file
+     */
+    private int currentFrame;
+
+    /**
+     * Index of the next file with frames
+     */
+    private int nextFile = nextNonEmpty(0);
+
+    /**
+     * The next file loaded in the background while the current one is consumed
+     */
+    private Future<FrameFile> prefetched;
+
+    /**
+     * The file loaded by the prefetch and not yet taken by the consumer, released with the
+     * consumer if it is abandoned
+     */
+    private FrameFile prefetchedFile;
+
+    /**
+     * Weather the files of this consumer are released, the consumer may be released by another
+     * thread
+     */
+    private volatile boolean released;
+
+    private FrameConsumer() {
+      this.prefetched = prefetch(nextFile);
+    }
 
-    return new DataPartitionConsumer<T>() {
+    @Override
+    public boolean hasNext() {
+      boolean hasNext = inMemoryIterator.hasNext()
+          || (!released && currentFile != null && currentFrame < currentFile.size())
+          || (!released && nextFile < files.size()) || buffersIterator.hasNext();
+      if (!hasNext) {
+        release();
+      }
+      return hasNext;
+    }
 
-      private Queue<byte[]> bufferFromDisk = new LinkedList<>();
+    @Override
+    public T next() {
+      if (inMemoryIterator.hasNext()) {
+        return inMemoryIterator.next();
+      } else if (!released && currentFile != null && currentFrame < currentFile.size()) {
+        return (T) dataType.getDataPacker().unpackFromByteArray(
+            currentFile.get(currentFrame++));
+      } else if (!released && nextFile < files.size()) {
+        releaseCurrentFile();
+        load();
+        currentFrame = 0;
+        nextFile = nextNonEmpty(nextFile + 1);
+        prefetched = prefetch(nextFile);
+        return next();
+      } else if (buffersIterator.hasNext()) {
+        releaseCurrentFile();
+        return (T) dataType.getDataPacker().unpackFromByteArray(buffersIterator.next());
+      }
+      throw new Twister2RuntimeException("No more frames available in this partition");
+    }
 
-      @Override
-      public boolean hasNext() {
-        return inMemoryIterator.hasNext()
-            || fileIterator.hasNext() || buffersIterator.hasNext() || !bufferFromDisk.isEmpty();
+    private int nextNonEmpty(int from) {
+      int index = from;
+      while (index < files.size() && counts.get(index) == 0) {
+        index++;
       }
+      return index;
+    }
 
-      @Override
-      public T next() {
-        if (!this.bufferFromDisk.isEmpty()) {
-          return (T) dataType.getDataPacker().unpackFromByteArray(this.bufferFromDisk.poll());
-        } else if (inMemoryIterator.hasNext()) {
-          return inMemoryIterator.next();
-        } else if (fileIterator.hasNext()) {
-          Path nextFile = fileIterator.next();
-          try {
-            DataInputStream reader = new DataInputStream(fileSystem.open(nextFile));
-            long noOfFrames = reader.readLong();
-            for (long i = 0; i < noOfFrames; i++) {
-              int size = reader.readInt();
-              byte[] data = new byte[size];
-              reader.read(data);
-              this.bufferFromDisk.add(data);
+    private Future<FrameFile> prefetch(int index) {
+      if (index < files.size() && CommonThreadPool.isActive()) {
+        Path path = files.get(index);
+        return CommonThreadPool.getExecutor().submit(() -> {
+          FrameFile frames = openFrames(path);
+          synchronized (this) {
+            if (released) {
+              frames.release();
+              return null;
             }
-            return next();
-          } catch (IOException e) {
-            throw new Twister2RuntimeException(
-                "Failed to read value from the temp file : " + nextFile.toString(), e);
+            prefetchedFile = frames;
           }
-        } else if (buffersIterator.hasNext()) {
-          return (T) dataType.getDataPacker().unpackFromByteArray(buffersIterator.next());
+          return frames;
+        });
+      }
+      return null;
+    }
+
+    /**
+     * Make the next file the current file
+     */
+    private void load() {
+      Path path = files.get(nextFile);
+      try {
+        FrameFile frames = prefetched != null ? prefetched.get() : null;
+        if (frames == null) {
+          frames = openFrames(path);
+        }
+        synchronized (this) {
+          prefetchedFile = null;
+          if (released) {
+            frames.release();
+            throw new Twister2RuntimeException("The frames are released while reading : "
+                + path.toString());
+          }
+          currentFile = frames;
+        }
+      } catch (IOException | ExecutionException e) {
+        throw new Twister2RuntimeException(
+            "Failed to read value from the temp file : " + path.toString(), e);
+      } catch (CancellationException e) {
+        throw new Twister2RuntimeException("The frames are released while reading : "
+            + path.toString(), e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new Twister2RuntimeException("Interrupted while reading : " + path.toString(), e);
+      }
+    }
+
+    private void releaseCurrentFile() {
+      FrameFile file;
+      synchronized (this) {
+        file = currentFile;
+        currentFile = null;
+      }
+      if (file != null) {
+        file.release();
+      }
+    }
+
+    /**
+     * Release the current file and the prefetched file, after this only the frames in memory
+     * and in the buffers are returned
+     */
+    private void release() {
+      FrameFile current;
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+        if (prefetchedFile != null) {
+          prefetchedFile.release();
+          prefetchedFile = null;
+        }
+        if (prefetched != null) {
+          prefetched.cancel(false);
         }
-        throw new Twister2RuntimeException("No more frames available in this partition");
+        // the reference is kept, a read of the consumer thread fails instead of reading an
+        // unmapped file
+        current = currentFile;
       }
-    };
+      if (current != null) {
+        current.release();
+      }
+      consumers.remove(this);
+    }
   }
 
   /**
@@ -256,27 +433,28 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
       }
     }
 
+    releaseConsumers();
+    releaseCachedFile();
     super.clear();
     this.filesList.clear();
+    this.frameCounts.clear();
     this.buffers.clear();
     this.bufferedBytes = 0;
     this.fileCounter = 0;
   }
 
   public void flush() {
+    if (this.buffers.isEmpty()) {
+      return;
+    }
     Path filePath = new Path(this.rootPath, (this.fileCounter++) + EXTENSION);
-    try (DataOutputStream outputStream = new DataOutputStream(this.fileSystem.create(filePath))) {
-      outputStream.writeLong(this.buffers.size());
-      Iterator<byte[]> bufferIt = this.buffers.iterator();
-      while (bufferIt.hasNext()) {
-        byte[] next = bufferIt.next();
-        outputStream.writeInt(next.length);
-        outputStream.write(next);
-      }
+    try {
+      FrameFile.write(this.fileSystem, filePath, this.buffers);
     } catch (IOException e) {
       throw new Twister2RuntimeException("Couldn't flush partitions to the disk", e);
     }
     this.filesList.add(filePath);
+    this.frameCounts.add((long) this.buffers.size());
     this.buffers.clear();
     this.bufferedBytes = 0;
   }
@@ -285,51 +463,52 @@ public abstract class BufferedCollectionPartition<T> extends CollectionPartition
     return index < this.dataList.size();
   }
 
-  private List<byte[]> currentFileCache = new ArrayList<>();
+  private FrameFile cachedFile;
   private int cachedFileIndex = -1;
 
   public T get(int index) {
     //read from memory
     if (index < this.dataList.size()) {
       return this.dataList.get(index);
-    } else {
-      //iterate over files
-      long currentSize = this.dataList.size();
-      for (int fileIndex = 0; fileIndex < this.filesList.size(); fileIndex++) {
-        Path nextFile = this.filesList.get(fileIndex);
-        try {
-          DataInputStream reader = new DataInputStream(fileSystem.open(nextFile));
-          long noOfFrames = reader.readLong();
-          if (index < currentSize + noOfFrames) {
-            if (cachedFileIndex != fileIndex) {
-              cachedFileIndex = fileIndex;
-              this.currentFileCache = new ArrayList<>();
-              //read from this file
-              for (long i = 0; i < noOfFrames; i++) {
-                int size = reader.readInt();
-                byte[] data = new byte[size];
-                reader.read(data);
-                this.currentFileCache.add(data);
-              }
-            }
-            //not we have this file in cache
-            return (T) dataType.getDataPacker().unpackFromByteArray(
-                this.currentFileCache.get((int) (index - this.dataList.size() - currentSize)));
-          } else {
-            currentSize += noOfFrames;
+    }
+
+    // find the file using the frame counts and read the frame through the offset index
+    long fileStart = this.dataList.size();
+    for (int fileIndex = 0; fileIndex < this.filesList.size(); fileIndex++) {
+      long noOfFrames = this.frameCounts.get(fileIndex);
+      if (index < fileStart + noOfFrames) {
+        if (cachedFileIndex != fileIndex) {
+          Path nextFile = this.filesList.get(fileIndex);
+          releaseCachedFile();
+          try {
+            this.cachedFile = openFrames(nextFile);
+          } catch (IOException ioex) {
+            throw new Twister2RuntimeException("Failed to read from file : " + nextFile, ioex);
           }
-        } catch (IOException ioex) {
-          throw new Twister2RuntimeException("Failed to read from file : " + nextFile);
+          cachedFileIndex = fileIndex;
         }
+        return (T) dataType.getDataPacker().unpackFromByteArray(
+            this.cachedFile.get((int) (index - fileStart)));
       }
-      return (T) dataType.getDataPacker().unpackFromByteArray(
-          this.buffers.get((int) (index - currentSize)));
+      fileStart += noOfFrames;
+    }
+    return (T) dataType.getDataPacker().unpackFromByteArray(
+        this.buffers.get((int) (index - fileStart)));
+  }
+
+  private void releaseCachedFile() {
+    if (this.cachedFile != null) {
+      this.cachedFile.release();
+      this.cachedFile = null;
+      this.cachedFileIndex = -1;
     }
   }
 
   @Override
   public void close() {
     this.flush();
+    releaseConsumers();
+    releaseCachedFile();
   }
 
   @Override
@@ -0,0 +1,505 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.FileStatus;
+import edu.iu.dsc.tws.api.data.FileSystem;
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.api.dataset.DataPartitionConsumer;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.data.utils.FileSystemUtils;
+import edu.iu.dsc.tws.dataset.partition.columnar.BlockFilter;
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnEncoder;
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnStatistics;
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnType;
+
+/**
+ * A disk based partition that stores the values column by column. Values are grouped to blocks
+ * of rows and each column of a block is encoded according to its type, see
+ * {@link ColumnEncoder}. A partition of {@link Tuple}s has a key and a value column, other
+ * partitions have a single column.
+ * <p>
+ * The blocks are written to files in the same directory as a {@link DiskBackedCollectionPartition}
+ * with the same reference, and can be read back with only a subset of the columns.
+ *
+ * @param <T> type of the values, a {@link Tuple} for keyed partitions
+ */
+public class ColumnarCollectionPartition<T> extends CollectionPartition<T> implements Closeable {
+
+  private static final String EXTENSION = ".pcol";
+
+  private static final int DEFAULT_BLOCK_ROWS = 4096;
+
+  private static final long DEFAULT_MAX_BUFFERED_BYTES = 10000000;
+
+  /**
+   * Types of the columns, null for a partition opened for reading
+   */
+  private ColumnType[] columnTypes;
+
+  /**
+   * Weather the values are tuples
+   */
+  private boolean keyed;
+
+  private int blockRows = DEFAULT_BLOCK_ROWS;
+
+  private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+
+  /**
+   * Values of the block being filled
+   */
+  private List<T> pendingRows = new ArrayList<>();
+
+  /**
+   * Encoded blocks not written to a file yet
+   */
+  private List<byte[]> blocks = new ArrayList<>();
+  private long bufferedBytes;
+
+  private List<Path> filesList = new ArrayList<>();
+  private long fileCounter;
+
+  private FileSystem fileSystem;
+  private Path rootPath;
+
+  private String reference;
+
+  /**
+   * Consumers that may still hold files of this partition
+   */
+  private Set<ColumnarConsumer> consumers = Collections.synchronizedSet(
+      Collections.newSetFromMap(new WeakHashMap<>()));
+
+  /**
+   * Create a partition to write values
+   *
+   * @param keyType type of the keys, null if the values are not tuples
+   * @param dataType type of the values
+   * @param config configuration
+   * @param reference reference used to load the partition
+   */
+  public ColumnarCollectionPartition(MessageType keyType, MessageType dataType,
+                                     Config config, String reference) {
+    this(config, reference);
+    this.keyed = keyType != null;
+    this.columnTypes = keyed
+        ? new ColumnType[]{ColumnType.of(keyType), ColumnType.of(dataType)}
+        : new ColumnType[]{ColumnType.of(dataType)};
+  }
+
+  /**
+   * Load a partition written earlier with the same reference
+   *
+   * @param config configuration
+   * @param reference reference of the partition
+   */
+  public ColumnarCollectionPartition(Config config, String reference) {
+    this.reference = reference;
+    String root = DiskBackedCollectionPartition.rootPath(config, reference);
+    try {
+      this.fileSystem = FileSystemUtils.get(URI.create(root), config);
+      this.rootPath = new Path(root);
+      this.fileSystem.mkdirs(this.rootPath);
+      this.filesList = listFiles(this.fileSystem, this.rootPath);
+      this.fileCounter = this.filesList.size();
+    } catch (IOException e) {
+      throw new Twister2RuntimeException(
+          "Failed to initialize and create a directory to hold the partition", e);
+    }
+  }
+
+  /**
+   * Check weather a columnar partition is useful for the given types, at least one column
+   * should have a type other than {@link ColumnType#OBJECT}
+   *
+   * @param keyType key type or null for values that are not tuples
+   * @param dataType value type
+   * @return true if the types can be stored in columns
+   */
+  public static boolean isSupported(MessageType keyType, MessageType dataType) {
+    return (keyType != null && ColumnType.of(keyType) != ColumnType.OBJECT)
+        || (dataType != null && ColumnType.of(dataType) != ColumnType.OBJECT);
+  }
+
+  /**
+   * Check weather a columnar partition has been written with this reference
+   *
+   * @param config configuration
+   * @param reference reference of the partition
+   * @return true if there are columnar files for the reference
+   */
+  public static boolean exists(Config config, String reference) {
+    String root = DiskBackedCollectionPartition.rootPath(config, reference);
+    try {
+      FileSystem fs = FileSystemUtils.get(URI.create(root), config);
+      Path path = new Path(root);
+      return fs.exists(path) && !listFiles(fs, path).isEmpty();
+    } catch (IOException e) {
+      throw new Twister2RuntimeException("Failed to list the partition files of " + reference, e);
+    }
+  }
+
+  private static List<Path> listFiles(FileSystem fs, Path root) throws IOException {
+    return Arrays.stream(fs.listFiles(root)).map(FileStatus::getPath)
+        .filter(p -> p.getName().endsWith(EXTENSION))
+        .sorted(Comparator.comparingLong(path ->
+            Long.parseLong(path.getName().replace(EXTENSION, ""))))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Load a file of blocks written by this partition, the file is memory mapped
+   *
+   * @param path path of the file
+   * @return the blocks of the file
+   */
+  protected FrameFile openFrames(Path path) throws IOException {
+    return FrameFile.map(new File(path.toUri().getPath()));
+  }
+
+  public void setBlockRows(int blockRows) {
+    if (blockRows <= 0) {
+      throw new IllegalArgumentException("Block rows must be positive: " + blockRows);
+    }
+    this.blockRows = blockRows;
+  }
+
+  public void setMaxBufferedBytes(long maxBufferedBytes) {
+    this.maxBufferedBytes = maxBufferedBytes;
+  }
+
+  @Override
+  public void add(T val) {
+    if (columnTypes == null) {
+      throw new Twister2RuntimeException("Partition " + reference + " is opened for reading");
+    }
+    pendingRows.add(val);
+    if (pendingRows.size() >= blockRows) {
+      encodeBlock();
+    }
+  }
+
+  @Override
+  public void addAll(Collection<T> vals) {
+    for (T val : vals) {
+      this.add(val);
+    }
+  }
+
+  private void encodeBlock() {
+    if (pendingRows.isEmpty()) {
+      return;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      int rows = pendingRows.size();
+      out.writeInt(rows);
+      out.writeByte(columnTypes.length);
+      for (int c = 0; c < columnTypes.length; c++) {
+        Object[] values = new Object[rows];
+        for (int i = 0; i < rows; i++) {
+          values[i] = column(pendingRows.get(i), c);
+        }
+        ColumnEncoder.encode(columnTypes[c], values, out);
+      }
+    } catch (IOException e) {
+      throw new Twister2RuntimeException("Failed to encode a block of " + reference, e);
+    }
+    pendingRows.clear();
+
+    byte[] block = bytes.toByteArray();
+    blocks.add(block);
+    bufferedBytes += block.length;
+    if (bufferedBytes > maxBufferedBytes) {
+      flush();
+    }
+  }
+
+  private Object column(T row, int c) {
+    if (!keyed) {
+      return row;
+    }
+    Tuple tuple = (Tuple) row;
+    return c == 0 ? tuple.getKey() : tuple.getValue();
+  }
+
+  /**
+   * Encode the values added so far and write the blocks to a file
+   */
+  public void flush() {
+    // the last block can be smaller than the block size
+    encodeBlock();
+    if (blocks.isEmpty()) {
+      return;
+    }
+    Path filePath = new Path(rootPath, (fileCounter++) + EXTENSION);
+    try {
+      FrameFile.write(fileSystem, filePath, blocks);
+    } catch (IOException e) {
+      throw new Twister2RuntimeException("Couldn't flush partitions to the disk", e);
+    }
+    filesList.add(filePath);
+    blocks.clear();
+    bufferedBytes = 0;
+  }
+
+  @Override
+  public DataPartitionConsumer<T> getConsumer() {
+    return getConsumer(null);
+  }
+
+  /**
+   * Read the partition with a subset of the columns, the columns that are not read are null in
+   * the returned values
+   *
+   * @param filter selects the blocks to read, null to read all the blocks
+   * @param columns indexes of the columns to read, all the columns if none is given
+   * @return the consumer
+   */
+  public DataPartitionConsumer<T> getConsumer(BlockFilter filter, int... columns) {
+    // values added after this are not seen by the consumer
+    encodeBlock();
+    ColumnarConsumer consumer = new ColumnarConsumer(new ArrayList<>(filesList),
+        new ArrayList<>(blocks), filter, columns);
+    this.consumers.add(consumer);
+    return consumer;
+  }
+
+  /**
+   * Release the files of the consumers that are still open, these consumers will not return
+   * any more blocks from the files. A consumer decoding a block in another thread finishes the
+   * block, a read after this fails.
+   */
+  private void releaseConsumers() {
+    List<ColumnarConsumer> open;
+    synchronized (this.consumers) {
+      open = new ArrayList<>(this.consumers);
+      this.consumers.clear();
+    }
+    for (ColumnarConsumer consumer : open) {
+      consumer.release();
+    }
+  }
+
+  @Override
+  public void clear() {
+    releaseConsumers();
+    for (Path path : this.filesList) {
+      try {
+        this.fileSystem.delete(path, true);
+      } catch (IOException e) {
+        throw new Twister2RuntimeException(
+            "Failed to delete the temporary file : " + path.toString(), e);
+      }
+    }
+    super.clear();
+    this.filesList.clear();
+    this.blocks.clear();
+    this.pendingRows.clear();
+    this.bufferedBytes = 0;
+    this.fileCounter = 0;
+  }
+
+  @Override
+  public void close() {
+    flush();
+    releaseConsumers();
+  }
+
+  @Override
+  public String getReference() {
+    return reference;
+  }
+
+  private final class ColumnarConsumer implements DataPartitionConsumer<T> {
+    private final List<Path> files;
+    private final List<byte[]> memoryBlocks;
+    private final BlockFilter filter;
+    private final int[] projection;
+
+    private int fileIndex;
+    private FrameFile currentFile;
+
+    /**
+     * Weather the files are released, only the blocks in memory are returned after this
+     */
+    private volatile boolean released;
+    private int blockIndex;
+    private int memoryIndex;
+
+    /**
+     * Decoded columns of the current block
+     */
+    private Object[][] values;
+    private int rows;
+    private int row;
+
+    private ColumnarConsumer(List<Path> files, List<byte[]> memoryBlocks, BlockFilter filter,
+                             int[] projection) {
+      this.files = files;
+      this.memoryBlocks = memoryBlocks;
+      this.filter = filter;
+      this.projection = projection;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (row >= rows) {
+        byte[] block = nextBlock();
+        if (block == null) {
+          release();
+          return false;
+        }
+        decode(block);
+      }
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more frames available in this partition");
+      }
+      int r = row++;
+      if (values.length == 2) {
+        return (T) new Tuple<>(value(0, r), value(1, r));
+      }
+      return (T) value(0, r);
+    }
+
+    private Object value(int column, int r) {
+      return values[column] == null ? null : values[column][r];
+    }
+
+    private byte[] nextBlock() {
+      while (true) {
+        FrameFile file = currentFile;
+        if (file != null && blockIndex < file.size()) {
+          return file.get(blockIndex++);
+        }
+        if (file != null) {
+          releaseCurrentFile();
+        }
+        if (!released && fileIndex < files.size()) {
+          Path path = files.get(fileIndex++);
+          try {
+            file = openFrames(path);
+          } catch (IOException e) {
+            throw new Twister2RuntimeException("Failed to read from file : " + path, e);
+          }
+          synchronized (this) {
+            if (released) {
+              file.release();
+              continue;
+            }
+            currentFile = file;
+          }
+          blockIndex = 0;
+        } else if (memoryIndex < memoryBlocks.size()) {
+          return memoryBlocks.get(memoryIndex++);
+        } else {
+          return null;
+        }
+      }
+    }
+
+    private void releaseCurrentFile() {
+      FrameFile file;
+      synchronized (this) {
+        file = currentFile;
+        currentFile = null;
+      }
+      if (file != null) {
+        file.release();
+      }
+    }
+
+    /**
+     * Release the current file, after this only the blocks in memory are returned
+     */
+    private void release() {
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      releaseCurrentFile();
+      consumers.remove(this);
+    }
+
+    private void decode(byte[] block) {
+      ByteBuffer buffer = ByteBuffer.wrap(block);
+      int blockSize = buffer.getInt();
+      int columns = buffer.get();
+      ColumnType[] types = new ColumnType[columns];
+      int[] starts = new int[columns];
+      ColumnStatistics[] statistics = new ColumnStatistics[columns];
+      for (int c = 0; c < columns; c++) {
+        types[c] = ColumnEncoder.readType(buffer);
+        int length = ColumnEncoder.readLength(buffer);
+        starts[c] = buffer.position();
+        statistics[c] = ColumnEncoder.readStatistics(types[c], buffer);
+        buffer.position(starts[c] + length);
+      }
+
+      row = 0;
+      if (filter != null && !filter.accept(statistics)) {
+        rows = 0;
+        return;
+      }
+      values = new Object[columns][];
+      for (int c = 0; c < columns; c++) {
+        if (isProjected(c)) {
+          buffer.position(starts[c]);
+          values[c] = ColumnEncoder.decode(types[c], buffer, blockSize);
+        }
+      }
+      rows = blockSize;
+    }
+
+    private boolean isProjected(int column) {
+      if (projection == null || projection.length == 0) {
+        return true;
+      }
+      for (int c : projection) {
+        if (c == column) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -57,9 +57,20 @@ public class DiskBackedCollectionPartition<T> extends BufferedCollectionPartitio
   }
 
   protected String getRootPathStr(Config config) {
+    return rootPath(config, this.getReference());
+  }
+
+  /**
+   * The local directory holding the files of a partition
+   *
+   * @param config configuration
+   * @param reference reference of the partition
+   * @return the directory as a file URI
+   */
+  public static String rootPath(Config config, String reference) {
     return FS_PROTO + String.join(File.separator,
         config.getStringValue(CONFIG_FS_ROOT, "/tmp"), String.join(File.separator,
-            this.getReference()));
+            reference));
   }
 
   @Override
@@ -75,4 +86,12 @@ public class DiskBackedCollectionPartition<T> extends BufferedCollectionPartitio
   protected Path getRootPath(Config config) {
     return new Path(getRootPathStr(config));
   }
+
+  /**
+   * The frames are on the local disk, so they are memory mapped instead of read to the heap
+   */
+  @Override
+  protected FrameFile openFrames(Path path) throws IOException {
+    return FrameFile.map(new File(path.toUri().getPath()));
+  }
 }
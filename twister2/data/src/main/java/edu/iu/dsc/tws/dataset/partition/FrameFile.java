@@ -0,0 +1,194 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.data.FileSystem;
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.api.util.MemoryMapUtils;
+
+/**
+ * A file of serialized frames spilled by a {@link BufferedCollectionPartition}. The file starts
+ * with the number of frames, followed by the frames each prefixed by its size, and ends with an
+ * index holding the offset of every frame. With the index a frame can be read without reading
+ * the frames before it.
+ * <p>
+ * A frame file can be loaded, read and released by different threads. Reading and releasing use
+ * the same lock, so a mapped file is never unmapped during a read and cannot be read after it.
+ */
+public final class FrameFile {
+
+  private static final Logger LOG = Logger.getLogger(FrameFile.class.getName());
+
+  /**
+   * Size of the frame count at the start of the file
+   */
+  private static final int HEADER_BYTES = Long.BYTES;
+
+  /**
+   * The contents of the file
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Number of frames in the file
+   */
+  private final int frames;
+
+  /**
+   * Position of the offset index in the buffer
+   */
+  private final int indexStart;
+
+  /**
+   * Weather the file is released, unmapping a buffer twice crashes the JVM
+   */
+  private boolean released;
+
+  private FrameFile(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    long count = buffer.getLong(0);
+    long start = buffer.capacity() - count * Long.BYTES;
+    if (count < 0 || start < HEADER_BYTES) {
+      throw new IOException("Corrupted frame file with " + count + " frames in "
+          + buffer.capacity() + " bytes");
+    }
+    this.frames = (int) count;
+    this.indexStart = (int) start;
+  }
+
+  /**
+   * Write the frames to a new file
+   *
+   * @param fileSystem the file system
+   * @param path path of the file
+   * @param data serialized frames
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(FileSystem fileSystem, Path path, List<byte[]> data)
+      throws IOException {
+    long[] offsets = new long[data.size()];
+    try (DataOutputStream out = new DataOutputStream(fileSystem.create(path))) {
+      out.writeLong(data.size());
+      long offset = HEADER_BYTES;
+      for (int i = 0; i < offsets.length; i++) {
+        byte[] frame = data.get(i);
+        offsets[i] = offset;
+        out.writeInt(frame.length);
+        out.write(frame);
+        offset += Integer.BYTES + frame.length;
+      }
+      for (long o : offsets) {
+        out.writeLong(o);
+      }
+    }
+  }
+
+  /**
+   * Read only the number of frames in a file
+   */
+  public static long frameCount(FileSystem fileSystem, Path path) throws IOException {
+    try (DataInputStream in = new DataInputStream(fileSystem.open(path))) {
+      return in.readLong();
+    }
+  }
+
+  /**
+   * Read the whole file to the heap, this works with any file system
+   */
+  public static FrameFile read(FileSystem fileSystem, Path path) throws IOException {
+    long length = fileSystem.getFileStatus(path).getLen();
+    checkLength(length, path);
+    byte[] bytes = new byte[(int) length];
+    try (DataInputStream in = new DataInputStream(fileSystem.open(path))) {
+      in.readFully(bytes);
+    }
+    return new FrameFile(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Memory map a local file and load its pages to the memory
+   */
+  public static FrameFile map(File file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+         FileChannel channel = raf.getChannel()) {
+      checkLength(channel.size(), file);
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      mapped.load();
+      return new FrameFile(mapped);
+    }
+  }
+
+  private static void checkLength(long length, Object file) throws IOException {
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Frame file is too large to read at once: " + file);
+    }
+  }
+
+  public int size() {
+    return frames;
+  }
+
+  /**
+   * Copy a frame out of the file
+   *
+   * @param index index of the frame in this file
+   * @return the serialized frame
+   * @throws Twister2RuntimeException if the file is released
+   */
+  public synchronized byte[] get(int index) {
+    if (released) {
+      throw new Twister2RuntimeException("Frame " + index + " is read after the file is released");
+    }
+    if (index < 0 || index >= frames) {
+      throw new IndexOutOfBoundsException("Frame " + index + " of " + frames);
+    }
+    int offset = (int) buffer.getLong(indexStart + index * Long.BYTES);
+    byte[] data = new byte[buffer.getInt(offset)];
+    buffer.position(offset + Integer.BYTES);
+    buffer.get(data);
+    return data;
+  }
+
+  /**
+   * Unmap the file if it is memory mapped, the frames cannot be read after this
+   */
+  public synchronized void release() {
+    if (released) {
+      return;
+    }
+    released = true;
+    if (buffer instanceof MappedByteBuffer) {
+      try {
+        MemoryMapUtils.unMapBuffer((MappedByteBuffer) buffer);
+      } catch (ReflectiveOperationException e) {
+        LOG.log(Level.WARNING, "Failed to unmap the frame file", e);
+      }
+    }
+  }
+
+  public synchronized boolean isReleased() {
+    return released;
+  }
+}
@@ -0,0 +1,27 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition.columnar;
+
+/**
+ * Selects the blocks of a columnar partition to read using the block statistics, the columns of
+ * the rejected blocks are not decoded.
+ */
+@FunctionalInterface
+public interface BlockFilter {
+  /**
+   * Check weather a block should be read
+   *
+   * @param statistics statistics of each column, null for columns without statistics
+   * @return true if the block should be read
+   */
+  boolean accept(ColumnStatistics[] statistics);
+}
@@ -0,0 +1,530 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.packing.DataPacker;
+
+/**
+ * Encodes the values of a column in a block and decodes them back.
+ * <p>
+ * A column chunk is written as the column type, the chunk length, a flags byte with the encoding,
+ * the block statistics, the null positions if there are nulls and the encoded values. Integral
+ * columns pick the smallest of plain, delta or run length encoding, doubles plain or run length
+ * and strings plain or a dictionary. String and object columns are compressed with LZ4 when that
+ * makes them smaller.
+ */
+public final class ColumnEncoder {
+  private static final int PLAIN = 0;
+  private static final int DELTA = 1;
+  private static final int RLE = 2;
+  private static final int DICTIONARY = 3;
+
+  private static final int ENCODING_MASK = 0x0F;
+  private static final int NULLS_FLAG = 0x40;
+  private static final int LZ4_FLAG = 0x80;
+
+  /**
+   * Smaller payloads are not compressed
+   */
+  private static final int MIN_COMPRESS_BYTES = 256;
+
+  private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+  private static final ColumnType[] TYPES = ColumnType.values();
+
+  private ColumnEncoder() {
+  }
+
+  /**
+   * Write the values of a column in a block
+   *
+   * @param type type of the column
+   * @param values the values, can contain nulls
+   * @param out output
+   */
+  public static void encode(ColumnType type, Object[] values, DataOutput out) throws IOException {
+    int nonNull = 0;
+    for (Object v : values) {
+      if (v != null) {
+        nonNull++;
+      }
+    }
+    Object[] present = values;
+    BitSet nulls = null;
+    if (nonNull < values.length) {
+      nulls = new BitSet(values.length);
+      present = new Object[nonNull];
+      int j = 0;
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == null) {
+          nulls.set(i);
+        } else {
+          present[j++] = values[i];
+        }
+      }
+    }
+
+    ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+    DataOutputStream payload = new DataOutputStream(payloadBytes);
+    ColumnStatistics statistics = null;
+    int encoding;
+    switch (type) {
+      case INTEGER:
+      case LONG:
+        long[] longs = new long[nonNull];
+        for (int i = 0; i < nonNull; i++) {
+          longs[i] = ((Number) present[i]).longValue();
+        }
+        statistics = longStatistics(type, longs);
+        encoding = encodeLongs(longs, type == ColumnType.INTEGER ? Integer.BYTES : Long.BYTES,
+            payload);
+        break;
+      case DOUBLE:
+        double[] doubles = new double[nonNull];
+        for (int i = 0; i < nonNull; i++) {
+          doubles[i] = ((Number) present[i]).doubleValue();
+        }
+        statistics = doubleStatistics(doubles);
+        encoding = encodeDoubles(doubles, payload);
+        break;
+      case STRING:
+        encoding = encodeStrings(present, payload);
+        break;
+      default:
+        encoding = encodeObjects(present, payload);
+    }
+    payload.flush();
+    byte[] data = payloadBytes.toByteArray();
+    byte[] compressed = type == ColumnType.STRING || type == ColumnType.OBJECT
+        ? compress(data) : null;
+
+    ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(data.length + 32);
+    DataOutputStream chunk = new DataOutputStream(chunkBytes);
+    chunk.writeByte(encoding | (nulls != null ? NULLS_FLAG : 0)
+        | (compressed != null ? LZ4_FLAG : 0));
+    writeStatistics(type, statistics, chunk);
+    if (nulls != null) {
+      byte[] nullBytes = nulls.toByteArray();
+      writeVarLong(chunk, nullBytes.length);
+      chunk.write(nullBytes);
+    }
+    if (compressed != null) {
+      writeVarLong(chunk, data.length);
+      chunk.write(compressed);
+    } else {
+      chunk.write(data);
+    }
+    chunk.flush();
+
+    out.writeByte(type.ordinal());
+    out.writeInt(chunkBytes.size());
+    out.write(chunkBytes.toByteArray());
+  }
+
+  /**
+   * Read the type of the chunk at the current position and move to the chunk body
+   */
+  public static ColumnType readType(ByteBuffer in) {
+    return TYPES[in.get()];
+  }
+
+  /**
+   * Read the chunk length and move to the flags byte
+   */
+  public static int readLength(ByteBuffer in) {
+    return in.getInt();
+  }
+
+  /**
+   * Read the statistics of a chunk, the buffer must be at the flags byte
+   *
+   * @return the statistics or null if the column does not have them
+   */
+  public static ColumnStatistics readStatistics(ColumnType type, ByteBuffer in) {
+    in.get();
+    if (in.get() == 0) {
+      return null;
+    }
+    switch (type) {
+      case INTEGER:
+        return new ColumnStatistics((int) in.getLong(), (int) in.getLong());
+      case LONG:
+        return new ColumnStatistics(in.getLong(), in.getLong());
+      default:
+        return new ColumnStatistics(in.getDouble(), in.getDouble());
+    }
+  }
+
+  /**
+   * Decode the values of a chunk, the buffer must be at the flags byte
+   *
+   * @param type type of the column
+   * @param in buffer backed by an array
+   * @param rows number of rows in the block
+   * @return the values of each row
+   */
+  public static Object[] decode(ColumnType type, ByteBuffer in, int rows) {
+    int flags = in.get() & 0xFF;
+    // skip the statistics
+    if (in.get() != 0) {
+      in.position(in.position() + 2 * Long.BYTES);
+    }
+    BitSet nulls = null;
+    if ((flags & NULLS_FLAG) != 0) {
+      byte[] nullBytes = new byte[(int) readVarLong(in)];
+      in.get(nullBytes);
+      nulls = BitSet.valueOf(nullBytes);
+    }
+    ByteBuffer data = in;
+    if ((flags & LZ4_FLAG) != 0) {
+      byte[] raw = new byte[(int) readVarLong(in)];
+      int read = LZ4.fastDecompressor().decompress(in.array(), in.arrayOffset() + in.position(),
+          raw, 0, raw.length);
+      in.position(in.position() + read);
+      data = ByteBuffer.wrap(raw);
+    }
+
+    int nonNull = nulls == null ? rows : rows - nulls.cardinality();
+    Object[] present = new Object[nonNull];
+    int encoding = flags & ENCODING_MASK;
+    switch (type) {
+      case INTEGER:
+      case LONG:
+        decodeLongs(type, encoding, data, present);
+        break;
+      case DOUBLE:
+        decodeDoubles(encoding, data, present);
+        break;
+      case STRING:
+        decodeStrings(encoding, data, present);
+        break;
+      default:
+        decodeObjects(data, present);
+    }
+
+    if (nulls == null) {
+      return present;
+    }
+    Object[] values = new Object[rows];
+    int j = 0;
+    for (int i = 0; i < rows; i++) {
+      if (!nulls.get(i)) {
+        values[i] = present[j++];
+      }
+    }
+    return values;
+  }
+
+  private static ColumnStatistics longStatistics(ColumnType type, long[] values) {
+    if (values.length == 0) {
+      return null;
+    }
+    long min = values[0];
+    long max = values[0];
+    for (long v : values) {
+      min = Math.min(min, v);
+      max = Math.max(max, v);
+    }
+    return type == ColumnType.INTEGER
+        ? new ColumnStatistics((int) min, (int) max) : new ColumnStatistics(min, max);
+  }
+
+  private static ColumnStatistics doubleStatistics(double[] values) {
+    if (values.length == 0) {
+      return null;
+    }
+    double min = values[0];
+    double max = values[0];
+    for (double v : values) {
+      min = Math.min(min, v);
+      max = Math.max(max, v);
+    }
+    return new ColumnStatistics(min, max);
+  }
+
+  private static void writeStatistics(ColumnType type, ColumnStatistics statistics,
+                                      DataOutput out) throws IOException {
+    if (statistics == null) {
+      out.writeByte(0);
+      return;
+    }
+    out.writeByte(1);
+    if (type == ColumnType.DOUBLE) {
+      out.writeDouble((Double) statistics.getMin());
+      out.writeDouble((Double) statistics.getMax());
+    } else {
+      out.writeLong(((Number) statistics.getMin()).longValue());
+      out.writeLong(((Number) statistics.getMax()).longValue());
+    }
+  }
+
+  private static int encodeLongs(long[] values, int width, DataOutput out) throws IOException {
+    long plainBytes = (long) values.length * width;
+    long deltaBytes = 0;
+    long rleBytes = 0;
+    long previous = 0;
+    for (int i = 0; i < values.length; i++) {
+      deltaBytes += varLength(zigZag(values[i] - previous));
+      previous = values[i];
+      if (i == 0 || values[i] != values[i - 1]) {
+        rleBytes += varLength(zigZag(values[i])) + 1;
+      }
+    }
+
+    if (rleBytes < deltaBytes && rleBytes < plainBytes) {
+      int i = 0;
+      while (i < values.length) {
+        int j = i;
+        while (j < values.length && values[j] == values[i]) {
+          j++;
+        }
+        writeVarLong(out, zigZag(values[i]));
+        writeVarLong(out, j - i);
+        i = j;
+      }
+      return RLE;
+    } else if (deltaBytes < plainBytes) {
+      previous = 0;
+      for (long v : values) {
+        writeVarLong(out, zigZag(v - previous));
+        previous = v;
+      }
+      return DELTA;
+    }
+
+    for (long v : values) {
+      if (width == Integer.BYTES) {
+        out.writeInt((int) v);
+      } else {
+        out.writeLong(v);
+      }
+    }
+    return PLAIN;
+  }
+
+  private static void decodeLongs(ColumnType type, int encoding, ByteBuffer in,
+                                  Object[] values) {
+    boolean ints = type == ColumnType.INTEGER;
+    if (encoding == RLE) {
+      int i = 0;
+      while (i < values.length) {
+        long v = unZigZag(readVarLong(in));
+        Object boxed = ints ? (Object) (int) v : (Object) v;
+        int run = (int) readVarLong(in);
+        Arrays.fill(values, i, i + run, boxed);
+        i += run;
+      }
+    } else if (encoding == DELTA) {
+      long previous = 0;
+      for (int i = 0; i < values.length; i++) {
+        previous += unZigZag(readVarLong(in));
+        values[i] = ints ? (Object) (int) previous : (Object) previous;
+      }
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = ints ? (Object) in.getInt() : (Object) in.getLong();
+      }
+    }
+  }
+
+  private static int encodeDoubles(double[] values, DataOutput out) throws IOException {
+    int runs = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || Double.doubleToRawLongBits(values[i])
+          != Double.doubleToRawLongBits(values[i - 1])) {
+        runs++;
+      }
+    }
+    // a run takes the value and at least one byte for the length
+    if (runs * (Double.BYTES + 1) < values.length * Double.BYTES) {
+      int i = 0;
+      while (i < values.length) {
+        long bits = Double.doubleToRawLongBits(values[i]);
+        int j = i;
+        while (j < values.length && Double.doubleToRawLongBits(values[j]) == bits) {
+          j++;
+        }
+        out.writeLong(bits);
+        writeVarLong(out, j - i);
+        i = j;
+      }
+      return RLE;
+    }
+
+    for (double v : values) {
+      out.writeDouble(v);
+    }
+    return PLAIN;
+  }
+
+  private static void decodeDoubles(int encoding, ByteBuffer in, Object[] values) {
+    if (encoding == RLE) {
+      int i = 0;
+      while (i < values.length) {
+        Double v = Double.longBitsToDouble(in.getLong());
+        int run = (int) readVarLong(in);
+        Arrays.fill(values, i, i + run, v);
+        i += run;
+      }
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = in.getDouble();
+      }
+    }
+  }
+
+  private static int encodeStrings(Object[] values, DataOutput out) throws IOException {
+    Map<String, Integer> dictionary = new HashMap<>();
+    for (Object v : values) {
+      dictionary.putIfAbsent((String) v, dictionary.size());
+      if (dictionary.size() * 2 > values.length) {
+        break;
+      }
+    }
+
+    if (dictionary.size() * 2 <= values.length) {
+      String[] words = new String[dictionary.size()];
+      for (Map.Entry<String, Integer> e : dictionary.entrySet()) {
+        words[e.getValue()] = e.getKey();
+      }
+      writeVarLong(out, words.length);
+      for (String w : words) {
+        writeBytes(out, w.getBytes(StandardCharsets.UTF_8));
+      }
+      for (Object v : values) {
+        writeVarLong(out, dictionary.get(v));
+      }
+      return DICTIONARY;
+    }
+
+    for (Object v : values) {
+      writeBytes(out, ((String) v).getBytes(StandardCharsets.UTF_8));
+    }
+    return PLAIN;
+  }
+
+  private static void decodeStrings(int encoding, ByteBuffer in, Object[] values) {
+    if (encoding == DICTIONARY) {
+      String[] words = new String[(int) readVarLong(in)];
+      for (int i = 0; i < words.length; i++) {
+        words[i] = readString(in);
+      }
+      for (int i = 0; i < values.length; i++) {
+        values[i] = words[(int) readVarLong(in)];
+      }
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = readString(in);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int encodeObjects(Object[] values, DataOutput out) throws IOException {
+    DataPacker packer = MessageTypes.OBJECT.getDataPacker();
+    for (Object v : values) {
+      writeBytes(out, packer.packToByteArray(v));
+    }
+    return PLAIN;
+  }
+
+  private static void decodeObjects(ByteBuffer in, Object[] values) {
+    DataPacker packer = MessageTypes.OBJECT.getDataPacker();
+    for (int i = 0; i < values.length; i++) {
+      byte[] bytes = new byte[(int) readVarLong(in)];
+      in.get(bytes);
+      values[i] = packer.unpackFromByteArray(bytes);
+    }
+  }
+
+  private static byte[] compress(byte[] data) {
+    if (data.length < MIN_COMPRESS_BYTES) {
+      return null;
+    }
+    LZ4Compressor compressor = LZ4.fastCompressor();
+    int maxLength = compressor.maxCompressedLength(data.length);
+    byte[] compressed = new byte[maxLength];
+    int length = compressor.compress(data, 0, data.length, compressed, 0, maxLength);
+    // keep the plain bytes unless we save at least 10%
+    if (length > data.length * 0.9) {
+      return null;
+    }
+    return Arrays.copyOf(compressed, length);
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    writeVarLong(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = (int) readVarLong(in);
+    String s = new String(in.array(), in.arrayOffset() + in.position(), length,
+        StandardCharsets.UTF_8);
+    in.position(in.position() + length);
+    return s;
+  }
+
+  private static long zigZag(long v) {
+    return (v << 1) ^ (v >> 63);
+  }
+
+  private static long unZigZag(long v) {
+    return (v >>> 1) ^ -(v & 1);
+  }
+
+  private static int varLength(long v) {
+    int length = 1;
+    long rest = v >>> 7;
+    while (rest != 0) {
+      length++;
+      rest >>>= 7;
+    }
+    return length;
+  }
+
+  private static void writeVarLong(DataOutput out, long v) throws IOException {
+    long rest = v;
+    while ((rest & ~0x7FL) != 0) {
+      out.writeByte((int) ((rest & 0x7F) | 0x80));
+      rest >>>= 7;
+    }
+    out.writeByte((int) rest);
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long v = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      v |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return v;
+  }
+}
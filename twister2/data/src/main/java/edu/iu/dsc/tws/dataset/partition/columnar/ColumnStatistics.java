@@ -0,0 +1,50 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition.columnar;
+
+/**
+ * Minimum and maximum of the values of a numeric column in a block. Values are an
+ * {@link Integer}, {@link Long} or {@link Double} according to the column type.
+ */
+public final class ColumnStatistics {
+  private final Comparable<?> min;
+
+  private final Comparable<?> max;
+
+  ColumnStatistics(Comparable<?> min, Comparable<?> max) {
+    this.min = min;
+    this.max = max;
+  }
+
+  public Comparable<?> getMin() {
+    return min;
+  }
+
+  public Comparable<?> getMax() {
+    return max;
+  }
+
+  /**
+   * Check weather a numeric value can be in the block
+   *
+   * @param value the value
+   * @return false if the value is out of the block range
+   */
+  public boolean mayContain(double value) {
+    return ((Number) min).doubleValue() <= value && value <= ((Number) max).doubleValue();
+  }
+
+  @Override
+  public String toString() {
+    return "[" + min + ", " + max + "]";
+  }
+}
@@ -0,0 +1,49 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.dataset.partition.columnar;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+
+/**
+ * Type of the values of a column. Other than {@link #OBJECT}, the values are encoded without
+ * serializing each value.
+ */
+public enum ColumnType {
+  INTEGER,
+  LONG,
+  DOUBLE,
+  STRING,
+  /**
+   * Any other type, each value is serialized with the object packer
+   */
+  OBJECT;
+
+  /**
+   * Get the column type for a message type
+   *
+   * @param type the message type, can be null
+   * @return the column type
+   */
+  public static ColumnType of(MessageType type) {
+    if (type == MessageTypes.INTEGER) {
+      return INTEGER;
+    } else if (type == MessageTypes.LONG) {
+      return LONG;
+    } else if (type == MessageTypes.DOUBLE) {
+      return DOUBLE;
+    } else if (type == MessageTypes.STRING) {
+      return STRING;
+    }
+    return OBJECT;
+  }
+}
@@ -0,0 +1,195 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnEncoder;
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnStatistics;
+import edu.iu.dsc.tws.dataset.partition.columnar.ColumnType;
+
+public class ColumnEncoderTest {
+
+  // encodings and flags of a column chunk
+  private static final int PLAIN = 0;
+  private static final int DELTA = 1;
+  private static final int RLE = 2;
+  private static final int DICTIONARY = 3;
+  private static final int NULLS_FLAG = 0x40;
+  private static final int LZ4_FLAG = 0x80;
+
+  @Test
+  public void testLongEncodings() throws IOException {
+    Object[] sorted = new Object[1000];
+    Object[] repeated = new Object[1000];
+    Object[] random = new Object[1000];
+    Random r = new Random(0);
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = (1L << 40) + i * 3L;
+      repeated[i] = (long) (i / 250) - 2;
+      random[i] = r.nextLong();
+    }
+    Assert.assertEquals(DELTA, encoding(roundTrip(ColumnType.LONG, sorted)));
+    Assert.assertEquals(RLE, encoding(roundTrip(ColumnType.LONG, repeated)));
+    Assert.assertEquals(PLAIN, encoding(roundTrip(ColumnType.LONG, random)));
+
+    ColumnStatistics statistics = statistics(ColumnType.LONG, repeated);
+    Assert.assertEquals(-2L, statistics.getMin());
+    Assert.assertEquals(1L, statistics.getMax());
+  }
+
+  @Test
+  public void testIntegerEncodings() throws IOException {
+    Object[] sorted = new Object[1000];
+    Object[] random = new Object[1000];
+    Random r = new Random(0);
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = i * 7;
+      random[i] = r.nextInt();
+    }
+    Assert.assertEquals(DELTA, encoding(roundTrip(ColumnType.INTEGER, sorted)));
+    Assert.assertEquals(PLAIN, encoding(roundTrip(ColumnType.INTEGER, random)));
+    Assert.assertEquals(RLE, encoding(roundTrip(ColumnType.INTEGER, new Object[]{5, 5, 5, 5})));
+  }
+
+  @Test
+  public void testDoubleEncodings() throws IOException {
+    Object[] repeated = new Object[1000];
+    Object[] random = new Object[1000];
+    Random r = new Random(0);
+    for (int i = 0; i < repeated.length; i++) {
+      repeated[i] = i < 500 ? 1.5 : -0.25;
+      random[i] = r.nextDouble();
+    }
+    Assert.assertEquals(RLE, encoding(roundTrip(ColumnType.DOUBLE, repeated)));
+    Assert.assertEquals(PLAIN, encoding(roundTrip(ColumnType.DOUBLE, random)));
+
+    ColumnStatistics statistics = statistics(ColumnType.DOUBLE, repeated);
+    Assert.assertEquals(-0.25, statistics.getMin());
+    Assert.assertEquals(1.5, statistics.getMax());
+    Assert.assertTrue(statistics.mayContain(1.0));
+    Assert.assertFalse(statistics.mayContain(2.0));
+  }
+
+  @Test
+  public void testStringEncodings() throws IOException {
+    Object[] words = new Object[1000];
+    Object[] distinct = new Object[1000];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = i % 3 == 0 ? "alpha" : "beta";
+      distinct[i] = String.format("%05d", i);
+    }
+    Assert.assertEquals(DICTIONARY, encoding(roundTrip(ColumnType.STRING, words)));
+    int flags = flags(roundTrip(ColumnType.STRING, distinct));
+    Assert.assertEquals(PLAIN, flags & 0x0F);
+    Assert.assertEquals(0, flags & LZ4_FLAG);
+  }
+
+  @Test
+  public void testCompressedColumns() throws IOException {
+    char[] padding = new char[200];
+    Arrays.fill(padding, 'x');
+    Object[] strings = new Object[100];
+    Object[] objects = new Object[100];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = i + new String(padding);
+      objects[i] = new int[200];
+    }
+    Assert.assertNotEquals(0, flags(roundTrip(ColumnType.STRING, strings)) & LZ4_FLAG);
+    Assert.assertNotEquals(0, flags(roundTrip(ColumnType.OBJECT, objects)) & LZ4_FLAG);
+
+    // small chunks are not compressed
+    Assert.assertEquals(0, flags(roundTrip(ColumnType.STRING, new Object[]{"a", "b"}))
+        & LZ4_FLAG);
+  }
+
+  @Test
+  public void testObjectColumn() throws IOException {
+    List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+    Object[] values = {list, null, new int[]{4, 5}, "six"};
+    byte[] chunk = roundTrip(ColumnType.OBJECT, values);
+    Assert.assertEquals(PLAIN | NULLS_FLAG, flags(chunk));
+    Assert.assertNull(statistics(ColumnType.OBJECT, values));
+  }
+
+  @Test
+  public void testNullsAndEmptyChunks() throws IOException {
+    for (ColumnType type : ColumnType.values()) {
+      // a column with only nulls has no statistics
+      Object[] nulls = new Object[10];
+      Assert.assertNotEquals(0, flags(roundTrip(type, nulls)) & NULLS_FLAG);
+      Assert.assertNull(statistics(type, nulls));
+
+      Object[] empty = new Object[0];
+      Assert.assertEquals(0, flags(roundTrip(type, empty)) & NULLS_FLAG);
+      Assert.assertNull(statistics(type, empty));
+    }
+
+    Object[] someNulls = {null, 3L, null, 3L, 4L, null};
+    roundTrip(ColumnType.LONG, someNulls);
+    ColumnStatistics statistics = statistics(ColumnType.LONG, someNulls);
+    Assert.assertEquals(3L, statistics.getMin());
+    Assert.assertEquals(4L, statistics.getMax());
+  }
+
+  /**
+   * Encode the values, check that they decode to the same values and return the chunk
+   */
+  private static byte[] roundTrip(ColumnType type, Object[] values) throws IOException {
+    byte[] chunk = encode(type, values);
+    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+    Assert.assertEquals(type, ColumnEncoder.readType(buffer));
+    Assert.assertEquals(chunk.length - buffer.position() - Integer.BYTES,
+        ColumnEncoder.readLength(buffer));
+    Object[] decoded = ColumnEncoder.decode(type, buffer, values.length);
+    Assert.assertEquals(chunk.length, buffer.position());
+    Assert.assertArrayEquals(values, decoded);
+    return chunk;
+  }
+
+  private static ColumnStatistics statistics(ColumnType type, Object[] values)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(encode(type, values));
+    ColumnEncoder.readType(buffer);
+    ColumnEncoder.readLength(buffer);
+    return ColumnEncoder.readStatistics(type, buffer);
+  }
+
+  private static byte[] encode(ColumnType type, Object[] values) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      ColumnEncoder.encode(type, values, out);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * The flags byte follows the type and the length of the chunk
+   */
+  private static int flags(byte[] chunk) {
+    return chunk[1 + Integer.BYTES] & 0xFF;
+  }
+
+  private static int encoding(byte[] chunk) {
+    return flags(chunk) & 0x0F;
+  }
+}
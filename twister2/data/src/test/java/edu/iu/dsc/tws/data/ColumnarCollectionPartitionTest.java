@@ -0,0 +1,241 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.api.dataset.DataPartitionConsumer;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.common.config.ConfigLoader;
+import edu.iu.dsc.tws.dataset.partition.ColumnarCollectionPartition;
+import edu.iu.dsc.tws.dataset.partition.FrameFile;
+
+public class ColumnarCollectionPartitionTest {
+
+  @Test
+  public void testIO() {
+    Config config = ConfigLoader.loadTestConfig();
+    String reference = UUID.randomUUID().toString();
+    String[] words = {"alpha", "beta", "gamma"};
+    Random random = new Random(0);
+
+    List<Tuple<Integer, String>> rawData = new ArrayList<>();
+    try (ColumnarCollectionPartition<Tuple<Integer, String>> partition =
+             new ColumnarCollectionPartition<>(MessageTypes.INTEGER, MessageTypes.STRING,
+                 config, reference)) {
+      partition.setMaxBufferedBytes(10000);
+      for (int i = 0; i < 10000; i++) {
+        String value = i % 100 == 0 ? null : words[random.nextInt(words.length)];
+        Tuple<Integer, String> tuple = new Tuple<>(i / 3, value);
+        rawData.add(tuple);
+        partition.add(tuple);
+      }
+    }
+
+    Assert.assertTrue(ColumnarCollectionPartition.exists(config, reference));
+    ColumnarCollectionPartition<Tuple<Integer, String>> loaded =
+        new ColumnarCollectionPartition<>(config, reference);
+    DataPartitionConsumer<Tuple<Integer, String>> consumer = loaded.getConsumer();
+    for (Tuple<Integer, String> expected : rawData) {
+      Tuple<Integer, String> actual = consumer.next();
+      Assert.assertEquals(expected.getKey(), actual.getKey());
+      Assert.assertEquals(expected.getValue(), actual.getValue());
+    }
+    Assert.assertFalse(consumer.hasNext());
+
+    // read only the keys of the blocks that can have the key 10
+    consumer = loaded.getConsumer(stats -> stats[0].mayContain(10), 0);
+    Tuple<Integer, String> first = consumer.next();
+    Assert.assertEquals(Integer.valueOf(0), first.getKey());
+    Assert.assertNull(first.getValue());
+    loaded.clear();
+  }
+
+  @Test
+  public void testLongAndDoubleColumns() {
+    Config config = ConfigLoader.loadTestConfig();
+    String reference = UUID.randomUUID().toString();
+    List<Tuple<Long, Double>> rawData = new ArrayList<>();
+    try (ColumnarCollectionPartition<Tuple<Long, Double>> partition =
+             new ColumnarCollectionPartition<>(MessageTypes.LONG, MessageTypes.DOUBLE,
+                 config, reference)) {
+      partition.setBlockRows(100);
+      partition.setMaxBufferedBytes(1000);
+      for (long i = 0; i < 1000; i++) {
+        Double value = i % 7 == 0 ? null : i / 200 * 0.5;
+        Tuple<Long, Double> tuple = new Tuple<>((1L << 40) + i, value);
+        rawData.add(tuple);
+        partition.add(tuple);
+      }
+    }
+
+    ColumnarCollectionPartition<Tuple<Long, Double>> loaded =
+        new ColumnarCollectionPartition<>(config, reference);
+    DataPartitionConsumer<Tuple<Long, Double>> consumer = loaded.getConsumer();
+    for (Tuple<Long, Double> expected : rawData) {
+      Tuple<Long, Double> actual = consumer.next();
+      Assert.assertEquals(expected.getKey(), actual.getKey());
+      Assert.assertEquals(expected.getValue(), actual.getValue());
+    }
+    Assert.assertFalse(consumer.hasNext());
+
+    // only the block with the values 2.0 is read, without the keys
+    consumer = loaded.getConsumer(stats -> stats[1] != null && stats[1].mayContain(2.0), 1);
+    int count = 0;
+    while (consumer.hasNext()) {
+      Tuple<Long, Double> tuple = consumer.next();
+      Assert.assertNull(tuple.getKey());
+      Assert.assertTrue(tuple.getValue() == null || tuple.getValue() == 2.0);
+      count++;
+    }
+    Assert.assertEquals(200, count);
+    loaded.clear();
+  }
+
+  @Test
+  public void testObjectColumn() {
+    Config config = ConfigLoader.loadTestConfig();
+    String reference = UUID.randomUUID().toString();
+    List<int[]> rawData = new ArrayList<>();
+    try (ColumnarCollectionPartition<int[]> partition =
+             new ColumnarCollectionPartition<>(null, MessageTypes.OBJECT, config, reference)) {
+      for (int i = 0; i < 100; i++) {
+        int[] value = i % 10 == 0 ? null : new int[]{i, i + 1};
+        rawData.add(value);
+        partition.add(value);
+      }
+      // values that are not flushed are read from memory
+      DataPartitionConsumer<int[]> consumer = partition.getConsumer();
+      for (int[] expected : rawData) {
+        Assert.assertArrayEquals(expected, consumer.next());
+      }
+      Assert.assertFalse(consumer.hasNext());
+    }
+
+    DataPartitionConsumer<int[]> consumer =
+        new ColumnarCollectionPartition<int[]>(config, reference).getConsumer();
+    for (int[] expected : rawData) {
+      Assert.assertArrayEquals(expected, consumer.next());
+    }
+    Assert.assertFalse(consumer.hasNext());
+    new ColumnarCollectionPartition<>(config, reference).clear();
+  }
+
+  @Test
+  public void testEmptyAndNullPartitions() {
+    Config config = ConfigLoader.loadTestConfig();
+    String reference = UUID.randomUUID().toString();
+    try (ColumnarCollectionPartition<Integer> partition =
+             new ColumnarCollectionPartition<>(null, MessageTypes.INTEGER, config, reference)) {
+      Assert.assertFalse(partition.getConsumer().hasNext());
+    }
+    // nothing is written for an empty partition
+    Assert.assertFalse(ColumnarCollectionPartition.exists(config, reference));
+
+    try (ColumnarCollectionPartition<Tuple<Integer, String>> partition =
+             new ColumnarCollectionPartition<>(MessageTypes.INTEGER, MessageTypes.STRING,
+                 config, reference)) {
+      for (int i = 0; i < 10; i++) {
+        partition.add(new Tuple<>(null, null));
+      }
+    }
+    Assert.assertTrue(ColumnarCollectionPartition.exists(config, reference));
+    ColumnarCollectionPartition<Tuple<Integer, String>> loaded =
+        new ColumnarCollectionPartition<>(config, reference);
+    // columns with only nulls do not have statistics
+    DataPartitionConsumer<Tuple<Integer, String>> consumer =
+        loaded.getConsumer(stats -> stats[0] == null && stats[1] == null);
+    for (int i = 0; i < 10; i++) {
+      Tuple<Integer, String> tuple = consumer.next();
+      Assert.assertNull(tuple.getKey());
+      Assert.assertNull(tuple.getValue());
+    }
+    Assert.assertFalse(consumer.hasNext());
+    loaded.clear();
+    Assert.assertFalse(ColumnarCollectionPartition.exists(config, reference));
+  }
+
+  @Test
+  public void testAbandonedConsumerReleasedOnClear() {
+    try (TrackingPartition partition = new TrackingPartition(ConfigLoader.loadTestConfig())) {
+      partition.setBlockRows(100);
+      partition.setMaxBufferedBytes(100);
+      for (int i = 0; i < 1000; i++) {
+        partition.add(i);
+      }
+      partition.flush();
+
+      // a consumer that reads to the end releases its files
+      DataPartitionConsumer<Integer> consumer = partition.getConsumer();
+      for (int i = 0; i < 1000; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      Assert.assertFalse(consumer.hasNext());
+      assertReleased(partition.opened);
+
+      // stop in the middle of the first file
+      partition.opened.clear();
+      consumer = partition.getConsumer();
+      for (int i = 0; i < 10; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      Assert.assertEquals(1, partition.opened.size());
+      Assert.assertFalse(partition.opened.get(0).isReleased());
+      partition.clear();
+      assertReleased(partition.opened);
+
+      // the consumer returns the rest of the decoded block but no more from the released file
+      for (int i = 10; i < 100; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      Assert.assertFalse(consumer.hasNext());
+      try {
+        partition.opened.get(0).get(0);
+        Assert.fail("A released file should not be read");
+      } catch (Twister2RuntimeException e) {
+        // expected
+      }
+    }
+  }
+
+  private static void assertReleased(List<FrameFile> files) {
+    for (FrameFile file : files) {
+      Assert.assertTrue(file.isReleased());
+    }
+  }
+
+  private static class TrackingPartition extends ColumnarCollectionPartition<Integer> {
+    private final List<FrameFile> opened = new ArrayList<>();
+
+    TrackingPartition(Config config) {
+      super(null, MessageTypes.INTEGER, config, UUID.randomUUID().toString());
+    }
+
+    @Override
+    protected FrameFile openFrames(Path path) throws IOException {
+      FrameFile file = super.openFrames(path);
+      opened.add(file);
+      return file;
+    }
+  }
+}
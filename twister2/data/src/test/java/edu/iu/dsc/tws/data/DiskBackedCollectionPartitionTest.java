@@ -11,19 +11,27 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.data;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.api.dataset.DataPartitionConsumer;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+import edu.iu.dsc.tws.api.util.CommonThreadPool;
 import edu.iu.dsc.tws.common.config.ConfigLoader;
 import edu.iu.dsc.tws.dataset.partition.BufferedCollectionPartition;
 import edu.iu.dsc.tws.dataset.partition.DiskBackedCollectionPartition;
+import edu.iu.dsc.tws.dataset.partition.FrameFile;
 
 public class DiskBackedCollectionPartitionTest {
 
@@ -70,6 +78,113 @@ public class DiskBackedCollectionPartitionTest {
     }
   }
 
+  @Test
+  public void testIndexedReadsWithFramesInMemory() {
+    try (BufferedCollectionPartition<Integer> dbp = new DiskBackedCollectionPartition<>(
+        100, MessageTypes.INTEGER, 1000, ConfigLoader.loadTestConfig(),
+        UUID.randomUUID().toString())) {
+      for (int i = 0; i < 2500; i++) {
+        dbp.add(i);
+      }
+
+      DataPartitionConsumer<Integer> consumer = dbp.getConsumer();
+      for (int i = 0; i < 2500; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      Assert.assertFalse(consumer.hasNext());
+
+      for (int i = 2499; i >= 0; i -= 7) {
+        Assert.assertEquals(Integer.valueOf(i), dbp.get(i));
+      }
+      dbp.clear();
+    }
+  }
+
+  @Test
+  public void testConsumerReleasesFiles() {
+    try (TrackingPartition dbp = new TrackingPartition(ConfigLoader.loadTestConfig())) {
+      // a few files and some frames left in the buffers
+      for (int i = 0; i < 1100; i++) {
+        dbp.add(i);
+      }
+
+      DataPartitionConsumer<Integer> consumer = dbp.getConsumer();
+      for (int i = 0; i < 1050; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      // reading from the buffers now, all the files should be released
+      Assert.assertEquals(4, dbp.opened.size());
+      assertReleased(dbp.opened);
+      for (int i = 1050; i < 1100; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      Assert.assertFalse(consumer.hasNext());
+      assertReleased(dbp.opened);
+      dbp.clear();
+    }
+  }
+
+  @Test
+  public void testAbandonedConsumerReleasedOnClear() throws ExecutionException,
+      InterruptedException {
+    CommonThreadPool.init(Config.newBuilder().build());
+    try (TrackingPartition dbp = new TrackingPartition(ConfigLoader.loadTestConfig())) {
+      for (int i = 0; i < 2000; i++) {
+        dbp.add(i);
+      }
+      dbp.flush();
+
+      // stop in the middle of the first file, the second one is being prefetched
+      DataPartitionConsumer<Integer> consumer = dbp.getConsumer();
+      for (int i = 0; i < 10; i++) {
+        Assert.assertEquals(Integer.valueOf(i), consumer.next());
+      }
+      dbp.clear();
+
+      // the common pool runs the tasks in order, so the prefetch is done after this
+      CommonThreadPool.getExecutor().submit(() -> { }).get();
+      Assert.assertFalse(dbp.opened.isEmpty());
+      assertReleased(dbp.opened);
+
+      // the consumer no longer reads from the released files
+      Assert.assertFalse(consumer.hasNext());
+      try {
+        dbp.opened.get(0).get(0);
+        Assert.fail("A released file should not be read");
+      } catch (Twister2RuntimeException e) {
+        // expected
+      }
+    }
+  }
+
+  private void assertReleased(List<FrameFile> files) {
+    synchronized (files) {
+      for (FrameFile file : files) {
+        Assert.assertTrue(file.isReleased());
+      }
+    }
+  }
+
+  /**
+   * Keeps the files opened by the partition so that we can check they are released
+   */
+  private static class TrackingPartition extends DiskBackedCollectionPartition<Integer> {
+    private final List<FrameFile> opened = new ArrayList<>();
+
+    TrackingPartition(Config config) {
+      super(0, MessageTypes.INTEGER, 1000, config, UUID.randomUUID().toString());
+    }
+
+    @Override
+    protected FrameFile openFrames(Path path) throws IOException {
+      FrameFile file = super.openFrames(path);
+      synchronized (opened) {
+        opened.add(file);
+      }
+      return file;
+    }
+  }
+
   private void verify(DataPartitionConsumer<Integer> consumer, Iterator<Integer> rawIterator) {
     while (rawIterator.hasNext()) {
       Assert.assertEquals(rawIterator.next(), consumer.next());
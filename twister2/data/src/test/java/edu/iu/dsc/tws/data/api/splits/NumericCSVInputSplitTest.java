@@ -0,0 +1,161 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.api.splits;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.Path;
+import edu.iu.dsc.tws.api.util.CommonThreadPool;
+import edu.iu.dsc.tws.data.api.formatters.LocalNumericCSVInputPartitioner;
+import edu.iu.dsc.tws.data.fs.io.InputSplit;
+import edu.iu.dsc.tws.data.fs.io.InputSplitAssigner;
+import edu.iu.dsc.tws.data.fs.local.LocalCSVReader;
+import edu.iu.dsc.tws.data.utils.DataContext;
+
+public class NumericCSVInputSplitTest {
+
+  @Test
+  public void testRead() throws IOException {
+    double[][] rows = rows(50, 3);
+    File file = write(rows, ",", "\n");
+    Assert.assertArrayEquals(rows, read(file, ',', "\n", 1024 * 1024));
+  }
+
+  @Test
+  public void testMultiByteDelimiters() throws IOException {
+    double[][] rows = rows(50, 4);
+    for (String delimiter : new String[]{"\r\n", "||", "<eol>"}) {
+      File file = write(rows, ";", delimiter);
+      // small buffers put the delimiters across the buffer boundaries at every offset
+      for (int bufferSize = delimiter.length() + 1; bufferSize < 40; bufferSize++) {
+        Assert.assertArrayEquals("Delimiter " + delimiter + " buffer " + bufferSize,
+            rows, read(file, ';', delimiter, bufferSize));
+      }
+    }
+  }
+
+  @Test
+  public void testWhitespaceAndBlankLines() throws IOException {
+    File file = File.createTempFile("numeric", ".csv");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "1.5,\t-2\r\n \n0.25 , 1e3\n-0,3".getBytes(
+        StandardCharsets.US_ASCII));
+    double[][] records = read(file, ',', "\n", 1024);
+    Assert.assertArrayEquals(new double[][]{{1.5, -2}, {}, {0.25, 1000}, {-0.0, 3}}, records);
+    Assert.assertEquals(Double.doubleToRawLongBits(-0.0),
+        Double.doubleToRawLongBits(records[3][0]));
+  }
+
+  @Test
+  public void testReachedEnd() throws IOException {
+    for (String content : new String[]{"1,2\n3,4", "1,2\n3,4\n"}) {
+      File file = File.createTempFile("numeric", ".csv");
+      file.deleteOnExit();
+      Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+      // with and without a delimiter after the last record, at the end of a buffer or not
+      for (int bufferSize = 2; bufferSize < 12; bufferSize++) {
+        Assert.assertArrayEquals(new double[][]{{1, 2}, {3, 4}},
+            read(file, ',', "\n", bufferSize));
+      }
+    }
+
+    File empty = File.createTempFile("numeric", ".csv");
+    empty.deleteOnExit();
+    Assert.assertEquals(0, read(empty, ',', "\n", 16).length);
+  }
+
+  @Test
+  public void testPartitioner() throws IOException {
+    CommonThreadPool.init(Config.newBuilder().build());
+    double[][] rows = rows(100, 2);
+    File file = write(rows, ";", "\r\n");
+    Config config = Config.newBuilder()
+        .put(DataContext.READ_AHEAD, true)
+        .put(DataContext.READ_AHEAD_BYTES, 64)
+        .build();
+    LocalNumericCSVInputPartitioner partitioner = new LocalCSVReader(
+        new Path(file.getAbsolutePath())).fieldDelimiter(';').numericPartitioner(2, 100, config);
+    FileInputSplit<double[]>[] splits = partitioner.createInputSplits(2);
+    InputSplitAssigner<double[]> assigner = partitioner.getInputSplitAssigner(splits);
+
+    List<double[]> records = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      InputSplit<double[]> split = assigner.getNextInputSplit(null, i);
+      split.open(config);
+      while (!split.reachedEnd()) {
+        double[] record = split.nextRecord(null);
+        Assert.assertNotNull(record);
+        records.add(record);
+      }
+      split.close();
+    }
+    Assert.assertArrayEquals(rows, records.toArray(new double[records.size()][]));
+  }
+
+  private static double[][] read(File file, char fieldDelimiter, String lineDelimiter,
+                                 int bufferSize) throws IOException {
+    NumericCSVInputSplit split = new NumericCSVInputSplit(0, new Path(file.getAbsolutePath()),
+        0, file.length(), null);
+    split.setFieldDelimiter(fieldDelimiter);
+    split.setDelimiterString(lineDelimiter);
+    split.setBufferSize(bufferSize);
+    split.open(Config.newBuilder().build());
+
+    // the end is known before the last record is returned, so no null records are read
+    List<double[]> records = new ArrayList<>();
+    while (!split.reachedEnd()) {
+      double[] record = split.nextRecord(null);
+      Assert.assertNotNull(record);
+      records.add(record);
+    }
+    Assert.assertNull(split.nextRecord(null));
+    split.close();
+    return records.toArray(new double[records.size()][]);
+  }
+
+  private static double[][] rows(int count, int fields) {
+    double[][] rows = new double[count][fields];
+    for (int i = 0; i < count; i++) {
+      for (int j = 0; j < fields; j++) {
+        rows[i][j] = (i * fields + j) * (j % 2 == 0 ? 0.5 : -1.25);
+      }
+    }
+    return rows;
+  }
+
+  private static File write(double[][] rows, String fieldDelimiter, String lineDelimiter)
+      throws IOException {
+    StringBuilder builder = new StringBuilder();
+    for (double[] row : rows) {
+      for (int j = 0; j < row.length; j++) {
+        if (j > 0) {
+          builder.append(fieldDelimiter);
+        }
+        builder.append(row[j]);
+      }
+      builder.append(lineDelimiter);
+    }
+    File file = File.createTempFile("numeric", ".csv");
+    file.deleteOnExit();
+    Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+}
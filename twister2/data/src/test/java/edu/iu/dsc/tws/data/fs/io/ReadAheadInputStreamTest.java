@@ -0,0 +1,153 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.fs.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.data.FSDataInputStream;
+import edu.iu.dsc.tws.api.util.CommonThreadPool;
+
+public class ReadAheadInputStreamTest {
+
+  private static final int SIZE = 1000;
+
+  private byte[] data;
+
+  @Before
+  public void setUp() {
+    CommonThreadPool.init(Config.newBuilder().build());
+    data = new byte[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      data[i] = (byte) (i * 31);
+    }
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    for (int chunk : new int[]{1, 7, 64, SIZE, SIZE * 2}) {
+      try (ReadAheadInputStream in = new ReadAheadInputStream(new ArrayInputStream(data), chunk)) {
+        for (int i = 0; i < 10; i++) {
+          Assert.assertEquals(data[i] & 0xFF, in.read());
+        }
+        byte[] buffer = new byte[SIZE];
+        // the bulk read continues across the chunks
+        Assert.assertEquals(SIZE - 10, in.read(buffer, 0, SIZE));
+        assertBytes(buffer, 10, SIZE - 10);
+        Assert.assertEquals(SIZE, in.getPos());
+        Assert.assertEquals(-1, in.read());
+        Assert.assertEquals(-1, in.read(buffer, 0, 1));
+      }
+    }
+  }
+
+  @Test
+  public void testSeekInsideChunk() throws IOException {
+    try (ReadAheadInputStream in = new ReadAheadInputStream(new ArrayInputStream(data), 100)) {
+      byte[] buffer = new byte[10];
+      Assert.assertEquals(10, in.read(buffer, 0, 10));
+      // forward and backward within the first chunk
+      in.seek(90);
+      Assert.assertEquals(90, in.getPos());
+      Assert.assertEquals(data[90] & 0xFF, in.read());
+      in.seek(5);
+      Assert.assertEquals(10, in.read(buffer, 0, 10));
+      assertBytes(buffer, 5, 10);
+      Assert.assertEquals(15, in.getPos());
+      // the start of the next chunk
+      in.seek(99);
+      Assert.assertEquals(10, in.read(buffer, 0, 10));
+      assertBytes(buffer, 99, 10);
+      Assert.assertEquals(109, in.getPos());
+    }
+  }
+
+  @Test
+  public void testSeekOutsideChunk() throws IOException {
+    try (ReadAheadInputStream in = new ReadAheadInputStream(new ArrayInputStream(data), 100)) {
+      byte[] buffer = new byte[50];
+      // ahead of the chunk read in the background
+      in.seek(550);
+      Assert.assertEquals(550, in.getPos());
+      Assert.assertEquals(50, in.read(buffer, 0, 50));
+      assertBytes(buffer, 550, 50);
+      // back to a chunk that is not in memory anymore
+      in.seek(20);
+      Assert.assertEquals(50, in.read(buffer, 0, 50));
+      assertBytes(buffer, 20, 50);
+      // close to the end, so the last chunk is short
+      in.seek(SIZE - 30);
+      Assert.assertEquals(30, in.read(buffer, 0, 50));
+      assertBytes(buffer, SIZE - 30, 30);
+      Assert.assertEquals(-1, in.read());
+      // a seek after the end of the stream restarts reading
+      in.seek(0);
+      Assert.assertEquals(data[0] & 0xFF, in.read());
+    }
+  }
+
+  private void assertBytes(byte[] buffer, int position, int length) {
+    for (int i = 0; i < length; i++) {
+      Assert.assertEquals("Byte at " + (position + i), data[position + i], buffer[i]);
+    }
+  }
+
+  /**
+   * A seekable stream over an array
+   */
+  private static class ArrayInputStream extends FSDataInputStream {
+    private final byte[] bytes;
+
+    private int position;
+
+    ArrayInputStream(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public void seek(long desired) {
+      position = (int) desired;
+    }
+
+    @Override
+    public long getPos() {
+      return position;
+    }
+
+    @Override
+    public Reader getReader() {
+      return null;
+    }
+
+    @Override
+    public int read() {
+      return position < bytes.length ? bytes[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (position >= bytes.length) {
+        return -1;
+      }
+      // return short reads like a network stream
+      int n = Math.min(Math.min(len, 13), bytes.length - position);
+      System.arraycopy(bytes, position, b, off, n);
+      position += n;
+      return n;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteNumberParserTest {
+
+  @Test
+  public void testParseDouble() {
+    String[] values = {
+        "0", "-0", "+0", "-0.0", "0.000", "-0e10", "1", "-1", "1.5", ".5", "5.", "-.25",
+        "3.141592653589793", "2.718281828459045", "0.1", "0.30000000000000004",
+        "123456789012345", "1234567890123456", "12345678901234567890",
+        "0.123456789012345", "0.1234567890123456789", "9007199254740993",
+        "1e22", "1e23", "1e-22", "1e-23", "1.7976931348623157e308", "4.9e-324", "1e400",
+        "1e-400", "2.5E10", "2.5e+10", "2.5e-10", "-6.02214076e23", "1.00000000000000000001",
+        "000123.4500", "  12.5  ", "\t0.25", "0.75\r", "NaN", "-Infinity", "0x1p3", "1.5d"
+    };
+    for (String value : values) {
+      assertParsed(value);
+    }
+  }
+
+  @Test
+  public void testParseDoubleRandom() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      StringBuilder builder = new StringBuilder();
+      if (random.nextBoolean()) {
+        builder.append('-');
+      }
+      int digits = 1 + random.nextInt(20);
+      int point = random.nextInt(digits + 1);
+      for (int j = 0; j < digits; j++) {
+        if (j == point) {
+          builder.append('.');
+        }
+        builder.append((char) ('0' + random.nextInt(10)));
+      }
+      if (random.nextInt(3) == 0) {
+        builder.append('e').append(random.nextInt(61) - 30);
+      }
+      assertParsed(builder.toString());
+    }
+  }
+
+  @Test
+  public void testParseDoubleRoundTrip() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+      assertParsed(Double.toString(value));
+      assertParsed(String.format(Locale.ROOT, "%.8f", value));
+    }
+  }
+
+  @Test
+  public void testParseInvalid() {
+    String[] values = {"", " ", "-", "1e", "1.2.3", "abc", "1,5"};
+    for (String value : values) {
+      byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+      try {
+        ByteNumberParser.parseDouble(bytes, 0, bytes.length);
+        Assert.fail("Parsed an invalid double: " + value);
+      } catch (NumberFormatException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testParseLong() {
+    String[] values = {"0", "-0", "7", "-7", "+42", "2147483647", "-2147483648",
+        "9223372036854775807", "-9223372036854775808", " 15 "};
+    for (String value : values) {
+      byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+      Assert.assertEquals(Long.parseLong(value.trim()),
+          ByteNumberParser.parseLong(bytes, 0, bytes.length));
+    }
+
+    String[] invalid = {"", "-", "9223372036854775808", "1.0", "12a"};
+    for (String value : invalid) {
+      byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+      try {
+        ByteNumberParser.parseLong(bytes, 0, bytes.length);
+        Assert.fail("Parsed an invalid long: " + value);
+      } catch (NumberFormatException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testParseInt() {
+    String[] values = {"0", "-1", "2147483647", "-2147483648"};
+    for (String value : values) {
+      // parse from the middle of a line
+      byte[] bytes = ("x," + value + ",y").getBytes(StandardCharsets.US_ASCII);
+      Assert.assertEquals(Integer.parseInt(value),
+          ByteNumberParser.parseInt(bytes, 2, bytes.length - 2));
+    }
+  }
+
+  private static void assertParsed(String value) {
+    byte[] bytes = ("," + value + ",").getBytes(StandardCharsets.US_ASCII);
+    double expected = Double.parseDouble(value);
+    double actual = ByteNumberParser.parseDouble(bytes, 1, bytes.length - 1);
+    // compare the bits so that -0 and 0 are different
+    Assert.assertEquals(value, Double.doubleToRawLongBits(expected),
+        Double.doubleToRawLongBits(actual));
+  }
+}
@@ -0,0 +1,94 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.data.utils;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SwarScannerTest {
+
+  private static final byte DELIMITER = (byte) ',';
+
+  @Test
+  public void testIndexOfEveryOffset() {
+    // the fillers differ from the delimiter only in the high bit or the lowest bit, which
+    // catches false positives of the word compare
+    byte[] fillers = {(byte) (DELIMITER | 0x80), (byte) (DELIMITER ^ 1), 0, (byte) 0xFF};
+    for (byte filler : fillers) {
+      for (int length = 0; length <= 40; length++) {
+        for (int at = 0; at < length; at++) {
+          byte[] bytes = filled(length, filler);
+          bytes[at] = DELIMITER;
+          for (int from = 0; from <= at; from++) {
+            Assert.assertEquals(at, SwarScanner.indexOf(bytes, from, length, DELIMITER));
+          }
+          // the delimiter is outside the range
+          Assert.assertEquals(-1, SwarScanner.indexOf(bytes, at + 1, length, DELIMITER));
+          Assert.assertEquals(-1, SwarScanner.indexOf(bytes, 0, at, DELIMITER));
+        }
+        Assert.assertEquals(-1, SwarScanner.indexOf(filled(length, filler), 0, length,
+            DELIMITER));
+      }
+    }
+  }
+
+  @Test
+  public void testIndexOfTail() {
+    // the last word is not complete, so the delimiter is found by the byte loop
+    for (int length = 8; length < 24; length++) {
+      for (int tail = 1; tail < 8; tail++) {
+        byte[] bytes = filled(length + tail, (byte) 'a');
+        bytes[length + tail - 1] = DELIMITER;
+        Assert.assertEquals(length + tail - 1,
+            SwarScanner.indexOf(bytes, 0, length + tail, DELIMITER));
+        Assert.assertEquals(-1, SwarScanner.indexOf(bytes, 0, length + tail - 1, DELIMITER));
+      }
+    }
+  }
+
+  @Test
+  public void testCount() {
+    Random random = new Random(0);
+    byte[] values = {DELIMITER, (byte) (DELIMITER | 0x80), (byte) (DELIMITER ^ 1), 'a', 0};
+    for (int i = 0; i < 1000; i++) {
+      byte[] bytes = new byte[random.nextInt(64)];
+      for (int j = 0; j < bytes.length; j++) {
+        bytes[j] = values[random.nextInt(values.length)];
+      }
+      int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+      int to = from + random.nextInt(bytes.length - from + 1);
+
+      int expected = 0;
+      int first = -1;
+      for (int j = from; j < to; j++) {
+        if (bytes[j] == DELIMITER) {
+          if (first < 0) {
+            first = j;
+          }
+          expected++;
+        }
+      }
+      Assert.assertEquals(expected, SwarScanner.count(bytes, from, to, DELIMITER));
+      Assert.assertEquals(first, SwarScanner.indexOf(bytes, from, to, DELIMITER));
+    }
+  }
+
+  private static byte[] filled(int length, byte value) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = value;
+    }
+    return bytes;
+  }
+}
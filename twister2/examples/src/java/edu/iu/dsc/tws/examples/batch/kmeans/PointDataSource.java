@@ -13,6 +13,7 @@ package edu.iu.dsc.tws.examples.batch.kmeans;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -25,7 +26,7 @@ import edu.iu.dsc.tws.api.compute.nodes.BaseSource;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.api.dataset.DataPartition;
-import edu.iu.dsc.tws.data.api.formatters.LocalCSVInputPartitioner;
+import edu.iu.dsc.tws.data.api.formatters.LocalNumericCSVInputPartitioner;
 import edu.iu.dsc.tws.data.api.formatters.LocalTextInputPartitioner;
 import edu.iu.dsc.tws.data.fs.io.InputSplit;
 import edu.iu.dsc.tws.dataset.DataSource;
@@ -85,7 +86,13 @@ public class PointDataSource extends BaseSource implements Collector {
       try {
         while (!inputSplit.reachedEnd()) {
           Object value = inputSplit.nextRecord(null);
-          if (value != null) {
+          if (value instanceof double[]) {
+            // csv lines are parsed to numbers by the split
+            double[] row = (double[]) value;
+            if (row.length >= dimension) {
+              points.add(row.length == dimension ? row : Arrays.copyOf(row, dimension));
+            }
+          } else if (value != null) {
             double[] row = new double[dimension];
             String[] data = value.toString().split(",");
             for (int j = 0; j < dimension; j++) {
@@ -114,7 +121,7 @@ public class PointDataSource extends BaseSource implements Collector {
     ExecutionRuntime runtime = (ExecutionRuntime) cfg.get(
         ExecutorContext.TWISTER2_RUNTIME_OBJECT);
     if ("csv".equalsIgnoreCase(fileType)) {
-      this.source = runtime.createInput(cfg, context, new LocalCSVInputPartitioner(
+      this.source = runtime.createInput(cfg, context, new LocalNumericCSVInputPartitioner(
           new Path(dataDirectory), context.getParallelism(), getDatasize(), cfg));
     } else {
       this.source = runtime.createInput(cfg, context, new LocalTextInputPartitioner(
@@ -38,6 +38,7 @@ import org.apache.commons.cli.ParseException;
 
 import edu.iu.dsc.tws.api.JobConfig;
 import edu.iu.dsc.tws.api.Twister2Job;
+import edu.iu.dsc.tws.api.comms.NormalizedKeyComparator;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
 import edu.iu.dsc.tws.api.comms.packing.MessageSchema;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
@@ -221,7 +222,7 @@ public class TeraSort implements IWorker {
   /**
    * Extracted from hbase source code
    */
-  public static final class ByteArrayComparator implements Comparator<byte[]> {
+  public static final class ByteArrayComparator implements NormalizedKeyComparator<byte[]> {
 
     private static final ByteArrayComparator INSTANCE = new ByteArrayComparator();
 
@@ -250,6 +250,11 @@ public class STWindowExample extends BenchTaskWorker {
       return ans;
     }
 
+    @Override
+    public boolean isAssociative() {
+      return true;
+    }
+
     @Override
     public int[] reduceLateMessage(int[] lateMessage) {
       for (int i = 0; i < lateMessage.length; i++) {
@@ -278,6 +283,11 @@ public class STWindowExample extends BenchTaskWorker {
       }
       return ans;
     }
+
+    @Override
+    public boolean isAssociative() {
+      return weight1 == 1 && weight2 == 1;
+    }
   }
 
   protected static class FoldFunctionImpl implements FoldWindowedFunction<int[], String> {
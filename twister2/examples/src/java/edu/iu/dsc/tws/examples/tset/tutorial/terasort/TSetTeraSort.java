@@ -12,7 +12,6 @@
 package edu.iu.dsc.tws.examples.tset.tutorial.terasort;
 
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
@@ -22,6 +21,7 @@ import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.JobConfig;
 import edu.iu.dsc.tws.api.Twister2Job;
+import edu.iu.dsc.tws.api.comms.NormalizedKeyComparator;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
 import edu.iu.dsc.tws.api.tset.TSetContext;
 import edu.iu.dsc.tws.api.tset.fn.ApplyFunc;
@@ -39,7 +39,7 @@ public class TSetTeraSort extends BaseTSetBatchWorker {
   private static final String PARAM_DATA_SIZE_GB = "PARAM_DATA_SIZE_GB";
   private static final String PARAM_PARALLELISM = "PARAM_PARALLELISM";
 
-  public static final class ByteArrayComparator implements Comparator<byte[]> {
+  public static final class ByteArrayComparator implements NormalizedKeyComparator<byte[]> {
 
     private static final ByteArrayComparator INSTANCE = new ByteArrayComparator();
 
@@ -83,14 +83,25 @@ public class JoinBatchOperation extends AbstractParallelOperation {
       joinAlgorithm = CommunicationContext.JoinAlgorithm.SORT;
     }
 
+    boolean broadcastLeft = Boolean.TRUE.equals(
+        leftEdge.getProperty(CommunicationContext.JOIN_BROADCAST_LEFT));
+
+    int leftEdgeId = leftEdge.getEdgeID().nextId();
+    int rightEdgeId = rightEdge.getEdgeID().nextId();
+    int broadcastEdgeId = -1;
+    if (joinAlgorithm.equals(CommunicationContext.JoinAlgorithm.BROADCAST)) {
+      broadcastEdgeId = (broadcastLeft ? leftEdge : rightEdge).getEdgeID().nextId();
+    }
+
     Communicator newComm = channel.newWithConfig(leftEdge.getProperties());
     op = new BJoin(newComm, logicalPlan, sources1, sources2, dests,
         leftEdge.getKeyType(),
         leftEdge.getDataType(),
         rightEdge.getDataType(),
         new JoinRecvrImpl(), destSelector, useDisk,
-        keyComparator, leftEdge.getEdgeID().nextId(), rightEdge.getEdgeID().nextId(),
-        joinType, joinAlgorithm, leftEdge.getMessageSchema(), rightEdge.getMessageSchema());
+        keyComparator, leftEdgeId, rightEdgeId,
+        joinType, joinAlgorithm, leftEdge.getMessageSchema(), rightEdge.getMessageSchema(),
+        broadcastLeft, broadcastEdgeId);
   }
 
   @Override
@@ -13,6 +13,8 @@ package edu.iu.dsc.tws.executor.comms.batch;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 
@@ -20,9 +22,12 @@ import edu.iu.dsc.tws.api.comms.BaseOperation;
 import edu.iu.dsc.tws.api.comms.BulkReceiver;
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.Communicator;
+import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.DestinationSelector;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.comms.ReduceFunction;
 import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.compute.IFunction;
 import edu.iu.dsc.tws.api.compute.IMessage;
 import edu.iu.dsc.tws.api.compute.TaskMessage;
 import edu.iu.dsc.tws.api.compute.graph.Edge;
@@ -58,11 +63,17 @@ public class KeyedGatherBatchOperation extends AbstractParallelOperation {
       //ignore
     }
 
+    ReduceFunction combiner = null;
+    Object combineFn = edge.getProperty(CommunicationContext.COMBINER);
+    if (combineFn instanceof IFunction) {
+      combiner = new CombinerImpl((IFunction) combineFn);
+    }
+
     Communicator newComm = channel.newWithConfig(edge.getProperties());
     op = new BKeyedGather(newComm, logicalPlan, sources, dests,
         edge.getKeyType(), edge.getDataType(), new GatherRecvrImpl(),
         destSelector, useDisk, keyComparator, groupByKey,
-        edge.getEdgeID().nextId(), edge.getMessageSchema());
+        edge.getEdgeID().nextId(), edge.getMessageSchema(), combiner);
   }
 
   @Override
@@ -72,6 +83,24 @@ public class KeyedGatherBatchOperation extends AbstractParallelOperation {
         taskMessage.getContent().getValue(), flags);
   }
 
+  private class CombinerImpl implements ReduceFunction {
+    private IFunction fn;
+
+    CombinerImpl(IFunction fn) {
+      this.fn = fn;
+    }
+
+    @Override
+    public void init(Config cfg, DataFlowOperation ops,
+                     Map<Integer, List<Integer>> expectedIds) {
+    }
+
+    @Override
+    public Object reduce(Object t1, Object t2) {
+      return fn.onMessage(t1, t2);
+    }
+  }
+
   private class GatherRecvrImpl implements BulkReceiver {
     @Override
     public void init(Config cfg, Set<Integer> expectedIds) {
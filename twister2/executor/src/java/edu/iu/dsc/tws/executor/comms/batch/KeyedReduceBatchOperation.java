@@ -18,6 +18,7 @@ import java.util.Set;
 
 import edu.iu.dsc.tws.api.comms.BaseOperation;
 import edu.iu.dsc.tws.api.comms.BulkReceiver;
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.Communicator;
 import edu.iu.dsc.tws.api.comms.DataFlowOperation;
 import edu.iu.dsc.tws.api.comms.DestinationSelector;
@@ -49,11 +50,14 @@ public class KeyedReduceBatchOperation extends AbstractParallelOperation {
       destSelector = new HashingSelector();
     }
 
+    // the reduce function is associative, so it can be used to combine values before sending
+    boolean combine = edge.getProperty(CommunicationContext.COMBINER) != null;
+
     Communicator newComm = channel.newWithConfig(edge.getProperties());
     op = new BKeyedReduce(newComm, logicalPlan, sources, dests,
         new ReduceFunctionImpl(edge.getFunction()),
         new BulkReceiverImpl(), edge.getKeyType(), edge.getDataType(),
-        destSelector, edge.getMessageSchema());
+        destSelector, newComm.nextEdge(), edge.getMessageSchema(), combine);
   }
 
   @Override
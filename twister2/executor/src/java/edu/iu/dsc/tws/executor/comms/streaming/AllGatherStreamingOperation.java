@@ -64,9 +64,7 @@ public class AllGatherStreamingOperation extends AbstractParallelOperation {
       TaskMessage msg = new TaskMessage<>(it, inEdge, target);
       BlockingQueue<IMessage> messages = outMessages.get(target);
       if (messages != null) {
-        if (messages.offer(msg)) {
-          return true;
-        }
+        return messages.offer(msg);
       }
       return true;
     }
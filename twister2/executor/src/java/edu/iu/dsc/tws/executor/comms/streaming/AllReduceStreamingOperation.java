@@ -53,7 +53,8 @@ public class AllReduceStreamingOperation extends AbstractParallelOperation {
     Communicator newComm = channel.newWithConfig(edge.getProperties());
     op = new SAllReduce(newComm, logicalPlan, sources, dest, edge.getDataType(),
         new ReduceFnImpl(function), new FinalSingularReceive(),
-        edge.getEdgeID().nextId(), edge.getEdgeID().nextId(), edge.getMessageSchema());
+        edge.getEdgeID().nextId(), edge.getEdgeID().nextId(), edge.getEdgeID().nextId(),
+        edge.getMessageSchema());
   }
 
   @Override
@@ -87,9 +88,7 @@ public class AllReduceStreamingOperation extends AbstractParallelOperation {
       TaskMessage msg = new TaskMessage<>(object, inEdge, target);
       BlockingQueue<IMessage> messages = outMessages.get(target);
       if (messages != null) {
-        if (messages.offer(msg)) {
-          return true;
-        }
+        return messages.offer(msg);
       }
       return true;
     }
@@ -80,9 +80,7 @@ public class KeyedPartitionStreamOperation extends AbstractParallelOperation {
         TaskMessage msg = new TaskMessage<>(data, inEdge, target);
         BlockingQueue<IMessage> messages = outMessages.get(target);
         if (messages != null) {
-          if (messages.offer(msg)) {
-            return true;
-          }
+          return messages.offer(msg);
         }
       } else {
         throw new RuntimeException("Un-expecte data - " + data.getClass());
@@ -94,9 +94,7 @@ public class ReduceStreamingOperation extends AbstractParallelOperation {
       TaskMessage msg = new TaskMessage<>(object, inEdge, target);
       BlockingQueue<IMessage> messages = outMessages.get(target);
       if (messages != null) {
-        if (messages.offer(msg)) {
-          return true;
-        }
+        return messages.offer(msg);
       }
       return true;
     }
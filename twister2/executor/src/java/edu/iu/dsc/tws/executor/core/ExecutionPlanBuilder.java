@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -27,9 +28,12 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 
 import edu.iu.dsc.tws.api.checkpointing.CheckpointingClient;
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.Communicator;
 import edu.iu.dsc.tws.api.comms.LogicalPlan;
+import edu.iu.dsc.tws.api.compute.IMessage;
 import edu.iu.dsc.tws.api.compute.executor.ExecutionPlan;
+import edu.iu.dsc.tws.api.compute.executor.ExecutorContext;
 import edu.iu.dsc.tws.api.compute.executor.IExecutionPlanBuilder;
 import edu.iu.dsc.tws.api.compute.executor.INodeInstance;
 import edu.iu.dsc.tws.api.compute.executor.IParallelOperation;
@@ -48,6 +52,7 @@ import edu.iu.dsc.tws.api.exceptions.net.BlockingSendException;
 import edu.iu.dsc.tws.checkpointing.task.CheckpointableTask;
 import edu.iu.dsc.tws.checkpointing.task.CheckpointingSGatherSink;
 import edu.iu.dsc.tws.checkpointing.util.CheckpointingConfigurations;
+import edu.iu.dsc.tws.common.util.SpscArrayQueue;
 import edu.iu.dsc.tws.executor.core.batch.SourceBatchInstance;
 import edu.iu.dsc.tws.executor.core.batch.TaskBatchInstance;
 import edu.iu.dsc.tws.executor.core.streaming.SourceStreamingInstance;
@@ -110,7 +115,8 @@ public class ExecutionPlanBuilder implements IExecutionPlanBuilder {
                              TaskSchedulePlan taskSchedule) {
     // we need to build the task plan
     LogicalPlan logicalPlan =
-        TaskPlanBuilder.build(workerId, workerInfoList, taskSchedule, taskIdGenerator);
+        TaskPlanBuilder.build(workerId, workerInfoList, taskSchedule, taskIdGenerator,
+            CommunicationContext.sharedMemoryEnabled(cfg));
     ParallelOperationFactory opFactory = new ParallelOperationFactory(cfg, network, logicalPlan);
 
     Map<Integer, WorkerSchedulePlan> containersMap = taskSchedule.getContainersMap();
@@ -439,8 +445,11 @@ public class ExecutionPlanBuilder implements IExecutionPlanBuilder {
       }
     } else if (operationMode.equals(OperationMode.STREAMING)) {
       if (newInstance instanceof ICompute) {
+        // the in queue is filled by the operations of the in edges, so we can only use a
+        // single producer queue if there is one in edge. the out queue is filled by the task
+        // and emptied by the same instance, so it cannot wait for room and is not bounded
         TaskStreamingInstance v = new TaskStreamingInstance((ICompute) newInstance,
-            new LinkedBlockingQueue<>(),
+            createStreamingQueue(cfg, inEdges.size() == 1),
             new LinkedBlockingQueue<>(), cfg,
             vertex.getName(), ip.getTaskId(), taskId, ip.getTaskIndex(),
             vertex.getParallelism(), workerId, vertex.getConfig().toMap(), inEdges,
@@ -464,6 +473,21 @@ public class ExecutionPlanBuilder implements IExecutionPlanBuilder {
     }
   }
 
+  /**
+   * Create the in queue for a streaming instance. The receivers of the operations return false
+   * when the ring buffer is full, comms then keeps the message and delivers it again in a later
+   * progress call, so a full ring buffer applies back pressure instead of losing data.
+   *
+   * @param cfg the configuration
+   * @param singleProducer true if only one thread at a time adds messages to the queue
+   * @return the queue
+   */
+  private BlockingQueue<IMessage> createStreamingQueue(Config cfg, boolean singleProducer) {
+    if (singleProducer && ExecutorContext.instanceQueueRing(cfg)) {
+      return new SpscArrayQueue<>(ExecutorContext.instanceQueueRingCapacity(cfg));
+    }
+    return new LinkedBlockingQueue<>();
+  }
 
   private int getTaskIdOfTask(String name, TaskSchedulePlan plan) {
     for (WorkerSchedulePlan cp : plan.getContainers()) {
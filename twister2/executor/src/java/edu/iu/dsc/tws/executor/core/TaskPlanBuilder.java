@@ -27,6 +27,7 @@ import edu.iu.dsc.tws.api.compute.schedule.elements.TaskInstancePlan;
 import edu.iu.dsc.tws.api.compute.schedule.elements.TaskSchedulePlan;
 import edu.iu.dsc.tws.api.compute.schedule.elements.WorkerSchedulePlan;
 import edu.iu.dsc.tws.proto.jobmaster.JobMasterAPI;
+import edu.iu.dsc.tws.proto.utils.WorkerInfoUtils;
 
 public final class TaskPlanBuilder {
   private TaskPlanBuilder() {
@@ -41,6 +42,20 @@ public final class TaskPlanBuilder {
    */
   public static LogicalPlan build(int workerID, List<JobMasterAPI.WorkerInfo> workerInfoList,
                                   TaskSchedulePlan schedulePlan, TaskIdGenerator idGenerator) {
+    return build(workerID, workerInfoList, schedulePlan, idGenerator, false);
+  }
+
+  /**
+   * Create a task plan based on the resource plan from resources and scheduled plan
+   *
+   * @param schedulePlan schedule plan
+   * @param idGenerator global task id generator
+   * @param groupByHost put the workers of a host in to a group, otherwise each worker is a group
+   * @return the task plan
+   */
+  public static LogicalPlan build(int workerID, List<JobMasterAPI.WorkerInfo> workerInfoList,
+                                  TaskSchedulePlan schedulePlan, TaskIdGenerator idGenerator,
+                                  boolean groupByHost) {
     Set<WorkerSchedulePlan> cPlanList = schedulePlan.getContainers();
     Map<Integer, Set<Integer>> containersToTasks = new HashMap<>();
     Map<Integer, Set<Integer>> groupsToTasks = new HashMap<>();
@@ -58,9 +73,12 @@ public final class TaskPlanBuilder {
       containersToTasks.put(c.getContainerId(), instances);
     }
 
+    // with shared memory the workers of a host form a group, so the routing trees combine the
+    // messages within a host before sending them to other hosts
     Map<String, List<JobMasterAPI.WorkerInfo>> containersPerNode = new TreeMap<>();
     for (JobMasterAPI.WorkerInfo workerInfo : workerInfoList) {
-      String name = Integer.toString(workerInfo.getWorkerID());
+      String name = groupByHost ? WorkerInfoUtils.hostKey(workerInfo)
+          : Integer.toString(workerInfo.getWorkerID());
       List<JobMasterAPI.WorkerInfo> containerList;
       if (!containersPerNode.containsKey(name)) {
         containerList = new ArrayList<>();
@@ -11,6 +11,7 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.executor.core.batch;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -243,6 +244,17 @@ public class SourceBatchInstance implements INodeInstance, ISync {
     return true;
   }
 
+  @Override
+  public Collection<IParallelOperation> getParallelOperations() {
+    return outBatchParOps.values();
+  }
+
+  @Override
+  public boolean hasPendingWork() {
+    // the source keeps producing until the execution is done
+    return state.isNotSet(InstanceState.EXECUTION_DONE) || !outBatchQueue.isEmpty();
+  }
+
   @Override
   public int getId() {
     return globalTaskId;
@@ -12,8 +12,11 @@
 package edu.iu.dsc.tws.executor.core.batch;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -336,6 +339,18 @@ public class TaskBatchInstance implements INodeInstance, ISync {
     return complete;
   }
 
+  @Override
+  public Collection<IParallelOperation> getParallelOperations() {
+    List<IParallelOperation> ops = new ArrayList<>(outParOps.values());
+    ops.addAll(inParOps.values());
+    return ops;
+  }
+
+  @Override
+  public boolean hasPendingWork() {
+    return !inQueue.isEmpty() || !outQueue.isEmpty();
+  }
+
   @Override
   public int getId() {
     return globalTaskId;
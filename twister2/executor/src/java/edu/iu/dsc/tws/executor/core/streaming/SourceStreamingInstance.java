@@ -238,7 +238,8 @@ public class SourceStreamingInstance implements INodeInstance {
    **/
   public boolean execute() {
     if (outStreamingQueue.size() < lowWaterMark
-        && !(this.checkpointable && this.pendingCheckpoint.isPending())) {
+        && !(this.checkpointable && this.pendingCheckpoint.isPending())
+        && !isBackPressured()) {
       // lets execute the task
       streamingTask.execute();
 
@@ -290,6 +291,19 @@ public class SourceStreamingInstance implements INodeInstance {
     return !nothingToProcess;
   }
 
+  /**
+   * Check weather a receiving worker of an out edge has run out of credits, if so we don't
+   * generate more messages until it returns credits
+   */
+  private boolean isBackPressured() {
+    for (int i = 0; i < outOpArray.length; i++) {
+      if (outOpArray[i].isBackPressured()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public INode getNode() {
     return streamingTask;
@@ -39,6 +39,7 @@ import edu.iu.dsc.tws.checkpointing.task.CheckpointableTask;
 import edu.iu.dsc.tws.checkpointing.task.CheckpointingSGatherSink;
 import edu.iu.dsc.tws.checkpointing.util.CheckpointUtils;
 import edu.iu.dsc.tws.checkpointing.util.CheckpointingConfigurations;
+import edu.iu.dsc.tws.common.util.SpscArrayQueue;
 import edu.iu.dsc.tws.executor.core.DefaultOutputCollection;
 import edu.iu.dsc.tws.executor.core.TaskCheckpointUtils;
 import edu.iu.dsc.tws.executor.core.TaskContextImpl;
@@ -54,6 +55,11 @@ public class TaskStreamingInstance implements INodeInstance, ISync {
 
   private static final Logger LOG = Logger.getLogger(TaskStreamingInstance.class.getName());
 
+  /**
+   * Maximum number of messages taken from a ring buffer in queue at once
+   */
+  private static final int MAX_DRAIN_BATCH = 256;
+
   /**
    * All the inputs will come through a single queue, otherwise we need to look
    * at different queues for messages
@@ -130,6 +136,16 @@ public class TaskStreamingInstance implements INodeInstance, ISync {
    */
   protected int highWaterMark;
 
+  /**
+   * The in queue if it is a ring buffer, null otherwise
+   */
+  private SpscArrayQueue<IMessage> inRing;
+
+  /**
+   * Reusable array for taking messages from the ring buffer
+   */
+  private IMessage[] drainBuffer;
+
   /**
    * Output edges
    */
@@ -207,6 +223,10 @@ public class TaskStreamingInstance implements INodeInstance, ISync {
       this.checkpointingSGatherSink = (CheckpointingSGatherSink) this.task;
     }
     this.snapshot = new SnapshotImpl();
+    if (inQueue instanceof SpscArrayQueue) {
+      this.inRing = (SpscArrayQueue<IMessage>) inQueue;
+      this.drainBuffer = new IMessage[Math.max(1, Math.min(lowWaterMark, MAX_DRAIN_BATCH))];
+    }
   }
 
   /**
@@ -292,10 +312,14 @@ public class TaskStreamingInstance implements INodeInstance, ISync {
    */
   public boolean execute() {
     // execute if there are incoming messages
-    while (!inQueue.isEmpty() && outQueue.size() < lowWaterMark) {
-      IMessage m = inQueue.poll();
-      if (m != null) {
-        task.execute(m);
+    if (inRing != null) {
+      executeBatches();
+    } else {
+      while (!inQueue.isEmpty() && outQueue.size() < lowWaterMark) {
+        IMessage m = inQueue.poll();
+        if (m != null) {
+          task.execute(m);
+        }
       }
     }
     // set the initial nothing to execute
@@ -370,6 +394,25 @@ public class TaskStreamingInstance implements INodeInstance, ISync {
     }
   }
 
+  /**
+   * Take the messages from the ring buffer in batches and execute them, until the out queue
+   * reaches the low water mark
+   */
+  private void executeBatches() {
+    int room = lowWaterMark - outQueue.size();
+    while (room > 0) {
+      int count = inRing.drain(drainBuffer, room);
+      if (count == 0) {
+        break;
+      }
+      for (int i = 0; i < count; i++) {
+        task.execute(drainBuffer[i]);
+        drainBuffer[i] = null;
+      }
+      room = lowWaterMark - outQueue.size();
+    }
+  }
+
   public BlockingQueue<IMessage> getInQueue() {
     return inQueue;
   }
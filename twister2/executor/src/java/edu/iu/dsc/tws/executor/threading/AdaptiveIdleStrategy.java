@@ -0,0 +1,137 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.threading;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides what a thread does when it did not find any work. The thread first spins, then
+ * yields and finally parks with an exponentially growing timeout bounded by a maximum.
+ * A parked thread is woken up early by {@link #signal()}.
+ *
+ * An instance is owned by a single thread, only {@link #signal()} can be called from
+ * other threads.
+ */
+public class AdaptiveIdleStrategy {
+  /**
+   * The first park time in nano seconds
+   */
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+  /**
+   * Number of idle calls to spin
+   */
+  private final int spins;
+
+  /**
+   * Number of idle calls to yield after spinning
+   */
+  private final int yields;
+
+  /**
+   * Maximum park time in nano seconds
+   */
+  private final long maxParkNanos;
+
+  /**
+   * Number of consecutive idle calls
+   */
+  private int idleCount;
+
+  /**
+   * Current park time
+   */
+  private long parkNanos = MIN_PARK_NANOS;
+
+  /**
+   * The thread currently parked, null if the owner is not parked
+   */
+  private volatile Thread parkedThread;
+
+  /**
+   * Set when a wake up is requested, so that a thread about to park does not miss it
+   */
+  private volatile boolean signalled;
+
+  /**
+   * Total time spent parked in nano seconds
+   */
+  private long parkedTime;
+
+  public AdaptiveIdleStrategy(int spins, int yields, long maxParkMicros) {
+    this.spins = spins;
+    this.yields = yields;
+    this.maxParkNanos = Math.max(MIN_PARK_NANOS, TimeUnit.MICROSECONDS.toNanos(maxParkMicros));
+  }
+
+  /**
+   * Called by the owner thread when it did not find any work
+   */
+  public void idle() {
+    idleCount++;
+    if (idleCount <= spins) {
+      return;
+    }
+
+    if (idleCount <= spins + yields) {
+      Thread.yield();
+      return;
+    }
+
+    parkedThread = Thread.currentThread();
+    if (!signalled) {
+      long start = System.nanoTime();
+      LockSupport.parkNanos(this, parkNanos);
+      parkedTime += System.nanoTime() - start;
+    }
+    parkedThread = null;
+
+    if (signalled) {
+      // we are woken up because something happened, go back to spinning
+      signalled = false;
+      reset();
+    } else {
+      parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+    }
+  }
+
+  /**
+   * Called by the owner thread after it did some work
+   */
+  public void reset() {
+    idleCount = 0;
+    parkNanos = MIN_PARK_NANOS;
+  }
+
+  /**
+   * Wake up the owner thread if it is parked, this can be called from any thread
+   */
+  public void signal() {
+    if (!signalled) {
+      signalled = true;
+    }
+    Thread t = parkedThread;
+    if (t != null) {
+      LockSupport.unpark(t);
+    }
+  }
+
+  /**
+   * Total time the owner spent parked
+   *
+   * @return time in nano seconds
+   */
+  public long getParkedTime() {
+    return parkedTime;
+  }
+}
@@ -44,7 +44,7 @@ public class BatchSharingExecutor2 implements IExecutor {
   /**
    * Number of threads to use
    */
-  private int numThreads;
+  protected int numThreads;
 
   /**
    * Number of threads
@@ -54,7 +54,7 @@ public class BatchSharingExecutor2 implements IExecutor {
   /**
    * Channel
    */
-  private TWSChannel channel;
+  protected TWSChannel channel;
 
   /**
    * The configuration
@@ -162,6 +162,81 @@ public class BatchSharingExecutor2 implements IExecutor {
     return plan;
   }
 
+  /**
+   * Execute a task in a thread, sub classes can override this to observe the executions
+   *
+   * @param worker index of the thread, 0 is the main thread
+   * @param instance the task
+   * @return true if the task needs further execution
+   */
+  protected boolean executeTask(int worker, INodeInstance instance) {
+    return instance.execute();
+  }
+
+  /**
+   * Called when a thread finds the next task is being executed by another thread
+   *
+   * @param worker index of the thread
+   */
+  protected void onTaskTaken(int worker) {
+  }
+
+  /**
+   * Check weather a task is complete while the operations are finishing
+   *
+   * @param worker index of the thread
+   * @param instance the task
+   * @return true if the task is complete
+   */
+  protected boolean checkComplete(int worker, INodeInstance instance) {
+    return instance.isComplete();
+  }
+
+  /**
+   * Called when a thread is done with the current execution
+   *
+   * @param worker index of the thread
+   */
+  protected void onWorkerFinished(int worker) {
+  }
+
+  /**
+   * Called with the tasks before the threads start to execute them
+   *
+   * @param tasks the tasks, the task indexes used by the other methods refer to this list
+   */
+  protected void onSchedule(List<INodeInstance> tasks) {
+  }
+
+  /**
+   * Pick the task a thread tries to run next, the task runs only if no other thread is running
+   * it. By default the threads go round robin over all the tasks.
+   *
+   * @param worker index of the thread
+   * @param lastTask the task picked by this thread last time, -1 at the start
+   * @param numTasks number of tasks
+   * @return index of the task or -1 if there is nothing to run
+   */
+  protected int nextTask(int worker, int lastTask, int numTasks) {
+    return lastTask + 1 < numTasks ? lastTask + 1 : 0;
+  }
+
+  /**
+   * Called after a thread executed a task that needs further execution and released it, so
+   * that other threads can run it
+   *
+   * @param worker index of the thread
+   * @param task index of the task
+   */
+  protected void onTaskReleased(int worker, int task) {
+  }
+
+  /**
+   * Called after all the threads are done with the tasks of an execution
+   */
+  protected void onExecutionFinished() {
+  }
+
   /**
    * Execution Method for Batch Tasks
    */
@@ -202,10 +277,11 @@ public class BatchSharingExecutor2 implements IExecutor {
     for (int i = 0; i < tasks.size(); i++) {
       taskStatus[i] = new AtomicBoolean(false);
     }
+    onSchedule(tasks);
     doneSignal = new CountDownLatch(numThreads - 1);
-    batchWorkers[0] = new BatchWorker(tasks, taskStatus);
+    batchWorkers[0] = new BatchWorker(0, tasks, taskStatus);
     for (int i = 1; i < numThreads; i++) {
-      BatchWorker task = new BatchWorker(tasks, taskStatus);
+      BatchWorker task = new BatchWorker(i, tasks, taskStatus);
       threads.submit(task);
       batchWorkers[i] = task;
     }
@@ -219,6 +295,7 @@ public class BatchSharingExecutor2 implements IExecutor {
     } catch (InterruptedException e) {
       throw new RuntimeException("Interrupted", e);
     }
+    onExecutionFinished();
 
     // we set the execution state here
     executionPlan.setExecutionState(ExecutionState.EXECUTED);
@@ -274,11 +351,11 @@ public class BatchSharingExecutor2 implements IExecutor {
     tasks.addAll(nodes.values());
 
     CommunicationWorker[] workers = new CommunicationWorker[numThreads];
-    workers[0] = new CommunicationWorker(tasks);
+    workers[0] = new CommunicationWorker(0, tasks);
 
     doneSignal = new CountDownLatch(numThreads - 1);
     for (int i = 1; i < numThreads; i++) {
-      workers[i] = new CommunicationWorker(tasks);
+      workers[i] = new CommunicationWorker(i, tasks);
       threads.submit(workers[i]);
     }
     return workers;
@@ -323,9 +400,11 @@ public class BatchSharingExecutor2 implements IExecutor {
   }
 
   protected class CommunicationWorker implements Runnable {
+    private int index;
     private BlockingQueue<INodeInstance> tasks;
 
-    public CommunicationWorker(BlockingQueue<INodeInstance> tasks) {
+    public CommunicationWorker(int index, BlockingQueue<INodeInstance> tasks) {
+      this.index = index;
       this.tasks = tasks;
     }
 
@@ -336,6 +415,7 @@ public class BatchSharingExecutor2 implements IExecutor {
           break;
         }
       }
+      onWorkerFinished(index);
       doneSignal.countDown();
     }
 
@@ -343,7 +423,7 @@ public class BatchSharingExecutor2 implements IExecutor {
       try {
         INodeInstance nodeInstance = tasks.poll();
         if (nodeInstance != null) {
-          boolean complete = nodeInstance.isComplete();
+          boolean complete = checkComplete(index, nodeInstance);
           if (complete) {
             finishedInstances.incrementAndGet(); //(nodeInstance.getId(), true);
           } else {
@@ -364,24 +444,27 @@ public class BatchSharingExecutor2 implements IExecutor {
   protected class BatchWorker implements Runnable {
 
     //round robin mode
+    private int index;
     private List<INodeInstance> tasks;
     private AtomicBoolean[] ignoreIndex;
-    private int lastIndex;
+    private int lastIndex = -1;
 
-    public BatchWorker(List<INodeInstance> tasks, AtomicBoolean[] ignoreIndex) {
+    public BatchWorker(int index, List<INodeInstance> tasks, AtomicBoolean[] ignoreIndex) {
+      this.index = index;
       this.tasks = tasks;
       this.ignoreIndex = ignoreIndex;
     }
 
     private int getNext() {
-      if (this.lastIndex == tasks.size()) {
-        this.lastIndex = 0;
+      int next = nextTask(index, this.lastIndex, tasks.size());
+      if (next < 0) {
+        return -1;
       }
+      this.lastIndex = next;
 
-      if (ignoreIndex[this.lastIndex].compareAndSet(false, true)) {
-        return this.lastIndex++;
+      if (ignoreIndex[next].compareAndSet(false, true)) {
+        return next;
       }
-      this.lastIndex++;
       return -1;
     }
 
@@ -390,6 +473,7 @@ public class BatchSharingExecutor2 implements IExecutor {
       while (isNotStopped() && finishedInstances.get() != tasks.size()) {
         runExecution();
       }
+      onWorkerFinished(index);
       doneSignal.countDown();
     }
 
@@ -398,13 +482,16 @@ public class BatchSharingExecutor2 implements IExecutor {
       int nodeInstanceIndex = this.getNext();
       if (nodeInstanceIndex != -1) {
         INodeInstance nodeInstance = this.tasks.get(nodeInstanceIndex);
-        boolean needsFurther = nodeInstance.execute();
+        boolean needsFurther = executeTask(index, nodeInstance);
         if (!needsFurther) {
           finishedInstances.incrementAndGet(); //(nodeInstance.getId(), true);
         } else {
           //need further execution
           this.ignoreIndex[nodeInstanceIndex].set(false);
+          onTaskReleased(index, nodeInstanceIndex);
         }
+      } else {
+        onTaskTaken(index);
       }
 //      } catch (Throwable t) {
 //        LOG.log(Level.SEVERE, String.format("%d Error in executor", workerId), t);
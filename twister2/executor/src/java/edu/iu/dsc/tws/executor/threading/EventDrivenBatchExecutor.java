@@ -0,0 +1,193 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.threading;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.iu.dsc.tws.api.comms.channel.ChannelReadinessListener;
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.compute.executor.ExecutionPlan;
+import edu.iu.dsc.tws.api.compute.executor.ExecutorContext;
+import edu.iu.dsc.tws.api.compute.executor.IExecutionHook;
+import edu.iu.dsc.tws.api.compute.executor.INodeInstance;
+import edu.iu.dsc.tws.api.config.Config;
+
+/**
+ * A batch executor that shares the threads among all the tasks like
+ * {@link BatchSharingExecutor2}, but parks the threads when there is no work instead of
+ * spinning. A thread considers itself idle after it goes through all the tasks without
+ * finding pending data in their queues and without the channel completing a send or a receive,
+ * it then spins, yields and parks with a bounded timeout. Parked threads are woken up when the
+ * channel completes a send or a receive, or when another thread did some work.
+ *
+ * The main thread progresses the channel, so it only parks for a short time.
+ */
+public class EventDrivenBatchExecutor extends BatchSharingExecutor2
+    implements ChannelReadinessListener {
+
+  /**
+   * Idle strategy of each thread, index 0 belongs to the main thread
+   */
+  private AdaptiveIdleStrategy[] idleStrategies;
+
+  /**
+   * Number of threads that are currently in the idle state
+   */
+  private AtomicInteger idleThreads = new AtomicInteger(0);
+
+  /**
+   * Number of sends and receives completed by the channel. Receives completed by the channel
+   * are delivered to the tasks when the operations progress, so a thread that saw a channel
+   * event during a pass is not idle.
+   */
+  private AtomicLong channelEvents = new AtomicLong(0);
+
+  /**
+   * Number of consecutive attempts without work of each thread
+   */
+  private int[] emptyAttempts;
+
+  /**
+   * The channel events seen by each thread at the start of the current pass
+   */
+  private long[] seenChannelEvents;
+
+  /**
+   * Weather each thread is counted as idle
+   */
+  private boolean[] idle;
+
+  public EventDrivenBatchExecutor(Config cfg, int workerId, TWSChannel channel,
+                                  ExecutionPlan plan, IExecutionHook hook) {
+    super(cfg, workerId, channel, plan, hook);
+
+    int spins = ExecutorContext.idleSpinCount(cfg);
+    int yields = ExecutorContext.idleYieldCount(cfg);
+    this.idleStrategies = new AdaptiveIdleStrategy[numThreads];
+    this.idleStrategies[0] = new AdaptiveIdleStrategy(spins, yields,
+        ExecutorContext.idleMaxProgressParkMicros(cfg));
+    for (int i = 1; i < numThreads; i++) {
+      this.idleStrategies[i] = new AdaptiveIdleStrategy(spins, yields,
+          ExecutorContext.idleMaxParkMicros(cfg));
+    }
+    this.emptyAttempts = new int[numThreads];
+    this.seenChannelEvents = new long[numThreads];
+    this.idle = new boolean[numThreads];
+    this.channel.addReadinessListener(this);
+  }
+
+  @Override
+  public void close() {
+    channel.removeReadinessListener(this);
+    super.close();
+  }
+
+  @Override
+  public void onChannelReady() {
+    channelEvents.incrementAndGet();
+    wakeUpIdle();
+  }
+
+  /**
+   * Total time the threads of this executor spent parked
+   *
+   * @return time in nano seconds
+   */
+  public long getParkedTime() {
+    long total = 0;
+    for (AdaptiveIdleStrategy s : idleStrategies) {
+      total += s.getParkedTime();
+    }
+    return total;
+  }
+
+  @Override
+  protected boolean executeTask(int worker, INodeInstance instance) {
+    boolean pending = instance.hasPendingWork();
+    boolean needsFurther = instance.execute();
+    attempted(worker, !needsFurther || pending || instance.hasPendingWork());
+    return needsFurther;
+  }
+
+  @Override
+  protected void onTaskTaken(int worker) {
+    attempted(worker, false);
+  }
+
+  @Override
+  protected boolean checkComplete(int worker, INodeInstance instance) {
+    boolean complete = instance.isComplete();
+    attempted(worker, complete);
+    return complete;
+  }
+
+  @Override
+  protected void onWorkerFinished(int worker) {
+    emptyAttempts[worker] = 0;
+    if (idle[worker]) {
+      idle[worker] = false;
+      idleThreads.decrementAndGet();
+    }
+  }
+
+  /**
+   * Wake up the threads that are idle
+   */
+  private void wakeUpIdle() {
+    if (idleThreads.get() > 0) {
+      for (int i = 1; i < idleStrategies.length; i++) {
+        idleStrategies[i].signal();
+      }
+    }
+  }
+
+  /**
+   * Record the result of an attempt to run a task. A thread backs off only after a pass over
+   * all the tasks without any work and without any channel events.
+   *
+   * @param worker index of the thread
+   * @param worked true if the attempt did some work
+   */
+  private void attempted(int worker, boolean worked) {
+    AdaptiveIdleStrategy idleStrategy = idleStrategies[worker];
+    if (worked) {
+      emptyAttempts[worker] = 0;
+      if (idle[worker]) {
+        idle[worker] = false;
+        idleThreads.decrementAndGet();
+      }
+      idleStrategy.reset();
+      // other threads may have work now
+      wakeUpIdle();
+      return;
+    }
+
+    if (++emptyAttempts[worker] < plan.getNodes().size()) {
+      return;
+    }
+    emptyAttempts[worker] = 0;
+    long events = channelEvents.get();
+    if (events != seenChannelEvents[worker]) {
+      // the channel completed sends or receives during the pass, the operations need another
+      // pass to deliver them
+      seenChannelEvents[worker] = events;
+      idleStrategy.reset();
+      return;
+    }
+    if (!idle[worker]) {
+      idle[worker] = true;
+      idleThreads.incrementAndGet();
+    }
+    idleStrategy.idle();
+  }
+}
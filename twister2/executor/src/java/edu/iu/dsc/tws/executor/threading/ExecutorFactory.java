@@ -25,6 +25,8 @@ import edu.iu.dsc.tws.executor.threading.ft.AllSharingBatchExecutor;
 import edu.iu.dsc.tws.executor.threading.ft.AllSharingStremingExecutor;
 import edu.iu.dsc.tws.executor.threading.ft.DedicatedComStreamingExecutor;
 import edu.iu.dsc.tws.executor.threading.ft.DedidatedBatchExecutor;
+import edu.iu.dsc.tws.executor.threading.ft.EventDrivenFTBatchExecutor;
+import edu.iu.dsc.tws.executor.threading.ft.WorkStealingFTBatchExecutor;
 
 public class ExecutorFactory {
   /**
@@ -76,6 +78,10 @@ public class ExecutorFactory {
           executor = new BatchSharingExecutor(planConfig, workerId, channel, plan, hook);
         } else if (ExecutorContext.BATCH_EXECUTOR_SHARING.equals(batchExecutor)) {
           executor = new BatchSharingExecutor2(planConfig, workerId, channel, plan, hook);
+        } else if (ExecutorContext.BATCH_EXECUTOR_EVENT_DRIVEN.equals(batchExecutor)) {
+          executor = new EventDrivenBatchExecutor(planConfig, workerId, channel, plan, hook);
+        } else if (ExecutorContext.BATCH_EXECUTOR_WORK_STEALING.equals(batchExecutor)) {
+          executor = new WorkStealingBatchExecutor(planConfig, workerId, channel, plan, hook);
         } else {
           throw new Twister2RuntimeException("Un-known batch executor specified - "
               + batchExecutor);
@@ -99,6 +105,10 @@ public class ExecutorFactory {
           executor = new DedidatedBatchExecutor(planConfig, workerId, channel, plan, hook);
         } else if (ExecutorContext.BATCH_EXECUTOR_SHARING.equals(batchExecutor)) {
           executor = new AllSharingBatchExecutor(planConfig, workerId, channel, plan, hook);
+        } else if (ExecutorContext.BATCH_EXECUTOR_EVENT_DRIVEN.equals(batchExecutor)) {
+          executor = new EventDrivenFTBatchExecutor(planConfig, workerId, channel, plan, hook);
+        } else if (ExecutorContext.BATCH_EXECUTOR_WORK_STEALING.equals(batchExecutor)) {
+          executor = new WorkStealingFTBatchExecutor(planConfig, workerId, channel, plan, hook);
         } else {
           throw new Twister2RuntimeException("Un-known batch executor specified - "
               + batchExecutor);
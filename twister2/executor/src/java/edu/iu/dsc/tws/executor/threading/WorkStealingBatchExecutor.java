@@ -0,0 +1,325 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.threading;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.channel.TWSChannel;
+import edu.iu.dsc.tws.api.compute.executor.ExecutionPlan;
+import edu.iu.dsc.tws.api.compute.executor.ExecutorContext;
+import edu.iu.dsc.tws.api.compute.executor.IExecutionHook;
+import edu.iu.dsc.tws.api.compute.executor.INodeInstance;
+import edu.iu.dsc.tws.api.compute.executor.IParallelOperation;
+import edu.iu.dsc.tws.api.config.Config;
+
+/**
+ * A batch executor where every thread owns a deque of task instances, built on the task
+ * selection of {@link BatchSharingExecutor2}. A thread runs the instances in its own deque and
+ * steals from the other threads only when its deque is empty, so the threads do not go over all
+ * the instances and an instance stays with the thread that executed it last. A thread takes
+ * instances from the head of its deque and puts an instance that needs further execution back
+ * at the tail, so the head holds the instance executed least recently and thieves steal from
+ * the head.
+ *
+ * A thread that finds nothing to run or steal spins, yields and parks with a bounded timeout.
+ * It is woken up when another thread puts an instance back to a deque that holds more instances,
+ * because that instance can be stolen.
+ *
+ * Instances with the same index that share a {@link IParallelOperation} pass their data to each
+ * other through that operation, they are initially given to the same thread as long as the
+ * threads stay balanced. The steals and the idle time of the threads are logged after each
+ * execution.
+ */
+public class WorkStealingBatchExecutor extends BatchSharingExecutor2 {
+  private static final Logger LOG = Logger.getLogger(WorkStealingBatchExecutor.class.getName());
+
+  /**
+   * Worker id
+   */
+  private int workerId;
+
+  /**
+   * The indexes of the tasks owned by each thread, a task is in a deque only while no thread
+   * is running it
+   */
+  private List<ConcurrentLinkedDeque<Integer>> deques = new ArrayList<>();
+
+  /**
+   * Idle strategy of each thread, index 0 belongs to the main thread
+   */
+  private AdaptiveIdleStrategy[] idleStrategies;
+
+  /**
+   * Number of threads that are currently parking for work
+   */
+  private AtomicInteger idleThreads = new AtomicInteger(0);
+
+  /**
+   * The thread each thread tries to steal from first
+   */
+  private int[] nextVictim;
+
+  /**
+   * Number of tasks each thread took from other threads in the current execution
+   */
+  private long[] steals;
+
+  /**
+   * Time each thread spent without work in the current execution, in nano seconds
+   */
+  private long[] idleTime;
+
+  /**
+   * The time each thread became idle, -1 if it is not idle
+   */
+  private long[] idleStart;
+
+  public WorkStealingBatchExecutor(Config cfg, int workerId, TWSChannel channel,
+                                   ExecutionPlan plan, IExecutionHook hook) {
+    super(cfg, workerId, channel, plan, hook);
+    this.workerId = workerId;
+
+    int spins = ExecutorContext.idleSpinCount(cfg);
+    int yields = ExecutorContext.idleYieldCount(cfg);
+    this.idleStrategies = new AdaptiveIdleStrategy[numThreads];
+    // the main thread progresses the channel, so it parks only for a short time
+    this.idleStrategies[0] = new AdaptiveIdleStrategy(spins, yields,
+        ExecutorContext.idleMaxProgressParkMicros(cfg));
+    for (int i = 1; i < numThreads; i++) {
+      this.idleStrategies[i] = new AdaptiveIdleStrategy(spins, yields,
+          ExecutorContext.idleMaxParkMicros(cfg));
+    }
+    this.nextVictim = new int[numThreads];
+    this.steals = new long[numThreads];
+    this.idleTime = new long[numThreads];
+    this.idleStart = new long[numThreads];
+  }
+
+  @Override
+  protected void onSchedule(List<INodeInstance> tasks) {
+    Map<INodeInstance, Integer> positions = new IdentityHashMap<>();
+    for (int i = 0; i < tasks.size(); i++) {
+      positions.put(tasks.get(i), i);
+    }
+
+    List<ConcurrentLinkedDeque<Integer>> owned = new ArrayList<>();
+    for (List<INodeInstance> instances : assign(tasks, numThreads)) {
+      ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+      for (INodeInstance instance : instances) {
+        deque.offerLast(positions.get(instance));
+      }
+      owned.add(deque);
+    }
+    deques = owned;
+
+    for (int i = 0; i < numThreads; i++) {
+      nextVictim[i] = i + 1;
+      steals[i] = 0;
+      idleTime[i] = 0;
+      idleStart[i] = -1;
+    }
+  }
+
+  @Override
+  protected int nextTask(int worker, int lastTask, int numTasks) {
+    Integer task = deques.get(worker).pollFirst();
+    if (task == null) {
+      task = steal(worker);
+      if (task == null) {
+        markIdle(worker);
+        return -1;
+      }
+      steals[worker]++;
+    }
+    markBusy(worker);
+    return task;
+  }
+
+  @Override
+  protected void onTaskReleased(int worker, int task) {
+    // the task stays with this thread
+    ConcurrentLinkedDeque<Integer> deque = deques.get(worker);
+    deque.offerLast(task);
+    Integer head = deque.peekFirst();
+    if (head != null && head != task) {
+      // there is a task others can steal
+      wakeUpIdle();
+    }
+  }
+
+  @Override
+  protected boolean executeTask(int worker, INodeInstance instance) {
+    idleStrategies[worker].reset();
+    return super.executeTask(worker, instance);
+  }
+
+  @Override
+  protected void onTaskTaken(int worker) {
+    // there was nothing to run or steal
+    idleThreads.incrementAndGet();
+    idleStrategies[worker].idle();
+    idleThreads.decrementAndGet();
+  }
+
+  @Override
+  protected void onExecutionFinished() {
+    long totalSteals = 0;
+    long totalIdle = 0;
+    for (int i = 0; i < numThreads; i++) {
+      markBusy(i);
+      totalSteals += steals[i];
+      totalIdle += idleTime[i];
+    }
+    LOG.info(String.format("Worker %d executed %d tasks on %d threads with %d steals, "
+            + "threads were idle for %d ms", workerId, plan.getNodes().size(), numThreads,
+        totalSteals, TimeUnit.NANOSECONDS.toMillis(totalIdle)));
+  }
+
+  /**
+   * Take a task from the head of another thread's deque. The owner puts the tasks it
+   * executed at the tail, so the head is the task that was executed least recently.
+   */
+  private Integer steal(int worker) {
+    for (int i = 0; i < numThreads - 1; i++) {
+      int victim = nextVictim[worker] % numThreads;
+      if (victim == worker) {
+        victim = (victim + 1) % numThreads;
+      }
+      nextVictim[worker] = victim + 1;
+      Integer task = deques.get(victim).pollFirst();
+      if (task != null) {
+        return task;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Wake up the threads waiting for a task to steal
+   */
+  private void wakeUpIdle() {
+    if (idleThreads.get() > 0) {
+      for (int i = 1; i < idleStrategies.length; i++) {
+        idleStrategies[i].signal();
+      }
+    }
+  }
+
+  private void markIdle(int worker) {
+    if (idleStart[worker] < 0) {
+      idleStart[worker] = System.nanoTime();
+    }
+  }
+
+  private void markBusy(int worker) {
+    if (idleStart[worker] >= 0) {
+      idleTime[worker] += System.nanoTime() - idleStart[worker];
+      idleStart[worker] = -1;
+    }
+  }
+
+  /**
+   * Distribute the instances among the threads. Instances with the same index that share a
+   * parallel operation are kept on the same thread, unless that thread already has its share of
+   * the instances. Instances with different indexes of a connected graph are spread over the
+   * threads. Within a group instances are ordered by their index.
+   *
+   * @param instances the instances
+   * @param threads number of threads
+   * @return the instances for each thread
+   */
+  static List<List<INodeInstance>> assign(List<INodeInstance> instances, int threads) {
+    int n = instances.size();
+    int[] parent = new int[n];
+    for (int i = 0; i < n; i++) {
+      parent[i] = i;
+    }
+
+    // join the instances with the same index sharing an operation
+    Map<IParallelOperation, Map<Integer, Integer>> opOwners = new IdentityHashMap<>();
+    for (int i = 0; i < n; i++) {
+      INodeInstance instance = instances.get(i);
+      for (IParallelOperation op : instance.getParallelOperations()) {
+        Integer owner = opOwners.computeIfAbsent(op, k -> new HashMap<>())
+            .putIfAbsent(instance.getIndex(), i);
+        if (owner != null) {
+          parent[find(parent, owner)] = find(parent, i);
+        }
+      }
+    }
+
+    Map<Integer, List<INodeInstance>> groupMap = new HashMap<>();
+    for (int i = 0; i < n; i++) {
+      groupMap.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(instances.get(i));
+    }
+    Comparator<INodeInstance> order = Comparator.comparingInt(INodeInstance::getIndex)
+        .thenComparingInt(INodeInstance::getId);
+    List<List<INodeInstance>> groups = new ArrayList<>(groupMap.values());
+    for (List<INodeInstance> group : groups) {
+      group.sort(order);
+    }
+    // larger groups first, so that the smaller ones fill the gaps
+    groups.sort((a, b) -> a.size() != b.size()
+        ? b.size() - a.size() : order.compare(a.get(0), b.get(0)));
+
+    List<List<INodeInstance>> assignment = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      assignment.add(new ArrayList<>());
+    }
+
+    int share = (n + threads - 1) / threads;
+    for (List<INodeInstance> group : groups) {
+      int current = leastLoaded(assignment);
+      for (INodeInstance instance : group) {
+        if (assignment.get(current).size() >= share) {
+          current = leastLoaded(assignment);
+        }
+        assignment.get(current).add(instance);
+      }
+    }
+    return assignment;
+  }
+
+  private static int find(int[] parent, int i) {
+    int root = i;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    // compress the path
+    int node = i;
+    while (parent[node] != root) {
+      int next = parent[node];
+      parent[node] = root;
+      node = next;
+    }
+    return root;
+  }
+
+  private static int leastLoaded(List<List<INodeInstance>> assignment) {
+    int min = 0;
+    for (int i = 1; i < assignment.size(); i++) {
+      if (assignment.get(i).size() < assignment.get(min).size()) {
+        min = i;
+      }
+    }
+    return min;
+  }
+}
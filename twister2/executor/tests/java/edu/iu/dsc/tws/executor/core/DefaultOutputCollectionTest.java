@@ -0,0 +1,62 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.core;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.TaskMessage;
+import edu.iu.dsc.tws.common.util.SpscArrayQueue;
+
+public class DefaultOutputCollectionTest {
+
+  @Test
+  public void testFullRingRefuses() {
+    SpscArrayQueue<IMessage> ring = new SpscArrayQueue<>(4);
+    DefaultOutputCollection collection = new DefaultOutputCollection(ring);
+    for (int i = 0; i < ring.capacity(); i++) {
+      Assert.assertTrue(collection.collect("e", new TaskMessage<>(i, "e", 0)));
+    }
+
+    // the caller gets false and can retry the message later
+    Assert.assertFalse(collection.collect("e", new TaskMessage<>(4, "e", 0)));
+    // the queued messages are intact
+    Assert.assertEquals(4, ring.size());
+    for (int i = 0; i < 4; i++) {
+      Assert.assertEquals(i, ring.poll().getContent());
+    }
+    Assert.assertTrue(collection.collect("e", new TaskMessage<>(4, "e", 0)));
+  }
+
+  @Test
+  public void testRingAcceptsAfterDrain() {
+    SpscArrayQueue<IMessage> ring = new SpscArrayQueue<>(2);
+    DefaultOutputCollection collection = new DefaultOutputCollection(ring);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertTrue(collection.collect("e", new TaskMessage<>(i, "e", 0)));
+      Assert.assertEquals(i, ring.poll().getContent());
+    }
+  }
+
+  @Test
+  public void testUnboundedQueue() {
+    LinkedBlockingQueue<IMessage> queue = new LinkedBlockingQueue<>();
+    DefaultOutputCollection collection = new DefaultOutputCollection(queue);
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertTrue(collection.collect("e", new TaskMessage<>(i, "e", 0)));
+    }
+    Assert.assertEquals(1000, queue.size());
+  }
+}
@@ -0,0 +1,96 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.threading;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveIdleStrategyTest {
+
+  @Test
+  public void testSpinYieldThenPark() {
+    AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(2, 2, 100);
+    for (int i = 0; i < 4; i++) {
+      strategy.idle();
+    }
+    // spinning and yielding never park
+    Assert.assertEquals(0, strategy.getParkedTime());
+
+    strategy.idle();
+    Assert.assertTrue(strategy.getParkedTime() > 0);
+  }
+
+  @Test
+  public void testParkTimeIsBounded() {
+    AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(0, 0, 200);
+    int parks = 50;
+    long start = System.nanoTime();
+    for (int i = 0; i < parks; i++) {
+      strategy.idle();
+    }
+    long elapsed = System.nanoTime() - start;
+    // without the bound the park time doubles every call
+    Assert.assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5));
+    Assert.assertTrue(strategy.getParkedTime() <= elapsed);
+  }
+
+  @Test
+  public void testResetGoesBackToSpinning() {
+    AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(3, 0, 100);
+    for (int i = 0; i < 4; i++) {
+      strategy.idle();
+    }
+    long parked = strategy.getParkedTime();
+    Assert.assertTrue(parked > 0);
+
+    strategy.reset();
+    for (int i = 0; i < 3; i++) {
+      strategy.idle();
+    }
+    Assert.assertEquals(parked, strategy.getParkedTime());
+  }
+
+  @Test
+  public void testSignalBeforeParkIsNotMissed() {
+    AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(0, 0,
+        TimeUnit.SECONDS.toMicros(30));
+    strategy.signal();
+    long start = System.nanoTime();
+    strategy.idle();
+    Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    Assert.assertEquals(0, strategy.getParkedTime());
+  }
+
+  @Test
+  public void testSignalWakesParkedThread() throws InterruptedException {
+    AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(0, 0,
+        TimeUnit.SECONDS.toMicros(30));
+    // grow the park time so that the next park is long
+    Thread owner = new Thread(() -> {
+      for (int i = 0; i < 40; i++) {
+        strategy.idle();
+      }
+    });
+    long start = System.nanoTime();
+    owner.start();
+    while (owner.isAlive()) {
+      if (owner.getState() == Thread.State.TIMED_WAITING) {
+        strategy.signal();
+      }
+      Thread.sleep(1);
+    }
+    owner.join();
+    Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+  }
+}
@@ -0,0 +1,230 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.executor.threading;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.BaseOperation;
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.executor.ExecutorContext;
+import edu.iu.dsc.tws.api.compute.executor.INodeInstance;
+import edu.iu.dsc.tws.api.compute.executor.IParallelOperation;
+import edu.iu.dsc.tws.api.compute.executor.ISync;
+import edu.iu.dsc.tws.api.compute.nodes.INode;
+import edu.iu.dsc.tws.api.config.Config;
+
+public class WorkStealingBatchExecutorTest {
+
+  @Test
+  public void testPipelinesStayTogether() {
+    // two sources and two sinks connected through the same operation
+    IParallelOperation op = new TestOperation();
+    List<INodeInstance> instances = Arrays.asList(
+        new TestInstance(0, 0, op), new TestInstance(1, 1, op),
+        new TestInstance(2, 0, op), new TestInstance(3, 1, op));
+
+    List<List<INodeInstance>> assignment = WorkStealingBatchExecutor.assign(instances, 2);
+    Assert.assertEquals(2, assignment.size());
+    Assert.assertTrue(threadOf(assignment, 0) == threadOf(assignment, 2));
+    Assert.assertTrue(threadOf(assignment, 1) == threadOf(assignment, 3));
+    // a connected graph is not kept on one thread
+    Assert.assertTrue(threadOf(assignment, 0) != threadOf(assignment, 1));
+  }
+
+  @Test
+  public void testLargeGroupIsSplitByShare() {
+    IParallelOperation op = new TestOperation();
+    List<INodeInstance> instances = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      instances.add(new TestInstance(i, 0, op));
+    }
+
+    List<List<INodeInstance>> assignment = WorkStealingBatchExecutor.assign(instances, 3);
+    int total = 0;
+    for (List<INodeInstance> thread : assignment) {
+      // the share is ceil(7 / 3)
+      Assert.assertTrue(thread.size() <= 3);
+      Assert.assertFalse(thread.isEmpty());
+      total += thread.size();
+    }
+    Assert.assertEquals(7, total);
+  }
+
+  @Test
+  public void testIdleThreadStealsLeastRecentlyRun() {
+    Config config = Config.newBuilder()
+        .put(ExecutorContext.THREADS_PER_WORKER, 2).build();
+    WorkStealingBatchExecutor executor = new WorkStealingBatchExecutor(config, 0, null, null,
+        null);
+    IParallelOperation op = new TestOperation();
+    // the first thread gets instances 0 and 1, the second one gets instance 2
+    List<INodeInstance> tasks = Arrays.asList(new TestInstance(0, 0, op),
+        new TestInstance(1, 0, op), new TestInstance(2, 0, op));
+    executor.onSchedule(tasks);
+
+    Assert.assertEquals(2, executor.nextTask(1, -1, tasks.size()));
+    Assert.assertEquals(0, executor.nextTask(0, -1, tasks.size()));
+    executor.onTaskReleased(0, 0);
+    // the second thread takes the head of the first thread's deque
+    Assert.assertEquals(1, executor.nextTask(1, 2, tasks.size()));
+    Assert.assertEquals(0, executor.nextTask(0, 0, tasks.size()));
+    // nothing is left to run or steal
+    Assert.assertEquals(-1, executor.nextTask(1, 1, tasks.size()));
+    // a stolen instance stays with the thread that ran it
+    executor.onTaskReleased(1, 1);
+    Assert.assertEquals(1, executor.nextTask(1, 1, tasks.size()));
+  }
+
+  @Test
+  public void testIndependentInstancesAreBalanced() {
+    List<INodeInstance> instances = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      instances.add(new TestInstance(i, i));
+    }
+
+    List<List<INodeInstance>> assignment = WorkStealingBatchExecutor.assign(instances, 4);
+    Set<Integer> seen = new HashSet<>();
+    for (List<INodeInstance> thread : assignment) {
+      Assert.assertEquals(2, thread.size());
+      for (INodeInstance instance : thread) {
+        Assert.assertTrue(seen.add(instance.getId()));
+      }
+    }
+  }
+
+  @Test
+  public void testGroupIsOrderedByIndex() {
+    IParallelOperation op = new TestOperation();
+    List<INodeInstance> instances = Arrays.asList(
+        new TestInstance(0, 1, op), new TestInstance(1, 0, op),
+        new TestInstance(2, 1, op), new TestInstance(3, 0, op));
+
+    List<List<INodeInstance>> assignment = WorkStealingBatchExecutor.assign(instances, 1);
+    List<INodeInstance> thread = assignment.get(0);
+    Assert.assertEquals(4, thread.size());
+    int[] expected = {1, 3, 0, 2};
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i], thread.get(i).getId());
+    }
+  }
+
+  @Test
+  public void testMoreThreadsThanInstances() {
+    List<INodeInstance> instances = Collections.singletonList(new TestInstance(0, 0));
+
+    List<List<INodeInstance>> assignment = WorkStealingBatchExecutor.assign(instances, 3);
+    Assert.assertEquals(3, assignment.size());
+    int total = 0;
+    for (List<INodeInstance> thread : assignment) {
+      total += thread.size();
+    }
+    Assert.assertEquals(1, total);
+  }
+
+  private static int threadOf(List<List<INodeInstance>> assignment, int id) {
+    for (int i = 0; i < assignment.size(); i++) {
+      for (INodeInstance instance : assignment.get(i)) {
+        if (instance.getId() == id) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static class TestInstance implements INodeInstance {
+    private int id;
+
+    private int index;
+
+    private List<IParallelOperation> ops;
+
+    TestInstance(int id, int index, IParallelOperation... ops) {
+      this.id = id;
+      this.index = index;
+      this.ops = Arrays.asList(ops);
+    }
+
+    @Override
+    public int getId() {
+      return id;
+    }
+
+    @Override
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public Collection<IParallelOperation> getParallelOperations() {
+      return ops;
+    }
+
+    @Override
+    public boolean execute() {
+      return false;
+    }
+
+    @Override
+    public void prepare(Config cfg) {
+    }
+
+    @Override
+    public INode getNode() {
+      return null;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static class TestOperation implements IParallelOperation {
+    @Override
+    public boolean send(int source, IMessage message, int flags) {
+      return false;
+    }
+
+    @Override
+    public void register(int targetTask, BlockingQueue<IMessage> queue) {
+    }
+
+    @Override
+    public void registerSync(int targetTask, ISync sync) {
+    }
+
+    @Override
+    public boolean progress() {
+      return false;
+    }
+
+    @Override
+    public boolean isComplete() {
+      return true;
+    }
+
+    @Override
+    public BaseOperation getOp() {
+      return null;
+    }
+  }
+}
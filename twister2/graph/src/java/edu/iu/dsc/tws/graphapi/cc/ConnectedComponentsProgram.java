@@ -0,0 +1,45 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.cc;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.graphapi.pregel.VertexContext;
+import edu.iu.dsc.tws.graphapi.pregel.VertexProgram;
+
+/**
+ * Connected components by propagating the smallest vertex id. Every vertex ends up with the
+ * smallest id of its component. The graph file should list each edge in both directions.
+ */
+public class ConnectedComponentsProgram implements VertexProgram {
+  private static final long serialVersionUID = -6610293847561029384L;
+
+  @Override
+  public double initialValue(int vertex, int vertexCount) {
+    return vertex;
+  }
+
+  @Override
+  public Op combiner() {
+    return Op.MIN;
+  }
+
+  @Override
+  public void compute(VertexContext vertex) {
+    if (vertex.getSuperstep() == 0) {
+      vertex.sendMessageToAllEdges(vertex.getValue());
+    } else if (vertex.hasMessage() && vertex.getMessage() < vertex.getValue()) {
+      vertex.setValue(vertex.getMessage());
+      vertex.sendMessageToAllEdges(vertex.getValue());
+    }
+    vertex.voteToHalt();
+  }
+}
@@ -0,0 +1,46 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.cc;
+
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.graphapi.api.WorkerParameter;
+import edu.iu.dsc.tws.graphapi.pregel.CsrPartition;
+import edu.iu.dsc.tws.graphapi.pregel.PregelWorker;
+import edu.iu.dsc.tws.graphapi.pregel.VertexProgram;
+
+public class ConnectedComponentsWorker extends PregelWorker {
+  private static final Logger LOG =
+      Logger.getLogger(ConnectedComponentsWorker.class.getName());
+
+  @Override
+  public VertexProgram program(WorkerParameter parameter) {
+    return new ConnectedComponentsProgram();
+  }
+
+  @Override
+  protected void output(CsrPartition partition) {
+    int components = 0;
+    for (int i = 0; i < partition.getLocalCount(); i++) {
+      if (partition.isPresent(i)) {
+        LOG.fine("vertex: " + partition.getGlobalId(i) + " component: "
+            + (int) partition.getValue(i));
+        // the vertex with the smallest id of a component is in its own component
+        if ((int) partition.getValue(i) == partition.getGlobalId(i)) {
+          components++;
+        }
+      }
+    }
+    LOG.info(String.format("Partition %d has the smallest vertex of %d components",
+        partition.getPartitionIndex(), components));
+  }
+}
@@ -0,0 +1,65 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pagerank;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.graphapi.pregel.VertexContext;
+import edu.iu.dsc.tws.graphapi.pregel.VertexProgram;
+
+/**
+ * PageRank as a vertex program. The rank of the vertices without out edges is aggregated and
+ * spread evenly over all the vertices in the next superstep.
+ */
+public class PageRankProgram implements VertexProgram {
+  private static final long serialVersionUID = -2038471629384756102L;
+
+  private static final double DAMPING = 0.85;
+
+  /**
+   * Number of rank updates
+   */
+  private int iterations;
+
+  public PageRankProgram(int iterations) {
+    this.iterations = iterations;
+  }
+
+  @Override
+  public double initialValue(int vertex, int vertexCount) {
+    return 1.0 / vertexCount;
+  }
+
+  @Override
+  public Op combiner() {
+    return Op.SUM;
+  }
+
+  @Override
+  public void compute(VertexContext vertex) {
+    int n = vertex.getVertexCount();
+    if (vertex.getSuperstep() > 0) {
+      double sum = vertex.hasMessage() ? vertex.getMessage() : 0;
+      vertex.setValue((1 - DAMPING) / n + DAMPING * (sum + vertex.getAggregate() / n));
+    }
+
+    if (vertex.getSuperstep() < iterations) {
+      int degree = vertex.getOutDegree();
+      if (degree > 0) {
+        vertex.sendMessageToAllEdges(vertex.getValue() / degree);
+      } else {
+        vertex.aggregate(vertex.getValue());
+      }
+    } else {
+      vertex.voteToHalt();
+    }
+  }
+}
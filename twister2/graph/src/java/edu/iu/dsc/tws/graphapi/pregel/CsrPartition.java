@@ -0,0 +1,393 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.BitSet;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+/**
+ * The vertices of a graph partition kept in compressed sparse row format. Vertex ids are ints and
+ * vertex <code>v</code> is owned by partition <code>v % partitions</code> at the local index
+ * <code>v / partitions</code>, so no map is needed to find a vertex. The out edges of the vertex
+ * at local index <code>i</code> are <code>targets[offsets[i] .. offsets[i + 1])</code>.
+ * <p>
+ * Besides the structure this holds the vertex values, the halted vertices and the combined
+ * messages for the current and the next superstep. The superstep tasks of the same index share
+ * one instance. The arrays are sized for all the vertex ids below the vertex count and never
+ * grow, so messages for the next superstep can be delivered while the current one is computed.
+ */
+public class CsrPartition {
+  /**
+   * Index of this partition
+   */
+  private final int partitionIndex;
+
+  /**
+   * Total number of partitions
+   */
+  private final int partitions;
+
+  /**
+   * Number of vertices of the whole graph
+   */
+  private final int vertexCount;
+
+  /**
+   * Number of local vertex slots
+   */
+  private final int localCount;
+
+  /**
+   * Start of the edges of each local vertex, has localCount + 1 entries
+   */
+  private final int[] offsets;
+
+  /**
+   * Target vertex ids of the edges
+   */
+  private final int[] targets;
+
+  /**
+   * Edge weights, null for un-weighted graphs
+   */
+  private final double[] weights;
+
+  /**
+   * Vertex values
+   */
+  private final double[] values;
+
+  /**
+   * Slots that hold a vertex, a slot without a vertex is skipped in the supersteps. Only changed
+   * when a superstep begins.
+   */
+  private final BitSet present;
+
+  /**
+   * Vertices that got their initial value
+   */
+  private final BitSet initialized = new BitSet();
+
+  /**
+   * Vertices that voted to halt
+   */
+  private final BitSet halted = new BitSet();
+
+  /**
+   * Combined messages for the current superstep
+   */
+  private double[] inbox;
+
+  /**
+   * Vertices with a message in the inbox
+   */
+  private BitSet inboxFlags = new BitSet();
+
+  /**
+   * Combined messages received for the next superstep
+   */
+  private double[] nextInbox;
+
+  /**
+   * Vertices with a message in the next inbox
+   */
+  private BitSet nextInboxFlags = new BitSet();
+
+  /**
+   * The current superstep, -1 before the first one
+   */
+  private int superstep = -1;
+
+  /**
+   * Global aggregate of the previous superstep
+   */
+  private double aggregate;
+
+  /**
+   * Weather all the vertices halted and no messages are in flight
+   */
+  private boolean finished;
+
+  private CsrPartition(int partitionIndex, int partitions, int vertexCount, int[] offsets,
+                       int[] targets, double[] weights, BitSet present) {
+    this.partitionIndex = partitionIndex;
+    this.partitions = partitions;
+    this.vertexCount = vertexCount;
+    this.localCount = offsets.length - 1;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    this.present = present;
+    this.values = new double[localCount];
+    this.inbox = new double[localCount];
+    this.nextInbox = new double[localCount];
+  }
+
+  /**
+   * The partition owning a vertex
+   *
+   * @param vertex vertex id
+   * @param partitions number of partitions
+   * @return the partition index
+   */
+  public static int owner(int vertex, int partitions) {
+    return vertex % partitions;
+  }
+
+  public int getPartitionIndex() {
+    return partitionIndex;
+  }
+
+  public int getVertexCount() {
+    return vertexCount;
+  }
+
+  public int getLocalCount() {
+    return localCount;
+  }
+
+  public int getGlobalId(int local) {
+    return local * partitions + partitionIndex;
+  }
+
+  public boolean isPresent(int local) {
+    return present.get(local);
+  }
+
+  boolean isInitialized(int local) {
+    return initialized.get(local);
+  }
+
+  void initialize(int local, double value) {
+    values[local] = value;
+    initialized.set(local);
+  }
+
+  public double getValue(int local) {
+    return values[local];
+  }
+
+  void setValue(int local, double value) {
+    values[local] = value;
+  }
+
+  public int getOutDegree(int local) {
+    return offsets[local + 1] - offsets[local];
+  }
+
+  int getEdgeStart(int local) {
+    return offsets[local];
+  }
+
+  int getTarget(int edge) {
+    return targets[edge];
+  }
+
+  double getWeight(int edge) {
+    return weights == null ? 1.0 : weights[edge];
+  }
+
+  boolean isHalted(int local) {
+    return halted.get(local);
+  }
+
+  void setHalted(int local, boolean halt) {
+    halted.set(local, halt);
+  }
+
+  boolean hasMessage(int local) {
+    return inboxFlags.get(local);
+  }
+
+  double getMessage(int local) {
+    return inbox[local];
+  }
+
+  public int getSuperstep() {
+    return superstep;
+  }
+
+  double getAggregate() {
+    return aggregate;
+  }
+
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Start the next superstep, the messages received in the previous superstep become the inbox.
+   * Vertices without a slot that got a message are created here with no out edges.
+   */
+  void beginSuperstep() {
+    superstep++;
+    double[] tmp = inbox;
+    inbox = nextInbox;
+    nextInbox = tmp;
+
+    BitSet tmpFlags = inboxFlags;
+    inboxFlags = nextInboxFlags;
+    nextInboxFlags = tmpFlags;
+    nextInboxFlags.clear();
+    present.or(inboxFlags);
+  }
+
+  /**
+   * Record the global status at the end of a superstep
+   *
+   * @param active number of vertices that did not vote to halt
+   * @param messages number of messages sent
+   * @param globalAggregate the global aggregate of the superstep
+   */
+  void endSuperstep(long active, long messages, double globalAggregate) {
+    this.aggregate = globalAggregate;
+    this.finished = active == 0 && messages == 0;
+  }
+
+  /**
+   * Add a message for the next superstep, it is combined with the message already received for
+   * the vertex. This only touches the next inbox, so it can run while the current superstep is
+   * computed.
+   *
+   * @param vertex target vertex id
+   * @param message the message
+   * @param combiner operation used to combine the messages
+   * @throws Twister2RuntimeException if the vertex is not below the vertex count or not in this
+   * partition
+   */
+  void deliver(int vertex, double message, Op combiner) {
+    checkVertex(vertex, vertexCount, partitions, partitionIndex);
+    int local = vertex / partitions;
+    if (nextInboxFlags.get(local)) {
+      nextInbox[local] = combine(combiner, nextInbox[local], message);
+    } else {
+      nextInbox[local] = message;
+      nextInboxFlags.set(local);
+    }
+  }
+
+  private static void checkVertex(int vertex, int vertexCount, int partitions,
+                                  int partitionIndex) {
+    if (vertex < 0 || vertex >= vertexCount) {
+      throw new Twister2RuntimeException("Vertex " + vertex + " is not below the vertex count "
+          + vertexCount);
+    }
+    if (owner(vertex, partitions) != partitionIndex) {
+      throw new Twister2RuntimeException("Vertex " + vertex + " is not in partition "
+          + partitionIndex);
+    }
+  }
+
+  private static double combine(Op op, double d1, double d2) {
+    switch (op) {
+      case SUM:
+        return d1 + d2;
+      case MIN:
+        return Math.min(d1, d2);
+      case MAX:
+        return Math.max(d1, d2);
+      case PRODUCT:
+        return d1 * d2;
+      default:
+        throw new Twister2RuntimeException("Un-supported combiner: " + op);
+    }
+  }
+
+  /**
+   * Builds a partition from adjacency lists. The lists are kept until {@link #build()} is called
+   * and then copied in to the CSR arrays.
+   */
+  public static class Builder {
+    private final int partitionIndex;
+    private final int partitions;
+    private final int vertexCount;
+    private final boolean weighted;
+
+    /**
+     * Adjacency of each local slot, interleaved with the weights for weighted graphs
+     */
+    private int[][] adjacency;
+
+    private final int localCount;
+
+    private long edgeCount;
+
+    private final BitSet present = new BitSet();
+
+    public Builder(int partitionIndex, int partitions, int vertexCount, boolean weighted) {
+      this.partitionIndex = partitionIndex;
+      this.partitions = partitions;
+      this.vertexCount = vertexCount;
+      this.weighted = weighted;
+      this.localCount = Math.max((vertexCount - partitionIndex + partitions - 1) / partitions,
+          0);
+      this.adjacency = new int[localCount][];
+    }
+
+    /**
+     * Add a vertex with its out edges
+     *
+     * @param vertex vertex id, it should be owned by this partition
+     * @param edges targets, or target and weight pairs for weighted graphs
+     * @throws Twister2RuntimeException if the vertex is not below the vertex count or not in this
+     * partition
+     */
+    public void add(int vertex, int[] edges) {
+      checkVertex(vertex, vertexCount, partitions, partitionIndex);
+      int local = vertex / partitions;
+      if (adjacency[local] != null) {
+        edgeCount -= edgesOf(adjacency[local]);
+      }
+      adjacency[local] = edges;
+      edgeCount += edgesOf(edges);
+      present.set(local);
+    }
+
+    private int edgesOf(int[] edges) {
+      return weighted ? edges.length / 2 : edges.length;
+    }
+
+    public CsrPartition build() {
+      if (edgeCount > Integer.MAX_VALUE) {
+        throw new Twister2RuntimeException("Too many edges in partition " + partitionIndex
+            + ": " + edgeCount);
+      }
+      int[] offsets = new int[localCount + 1];
+      int[] targets = new int[(int) edgeCount];
+      double[] weights = weighted ? new double[(int) edgeCount] : null;
+
+      int e = 0;
+      for (int i = 0; i < localCount; i++) {
+        offsets[i] = e;
+        int[] edges = adjacency[i];
+        if (edges == null) {
+          continue;
+        }
+        if (weighted) {
+          for (int j = 0; j + 1 < edges.length; j += 2) {
+            targets[e] = edges[j];
+            weights[e++] = edges[j + 1];
+          }
+        } else {
+          System.arraycopy(edges, 0, targets, e, edges.length);
+          e += edges.length;
+        }
+      }
+      offsets[localCount] = e;
+      adjacency = null;
+      return new CsrPartition(partitionIndex, partitions, vertexCount, offsets, targets,
+          weights, present);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.Iterator;
+
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.TaskContext;
+import edu.iu.dsc.tws.api.compute.modifiers.Collector;
+import edu.iu.dsc.tws.api.compute.modifiers.IONames;
+import edu.iu.dsc.tws.api.compute.nodes.BaseCompute;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.dataset.DataPartition;
+import edu.iu.dsc.tws.dataset.partition.EntityPartition;
+
+/**
+ * Builds the {@link CsrPartition} of this task from the vertices sent by the
+ * {@link EdgeListParser}.
+ */
+public class CsrPartitionSink extends BaseCompute implements Collector {
+  private static final long serialVersionUID = 4102938475620193847L;
+
+  /**
+   * Number of vertices in the graph
+   */
+  private int vertexCount;
+
+  /**
+   * Weather the graph has edge weights
+   */
+  private boolean weighted;
+
+  /**
+   * Builder holding the vertices until the partition is collected
+   */
+  private transient CsrPartition.Builder builder;
+
+  /**
+   * The built partition
+   */
+  private transient CsrPartition partition;
+
+  public CsrPartitionSink(int vertexCount, boolean weighted) {
+    this.vertexCount = vertexCount;
+    this.weighted = weighted;
+  }
+
+  @Override
+  public void prepare(Config cfg, TaskContext ctx) {
+    super.prepare(cfg, ctx);
+    this.builder = new CsrPartition.Builder(ctx.taskIndex(), ctx.getParallelism(),
+        vertexCount, weighted);
+  }
+
+  @Override
+  public boolean execute(IMessage content) {
+    if (content.getContent() instanceof Iterator) {
+      Iterator<?> it = (Iterator<?>) content.getContent();
+      while (it.hasNext()) {
+        Tuple next = (Tuple) it.next();
+        builder.add((Integer) next.getKey(), (int[]) next.getValue());
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public DataPartition<?> get(String name) {
+    if (partition == null) {
+      partition = builder.build();
+    }
+    return new EntityPartition<>(partition);
+  }
+
+  @Override
+  public IONames getCollectibleNames() {
+    return IONames.declare(PregelWorker.GRAPH);
+  }
+}
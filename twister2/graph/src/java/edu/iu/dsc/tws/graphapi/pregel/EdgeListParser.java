@@ -0,0 +1,64 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.Iterator;
+
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.nodes.BaseCompute;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+/**
+ * Parses the adjacency list lines of the graph file and sends each vertex to the task holding
+ * its partition. A line is the vertex id followed by the target ids, or by target id and weight
+ * pairs for weighted graphs.
+ */
+public class EdgeListParser extends BaseCompute {
+  private static final long serialVersionUID = -7392018462845021934L;
+
+  /**
+   * Weather the lines have edge weights
+   */
+  private boolean weighted;
+
+  public EdgeListParser(boolean weighted) {
+    this.weighted = weighted;
+  }
+
+  @Override
+  public boolean execute(IMessage message) {
+    if (message.getContent() instanceof Iterator) {
+      Iterator<?> it = (Iterator<?>) message.getContent();
+      while (it.hasNext()) {
+        String line = String.valueOf(it.next()).trim();
+        if (line.isEmpty()) {
+          continue;
+        }
+        String[] data = line.split("\\s+");
+        int vertex = Integer.parseInt(data[0]);
+        if (vertex < 0) {
+          throw new Twister2RuntimeException("Vertex ids should not be negative: " + line);
+        }
+        int[] edges = new int[data.length - 1];
+        for (int i = 1; i < data.length; i++) {
+          edges[i - 1] = Integer.parseInt(data[i]);
+        }
+        if (weighted && edges.length % 2 != 0) {
+          throw new Twister2RuntimeException("Expected target and weight pairs: " + line);
+        }
+        context.write(PregelWorker.VERTEX_EDGE, vertex, edges);
+      }
+    }
+    context.end(PregelWorker.VERTEX_EDGE);
+    return true;
+  }
+}
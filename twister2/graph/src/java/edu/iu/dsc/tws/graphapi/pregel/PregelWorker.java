@@ -0,0 +1,196 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.compute.executor.IExecutor;
+import edu.iu.dsc.tws.api.compute.graph.ComputeGraph;
+import edu.iu.dsc.tws.api.compute.graph.OperationMode;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.config.Context;
+import edu.iu.dsc.tws.api.dataset.DataObject;
+import edu.iu.dsc.tws.api.dataset.DataPartition;
+import edu.iu.dsc.tws.graphapi.api.WorkerParameter;
+import edu.iu.dsc.tws.graphapi.partition.GraphDataSource;
+import edu.iu.dsc.tws.task.impl.ComputeConnection;
+import edu.iu.dsc.tws.task.impl.ComputeGraphBuilder;
+import edu.iu.dsc.tws.task.impl.TaskWorker;
+import edu.iu.dsc.tws.task.impl.function.ReduceFn;
+
+/**
+ * Runs a {@link VertexProgram} over a graph in supersteps. The graph file is read in to a
+ * {@link CsrPartition} per task, and then the superstep graph is executed until every vertex
+ * has voted to halt and no messages are sent, or until the given number of iterations.
+ * <p>
+ * Messages only go along the keyed reduce edge to the tasks owning the target vertices, and
+ * they are combined at the senders before they are sent.
+ */
+public abstract class PregelWorker extends TaskWorker {
+  private static final Logger LOG = Logger.getLogger(PregelWorker.class.getName());
+
+  /**
+   * Name of the graph partitions
+   */
+  public static final String GRAPH = "pregel-graph";
+
+  /**
+   * Edge used to send the vertices to their partitions
+   */
+  public static final String VERTEX_EDGE = "pregel-vertices";
+
+  /**
+   * Edge used to send the messages between vertices
+   */
+  public static final String MESSAGE_EDGE = "pregel-messages";
+
+  /**
+   * Edge used to aggregate the superstep status
+   */
+  public static final String STATUS_EDGE = "pregel-status-allreduce";
+
+  /**
+   * The program to run
+   *
+   * @param parameter the job parameters
+   */
+  public abstract VertexProgram program(WorkerParameter parameter);
+
+  /**
+   * Weather the graph file has edge weights
+   */
+  protected boolean isWeighted() {
+    return false;
+  }
+
+  /**
+   * Maximum number of supersteps to run, 0 to run until all the vertices halt
+   *
+   * @param parameter the job parameters
+   */
+  protected int maxSupersteps(WorkerParameter parameter) {
+    return parameter.getIterations();
+  }
+
+  /**
+   * Called for the partitions of this worker after the last superstep
+   *
+   * @param partition the partition
+   */
+  protected void output(CsrPartition partition) {
+  }
+
+  @Override
+  public void execute() {
+    LOG.log(Level.INFO, "Task worker starting: " + workerId);
+
+    WorkerParameter workerParameter = WorkerParameter.build(config);
+    int parallelism = workerParameter.getParallelismValue();
+    int maxSupersteps = maxSupersteps(workerParameter);
+    VertexProgram program = program(workerParameter);
+
+    ComputeGraph loadGraph = buildLoadGraph(workerParameter.getDatapointDirectory(),
+        workerParameter.getDsize(), parallelism, isWeighted(), config);
+    taskExecutor.execute(loadGraph, taskExecutor.plan(loadGraph));
+
+    ComputeGraph superstepGraph = buildSuperstepGraph(program, parallelism, config);
+    IExecutor ex = taskExecutor.createExecution(superstepGraph);
+
+    long startTime = System.currentTimeMillis();
+    int superstep = 0;
+    boolean finished = false;
+    while (!finished) {
+      ex.execute(false);
+      superstep++;
+      finished = isFinished() || (maxSupersteps > 0 && superstep >= maxSupersteps);
+    }
+    ex.closeExecution();
+    long endTime = System.currentTimeMillis();
+
+    DataObject<CsrPartition> graph = taskExecutor.getOutput(GRAPH);
+    for (DataPartition<CsrPartition> partition : graph.getPartitions()) {
+      output(partition.getConsumer().next());
+    }
+    taskExecutor.close();
+
+    if (workerId == 0) {
+      LOG.info(String.format("Finished %d supersteps in %d ms", superstep,
+          endTime - startTime));
+    }
+  }
+
+  /**
+   * Check the status of the last superstep, every task gets the same global status
+   */
+  private boolean isFinished() {
+    DataObject<CsrPartition> graph = taskExecutor.getOutput(GRAPH);
+    DataPartition<CsrPartition> partition = graph.getAnyPartition();
+    return partition == null || partition.getConsumer().next().isFinished();
+  }
+
+  public static ComputeGraph buildLoadGraph(String dataDirectory, int vertexCount,
+                                            int parallelism, boolean weighted, Config conf) {
+    GraphDataSource dataSource = new GraphDataSource(Context.TWISTER2_DIRECT_EDGE,
+        dataDirectory, vertexCount);
+    EdgeListParser parser = new EdgeListParser(weighted);
+    CsrPartitionSink partitionSink = new CsrPartitionSink(vertexCount, weighted);
+
+    ComputeGraphBuilder builder = ComputeGraphBuilder.newBuilder(conf);
+    builder.addSource("pregel-input", dataSource, parallelism);
+    ComputeConnection parserConnection = builder.addCompute("pregel-parser", parser,
+        parallelism);
+    ComputeConnection sinkConnection = builder.addCompute("pregel-partition", partitionSink,
+        parallelism);
+
+    parserConnection.direct("pregel-input")
+        .viaEdge(Context.TWISTER2_DIRECT_EDGE)
+        .withDataType(MessageTypes.OBJECT);
+    sinkConnection.keyedPartition("pregel-parser")
+        .viaEdge(VERTEX_EDGE)
+        .withKeyType(MessageTypes.INTEGER)
+        .withDataType(MessageTypes.INTEGER_ARRAY)
+        .withTaskPartitioner(new VertexPartitioner());
+
+    builder.setMode(OperationMode.BATCH);
+    builder.setTaskGraphName("pregel-load");
+    return builder.build();
+  }
+
+  public static ComputeGraph buildSuperstepGraph(VertexProgram program, int parallelism,
+                                                 Config conf) {
+    ComputeGraphBuilder builder = ComputeGraphBuilder.newBuilder(conf);
+    builder.addSource("pregel-superstep", new SuperstepSource(program), parallelism);
+    ComputeConnection receiverConnection = builder.addCompute("pregel-receiver",
+        new SuperstepReceiver(program.combiner()), parallelism);
+    ComputeConnection statusConnection = builder.addCompute("pregel-status-sink",
+        new SuperstepStatusSink(), parallelism);
+
+    receiverConnection.keyedReduce("pregel-superstep")
+        .viaEdge(MESSAGE_EDGE)
+        .withReductionFunction(new ReduceFn(program.combiner(), MessageTypes.DOUBLE))
+        .withKeyType(MessageTypes.INTEGER)
+        .withDataType(MessageTypes.DOUBLE)
+        .withTaskPartitioner(new VertexPartitioner())
+        .useCombiner();
+    statusConnection.allreduce("pregel-superstep")
+        .viaEdge(STATUS_EDGE)
+        .withReductionFunction(new ReduceFn(Op.SUM, MessageTypes.DOUBLE_ARRAY))
+        .withDataType(MessageTypes.DOUBLE_ARRAY);
+
+    builder.setMode(OperationMode.BATCH);
+    builder.setTaskGraphName("pregel-superstep");
+    return builder.build();
+  }
+}
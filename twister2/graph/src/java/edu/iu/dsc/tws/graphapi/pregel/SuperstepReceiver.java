@@ -0,0 +1,68 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.Iterator;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.modifiers.IONames;
+import edu.iu.dsc.tws.api.compute.modifiers.Receptor;
+import edu.iu.dsc.tws.api.compute.nodes.BaseCompute;
+import edu.iu.dsc.tws.api.dataset.DataPartition;
+
+/**
+ * Receives the combined messages of a superstep and keeps them in the {@link CsrPartition} for
+ * the next superstep.
+ */
+public class SuperstepReceiver extends BaseCompute implements Receptor {
+  private static final long serialVersionUID = 6238401829476502813L;
+
+  /**
+   * Operation to combine messages to the same vertex
+   */
+  private Op combiner;
+
+  /**
+   * The partition of this task
+   */
+  private CsrPartition partition;
+
+  public SuperstepReceiver(Op combiner) {
+    this.combiner = combiner;
+  }
+
+  @Override
+  public boolean execute(IMessage content) {
+    if (content.getContent() instanceof Iterator) {
+      Iterator<?> it = (Iterator<?>) content.getContent();
+      while (it.hasNext()) {
+        Tuple next = (Tuple) it.next();
+        partition.deliver((Integer) next.getKey(), (double) next.getValue(), combiner);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void add(String name, DataPartition<?> data) {
+    if (PregelWorker.GRAPH.equals(name)) {
+      this.partition = (CsrPartition) data.getConsumer().next();
+    }
+  }
+
+  @Override
+  public IONames getReceivableNames() {
+    return IONames.declare(PregelWorker.GRAPH);
+  }
+}
@@ -0,0 +1,92 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import edu.iu.dsc.tws.api.compute.modifiers.IONames;
+import edu.iu.dsc.tws.api.compute.modifiers.Receptor;
+import edu.iu.dsc.tws.api.compute.nodes.BaseSource;
+import edu.iu.dsc.tws.api.dataset.DataPartition;
+
+/**
+ * Runs one superstep of a {@link VertexProgram} over a {@link CsrPartition}. The messages are
+ * written to the message edge keyed by the target vertex, and the number of active vertices,
+ * the number of messages sent and the local aggregate are written to the status edge.
+ */
+public class SuperstepSource extends BaseSource implements Receptor {
+  private static final long serialVersionUID = -4820749284163540132L;
+
+  /**
+   * The program to run
+   */
+  private VertexProgram program;
+
+  /**
+   * The partition of this task
+   */
+  private CsrPartition partition;
+
+  /**
+   * The vertex view given to the program
+   */
+  private VertexContext vertex;
+
+  public SuperstepSource(VertexProgram program) {
+    this.program = program;
+  }
+
+  @Override
+  public void execute() {
+    if (vertex == null) {
+      vertex = new VertexContext(partition, context, PregelWorker.MESSAGE_EDGE);
+    }
+    partition.beginSuperstep();
+    vertex.resetSuperstep();
+
+    long active = 0;
+    for (int i = 0; i < partition.getLocalCount(); i++) {
+      if (!partition.isPresent(i)) {
+        continue;
+      }
+
+      if (!partition.isInitialized(i)) {
+        partition.initialize(i, program.initialValue(partition.getGlobalId(i),
+            partition.getVertexCount()));
+      } else if (partition.isHalted(i) && !partition.hasMessage(i)) {
+        continue;
+      }
+
+      vertex.reset(i);
+      program.compute(vertex);
+      partition.setHalted(i, vertex.isHalted());
+      if (!vertex.isHalted()) {
+        active++;
+      }
+    }
+
+    context.end(PregelWorker.MESSAGE_EDGE);
+    context.writeEnd(PregelWorker.STATUS_EDGE,
+        new double[]{active, vertex.getMessagesSent(), vertex.getLocalAggregate()});
+  }
+
+  @Override
+  public void add(String name, DataPartition<?> data) {
+    if (PregelWorker.GRAPH.equals(name)) {
+      this.partition = (CsrPartition) data.getConsumer().next();
+      this.vertex = null;
+    }
+  }
+
+  @Override
+  public IONames getReceivableNames() {
+    return IONames.declare(PregelWorker.GRAPH);
+  }
+}
@@ -0,0 +1,51 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import edu.iu.dsc.tws.api.compute.IMessage;
+import edu.iu.dsc.tws.api.compute.modifiers.IONames;
+import edu.iu.dsc.tws.api.compute.modifiers.Receptor;
+import edu.iu.dsc.tws.api.compute.nodes.BaseCompute;
+import edu.iu.dsc.tws.api.dataset.DataPartition;
+
+/**
+ * Receives the global status of a superstep, the sum of the active vertices, the messages sent
+ * and the aggregates of all the partitions. The status is kept in the {@link CsrPartition} so
+ * that the worker can decide weather to run another superstep.
+ */
+public class SuperstepStatusSink extends BaseCompute implements Receptor {
+  private static final long serialVersionUID = 1829365027461930248L;
+
+  /**
+   * The partition of this task
+   */
+  private CsrPartition partition;
+
+  @Override
+  public boolean execute(IMessage content) {
+    double[] status = (double[]) content.getContent();
+    partition.endSuperstep((long) status[0], (long) status[1], status[2]);
+    return true;
+  }
+
+  @Override
+  public void add(String name, DataPartition<?> data) {
+    if (PregelWorker.GRAPH.equals(name)) {
+      this.partition = (CsrPartition) data.getConsumer().next();
+    }
+  }
+
+  @Override
+  public IONames getReceivableNames() {
+    return IONames.declare(PregelWorker.GRAPH);
+  }
+}
@@ -0,0 +1,184 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import edu.iu.dsc.tws.api.compute.TaskContext;
+
+/**
+ * The view of a vertex given to {@link VertexProgram#compute(VertexContext)}. A single instance
+ * is reused for all the vertices of a partition, so it must not be kept after the call.
+ */
+public final class VertexContext {
+  /**
+   * The partition of the vertex
+   */
+  private final CsrPartition partition;
+
+  /**
+   * Task context used to send the messages
+   */
+  private final TaskContext context;
+
+  /**
+   * The edge messages are sent through
+   */
+  private final String messageEdge;
+
+  /**
+   * Local index of the current vertex
+   */
+  private int local;
+
+  /**
+   * Weather the current vertex voted to halt
+   */
+  private boolean halt;
+
+  /**
+   * Number of messages sent in this superstep
+   */
+  private long messagesSent;
+
+  /**
+   * Local aggregate of this superstep
+   */
+  private double localAggregate;
+
+  VertexContext(CsrPartition partition, TaskContext context, String messageEdge) {
+    this.partition = partition;
+    this.context = context;
+    this.messageEdge = messageEdge;
+  }
+
+  void reset(int localIndex) {
+    this.local = localIndex;
+    this.halt = false;
+  }
+
+  void resetSuperstep() {
+    this.messagesSent = 0;
+    this.localAggregate = 0;
+  }
+
+  public int getId() {
+    return partition.getGlobalId(local);
+  }
+
+  public int getSuperstep() {
+    return partition.getSuperstep();
+  }
+
+  public int getVertexCount() {
+    return partition.getVertexCount();
+  }
+
+  public double getValue() {
+    return partition.getValue(local);
+  }
+
+  public void setValue(double value) {
+    partition.setValue(local, value);
+  }
+
+  /**
+   * Weather a message was received in the previous superstep
+   */
+  public boolean hasMessage() {
+    return partition.hasMessage(local);
+  }
+
+  /**
+   * The combined message received in the previous superstep, only valid if
+   * {@link #hasMessage()} is true
+   */
+  public double getMessage() {
+    return partition.getMessage(local);
+  }
+
+  public int getOutDegree() {
+    return partition.getOutDegree(local);
+  }
+
+  /**
+   * Target vertex of the i th out edge
+   */
+  public int getTarget(int i) {
+    return partition.getTarget(partition.getEdgeStart(local) + i);
+  }
+
+  /**
+   * Weight of the i th out edge, 1 for un-weighted graphs
+   */
+  public double getWeight(int i) {
+    return partition.getWeight(partition.getEdgeStart(local) + i);
+  }
+
+  /**
+   * Send a message to a vertex, it is delivered in the next superstep
+   *
+   * @param target target vertex id
+   * @param message message
+   */
+  public void sendMessage(int target, double message) {
+    context.write(messageEdge, target, message);
+    messagesSent++;
+  }
+
+  /**
+   * Send the same message to all the out edges of this vertex
+   *
+   * @param message message
+   */
+  public void sendMessageToAllEdges(double message) {
+    int start = partition.getEdgeStart(local);
+    int end = start + partition.getOutDegree(local);
+    for (int e = start; e < end; e++) {
+      sendMessage(partition.getTarget(e), message);
+    }
+  }
+
+  /**
+   * Stop computing this vertex until it receives a message
+   */
+  public void voteToHalt() {
+    this.halt = true;
+  }
+
+  boolean isHalted() {
+    return halt;
+  }
+
+  /**
+   * Add a value to the global sum of this superstep, the sum is available in the next superstep
+   * through {@link #getAggregate()}
+   *
+   * @param value value
+   */
+  public void aggregate(double value) {
+    localAggregate += value;
+  }
+
+  /**
+   * The global sum of the values aggregated in the previous superstep
+   */
+  public double getAggregate() {
+    return partition.getAggregate();
+  }
+
+  long getMessagesSent() {
+    return messagesSent;
+  }
+
+  double getLocalAggregate() {
+    return localAggregate;
+  }
+}
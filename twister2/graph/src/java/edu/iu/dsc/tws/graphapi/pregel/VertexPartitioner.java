@@ -0,0 +1,46 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import edu.iu.dsc.tws.api.compute.TaskPartitioner;
+
+/**
+ * Sends a vertex keyed message to the task holding the {@link CsrPartition} of the vertex.
+ */
+public class VertexPartitioner implements TaskPartitioner<Integer> {
+  private static final long serialVersionUID = 3470925418765435761L;
+
+  /**
+   * Destination task ids ordered by the task index
+   */
+  private List<Integer> destinations;
+
+  @Override
+  public void prepare(Set<Integer> sources, Set<Integer> dests) {
+    this.destinations = new ArrayList<>(dests);
+    Collections.sort(this.destinations);
+  }
+
+  @Override
+  public int partition(int source, Integer vertex) {
+    return destinations.get(CsrPartition.owner(vertex, destinations.size()));
+  }
+
+  @Override
+  public void commit(int source, int partition) {
+  }
+}
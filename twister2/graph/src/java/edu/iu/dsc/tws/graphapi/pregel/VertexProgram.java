@@ -0,0 +1,49 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.io.Serializable;
+
+import edu.iu.dsc.tws.api.comms.Op;
+
+/**
+ * A vertex centric program. In every superstep {@link #compute(VertexContext)} is called for the
+ * vertices that have not voted to halt and for the vertices that received a message. The
+ * messages sent to a vertex in a superstep are combined with {@link #combiner()} and the vertex
+ * gets a single message in the next superstep. The program ends when every vertex has voted to
+ * halt and no messages are sent.
+ */
+public interface VertexProgram extends Serializable {
+  /**
+   * The value of a vertex before the first superstep
+   *
+   * @param vertex vertex id
+   * @param vertexCount number of vertices in the graph
+   * @return initial value
+   */
+  double initialValue(int vertex, int vertexCount);
+
+  /**
+   * The operation used to combine the messages sent to the same vertex, this is applied at the
+   * senders as well as at the receivers
+   *
+   * @return the operation
+   */
+  Op combiner();
+
+  /**
+   * Compute the vertex for the current superstep
+   *
+   * @param vertex the vertex, only valid within this call
+   */
+  void compute(VertexContext vertex);
+}
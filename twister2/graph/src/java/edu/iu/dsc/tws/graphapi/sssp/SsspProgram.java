@@ -0,0 +1,61 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.sssp;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.graphapi.pregel.VertexContext;
+import edu.iu.dsc.tws.graphapi.pregel.VertexProgram;
+
+/**
+ * Single source shortest path as a vertex program. A vertex only sends messages when its
+ * distance gets shorter, and halts after every superstep.
+ */
+public class SsspProgram implements VertexProgram {
+  private static final long serialVersionUID = 5582019374620183746L;
+
+  /**
+   * The source vertex
+   */
+  private int sourceVertex;
+
+  public SsspProgram(int sourceVertex) {
+    this.sourceVertex = sourceVertex;
+  }
+
+  @Override
+  public double initialValue(int vertex, int vertexCount) {
+    return vertex == sourceVertex ? 0 : Double.POSITIVE_INFINITY;
+  }
+
+  @Override
+  public Op combiner() {
+    return Op.MIN;
+  }
+
+  @Override
+  public void compute(VertexContext vertex) {
+    double distance = vertex.getValue();
+    boolean changed = vertex.getSuperstep() == 0 && vertex.getId() == sourceVertex;
+    if (vertex.hasMessage() && vertex.getMessage() < distance) {
+      distance = vertex.getMessage();
+      vertex.setValue(distance);
+      changed = true;
+    }
+
+    if (changed) {
+      for (int i = 0; i < vertex.getOutDegree(); i++) {
+        vertex.sendMessage(vertex.getTarget(i), distance + vertex.getWeight(i));
+      }
+    }
+    vertex.voteToHalt();
+  }
+}
@@ -0,0 +1,109 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
+
+public class CsrPartitionTest {
+
+  @Test
+  public void testBuild() {
+    // partition 1 of 3 owns the vertices 1, 4 and 7
+    CsrPartition.Builder builder = new CsrPartition.Builder(1, 3, 8, true);
+    builder.add(7, new int[]{0, 5});
+    builder.add(1, new int[]{2, 3, 4, 1});
+    CsrPartition partition = builder.build();
+
+    Assert.assertEquals(3, partition.getLocalCount());
+    Assert.assertEquals(1, partition.getGlobalId(0));
+    Assert.assertEquals(7, partition.getGlobalId(2));
+    Assert.assertTrue(partition.isPresent(0));
+    Assert.assertFalse(partition.isPresent(1));
+    Assert.assertTrue(partition.isPresent(2));
+
+    Assert.assertEquals(2, partition.getOutDegree(0));
+    Assert.assertEquals(0, partition.getOutDegree(1));
+    Assert.assertEquals(1, partition.getOutDegree(2));
+    int start = partition.getEdgeStart(0);
+    Assert.assertEquals(2, partition.getTarget(start));
+    Assert.assertEquals(3.0, partition.getWeight(start), 0);
+    Assert.assertEquals(4, partition.getTarget(start + 1));
+    Assert.assertEquals(1.0, partition.getWeight(start + 1), 0);
+    Assert.assertEquals(0, partition.getTarget(partition.getEdgeStart(2)));
+    Assert.assertEquals(5.0, partition.getWeight(partition.getEdgeStart(2)), 0);
+  }
+
+  @Test
+  public void testBuildReplacesVertex() {
+    CsrPartition.Builder builder = new CsrPartition.Builder(0, 1, 2, false);
+    builder.add(0, new int[]{1});
+    builder.add(0, new int[]{0, 1});
+    CsrPartition partition = builder.build();
+    Assert.assertEquals(2, partition.getOutDegree(0));
+    Assert.assertEquals(1.0, partition.getWeight(partition.getEdgeStart(0)), 0);
+  }
+
+  @Test(expected = Twister2RuntimeException.class)
+  public void testAddVertexOfOtherPartition() {
+    new CsrPartition.Builder(0, 2, 4, false).add(1, new int[0]);
+  }
+
+  @Test(expected = Twister2RuntimeException.class)
+  public void testAddVertexAboveCount() {
+    new CsrPartition.Builder(0, 2, 4, false).add(4, new int[0]);
+  }
+
+  @Test
+  public void testDeliverAndCombine() {
+    CsrPartition.Builder builder = new CsrPartition.Builder(0, 2, 6, false);
+    builder.add(0, new int[]{1});
+    CsrPartition partition = builder.build();
+
+    partition.beginSuperstep();
+    partition.deliver(0, 3, Op.MIN);
+    partition.deliver(0, 1, Op.MIN);
+    partition.deliver(0, 2, Op.MIN);
+    // vertex 4 has no slot yet
+    partition.deliver(4, 5, Op.MIN);
+    // the messages are for the next superstep
+    Assert.assertFalse(partition.hasMessage(0));
+    Assert.assertFalse(partition.isPresent(2));
+
+    partition.beginSuperstep();
+    Assert.assertTrue(partition.hasMessage(0));
+    Assert.assertEquals(1.0, partition.getMessage(0), 0);
+    Assert.assertTrue(partition.isPresent(2));
+    Assert.assertEquals(5.0, partition.getMessage(2), 0);
+    Assert.assertEquals(0, partition.getOutDegree(2));
+    Assert.assertFalse(partition.hasMessage(1));
+
+    partition.deliver(0, 1, Op.SUM);
+    partition.deliver(0, 2, Op.SUM);
+    partition.beginSuperstep();
+    Assert.assertEquals(3.0, partition.getMessage(0), 0);
+    Assert.assertFalse(partition.hasMessage(2));
+  }
+
+  @Test(expected = Twister2RuntimeException.class)
+  public void testDeliverAboveCount() {
+    new CsrPartition.Builder(0, 2, 6, false).build().deliver(6, 1, Op.SUM);
+  }
+
+  @Test(expected = Twister2RuntimeException.class)
+  public void testDeliverToOtherPartition() {
+    new CsrPartition.Builder(0, 2, 6, false).build().deliver(3, 1, Op.SUM);
+  }
+}
@@ -0,0 +1,155 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.graphapi.pregel;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.compute.TaskContext;
+import edu.iu.dsc.tws.graphapi.cc.ConnectedComponentsProgram;
+import edu.iu.dsc.tws.graphapi.pagerank.PageRankProgram;
+import edu.iu.dsc.tws.graphapi.sssp.SsspProgram;
+
+/**
+ * Runs the vertex programs over small graphs split in to partitions, the supersteps are run the
+ * way {@link SuperstepSource} runs them and the messages are delivered in between.
+ */
+public class VertexProgramTest {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  @Test
+  public void testSssp() {
+    // weighted and undirected, 3 to 5 are not reachable from 0
+    int[][] graph = {{1, 2, 2, 7}, {0, 2, 2, 1}, {1, 1, 0, 7}, {4, 5}, {3, 5}, {}};
+    double[] distances = run(graph, 6, 3, true, new SsspProgram(0));
+    Assert.assertArrayEquals(new double[]{0, 2, 3, INF, INF, INF}, distances, 0);
+  }
+
+  @Test
+  public void testConnectedComponents() {
+    // vertex 6 has no out edges and is only created by the messages of 5
+    int[][] graph = {{1}, {0, 2}, {1}, {4}, {3}, {6}};
+    double[] components = run(graph, 7, 2, false, new ConnectedComponentsProgram());
+    Assert.assertArrayEquals(new double[]{0, 0, 0, 3, 3, 5, 5}, components, 0);
+  }
+
+  @Test
+  public void testPageRank() {
+    int[][] graph = {{1, 2}, {2}, {0}, {0}};
+    double[] ranks = run(graph, 4, 3, false, new PageRankProgram(50));
+    Assert.assertArrayEquals(new double[]{0.38694, 0.20195, 0.37361, 0.0375}, ranks, 1e-4);
+  }
+
+  @Test
+  public void testPageRankWithDanglingVertex() {
+    // the rank of 2 is spread over all the vertices, so the ranks are equal
+    int[][] graph = {{2}, {2}, {}};
+    double[] ranks = run(graph, 3, 2, false, new PageRankProgram(50));
+    double sum = 0;
+    for (double rank : ranks) {
+      sum += rank;
+    }
+    Assert.assertEquals(1.0, sum, 1e-4);
+    Assert.assertEquals(ranks[0], ranks[1], 1e-9);
+    Assert.assertTrue(ranks[2] > ranks[0]);
+  }
+
+  /**
+   * Run a program to the end
+   *
+   * @param graph out edges of each vertex, target and weight pairs for weighted graphs
+   * @return the values by vertex id
+   */
+  private static double[] run(int[][] graph, int vertexCount, int partitions, boolean weighted,
+                              VertexProgram program) {
+    List<Object[]> sent = new ArrayList<>();
+    TaskContext context = (TaskContext) Proxy.newProxyInstance(
+        VertexProgramTest.class.getClassLoader(), new Class[]{TaskContext.class},
+        (proxy, method, args) -> {
+          if ("write".equals(method.getName()) && args.length == 3) {
+            sent.add(new Object[]{args[1], args[2]});
+          }
+          return true;
+        });
+
+    CsrPartition[] parts = new CsrPartition[partitions];
+    VertexContext[] vertices = new VertexContext[partitions];
+    for (int i = 0; i < partitions; i++) {
+      CsrPartition.Builder builder = new CsrPartition.Builder(i, partitions, vertexCount,
+          weighted);
+      for (int v = i; v < graph.length; v += partitions) {
+        builder.add(v, graph[v]);
+      }
+      parts[i] = builder.build();
+      vertices[i] = new VertexContext(parts[i], context, "messages");
+    }
+
+    for (int superstep = 0; superstep < 1000 && !parts[0].isFinished(); superstep++) {
+      long active = 0;
+      long messages = 0;
+      double aggregate = 0;
+      sent.clear();
+      for (int i = 0; i < partitions; i++) {
+        active += superstep(parts[i], vertices[i], program);
+        messages += vertices[i].getMessagesSent();
+        aggregate += vertices[i].getLocalAggregate();
+      }
+      for (Object[] message : sent) {
+        int target = (Integer) message[0];
+        parts[CsrPartition.owner(target, partitions)].deliver(target, (Double) message[1],
+            program.combiner());
+      }
+      for (CsrPartition part : parts) {
+        part.endSuperstep(active, messages, aggregate);
+      }
+    }
+    Assert.assertTrue(parts[0].isFinished());
+
+    double[] values = new double[vertexCount];
+    for (int v = 0; v < vertexCount; v++) {
+      CsrPartition part = parts[CsrPartition.owner(v, partitions)];
+      int local = v / partitions;
+      values[v] = part.isPresent(local) ? part.getValue(local) : INF;
+    }
+    return values;
+  }
+
+  private static long superstep(CsrPartition partition, VertexContext vertex,
+                                VertexProgram program) {
+    partition.beginSuperstep();
+    vertex.resetSuperstep();
+    long active = 0;
+    for (int i = 0; i < partition.getLocalCount(); i++) {
+      if (!partition.isPresent(i)) {
+        continue;
+      }
+      if (!partition.isInitialized(i)) {
+        partition.initialize(i, program.initialValue(partition.getGlobalId(i),
+            partition.getVertexCount()));
+      } else if (partition.isHalted(i) && !partition.hasMessage(i)) {
+        continue;
+      }
+      vertex.reset(i);
+      program.compute(vertex);
+      partition.setHalted(i, vertex.isHalted());
+      if (!vertex.isHalted()) {
+        active++;
+      }
+    }
+    return active;
+  }
+}
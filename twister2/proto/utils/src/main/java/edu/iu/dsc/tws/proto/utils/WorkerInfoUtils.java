@@ -79,6 +79,22 @@ public final class WorkerInfoUtils {
     return workerInfo.toBuilder().setWorkerID(workerID).build();
   }
 
+  /**
+   * Key of the host a worker runs on, workers with the same key can share memory. The worker
+   * IP is used, because workers in separate containers of the same node have different IPs
+   * and do not share memory.
+   *
+   * @param workerInfo the worker
+   * @return the host key
+   */
+  public static String hostKey(WorkerInfo workerInfo) {
+    String ip = workerInfo.getWorkerIP();
+    if (ip.isEmpty()) {
+      return Integer.toString(workerInfo.getWorkerID());
+    }
+    return ip;
+  }
+
   /**
    * convert the worker list to string for logging purposes
    */
@@ -21,6 +21,7 @@ import edu.iu.dsc.tws.api.compute.nodes.BaseSource;
 import edu.iu.dsc.tws.api.config.Config;
 import edu.iu.dsc.tws.api.data.Path;
 import edu.iu.dsc.tws.data.api.formatters.LocalCSVInputPartitioner;
+import edu.iu.dsc.tws.data.api.formatters.LocalNumericCSVInputPartitioner;
 import edu.iu.dsc.tws.data.fs.io.InputSplit;
 import edu.iu.dsc.tws.dataset.DataSource;
 import edu.iu.dsc.tws.executor.core.ExecutionRuntime;
@@ -36,6 +37,11 @@ public class DataObjectCSVSource extends BaseSource {
   private String edgeName;
   private String dataDirectory;
 
+  /**
+   * Weather to read the lines as double arrays instead of strings
+   */
+  private boolean numeric;
+
   public DataObjectCSVSource() {
   }
 
@@ -44,6 +50,19 @@ public class DataObjectCSVSource extends BaseSource {
     this.dataDirectory = dataDirectory;
   }
 
+  public DataObjectCSVSource(String edgename, String dataDirectory, boolean numeric) {
+    this(edgename, dataDirectory);
+    this.numeric = numeric;
+  }
+
+  public boolean isNumeric() {
+    return numeric;
+  }
+
+  public void setNumeric(boolean numeric) {
+    this.numeric = numeric;
+  }
+
   public String getDataDirectory() {
     return dataDirectory;
   }
@@ -74,7 +93,6 @@ public class DataObjectCSVSource extends BaseSource {
       try {
         while (!inputSplit.reachedEnd()) {
           Object value = inputSplit.nextRecord(null);
-          LOG.info("object values are:" + value);
           if (value != null) {
             context.write(getEdgeName(), value);
           }
@@ -91,7 +109,12 @@ public class DataObjectCSVSource extends BaseSource {
   public void prepare(Config cfg, TaskContext context) {
     super.prepare(cfg, context);
     ExecutionRuntime runtime = (ExecutionRuntime) cfg.get(ExecutorContext.TWISTER2_RUNTIME_OBJECT);
-    this.source = runtime.createInput(cfg, context, new LocalCSVInputPartitioner(
-        new Path(getDataDirectory()), context.getParallelism(), cfg));
+    if (numeric) {
+      this.source = runtime.createInput(cfg, context, new LocalNumericCSVInputPartitioner(
+          new Path(getDataDirectory()), context.getParallelism(), cfg));
+    } else {
+      this.source = runtime.createInput(cfg, context, new LocalCSVInputPartitioner(
+          new Path(getDataDirectory()), context.getParallelism(), cfg));
+    }
   }
 }
@@ -467,6 +467,12 @@ public class TaskExecutor implements FaultAcceptable {
     List<Worker> workers = new ArrayList<>();
     for (JobMasterAPI.WorkerInfo workerInfo : workerInfoList) {
       Worker w = new Worker(workerInfo.getWorkerID());
+      // schedulers use the node to find workers that can talk without the network
+      if (workerInfo.hasNodeInfo() && !workerInfo.getNodeInfo().getNodeIP().isEmpty()) {
+        w.addProperty(Worker.NODE_IP, workerInfo.getNodeInfo().getNodeIP());
+      } else {
+        w.addProperty(Worker.NODE_IP, workerInfo.getWorkerIP());
+      }
       workers.add(w);
     }
 
@@ -11,6 +11,7 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.task.impl.ops;
 
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.Op;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
 import edu.iu.dsc.tws.api.compute.IFunction;
@@ -48,6 +49,14 @@ public class KeyedReduceConfig extends AbstractKeyedOpsConfig<KeyedReduceConfig>
     return this.withDataType(dataType);
   }
 
+  /**
+   * Reduce the values of the same key at the senders before they are sent, the reduction
+   * function should be associative
+   */
+  public KeyedReduceConfig useCombiner() {
+    return this.withProperty(CommunicationContext.COMBINER, true);
+  }
+
   @Override
   void validate() {
     ReduceConfig.validateReduce(this.redFunction, this.op, this.getOpDataType());
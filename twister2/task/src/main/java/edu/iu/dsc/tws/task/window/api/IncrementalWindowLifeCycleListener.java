@@ -0,0 +1,36 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.task.window.api;
+
+import java.util.List;
+
+import edu.iu.dsc.tws.api.compute.IMessage;
+
+/**
+ * A listener that maintains the window incrementally. When the window manager has such a
+ * listener it does not rescan the whole window for every trigger, instead it only passes the
+ * events that entered and left the window since the last trigger through
+ * {@link #onSlide(List, List)}, and {@link #onActivation} is not called.
+ * <p>
+ * Events enter and leave the window in the order they are added to the manager, so this is
+ * only used with processing time windows.
+ */
+public interface IncrementalWindowLifeCycleListener<T> extends WindowLifeCycleListener<T> {
+
+  /**
+   * Called for every trigger of the window
+   *
+   * @param added events that entered the window, oldest first
+   * @param expired events that left the window, oldest first
+   */
+  void onSlide(List<IMessage<T>> added, List<IMessage<T>> expired);
+}
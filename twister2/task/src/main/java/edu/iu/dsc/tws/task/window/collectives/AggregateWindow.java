@@ -13,6 +13,7 @@ package edu.iu.dsc.tws.task.window.collectives;
 
 import edu.iu.dsc.tws.api.compute.IMessage;
 import edu.iu.dsc.tws.task.window.api.IWindowMessage;
+import edu.iu.dsc.tws.task.window.api.WindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.core.BaseWindowedSink;
 import edu.iu.dsc.tws.task.window.function.AggregateWindowedFunction;
 
@@ -30,6 +31,19 @@ public abstract class AggregateWindow<T> extends BaseWindowedSink<T> {
     this.aggregateWindowedFunction = aggregateWindowedFunction;
   }
 
+  @Override
+  protected WindowLifeCycleListener<T> newWindowLifeCycleListener() {
+    if (!isTimestamped() && aggregateWindowedFunction.isAssociative()) {
+      return newIncrementalLifeCycleListener(aggregateWindowedFunction);
+    }
+    return super.newWindowLifeCycleListener();
+  }
+
+  @Override
+  protected boolean executeIncremental(T aggregate) {
+    return aggregate(aggregate);
+  }
+
   @Override
   public boolean execute(IWindowMessage<T> windowMessage) {
     if (windowMessage != null) {
@@ -13,6 +13,7 @@ package edu.iu.dsc.tws.task.window.collectives;
 
 import edu.iu.dsc.tws.api.compute.IMessage;
 import edu.iu.dsc.tws.task.window.api.IWindowMessage;
+import edu.iu.dsc.tws.task.window.api.WindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.core.BaseWindowedSink;
 import edu.iu.dsc.tws.task.window.function.ReduceWindowedFunction;
 
@@ -28,6 +29,19 @@ public abstract class ReduceWindow<T> extends BaseWindowedSink<T> {
     this.reduceWindowedFunction = reduceWindowedFunction;
   }
 
+  @Override
+  protected WindowLifeCycleListener<T> newWindowLifeCycleListener() {
+    if (!isTimestamped() && reduceWindowedFunction.isAssociative()) {
+      return newIncrementalLifeCycleListener(reduceWindowedFunction);
+    }
+    return super.newWindowLifeCycleListener();
+  }
+
+  @Override
+  protected boolean executeIncremental(T aggregate) {
+    return reduce(aggregate);
+  }
+
   @Override
   public boolean execute(IWindowMessage<T> windowMessage) {
     if (windowMessage != null) {
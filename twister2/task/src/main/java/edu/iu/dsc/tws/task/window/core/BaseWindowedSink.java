@@ -28,10 +28,12 @@ import edu.iu.dsc.tws.task.window.api.IEvictionPolicy;
 import edu.iu.dsc.tws.task.window.api.ITimestampExtractor;
 import edu.iu.dsc.tws.task.window.api.IWindow;
 import edu.iu.dsc.tws.task.window.api.IWindowMessage;
+import edu.iu.dsc.tws.task.window.api.IncrementalWindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.api.WindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.config.WindowConfig;
 import edu.iu.dsc.tws.task.window.event.WatermarkEventGenerator;
 import edu.iu.dsc.tws.task.window.exceptions.InvalidWindow;
+import edu.iu.dsc.tws.task.window.function.IWindowFunction;
 import edu.iu.dsc.tws.task.window.manage.WindowManager;
 import edu.iu.dsc.tws.task.window.policy.eviction.count.CountEvictionPolicy;
 import edu.iu.dsc.tws.task.window.policy.eviction.count.WatermarkCountEvictionPolicy;
@@ -43,6 +45,7 @@ import edu.iu.dsc.tws.task.window.policy.trigger.count.WatermarkCountWindowPolic
 import edu.iu.dsc.tws.task.window.policy.trigger.duration.DurationWindowPolicy;
 import edu.iu.dsc.tws.task.window.policy.trigger.duration.WatermarkDurationWindowPolicy;
 import edu.iu.dsc.tws.task.window.strategy.IWindowStrategy;
+import edu.iu.dsc.tws.task.window.util.TwoStackAggregator;
 import edu.iu.dsc.tws.task.window.util.WindowParameter;
 import edu.iu.dsc.tws.task.window.util.WindowUtils;
 
@@ -224,6 +227,54 @@ public abstract class BaseWindowedSink<T> extends AbstractSingleWindowDataSink<T
     };
   }
 
+  /**
+   * Create a listener that keeps the aggregate of the window with a {@link TwoStackAggregator},
+   * so each slide only costs the events that entered and left the window. The function must be
+   * associative and the window must not be timestamped.
+   *
+   * @param function the associative window function
+   * @return the incremental listener
+   */
+  protected WindowLifeCycleListener<T> newIncrementalLifeCycleListener(
+      IWindowFunction<T> function) {
+    TwoStackAggregator<T> aggregator = new TwoStackAggregator<>(function);
+    return new IncrementalWindowLifeCycleListener<T>() {
+      @Override
+      public void onSlide(List<IMessage<T>> added, List<IMessage<T>> expired) {
+        for (IMessage<T> msg : added) {
+          aggregator.add(msg.getContent());
+        }
+        for (int i = 0; i < expired.size() && !aggregator.isEmpty(); i++) {
+          aggregator.remove();
+        }
+        if (!aggregator.isEmpty()) {
+          executeIncremental(aggregator.get());
+        }
+      }
+
+      @Override
+      public void onExpiry(IWindowMessage<T> events) {
+        getExpire(events);
+      }
+
+      @Override
+      public void onActivation(IWindowMessage<T> events, IWindowMessage<T> newEvents,
+                               IWindowMessage<T> expired) {
+        // the incremental listener is only called through onSlide
+      }
+    };
+  }
+
+  /**
+   * Handle the aggregate of the window computed by an incremental listener
+   *
+   * @param aggregate aggregate of all the values in the window
+   * @return true if the aggregate was handled
+   */
+  protected boolean executeIncremental(T aggregate) {
+    return false;
+  }
+
   public IWindowingPolicy<T> getWindowingPolicy(WindowConfig.Count slidingIntervalCount,
                                                 WindowConfig.Duration slidingIntervalDuration,
                                                 WindowManager<T> manager,
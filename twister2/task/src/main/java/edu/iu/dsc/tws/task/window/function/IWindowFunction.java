@@ -16,4 +16,14 @@ import edu.iu.dsc.tws.api.compute.IFunction;
 
 public interface IWindowFunction<T> extends IFunction<T> {
 
+  /**
+   * Weather onMessage(onMessage(a, b), c) equals onMessage(a, onMessage(b, c)) and the function
+   * does not modify its arguments. Processing time sliding windows of such functions are
+   * aggregated incrementally instead of folding the whole window for every slide.
+   *
+   * @return true if the function is associative
+   */
+  default boolean isAssociative() {
+    return false;
+  }
 }
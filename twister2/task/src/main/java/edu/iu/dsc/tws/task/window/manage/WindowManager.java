@@ -11,7 +11,9 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.task.window.manage;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,6 +29,7 @@ import edu.iu.dsc.tws.task.window.api.Event;
 import edu.iu.dsc.tws.task.window.api.EventImpl;
 import edu.iu.dsc.tws.task.window.api.IEvictionPolicy;
 import edu.iu.dsc.tws.task.window.api.IWindowMessage;
+import edu.iu.dsc.tws.task.window.api.IncrementalWindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.api.WindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.api.WindowMessageImpl;
 import edu.iu.dsc.tws.task.window.constant.Action;
@@ -56,6 +59,21 @@ public class WindowManager<T> implements IManager<T> {
 
   private final AtomicInteger eventsSinceLastExpiration;
 
+  /**
+   * Events added but not yet passed to an incremental listener, oldest first
+   */
+  private final Deque<Event<T>> pending;
+
+  /**
+   * Events passed to an incremental listener that expired after that, oldest first
+   */
+  private final List<IMessage<T>> expiredAdmitted;
+
+  /**
+   * Number of events currently in the window of an incremental listener
+   */
+  private int admitted;
+
   private boolean debug = false;
 
   public WindowManager(WindowLifeCycleListener<T> windowLifeCycleListener) {
@@ -65,6 +83,8 @@ public class WindowManager<T> implements IManager<T> {
     this.lock = new ReentrantLock();
     this.previousWindowEvents = new HashSet<>();
     this.eventsSinceLastExpiration = new AtomicInteger();
+    this.pending = new ArrayDeque<>();
+    this.expiredAdmitted = new ArrayList<>();
   }
 
   public WindowManager() {
@@ -73,6 +93,8 @@ public class WindowManager<T> implements IManager<T> {
     this.lock = new ReentrantLock();
     this.previousWindowEvents = new HashSet<>();
     this.eventsSinceLastExpiration = new AtomicInteger();
+    this.pending = new ArrayDeque<>();
+    this.expiredAdmitted = new ArrayList<>();
   }
 
   public IWindowingPolicy<T> getWindowingPolicy() {
@@ -103,7 +125,17 @@ public class WindowManager<T> implements IManager<T> {
 
   public void add(Event<T> windowEvent) {
     if (!windowEvent.isWatermark()) {
-      queue.add(windowEvent);
+      if (isIncremental()) {
+        try {
+          lock.lock();
+          queue.add(windowEvent);
+          pending.add(windowEvent);
+        } finally {
+          lock.unlock();
+        }
+      } else {
+        queue.add(windowEvent);
+      }
     } else {
       LOG.fine(String.format("Event With WaterMark ts %f ", (double) windowEvent.getTimeStamp()));
     }
@@ -112,8 +144,21 @@ public class WindowManager<T> implements IManager<T> {
   }
 
 
+  /**
+   * Weather the listener maintains the window incrementally, in that case only the events that
+   * entered and left the window since the last trigger are passed to it
+   *
+   * @return true if the listener is incremental
+   */
+  public boolean isIncremental() {
+    return windowLifeCycleListener instanceof IncrementalWindowLifeCycleListener;
+  }
+
   @Override
   public boolean onEvent() {
+    if (isIncremental()) {
+      return onIncrementalEvent();
+    }
     List<Event<T>> windowEvents = null;
     List<IMessage<T>> expired = null;
     try {
@@ -152,6 +197,48 @@ public class WindowManager<T> implements IManager<T> {
     return !events.isEmpty();
   }
 
+  /**
+   * Slide the window without going through the events that are already in it. Expired events
+   * are removed from the head of the queue as in a compaction, then the pending events are
+   * admitted in arrival order until the eviction policy asks to keep one.
+   *
+   * @return true if the window has events after the slide
+   */
+  private boolean onIncrementalEvent() {
+    List<IMessage<T>> added = new ArrayList<>();
+    List<IMessage<T>> expired;
+    boolean hasEvents;
+    try {
+      lock.lock();
+      scanEvents(false);
+      while (!pending.isEmpty()) {
+        Event<T> event = pending.peekFirst();
+        if (evictionPolicy.evict(event) != Action.PROCESS) {
+          break;
+        }
+        pending.pollFirst();
+        added.add(event.get());
+      }
+      admitted += added.size();
+      expired = new ArrayList<>(expiredAdmitted);
+      expiredAdmitted.clear();
+      expiredEvents.clear();
+      hasEvents = admitted > 0;
+    } finally {
+      lock.unlock();
+    }
+
+    if (!added.isEmpty() || !expired.isEmpty()) {
+      LOG.log(Level.FINE, String.format("WindowLifeCycleListener onSlide, added : %d, "
+          + "expired : %d", added.size(), expired.size()));
+      ((IncrementalWindowLifeCycleListener<T>) windowLifeCycleListener).onSlide(added, expired);
+    }
+
+    this.windowingPolicy.reset();
+
+    return hasEvents;
+  }
+
   public List<Event<T>> scanEvents(boolean fullScan) {
     List<IMessage<T>> eventsToExpire = new ArrayList<>();
     List<Event<T>> eventsToProcess = new ArrayList<>();
@@ -164,6 +251,12 @@ public class WindowManager<T> implements IManager<T> {
         if (action == Action.EXPIRE) {
           eventsToExpire.add(windowEvent.get());
           it.remove();
+          if (!pending.isEmpty() && pending.peekFirst() == windowEvent) {
+            pending.pollFirst();
+          } else if (isIncremental()) {
+            expiredAdmitted.add(windowEvent.get());
+            admitted--;
+          }
         } else if (!fullScan || action == Action.STOP) {
           break;
         } else if (action == Action.PROCESS) {
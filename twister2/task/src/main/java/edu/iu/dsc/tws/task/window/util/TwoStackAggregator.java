@@ -0,0 +1,131 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.task.window.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iu.dsc.tws.api.compute.IFunction;
+
+/**
+ * Keeps the aggregate of a FIFO window of values for an associative function. Values are added
+ * at the newest end and removed from the oldest end, and each operation costs O(1) amortized
+ * calls to the function regardless of the window size.
+ * <p>
+ * Two stacks are used, new values are pushed to the back stack along with the running aggregate
+ * of that stack. When the oldest value needs to be removed and the front stack is empty, the
+ * back stack is moved to the front computing the aggregates from the newest to the oldest, so
+ * the top of the front stack holds the aggregate of all the values in it. The function is only
+ * required to be associative, values are always combined in the order they were added.
+ *
+ * @param <T> type of the values
+ */
+public class TwoStackAggregator<T> implements Serializable {
+  private static final long serialVersionUID = -2389416284173654412L;
+
+  /**
+   * The function combining two values, older value is the first argument
+   */
+  private final IFunction<T> function;
+
+  /**
+   * Values of the front stack, the last one is the oldest value in the window
+   */
+  private final List<T> front = new ArrayList<>();
+
+  /**
+   * frontAggregates[i] is the aggregate of front[i] to front[0]
+   */
+  private final List<T> frontAggregates = new ArrayList<>();
+
+  /**
+   * Values of the back stack, the last one is the newest value in the window
+   */
+  private final List<T> back = new ArrayList<>();
+
+  /**
+   * Aggregate of all the values in the back stack
+   */
+  private T backAggregate;
+
+  public TwoStackAggregator(IFunction<T> function) {
+    this.function = function;
+  }
+
+  /**
+   * Add a value as the newest value of the window
+   *
+   * @param value the value
+   */
+  public void add(T value) {
+    backAggregate = back.isEmpty() ? value : function.onMessage(backAggregate, value);
+    back.add(value);
+  }
+
+  /**
+   * Remove the oldest value of the window
+   *
+   * @return the removed value
+   */
+  public T remove() {
+    if (front.isEmpty()) {
+      if (back.isEmpty()) {
+        throw new IllegalStateException("Cannot remove from an empty window");
+      }
+      flip();
+    }
+    int top = front.size() - 1;
+    frontAggregates.remove(top);
+    return front.remove(top);
+  }
+
+  /**
+   * The aggregate of all the values in the window, combined from the oldest to the newest
+   *
+   * @return the aggregate or null if the window is empty
+   */
+  public T get() {
+    if (front.isEmpty()) {
+      return back.isEmpty() ? null : backAggregate;
+    }
+    T frontAggregate = frontAggregates.get(frontAggregates.size() - 1);
+    return back.isEmpty() ? frontAggregate : function.onMessage(frontAggregate, backAggregate);
+  }
+
+  public int size() {
+    return front.size() + back.size();
+  }
+
+  public boolean isEmpty() {
+    return front.isEmpty() && back.isEmpty();
+  }
+
+  public void clear() {
+    front.clear();
+    frontAggregates.clear();
+    back.clear();
+    backAggregate = null;
+  }
+
+  private void flip() {
+    for (int i = back.size() - 1; i >= 0; i--) {
+      T value = back.get(i);
+      T aggregate = frontAggregates.isEmpty() ? value
+          : function.onMessage(value, frontAggregates.get(frontAggregates.size() - 1));
+      front.add(value);
+      frontAggregates.add(aggregate);
+    }
+    back.clear();
+    backAggregate = null;
+  }
+}
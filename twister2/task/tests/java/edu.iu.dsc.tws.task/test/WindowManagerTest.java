@@ -27,6 +27,7 @@ import edu.iu.dsc.tws.api.compute.TaskMessage;
 import edu.iu.dsc.tws.task.window.api.Event;
 import edu.iu.dsc.tws.task.window.api.IEvictionPolicy;
 import edu.iu.dsc.tws.task.window.api.IWindowMessage;
+import edu.iu.dsc.tws.task.window.api.IncrementalWindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.api.WindowLifeCycleListener;
 import edu.iu.dsc.tws.task.window.api.WindowMessageImpl;
 import edu.iu.dsc.tws.task.window.config.WindowConfig;
@@ -41,6 +42,7 @@ import edu.iu.dsc.tws.task.window.policy.trigger.count.CountWindowPolicy;
 import edu.iu.dsc.tws.task.window.policy.trigger.count.WatermarkCountWindowPolicy;
 import edu.iu.dsc.tws.task.window.policy.trigger.duration.DurationWindowPolicy;
 import edu.iu.dsc.tws.task.window.policy.trigger.duration.WatermarkDurationWindowPolicy;
+import edu.iu.dsc.tws.task.window.util.TwoStackAggregator;
 
 import static org.junit.Assert.*;
 
@@ -683,6 +685,84 @@ public class WindowManagerTest {
     testEvictBeforeWatermarkForWatermarkEvictionPolicy(watermarkTimeEvictionPolicy, windowLength);
   }
 
+  @Test
+  public void testIncrementalSlidingCountWindow() throws Exception {
+    List<Integer> sums = new ArrayList<>();
+    List<Integer> sizes = new ArrayList<>();
+    TwoStackAggregator<Integer> aggregator = new TwoStackAggregator<>(Integer::sum);
+    WindowManager<Integer> incrementalManager = new WindowManager<>(
+        new IncrementalWindowLifeCycleListener<Integer>() {
+          @Override
+          public void onSlide(List<IMessage<Integer>> added, List<IMessage<Integer>> expired) {
+            for (IMessage<Integer> m : added) {
+              aggregator.add(m.getContent());
+            }
+            for (int i = 0; i < expired.size(); i++) {
+              aggregator.remove();
+            }
+            sums.add(aggregator.get());
+            sizes.add(aggregator.size());
+          }
+
+          @Override
+          public void onExpiry(IWindowMessage<Integer> events) {
+          }
+
+          @Override
+          public void onActivation(IWindowMessage<Integer> events,
+                                   IWindowMessage<Integer> newEvents,
+                                   IWindowMessage<Integer> expired) {
+            fail("onActivation must not be called for an incremental listener");
+          }
+        });
+    int windowLength = 5;
+    int slide = 2;
+    IEvictionPolicy<Integer> evictionPolicy = new CountEvictionPolicy<>(windowLength);
+    IWindowingPolicy<Integer> triggerPolicy = new CountWindowPolicy<>(slide, incrementalManager,
+        evictionPolicy);
+    incrementalManager.setEvictionPolicy(evictionPolicy);
+    incrementalManager.setWindowingPolicy(triggerPolicy);
+    triggerPolicy.start();
+
+    for (IMessage<Integer> m : mockList) {
+      incrementalManager.add(m);
+    }
+
+    assertEquals(mockList.size() / slide, sums.size());
+    for (int i = 0; i < sums.size(); i++) {
+      int end = (i + 1) * slide - 1;
+      int start = Math.max(0, end - windowLength + 1);
+      int expected = 0;
+      for (int v : seq(start, end)) {
+        expected += v;
+      }
+      assertEquals(expected, (int) sums.get(i));
+      assertEquals(end - start + 1, (int) sizes.get(i));
+    }
+    incrementalManager.shutdown();
+  }
+
+  @Test
+  public void testTwoStackAggregatorOrder() throws Exception {
+    TwoStackAggregator<String> aggregator = new TwoStackAggregator<>(String::concat);
+    assertNull(aggregator.get());
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 10; i++) {
+      aggregator.add(Integer.toString(i));
+      expected.append(i);
+      if (i % 3 == 2) {
+        assertEquals(expected.substring(0, 1), aggregator.remove());
+        expected.deleteCharAt(0);
+      }
+      assertEquals(expected.toString(), aggregator.get());
+    }
+    while (!aggregator.isEmpty()) {
+      aggregator.remove();
+      expected.deleteCharAt(0);
+      assertEquals(expected.length() == 0 ? null : expected.toString(), aggregator.get());
+    }
+  }
+
   private List<Integer> seq(int start, int stop) {
     List<Integer> ints = new ArrayList<>();
     for (int i = start; i <= stop; i++) {
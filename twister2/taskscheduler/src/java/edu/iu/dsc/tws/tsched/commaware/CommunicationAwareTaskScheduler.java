@@ -0,0 +1,438 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.tsched.commaware;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import edu.iu.dsc.tws.api.compute.OperationNames;
+import edu.iu.dsc.tws.api.compute.graph.ComputeGraph;
+import edu.iu.dsc.tws.api.compute.graph.DirectedEdge;
+import edu.iu.dsc.tws.api.compute.graph.Edge;
+import edu.iu.dsc.tws.api.compute.graph.Vertex;
+import edu.iu.dsc.tws.api.compute.modifiers.Collector;
+import edu.iu.dsc.tws.api.compute.modifiers.Receptor;
+import edu.iu.dsc.tws.api.compute.nodes.INode;
+import edu.iu.dsc.tws.api.compute.schedule.ITaskScheduler;
+import edu.iu.dsc.tws.api.compute.schedule.elements.Resource;
+import edu.iu.dsc.tws.api.compute.schedule.elements.TaskInstanceId;
+import edu.iu.dsc.tws.api.compute.schedule.elements.TaskInstancePlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.TaskSchedulePlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.Worker;
+import edu.iu.dsc.tws.api.compute.schedule.elements.WorkerPlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.WorkerSchedulePlan;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.tsched.spi.common.TaskSchedulerContext;
+import edu.iu.dsc.tws.tsched.spi.taskschedule.TaskInstanceMapCalculation;
+import edu.iu.dsc.tws.tsched.utils.TaskAttributes;
+
+/**
+ * This scheduler places the task instances by the cost of the communication between them.
+ * <p>
+ * Tasks connected by direct edges with the same parallelism are grouped and the instances with
+ * the same index of a group are always allocated to the same worker, so that the direct edges
+ * become in memory hand offs. The groups are then allocated in the topological order of the
+ * graph. Each instance goes to the worker with the lowest cost of talking to the instances that
+ * are already allocated, where the cost of an edge is its volume multiplied by the hop cost
+ * between the two workers. The hop cost is zero within a worker, and the intra node cost or
+ * the inter node cost otherwise, using the {@link Worker#NODE_IP} property of the workers.
+ * <p>
+ * The volume of an edge is taken from the
+ * {@link TaskSchedulerContext#TWISTER2_TASK_SCHEDULER_EDGE_VOLUME} property of the edge, and can
+ * be overridden with the volumes measured in previous runs by
+ * setting {@literal twister2.taskscheduler.edge.volume.<edge name>} in the configuration.
+ * Because sources of a reduce or gather hold most of the volume, the targets end up on the
+ * worker or the node sending the most data to them.
+ * <p>
+ * Instances of collectors and receptors are allocated to the worker index modulo the number of
+ * workers, so that the dependent graphs find their partitions in the same worker.
+ */
+public class CommunicationAwareTaskScheduler implements ITaskScheduler {
+
+  private static final Logger LOG = Logger.getLogger(
+      CommunicationAwareTaskScheduler.class.getName());
+
+  /**
+   * Costs closer than this are considered equal and we use the load to pick the worker
+   */
+  private static final double EPSILON = 1e-9;
+
+  //Represents the task instance ram
+  private Double instanceRAM;
+
+  //Represents the task instance disk
+  private Double instanceDisk;
+
+  //Represents the task instance cpu value
+  private Double instanceCPU;
+
+  //Cost of sending a unit of data to a worker in the same node
+  private double intraNodeCost;
+
+  //Cost of sending a unit of data to a worker in a different node
+  private double interNodeCost;
+
+  //Config object
+  private Config config;
+
+  //WorkerId
+  private int workerId;
+
+  //Task Attributes Object
+  private TaskAttributes taskAttributes;
+
+  @Override
+  public void initialize(Config cfg) {
+    this.config = cfg;
+    this.instanceRAM = TaskSchedulerContext.taskInstanceRam(config);
+    this.instanceDisk = TaskSchedulerContext.taskInstanceDisk(config);
+    this.instanceCPU = TaskSchedulerContext.taskInstanceCpu(config);
+    this.intraNodeCost = TaskSchedulerContext.intraNodeCost(config);
+    this.interNodeCost = TaskSchedulerContext.interNodeCost(config);
+    this.taskAttributes = new TaskAttributes();
+  }
+
+  @Override
+  public void initialize(Config cfg, int workerid) {
+    this.initialize(cfg);
+    this.workerId = workerid;
+  }
+
+  /**
+   * Schedule a set of graphs, each graph is scheduled independently
+   */
+  public Map<String, TaskSchedulePlan> schedule(WorkerPlan workerPlan,
+                                                ComputeGraph... computeGraphs) {
+    Map<String, TaskSchedulePlan> taskSchedulePlanMap = new LinkedHashMap<>();
+    for (ComputeGraph computeGraph : computeGraphs) {
+      taskSchedulePlanMap.put(computeGraph.getGraphName(), schedule(computeGraph, workerPlan));
+    }
+    return taskSchedulePlanMap;
+  }
+
+  @Override
+  public TaskSchedulePlan schedule(ComputeGraph computeGraph, WorkerPlan workerPlan) {
+    Map<Integer, List<TaskInstanceId>> containerInstanceMap =
+        communicationAwareSchedulingAlgorithm(computeGraph, workerPlan);
+
+    Set<Vertex> taskVertexSet = new LinkedHashSet<>(computeGraph.getTaskVertexSet());
+    TaskInstanceMapCalculation instanceMapCalculation =
+        new TaskInstanceMapCalculation(this.instanceRAM, this.instanceDisk, this.instanceCPU);
+
+    Map<Integer, Map<TaskInstanceId, Double>> instancesRamMap =
+        instanceMapCalculation.getInstancesRamMapInContainer(containerInstanceMap,
+            taskVertexSet);
+    Map<Integer, Map<TaskInstanceId, Double>> instancesDiskMap =
+        instanceMapCalculation.getInstancesDiskMapInContainer(containerInstanceMap,
+            taskVertexSet);
+    Map<Integer, Map<TaskInstanceId, Double>> instancesCPUMap =
+        instanceMapCalculation.getInstancesCPUMapInContainer(containerInstanceMap,
+            taskVertexSet);
+
+    Set<WorkerSchedulePlan> workerSchedulePlans = new LinkedHashSet<>();
+    for (Map.Entry<Integer, List<TaskInstanceId>> e : containerInstanceMap.entrySet()) {
+      int containerId = e.getKey();
+      double containerRAMValue = TaskSchedulerContext.containerRamPadding(config);
+      double containerDiskValue = TaskSchedulerContext.containerDiskPadding(config);
+      double containerCpuValue = TaskSchedulerContext.containerCpuPadding(config);
+
+      Set<TaskInstancePlan> taskInstancePlans = new HashSet<>();
+      for (TaskInstanceId id : e.getValue()) {
+        double instanceRAMValue = instancesRamMap.get(containerId).get(id);
+        double instanceDiskValue = instancesDiskMap.get(containerId).get(id);
+        double instanceCPUValue = instancesCPUMap.get(containerId).get(id);
+
+        Resource instanceResource = new Resource(instanceRAMValue, instanceDiskValue,
+            instanceCPUValue);
+        taskInstancePlans.add(new TaskInstancePlan(
+            id.getTaskName(), id.getTaskId(), id.getTaskIndex(), instanceResource));
+
+        containerRAMValue += instanceRAMValue;
+        containerDiskValue += instanceDiskValue;
+        containerCpuValue += instanceCPUValue;
+      }
+
+      Worker worker = workerPlan.getWorker(containerId);
+      Resource containerResource;
+      if (worker != null && worker.getCpu() > 0
+          && worker.getDisk() > 0 && worker.getRam() > 0) {
+        containerResource = new Resource((double) worker.getRam(),
+            (double) worker.getDisk(), (double) worker.getCpu());
+      } else {
+        containerResource = new Resource(containerRAMValue, containerDiskValue,
+            containerCpuValue);
+      }
+      workerSchedulePlans.add(new WorkerSchedulePlan(containerId, taskInstancePlans,
+          containerResource));
+    }
+    return new TaskSchedulePlan(0, workerSchedulePlans);
+  }
+
+  /**
+   * Allocate the task instances of the graph to the workers
+   *
+   * @return worker id to the task instances allocated to it
+   */
+  private Map<Integer, List<TaskInstanceId>> communicationAwareSchedulingAlgorithm(
+      ComputeGraph graph, WorkerPlan workerPlan) {
+    int numberOfWorkers = workerPlan.getNumberOfWorkers();
+    Map<Integer, List<TaskInstanceId>> allocation = new LinkedHashMap<>();
+    for (int i = 0; i < numberOfWorkers; i++) {
+      allocation.put(i, new ArrayList<>());
+    }
+    int[] nodes = workerNodes(workerPlan);
+
+    // the global task ids follow the vertex order like the other schedulers
+    List<Vertex> vertices = new ArrayList<>(graph.getTaskVertexSet());
+    Map<String, Integer> taskIds = new HashMap<>();
+    Map<String, Integer> parallelism = new HashMap<>();
+    int totalInstances = 0;
+    for (int i = 0; i < vertices.size(); i++) {
+      Vertex vertex = vertices.get(i);
+      Map<String, Integer> parallelTaskMap;
+      if (!graph.getNodeConstraints().isEmpty()) {
+        parallelTaskMap = taskAttributes.getParallelTaskMap(vertex, graph.getNodeConstraints());
+      } else {
+        parallelTaskMap = taskAttributes.getParallelTaskMap(vertex);
+      }
+      taskIds.put(vertex.getName(), i);
+      parallelism.put(vertex.getName(), parallelTaskMap.get(vertex.getName()));
+      totalInstances += parallelTaskMap.get(vertex.getName());
+    }
+
+    int capacity = taskAttributes.getInstancesPerWorker(graph.getGraphConstraints());
+    if (capacity <= 0) {
+      // keep the workers balanced, but leave room to co-locate the instances of small graphs
+      capacity = Math.max((totalInstances + numberOfWorkers - 1) / numberOfWorkers,
+          TaskSchedulerContext.defaultTaskInstancesPerContainer(config));
+    }
+
+    Map<String, List<DirectedEdge<Vertex, Edge>>> vertexEdges = new HashMap<>();
+    for (DirectedEdge<Vertex, Edge> edge : graph.getDirectedEdgesSet()) {
+      vertexEdges.computeIfAbsent(edge.getSourceVertex().getName(),
+          k -> new ArrayList<>()).add(edge);
+      vertexEdges.computeIfAbsent(edge.getTargetVertex().getName(),
+          k -> new ArrayList<>()).add(edge);
+    }
+
+    Map<String, int[]> placement = new HashMap<>();
+    int[] load = new int[numberOfWorkers];
+    for (List<Vertex> group : directGroups(graph, vertices, parallelism)) {
+      int groupParallelism = parallelism.get(group.get(0).getName());
+      boolean pinned = false;
+      for (Vertex vertex : group) {
+        INode iNode = vertex.getTask();
+        pinned |= iNode instanceof Collector || iNode instanceof Receptor;
+      }
+
+      for (int index = 0; index < groupParallelism; index++) {
+        int worker;
+        if (pinned) {
+          worker = index % numberOfWorkers;
+        } else {
+          double[] cost = communicationCost(group, index, vertexEdges, parallelism,
+              placement, nodes);
+          worker = selectWorker(cost, load, group.size(), capacity);
+        }
+        for (Vertex vertex : group) {
+          String name = vertex.getName();
+          placement.computeIfAbsent(name, k -> new int[groupParallelism])[index] = worker;
+          allocation.get(worker).add(new TaskInstanceId(name, taskIds.get(name), index));
+        }
+        load[worker] += group.size();
+      }
+    }
+
+    if (workerId == 0) {
+      LOG.fine("Communication aware allocation: " + allocation);
+    }
+    return allocation;
+  }
+
+  /**
+   * Group the vertices connected with direct edges of the same parallelism and order the groups
+   * so that a group comes after all the groups sending data to it.
+   */
+  List<List<Vertex>> directGroups(ComputeGraph graph, List<Vertex> vertices,
+                                  Map<String, Integer> parallelism) {
+    Map<String, String> parent = new HashMap<>();
+    for (Vertex vertex : vertices) {
+      parent.put(vertex.getName(), vertex.getName());
+    }
+    for (DirectedEdge<Vertex, Edge> edge : graph.getDirectedEdgesSet()) {
+      String source = edge.getSourceVertex().getName();
+      String target = edge.getTargetVertex().getName();
+      if (OperationNames.DIRECT.equals(edge.getTaskEdge().getOperation())
+          && parallelism.get(source).equals(parallelism.get(target))) {
+        parent.put(find(parent, source), find(parent, target));
+      }
+    }
+
+    // kahn's algorithm over the vertices, a group is added when its first vertex is reached
+    Map<String, Integer> inDegree = new HashMap<>();
+    ArrayDeque<Vertex> ready = new ArrayDeque<>();
+    for (Vertex vertex : vertices) {
+      // count the parents, not the edges, since the children are visited once per parent
+      int degree = graph.parentsOfTask(vertex).size();
+      inDegree.put(vertex.getName(), degree);
+      if (degree == 0) {
+        ready.add(vertex);
+      }
+    }
+    Map<String, List<Vertex>> groups = new LinkedHashMap<>();
+    Set<String> visited = new HashSet<>();
+    while (!ready.isEmpty() || visited.size() < vertices.size()) {
+      Vertex vertex;
+      if (ready.isEmpty()) {
+        // there is a cycle, continue from the first vertex not visited
+        vertex = vertices.stream().filter(v -> !visited.contains(v.getName())).findFirst().get();
+      } else {
+        vertex = ready.poll();
+      }
+      if (!visited.add(vertex.getName())) {
+        continue;
+      }
+      groups.computeIfAbsent(find(parent, vertex.getName()), k -> new ArrayList<>());
+      for (Vertex child : graph.childrenOfTask(vertex)) {
+        int degree = inDegree.get(child.getName()) - 1;
+        inDegree.put(child.getName(), degree);
+        if (degree == 0) {
+          ready.add(child);
+        }
+      }
+    }
+    for (Vertex vertex : vertices) {
+      groups.get(find(parent, vertex.getName())).add(vertex);
+    }
+    return new ArrayList<>(groups.values());
+  }
+
+  private static String find(Map<String, String> parent, String name) {
+    String root = name;
+    while (!parent.get(root).equals(root)) {
+      root = parent.get(root);
+    }
+    parent.put(name, root);
+    return root;
+  }
+
+  /**
+   * Calculate the cost of placing the instance with the given index of the group on each worker
+   */
+  private double[] communicationCost(List<Vertex> group, int index,
+                                     Map<String, List<DirectedEdge<Vertex, Edge>>> vertexEdges,
+                                     Map<String, Integer> parallelism,
+                                     Map<String, int[]> placement, int[] nodes) {
+    double[] cost = new double[nodes.length];
+    double[] workerVolume = new double[nodes.length];
+    double[] nodeVolume = new double[nodes.length];
+    for (Vertex vertex : group) {
+      for (DirectedEdge<Vertex, Edge> edge : vertexEdges.getOrDefault(vertex.getName(),
+          new ArrayList<>())) {
+        boolean outgoing = edge.getSourceVertex().getName().equals(vertex.getName());
+        String other = outgoing ? edge.getTargetVertex().getName()
+            : edge.getSourceVertex().getName();
+        int[] otherPlacement = placement.get(other);
+        if (otherPlacement == null) {
+          continue;
+        }
+
+        int sourceParallelism = parallelism.get(edge.getSourceVertex().getName());
+        int targetParallelism = parallelism.get(edge.getTargetVertex().getName());
+        String operation = edge.getTaskEdge().getOperation();
+        double volume = TaskSchedulerContext.edgeVolume(config, edge.getTaskEdge().getName(),
+            edge.getTaskEdge().getProperty(
+                TaskSchedulerContext.TWISTER2_TASK_SCHEDULER_EDGE_VOLUME));
+
+        Arrays.fill(workerVolume, 0);
+        Arrays.fill(nodeVolume, 0);
+        double total = 0;
+        if (OperationNames.DIRECT.equals(operation)) {
+          // direct edges only connect the instances with the same index
+          if (index < otherPlacement.length) {
+            double pairVolume = volume / sourceParallelism;
+            workerVolume[otherPlacement[index]] += pairVolume;
+            nodeVolume[nodes[otherPlacement[index]]] += pairVolume;
+            total += pairVolume;
+          }
+        } else {
+          // every target receives all the data of a broadcast, others split it among targets
+          double pairVolume = OperationNames.BROADCAST.equals(operation)
+              ? volume / sourceParallelism
+              : volume / ((double) sourceParallelism * targetParallelism);
+          for (int w : otherPlacement) {
+            workerVolume[w] += pairVolume;
+            nodeVolume[nodes[w]] += pairVolume;
+            total += pairVolume;
+          }
+        }
+
+        for (int w = 0; w < cost.length; w++) {
+          double sameNode = nodeVolume[nodes[w]];
+          cost[w] += intraNodeCost * (sameNode - workerVolume[w])
+              + interNodeCost * (total - sameNode);
+        }
+      }
+    }
+    return cost;
+  }
+
+  /**
+   * Pick the worker with the lowest cost among the workers with enough capacity left, ties
+   * are broken by the load and then by the worker id
+   */
+  private static int selectWorker(double[] cost, int[] load, int instances, int capacity) {
+    boolean fits = false;
+    for (int l : load) {
+      fits |= l + instances <= capacity;
+    }
+
+    int selected = -1;
+    for (int w = 0; w < cost.length; w++) {
+      if (fits && load[w] + instances > capacity) {
+        continue;
+      }
+      if (selected < 0 || cost[w] < cost[selected] - EPSILON
+          || (Math.abs(cost[w] - cost[selected]) <= EPSILON && load[w] < load[selected])) {
+        selected = w;
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Map the workers to node indexes, workers without a node are considered to be in a node
+   * of their own
+   */
+  private static int[] workerNodes(WorkerPlan workerPlan) {
+    int[] nodes = new int[workerPlan.getNumberOfWorkers()];
+    Map<Object, Integer> nodeIndexes = new HashMap<>();
+    for (int i = 0; i < nodes.length; i++) {
+      Worker worker = workerPlan.getWorker(i);
+      Object node = worker != null ? worker.getProperty(Worker.NODE_IP) : null;
+      if (node == null) {
+        node = "worker-" + i;
+      }
+      nodes[i] = nodeIndexes.computeIfAbsent(node, k -> nodeIndexes.size());
+    }
+    return nodes;
+  }
+}
@@ -116,6 +116,18 @@ public class TaskSchedulerContext extends Context {
       + "taskscheduler.datanode.instance.latency";
   private static final double TWISTER2_TASK_SCHEDULER_DATANODE_INSTANCE_LATENCY_DEFAULT = 0.01;
 
+  public static final String TWISTER2_TASK_SCHEDULER_EDGE_VOLUME = "twister2."
+      + "taskscheduler.edge.volume";
+  private static final double TWISTER2_TASK_SCHEDULER_EDGE_VOLUME_DEFAULT = 1.0;
+
+  private static final String TWISTER2_TASK_SCHEDULER_INTRA_NODE_COST = "twister2."
+      + "taskscheduler.commaware.intranode.cost";
+  private static final double TWISTER2_TASK_SCHEDULER_INTRA_NODE_COST_DEFAULT = 1.0;
+
+  private static final String TWISTER2_TASK_SCHEDULER_INTER_NODE_COST = "twister2."
+      + "taskscheduler.commaware.internode.cost";
+  private static final double TWISTER2_TASK_SCHEDULER_INTER_NODE_COST_DEFAULT = 10.0;
+
   public static String streamingTaskSchedulingMode(Config cfg) {
     return cfg.getStringValue(TWISTER2_TASK_SCHEDULER_MODE_STREAMING,
         TWISTER2_TASK_SCHEDULER_MODE_STREAMING_DEFAULT);
@@ -231,5 +243,29 @@ public class TaskSchedulerContext extends Context {
         TWISTER2_TASK_SCHEDULER_DATANODE_INSTANCE_LATENCY_DEFAULT);
   }
 
+  /**
+   * The volume of data sent through an edge. A measured value for the edge name given in the
+   * configuration takes precedence over the hint added to the edge.
+   */
+  public static double edgeVolume(Config cfg, String edgeName, Object hint) {
+    double volume = TWISTER2_TASK_SCHEDULER_EDGE_VOLUME_DEFAULT;
+    if (hint instanceof Number) {
+      volume = ((Number) hint).doubleValue();
+    } else if (hint != null) {
+      volume = Double.parseDouble(hint.toString());
+    }
+    return cfg.getDoubleValue(TWISTER2_TASK_SCHEDULER_EDGE_VOLUME + "." + edgeName, volume);
+  }
+
+  public static double intraNodeCost(Config cfg) {
+    return cfg.getDoubleValue(TWISTER2_TASK_SCHEDULER_INTRA_NODE_COST,
+        TWISTER2_TASK_SCHEDULER_INTRA_NODE_COST_DEFAULT);
+  }
+
+  public static double interNodeCost(Config cfg) {
+    return cfg.getDoubleValue(TWISTER2_TASK_SCHEDULER_INTER_NODE_COST,
+        TWISTER2_TASK_SCHEDULER_INTER_NODE_COST_DEFAULT);
+  }
+
 }
 
@@ -0,0 +1,166 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.tsched.commaware;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.Op;
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.compute.graph.ComputeGraph;
+import edu.iu.dsc.tws.api.compute.graph.OperationMode;
+import edu.iu.dsc.tws.api.compute.graph.Vertex;
+import edu.iu.dsc.tws.api.compute.schedule.elements.TaskInstancePlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.TaskSchedulePlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.Worker;
+import edu.iu.dsc.tws.api.compute.schedule.elements.WorkerPlan;
+import edu.iu.dsc.tws.api.compute.schedule.elements.WorkerSchedulePlan;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.config.Context;
+import edu.iu.dsc.tws.task.impl.ComputeConnection;
+import edu.iu.dsc.tws.task.impl.ComputeGraphBuilder;
+import edu.iu.dsc.tws.tsched.utils.TaskSchedulerClassTest;
+
+public class CommunicationAwareTaskSchedulerTest {
+
+  @Test
+  public void testDirectTasksColocated() {
+    int parallel = 4;
+    ComputeGraph graph = createDirectGraph(parallel);
+    CommunicationAwareTaskScheduler scheduler = new CommunicationAwareTaskScheduler();
+    scheduler.initialize(Config.newBuilder().build());
+    TaskSchedulePlan plan = scheduler.schedule(graph, createWorkPlan("n0", "n1"));
+
+    Map<Integer, WorkerSchedulePlan> containersMap = plan.getContainersMap();
+    Assert.assertEquals(2, containersMap.size());
+    for (WorkerSchedulePlan workerSchedulePlan : containersMap.values()) {
+      Set<TaskInstancePlan> instances = workerSchedulePlan.getTaskInstances();
+      Assert.assertEquals(3 * parallel / 2, instances.size());
+      Set<Integer> sourceIndexes = indexes(instances, "source");
+      Assert.assertEquals(sourceIndexes, indexes(instances, "compute"));
+      Assert.assertEquals(sourceIndexes, indexes(instances, "sink"));
+    }
+  }
+
+  @Test
+  public void testReduceTargetOnSourceNode() {
+    ComputeGraph graph = createReduceGraph(3);
+    CommunicationAwareTaskScheduler scheduler = new CommunicationAwareTaskScheduler();
+    scheduler.initialize(Config.newBuilder().build());
+    // two of the three sources end up in the node n1
+    TaskSchedulePlan plan = scheduler.schedule(graph, createWorkPlan("n0", "n1", "n1"));
+
+    for (WorkerSchedulePlan workerSchedulePlan : plan.getContainers()) {
+      if (!indexes(workerSchedulePlan.getTaskInstances(), "sink").isEmpty()) {
+        Assert.assertNotEquals(0, workerSchedulePlan.getContainerId());
+      }
+    }
+  }
+
+  @Test
+  public void testGroupsAfterSendersWithMultipleEdges() {
+    // sum receives two edges from the source, avg comes before sum in the vertex order
+    ComputeGraph graph = createMultiEdgeGraph(3);
+    CommunicationAwareTaskScheduler scheduler = new CommunicationAwareTaskScheduler();
+    scheduler.initialize(Config.newBuilder().build());
+
+    List<Vertex> vertices = new ArrayList<>(graph.getTaskVertexSet());
+    Map<String, Integer> parallelism = new HashMap<>();
+    for (Vertex vertex : vertices) {
+      parallelism.put(vertex.getName(), vertex.getParallelism());
+    }
+    List<String> order = new ArrayList<>();
+    for (List<Vertex> group : scheduler.directGroups(graph, vertices, parallelism)) {
+      for (Vertex vertex : group) {
+        order.add(vertex.getName());
+      }
+    }
+    Assert.assertTrue(order.indexOf("source") < order.indexOf("sum"));
+    Assert.assertTrue(order.indexOf("sum") < order.indexOf("avg"));
+  }
+
+  private Set<Integer> indexes(Set<TaskInstancePlan> instances, String task) {
+    Set<Integer> indexes = new HashSet<>();
+    for (TaskInstancePlan ip : instances) {
+      if (ip.getTaskName().equals(task)) {
+        indexes.add(ip.getTaskIndex());
+      }
+    }
+    return indexes;
+  }
+
+  private WorkerPlan createWorkPlan(String... nodes) {
+    WorkerPlan plan = new WorkerPlan();
+    for (int i = 0; i < nodes.length; i++) {
+      Worker worker = new Worker(i);
+      worker.addProperty(Worker.NODE_IP, nodes[i]);
+      plan.addWorker(worker);
+    }
+    return plan;
+  }
+
+  private ComputeGraph createDirectGraph(int parallel) {
+    TaskSchedulerClassTest.TestSource testSource = new TaskSchedulerClassTest.TestSource();
+    TaskSchedulerClassTest.TestCompute testCompute = new TaskSchedulerClassTest.TestCompute();
+    TaskSchedulerClassTest.TestSink testSink = new TaskSchedulerClassTest.TestSink();
+
+    ComputeGraphBuilder builder = ComputeGraphBuilder.newBuilder(Config.newBuilder().build());
+    builder.addSource("source", testSource, parallel);
+    ComputeConnection computeConnection = builder.addCompute("compute", testCompute, parallel);
+    ComputeConnection sinkConnection = builder.addCompute("sink", testSink, parallel);
+
+    computeConnection.direct("source")
+        .viaEdge(Context.TWISTER2_DIRECT_EDGE)
+        .withDataType(MessageTypes.OBJECT);
+    sinkConnection.direct("compute")
+        .viaEdge("direct-edge2")
+        .withDataType(MessageTypes.OBJECT);
+    builder.setMode(OperationMode.BATCH);
+    return builder.build();
+  }
+
+  private ComputeGraph createMultiEdgeGraph(int parallel) {
+    TaskSchedulerClassTest.TestSource testSource = new TaskSchedulerClassTest.TestSource();
+    TaskSchedulerClassTest.TestCompute testCompute = new TaskSchedulerClassTest.TestCompute();
+    TaskSchedulerClassTest.TestSink testSink = new TaskSchedulerClassTest.TestSink();
+
+    ComputeGraphBuilder builder = ComputeGraphBuilder.newBuilder(Config.newBuilder().build());
+    builder.addSource("source", testSource, parallel);
+    ComputeConnection avgConnection = builder.addCompute("avg", testSink, 1);
+    ComputeConnection sumConnection = builder.addCompute("sum", testCompute, 1);
+    sumConnection.reduce("source").viaEdge("sum-edge")
+        .withOperation(Op.SUM, MessageTypes.INTEGER_ARRAY);
+    sumConnection.gather("source").viaEdge("gather-edge");
+    avgConnection.partition("sum").viaEdge("partition-edge");
+    builder.setMode(OperationMode.BATCH);
+    return builder.build();
+  }
+
+  private ComputeGraph createReduceGraph(int parallel) {
+    TaskSchedulerClassTest.TestSource testSource = new TaskSchedulerClassTest.TestSource();
+    TaskSchedulerClassTest.TestSink testSink = new TaskSchedulerClassTest.TestSink();
+
+    ComputeGraphBuilder builder = ComputeGraphBuilder.newBuilder(Config.newBuilder().build());
+    builder.addSource("source", testSource, parallel);
+    ComputeConnection c = builder.addCompute("sink", testSink, 1);
+    c.reduce("source").viaEdge("edge").withOperation(Op.SUM, MessageTypes.INTEGER_ARRAY);
+    builder.setMode(OperationMode.BATCH);
+    return builder.build();
+  }
+}
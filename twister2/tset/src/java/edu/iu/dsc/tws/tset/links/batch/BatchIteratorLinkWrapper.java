@@ -56,7 +56,8 @@ public abstract class BatchIteratorLinkWrapper<T> extends BatchIteratorLink<T> {
   @Override
   public PersistedTSet<T> lazyPersist() {
     PersistedTSet<T> persistedTSet = new PersistedTSet<>(getTSetEnv(),
-        new DiskPersistIterSink<>(this.getId()), getTargetParallelism(), getSchema());
+        new DiskPersistIterSink<>(this.getId(), getSchema()), getTargetParallelism(),
+        getSchema());
     addChildToGraph(persistedTSet);
 
     return persistedTSet;
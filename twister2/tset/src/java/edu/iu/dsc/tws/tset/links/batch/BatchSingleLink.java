@@ -101,7 +101,7 @@ public abstract class BatchSingleLink<T> extends BatchTLinkImpl<T, T> {
   @Override
   public PersistedTSet<T> lazyPersist() {
     DiskPersistSingleSink<T> diskPersistSingleSink = new DiskPersistSingleSink<>(
-        this.getId()
+        this.getId(), getSchema()
     );
     PersistedTSet<T> persistedTSet = new PersistedTSet<>(getTSetEnv(),
         diskPersistSingleSink, getTargetParallelism(), getSchema());
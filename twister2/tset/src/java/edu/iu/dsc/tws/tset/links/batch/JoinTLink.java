@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.comms.messaging.types.MessageType;
@@ -32,9 +33,22 @@ import edu.iu.dsc.tws.tset.env.BatchTSetEnvironment;
 import edu.iu.dsc.tws.tset.fn.HashingPartitioner;
 import edu.iu.dsc.tws.tset.links.TLinkUtils;
 import edu.iu.dsc.tws.tset.sets.BuildableTSet;
+import edu.iu.dsc.tws.tset.sets.batch.BatchTupleTSetImpl;
 
 public class JoinTLink<K, VL, VR> extends BatchIteratorLinkWrapper<JoinedTuple<K, VL, VR>> {
 
+  private static final Logger LOG = Logger.getLogger(JoinTLink.class.getName());
+
+  /**
+   * A relation with a size hint up to this many bytes is broadcast instead of shuffling both
+   * relations, unless a join algorithm is set explicitly. A negative value disables the
+   * automatic selection.
+   */
+  public static final String CONFIG_BROADCAST_JOIN_THRESHOLD =
+      "twister2.join.broadcast.threshold.bytes";
+
+  public static final long DEFAULT_BROADCAST_JOIN_THRESHOLD = 10 * 1024 * 1024;
+
   private CommunicationContext.JoinType joinType;
   private TaskPartitioner<K> partitioner;
   private Comparator<K> keyComparator;
@@ -45,6 +59,17 @@ public class JoinTLink<K, VL, VR> extends BatchIteratorLinkWrapper<JoinedTuple<K
   private TupleTSet rightTSet;
   private boolean useDisk = false;
 
+  /**
+   * Weather the algorithm is set by the user, if not it can be switched to a broadcast join
+   */
+  private boolean algorithmSet = false;
+
+  /**
+   * With the broadcast algorithm, weather the left relation is broadcast. null if the relation
+   * is not chosen yet
+   */
+  private Boolean broadcastLeft;
+
   // guava graph does not guarantee the insertion order for predecessors and successors. hence
   // the left and right tsets needs to be taken in explicitly
   public JoinTLink(BatchTSetEnvironment env, CommunicationContext.JoinType type,
@@ -103,6 +128,8 @@ public class JoinTLink<K, VL, VR> extends BatchIteratorLinkWrapper<JoinedTuple<K
     HashSet<TBase> targets = new HashSet<>(getTBaseGraph().getSuccessors(this));
     targets.retainAll(buildSequence);
 
+    selectBroadcast();
+
     MessageType kType = getSchema().getKeyType();
     MessageType dTypeL = getSchema().getDataType();
     MessageType dTypeR = getSchema().getDataTypeRight();
@@ -141,6 +168,9 @@ public class JoinTLink<K, VL, VR> extends BatchIteratorLinkWrapper<JoinedTuple<K
     e.addProperty(CommunicationContext.JOIN_ALGORITHM, algorithm);
     e.addProperty(CommunicationContext.KEY_COMPARATOR, keyComparator);
     e.addProperty(CommunicationContext.USE_DISK, useDisk);
+    if (algorithm == CommunicationContext.JoinAlgorithm.BROADCAST) {
+      e.addProperty(CommunicationContext.JOIN_BROADCAST_LEFT, broadcastLeft);
+    }
     e.setKeyType(kType);
 
     if (lengthsSpecified) {
@@ -153,8 +183,112 @@ public class JoinTLink<K, VL, VR> extends BatchIteratorLinkWrapper<JoinedTuple<K
     graphBuilder.connect(s.getId(), t.getId(), e);
   }
 
+  /**
+   * Decide which relation to broadcast. Only the relation whose unmatched tuples are dropped can
+   * be broadcast, otherwise every target would emit them. Without an explicit algorithm, a
+   * relation is broadcast if its size hint is below the threshold.
+   */
+  private void selectBroadcast() {
+    long leftSize = sizeHint(leftTSet);
+    long rightSize = sizeHint(rightTSet);
+    boolean canBroadcastLeft = canBroadcast(joinType, true);
+    boolean canBroadcastRight = canBroadcast(joinType, false);
+
+    if (algorithm == CommunicationContext.JoinAlgorithm.BROADCAST) {
+      if (broadcastLeft == null) {
+        broadcastLeft = canBroadcastLeft && (!canBroadcastRight
+            || (leftSize >= 0 && (rightSize < 0 || leftSize < rightSize)));
+      }
+      return;
+    }
+
+    if (algorithmSet) {
+      return;
+    }
+
+    long threshold = getTSetEnv().getConfig().getLongValue(CONFIG_BROADCAST_JOIN_THRESHOLD,
+        DEFAULT_BROADCAST_JOIN_THRESHOLD);
+    boolean leftSmall = canBroadcastLeft && leftSize >= 0 && leftSize <= threshold;
+    boolean rightSmall = canBroadcastRight && rightSize >= 0 && rightSize <= threshold;
+    if (leftSmall || rightSmall) {
+      algorithm = CommunicationContext.JoinAlgorithm.BROADCAST;
+      broadcastLeft = leftSmall && (!rightSmall || leftSize < rightSize);
+      LOG.info(String.format("Join %s broadcasts the %s relation of %d bytes, the size hint is "
+              + "below %s = %d. Set the algorithm of the join to keep shuffling both relations",
+          getId(), broadcastLeft ? "left" : "right", broadcastLeft ? leftSize : rightSize,
+          CONFIG_BROADCAST_JOIN_THRESHOLD, threshold));
+    }
+  }
+
+  /**
+   * Weather a relation can be replicated for the join type, the unmatched tuples of the
+   * replicated relation would be emitted by every target
+   */
+  private static boolean canBroadcast(CommunicationContext.JoinType type, boolean left) {
+    return type == CommunicationContext.JoinType.INNER
+        || type == (left ? CommunicationContext.JoinType.RIGHT
+        : CommunicationContext.JoinType.LEFT);
+  }
+
+  private static long sizeHint(TupleTSet tSet) {
+    if (tSet instanceof BatchTupleTSetImpl) {
+      return ((BatchTupleTSetImpl) tSet).getSizeHint();
+    }
+    return -1;
+  }
+
   public JoinTLink<K, VL, VR> useHashAlgorithm() {
     this.algorithm = CommunicationContext.JoinAlgorithm.HASH;
+    this.algorithmSet = true;
+    this.broadcastLeft = null;
+    return this;
+  }
+
+  /**
+   * Sort both relations after shuffling them by key. This is the default, setting it explicitly
+   * keeps the join from switching to a broadcast join because of a size hint.
+   *
+   * @return this link
+   */
+  public JoinTLink<K, VL, VR> useSortAlgorithm() {
+    this.algorithm = CommunicationContext.JoinAlgorithm.SORT;
+    this.algorithmSet = true;
+    this.broadcastLeft = null;
+    return this;
+  }
+
+  /**
+   * Replicate one relation to all the workers and join the other one without shuffling it. The
+   * relation to broadcast is chosen from the join type and the size hints of the relations.
+   *
+   * @return this link
+   * @throws IllegalArgumentException for a full outer join, which cannot be broadcast
+   */
+  public JoinTLink<K, VL, VR> useBroadcastAlgorithm() {
+    if (!canBroadcast(joinType, true) && !canBroadcast(joinType, false)) {
+      throw new IllegalArgumentException("A " + joinType + " join cannot broadcast a relation");
+    }
+    this.algorithm = CommunicationContext.JoinAlgorithm.BROADCAST;
+    this.algorithmSet = true;
+    this.broadcastLeft = null;
+    return this;
+  }
+
+  /**
+   * Replicate the given relation to all the workers and join the other one without shuffling it
+   *
+   * @param left weather to broadcast the left relation, otherwise the right relation is broadcast
+   * @return this link
+   * @throws IllegalArgumentException if the relation cannot be broadcast for the join type, only
+   * the right relation of a left join and the left relation of a right join can be broadcast
+   */
+  public JoinTLink<K, VL, VR> useBroadcastAlgorithm(boolean left) {
+    if (!canBroadcast(joinType, left)) {
+      throw new IllegalArgumentException("Cannot broadcast the " + (left ? "left" : "right")
+          + " relation of a " + joinType + " join");
+    }
+    useBroadcastAlgorithm();
+    this.broadcastLeft = left;
     return this;
   }
 
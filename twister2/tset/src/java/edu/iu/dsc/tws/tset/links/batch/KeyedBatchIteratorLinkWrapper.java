@@ -54,7 +54,8 @@ public abstract class KeyedBatchIteratorLinkWrapper<K, V> extends BatchIteratorL
   @Override
   public KeyedPersistedTSet<K, V> lazyPersist() {
     KeyedPersistedTSet<K, V> persistedTSet = new KeyedPersistedTSet<>(getTSetEnv(),
-        new DiskPersistIterSink<>(this.getId()), getTargetParallelism(), getSchema());
+        new DiskPersistIterSink<>(this.getId(), getSchema()), getTargetParallelism(),
+        getSchema());
     addChildToGraph(persistedTSet);
 
     return persistedTSet;
@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.logging.Logger;
 
 import edu.iu.dsc.tws.api.tset.fn.PartitionFunc;
+import edu.iu.dsc.tws.api.tset.fn.ReduceFunc;
 import edu.iu.dsc.tws.api.tset.schema.TupleSchema;
 import edu.iu.dsc.tws.tset.env.BatchTSetEnvironment;
 
@@ -41,6 +42,18 @@ public class KeyedGatherTLink<K, V> extends KeyedGatherUngroupedTLink<K, Iterato
     this.enableGroupByKey();
   }
 
+  /**
+   * Combine the values of the same key with an associative function before they are sent. The
+   * iterator of a key then contains partial aggregates instead of the individual values.
+   *
+   * @param combineFn associative function
+   * @return this link
+   */
+  public KeyedGatherTLink<K, V> useCombiner(ReduceFunc<V> combineFn) {
+    setCombiner(combineFn);
+    return this;
+  }
+
   @Override
   public KeyedGatherTLink<K, V> useDisk() {
     super.useDisk();
@@ -19,6 +19,7 @@ import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.compute.OperationNames;
 import edu.iu.dsc.tws.api.compute.graph.Edge;
 import edu.iu.dsc.tws.api.tset.fn.PartitionFunc;
+import edu.iu.dsc.tws.api.tset.fn.ReduceFunc;
 import edu.iu.dsc.tws.api.tset.schema.TupleSchema;
 import edu.iu.dsc.tws.tset.env.BatchTSetEnvironment;
 import edu.iu.dsc.tws.tset.links.TLinkUtils;
@@ -33,6 +34,8 @@ public class KeyedGatherUngroupedTLink<K, V> extends KeyedBatchIteratorLinkWrapp
 
   private boolean useDisk = false;
 
+  private ReduceFunc<?> combiner;
+
   public KeyedGatherUngroupedTLink(BatchTSetEnvironment tSetEnv, int sourceParallelism,
                                    TupleSchema schema) {
     this(tSetEnv, null, sourceParallelism, null, schema);
@@ -69,6 +72,9 @@ public class KeyedGatherUngroupedTLink<K, V> extends KeyedBatchIteratorLinkWrapp
       e.addProperty(CommunicationContext.KEY_COMPARATOR, this.keyCompartor);
     }
     e.addProperty(CommunicationContext.USE_DISK, this.useDisk);
+    if (this.combiner != null) {
+      e.addProperty(CommunicationContext.COMBINER, this.combiner);
+    }
     TLinkUtils.generateKeyedCommsSchema(getSchema(), e);
     return e;
   }
@@ -77,6 +83,10 @@ public class KeyedGatherUngroupedTLink<K, V> extends KeyedBatchIteratorLinkWrapp
     this.groupByKey = true;
   }
 
+  void setCombiner(ReduceFunc<?> combineFn) {
+    this.combiner = combineFn;
+  }
+
   public KeyedGatherUngroupedTLink<K, V> useDisk() {
     this.useDisk = true;
     return this;
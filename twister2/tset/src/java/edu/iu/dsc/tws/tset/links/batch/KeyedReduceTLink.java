@@ -25,6 +25,7 @@
 
 package edu.iu.dsc.tws.tset.links.batch;
 
+import edu.iu.dsc.tws.api.comms.CommunicationContext;
 import edu.iu.dsc.tws.api.compute.OperationNames;
 import edu.iu.dsc.tws.api.compute.graph.Edge;
 import edu.iu.dsc.tws.api.tset.fn.ReduceFunc;
@@ -35,6 +36,8 @@ import edu.iu.dsc.tws.tset.links.TLinkUtils;
 public class KeyedReduceTLink<K, V> extends KeyedBatchIteratorLinkWrapper<K, V> {
   private ReduceFunc<V> reduceFn;
 
+  private boolean combine = false;
+
   public KeyedReduceTLink(BatchTSetEnvironment tSetEnv, ReduceFunc<V> rFn, int sourceParallelism,
                           TupleSchema schema) {
     super(tSetEnv, "kreduce", sourceParallelism, schema);
@@ -47,10 +50,23 @@ public class KeyedReduceTLink<K, V> extends KeyedBatchIteratorLinkWrapper<K, V>
         reduceFn);
     e.setKeyed(true);
     e.setKeyType(this.getSchema().getKeyType());
+    if (combine) {
+      e.addProperty(CommunicationContext.COMBINER, reduceFn);
+    }
     TLinkUtils.generateKeyedCommsSchema(getSchema(), e);
     return e;
   }
 
+  /**
+   * Reduce the values of the same key in each worker before they are sent to the targets
+   *
+   * @return this link
+   */
+  public KeyedReduceTLink<K, V> useCombiner() {
+    this.combine = true;
+    return this;
+  }
+
   @Override
   public KeyedReduceTLink<K, V> setName(String n) {
     rename(n);
@@ -43,6 +43,11 @@ import edu.iu.dsc.tws.tset.sets.BaseTSetWithSchema;
 public abstract class BatchTupleTSetImpl<K, V> extends BaseTSetWithSchema<V> implements
     BatchTupleTSet<K, V> {
 
+  /**
+   * Approximate size of the tset in bytes given by the user, -1 if unknown
+   */
+  private long sizeHint = -1;
+
   /**
    * General constructor for batch {@link edu.iu.dsc.tws.api.tset.sets.TupleTSet}s
    *
@@ -206,6 +211,24 @@ public abstract class BatchTupleTSetImpl<K, V> extends BaseTSetWithSchema<V> imp
     return this;
   }
 
+  @Override
+  public BatchTupleTSetImpl<K, V> withSizeHint(long bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Size hint must be non negative: " + bytes);
+    }
+    this.sizeHint = bytes;
+    return this;
+  }
+
+  /**
+   * Approximate size of the tset in bytes
+   *
+   * @return the size given with {@link #withSizeHint(long)} or -1 if it is not given
+   */
+  public long getSizeHint() {
+    return sizeHint;
+  }
+
   @Override
   public BatchTupleTSetImpl<K, V> withSchema(TupleSchema schema) {
     this.setOutputSchema(schema);
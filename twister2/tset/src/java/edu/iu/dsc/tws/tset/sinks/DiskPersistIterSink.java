@@ -11,19 +11,31 @@
 //  limitations under the License.
 package edu.iu.dsc.tws.tset.sinks;
 
+import java.io.Closeable;
+import java.io.IOException;
+
+import edu.iu.dsc.tws.api.exceptions.Twister2RuntimeException;
 import edu.iu.dsc.tws.api.tset.TSetContext;
+import edu.iu.dsc.tws.api.tset.schema.Schema;
+import edu.iu.dsc.tws.api.tset.schema.TupleSchema;
+import edu.iu.dsc.tws.dataset.partition.CollectionPartition;
+import edu.iu.dsc.tws.dataset.partition.ColumnarCollectionPartition;
 import edu.iu.dsc.tws.dataset.partition.DiskBackedCollectionPartition;
 
 /**
- * A disk based persisted TSet
+ * A disk based persisted TSet. When the schema has primitive or string types the values are
+ * stored in a {@link ColumnarCollectionPartition}, otherwise each value is serialized to a
+ * {@link DiskBackedCollectionPartition}.
  *
  * @param <T> TSet data type
  */
 public class DiskPersistIterSink<T> extends StoreIterSink<T, T> {
-  private DiskBackedCollectionPartition<T> partition;
+  private CollectionPartition<T> partition;
 
   private String referencePrefix;
 
+  private Schema schema;
+
   /**
    * Creates an instance of {@link DiskPersistIterSink} with a referencePrefix
    *
@@ -31,7 +43,19 @@ public class DiskPersistIterSink<T> extends StoreIterSink<T, T> {
    *                        disk partitions created with this function
    */
   public DiskPersistIterSink(String referencePrefix) {
+    this(referencePrefix, null);
+  }
+
+  /**
+   * Creates an instance of {@link DiskPersistIterSink} that uses the schema to pick the storage
+   *
+   * @param referencePrefix referencePrefix will be used to uniquely identify the set of
+   *                        disk partitions created with this function
+   * @param schema schema of the values, can be null
+   */
+  public DiskPersistIterSink(String referencePrefix, Schema schema) {
     this.referencePrefix = referencePrefix;
+    this.schema = schema;
   }
 
   @Override
@@ -40,20 +64,49 @@ public class DiskPersistIterSink<T> extends StoreIterSink<T, T> {
 
     String reference = referencePrefix + ctx.getIndex();
 //    String reference = ctx.getId() + ctx.getIndex();
+    this.partition = createPartition(ctx, reference, schema);
+  }
+
+  /**
+   * Create a columnar partition if the schema has types that can be stored in columns
+   */
+  static <T> CollectionPartition<T> createPartition(TSetContext ctx, String reference,
+                                                     Schema schema) {
+    if (schema != null) {
+      if (schema instanceof TupleSchema) {
+        TupleSchema tupleSchema = (TupleSchema) schema;
+        if (ColumnarCollectionPartition.isSupported(tupleSchema.getKeyType(),
+            tupleSchema.getDataType())) {
+          return new ColumnarCollectionPartition<>(tupleSchema.getKeyType(),
+              tupleSchema.getDataType(), ctx.getConfig(), reference);
+        }
+      } else if (ColumnarCollectionPartition.isSupported(null, schema.getDataType())) {
+        return new ColumnarCollectionPartition<>(null, schema.getDataType(), ctx.getConfig(),
+            reference);
+      }
+    }
     // buffered partition with 0 frames in memory. Then everything will be written to the memory
-    this.partition = new DiskBackedCollectionPartition<>(0,
-        ctx.getConfig(), reference);
+    return new DiskBackedCollectionPartition<>(0, ctx.getConfig(), reference);
+  }
+
+  /**
+   * Explicitly close the partition so that it would flush the remaining data to disk
+   */
+  static void closePartition(CollectionPartition<?> partition) {
+    try {
+      ((Closeable) partition).close();
+    } catch (IOException e) {
+      throw new Twister2RuntimeException("Failed to flush the partition to disk", e);
+    }
   }
 
   @Override
   public void close() {
-    // Explicitly closing the @DiskBackedCollectionPartition so that it would flush the remaining
-    // data to disk
-    this.partition.close();
+    closePartition(this.partition);
   }
 
   @Override
-  protected DiskBackedCollectionPartition<T> getPartition() {
+  protected CollectionPartition<T> getPartition() {
     return this.partition;
   }
 
@@ -14,13 +14,16 @@ package edu.iu.dsc.tws.tset.sinks;
 
 import edu.iu.dsc.tws.api.tset.TSetContext;
 import edu.iu.dsc.tws.api.tset.fn.BaseSinkFunc;
-import edu.iu.dsc.tws.dataset.partition.DiskBackedCollectionPartition;
+import edu.iu.dsc.tws.api.tset.schema.Schema;
+import edu.iu.dsc.tws.dataset.partition.CollectionPartition;
 
 public class DiskPersistSingleSink<T> extends BaseSinkFunc<T> {
-  private DiskBackedCollectionPartition<T> partition;
+  private CollectionPartition<T> partition;
 
   private String referencePrefix;
 
+  private Schema schema;
+
   /**
    * Creates an instance of {@link DiskPersistSingleSink} with a referencePrefix
    *
@@ -28,15 +31,26 @@ public class DiskPersistSingleSink<T> extends BaseSinkFunc<T> {
    *                        disk partitions created with this function
    */
   public DiskPersistSingleSink(String referencePrefix) {
+    this(referencePrefix, null);
+  }
+
+  /**
+   * Creates an instance of {@link DiskPersistSingleSink} that uses the schema to pick the storage
+   *
+   * @param referencePrefix referencePrefix will be used to uniquely identify the set of
+   *                        disk partitions created with this function
+   * @param schema schema of the values, can be null
+   */
+  public DiskPersistSingleSink(String referencePrefix, Schema schema) {
     this.referencePrefix = referencePrefix;
+    this.schema = schema;
   }
 
   @Override
   public void prepare(TSetContext ctx) {
     super.prepare(ctx);
     String reference = referencePrefix + ctx.getIndex();
-    partition = new DiskBackedCollectionPartition<>(0,
-        ctx.getConfig(), reference);
+    partition = DiskPersistIterSink.createPartition(ctx, reference, schema);
   }
 
   @Override
@@ -47,11 +61,11 @@ public class DiskPersistSingleSink<T> extends BaseSinkFunc<T> {
 
   @Override
   public void close() {
-    partition.close();
+    DiskPersistIterSink.closePartition(partition);
   }
 
   @Override
-  public DiskBackedCollectionPartition<T> get() {
+  public CollectionPartition<T> get() {
     return partition;
   }
 }
@@ -15,6 +15,8 @@ import edu.iu.dsc.tws.api.dataset.DataPartition;
 import edu.iu.dsc.tws.api.dataset.DataPartitionConsumer;
 import edu.iu.dsc.tws.api.tset.TSetContext;
 import edu.iu.dsc.tws.api.tset.fn.BaseSourceFunc;
+import edu.iu.dsc.tws.dataset.partition.CollectionPartition;
+import edu.iu.dsc.tws.dataset.partition.ColumnarCollectionPartition;
 import edu.iu.dsc.tws.dataset.partition.DiskBackedCollectionPartition;
 
 public class DiskPartitionBackedSource<T> extends BaseSourceFunc<T> {
@@ -22,7 +24,7 @@ public class DiskPartitionBackedSource<T> extends BaseSourceFunc<T> {
   private DataPartitionConsumer<T> consumer;
   private String referencePrefix;
 
-  private DiskBackedCollectionPartition<T> diskPartition;
+  private CollectionPartition<T> diskPartition;
 
   public DiskPartitionBackedSource(String referencePrefix) {
     this.referencePrefix = referencePrefix;
@@ -43,8 +45,12 @@ public class DiskPartitionBackedSource<T> extends BaseSourceFunc<T> {
     super.prepare(ctx);
     String reference = this.referencePrefix + ctx.getIndex();
 //    String reference = ctx.getId() + ctx.getIndex();
-    this.diskPartition = new DiskBackedCollectionPartition<>(0, ctx.getConfig(),
-        reference);
+    if (ColumnarCollectionPartition.exists(ctx.getConfig(), reference)) {
+      this.diskPartition = new ColumnarCollectionPartition<>(ctx.getConfig(), reference);
+    } else {
+      this.diskPartition = new DiskBackedCollectionPartition<>(0, ctx.getConfig(),
+          reference);
+    }
     this.consumer = diskPartition.getConsumer();
   }
 
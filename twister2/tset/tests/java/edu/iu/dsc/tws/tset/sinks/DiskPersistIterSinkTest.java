@@ -0,0 +1,96 @@
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//  http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+package edu.iu.dsc.tws.tset.sinks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.iu.dsc.tws.api.comms.messaging.types.MessageTypes;
+import edu.iu.dsc.tws.api.comms.structs.Tuple;
+import edu.iu.dsc.tws.api.config.Config;
+import edu.iu.dsc.tws.api.tset.TSetContext;
+import edu.iu.dsc.tws.api.tset.schema.KeyedSchema;
+import edu.iu.dsc.tws.api.tset.schema.PrimitiveSchemas;
+import edu.iu.dsc.tws.api.tset.schema.Schema;
+import edu.iu.dsc.tws.common.config.ConfigLoader;
+import edu.iu.dsc.tws.dataset.partition.ColumnarCollectionPartition;
+import edu.iu.dsc.tws.dataset.partition.DiskBackedCollectionPartition;
+import edu.iu.dsc.tws.tset.sources.DiskPartitionBackedSource;
+
+public class DiskPersistIterSinkTest {
+
+  @Test
+  public void testColumnarFormat() {
+    List<Integer> values = Arrays.asList(1, 2, 3);
+    Assert.assertTrue(persist(PrimitiveSchemas.INTEGER, values)
+        instanceof ColumnarCollectionPartition);
+
+    // a column of a primitive type is enough
+    List<Tuple<Integer, int[]>> tuples = Arrays.asList(new Tuple<>(1, new int[]{1}),
+        new Tuple<>(2, new int[]{2}));
+    Assert.assertTrue(persist(new KeyedSchema(MessageTypes.INTEGER, MessageTypes.OBJECT), tuples)
+        instanceof ColumnarCollectionPartition);
+  }
+
+  @Test
+  public void testSerializedFormat() {
+    List<int[]> values = Arrays.asList(new int[]{1}, new int[]{2});
+    Assert.assertTrue(persist(PrimitiveSchemas.OBJECT, values)
+        instanceof DiskBackedCollectionPartition);
+    Assert.assertTrue(persist(null, values) instanceof DiskBackedCollectionPartition);
+    List<Tuple<Integer, int[]>> tuples = Arrays.asList(new Tuple<>(1, new int[]{1}),
+        new Tuple<>(2, new int[]{2}));
+    Assert.assertTrue(persist(new KeyedSchema(MessageTypes.OBJECT, MessageTypes.OBJECT), tuples)
+        instanceof DiskBackedCollectionPartition);
+  }
+
+  /**
+   * Persist the values with the schema, read them back with a source and return the type of
+   * the partition the source picked
+   */
+  private static <T> Object persist(Schema schema, List<T> values) {
+    Config config = ConfigLoader.loadTestConfig();
+    TSetContext ctx = new TSetContext(config, 0, "sink", "sink", 1, 0, new HashMap<>());
+    String prefix = UUID.randomUUID().toString();
+
+    DiskPersistIterSink<T> sink = new DiskPersistIterSink<>(prefix, schema);
+    sink.prepare(ctx);
+    sink.add(values.iterator());
+    sink.close();
+
+    DiskPartitionBackedSource<T> source = new DiskPartitionBackedSource<>(prefix);
+    source.prepare(ctx);
+    for (T expected : values) {
+      Assert.assertTrue(source.hasNext());
+      T actual = source.next();
+      if (expected instanceof Tuple) {
+        Assert.assertEquals(((Tuple) expected).getKey(), ((Tuple) actual).getKey());
+        Assert.assertArrayEquals((int[]) ((Tuple) expected).getValue(),
+            (int[]) ((Tuple) actual).getValue());
+      } else if (expected instanceof int[]) {
+        Assert.assertArrayEquals((int[]) expected, (int[]) actual);
+      } else {
+        Assert.assertEquals(expected, actual);
+      }
+    }
+    Assert.assertFalse(source.hasNext());
+    Assert.assertEquals(sink.get().getClass(), source.get().getClass());
+    Object partition = source.get();
+    source.get().clear();
+    return partition;
+  }
+}